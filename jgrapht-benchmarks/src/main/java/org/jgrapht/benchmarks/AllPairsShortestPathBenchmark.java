@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of all-pairs shortest path algorithms on a uniform random graph.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AllPairsShortestPathBenchmark
+{
+    /**
+     * The all-pairs shortest path algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * The Floyd-Warshall algorithm.
+         */
+        FLOYD_WARSHALL {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new FloydWarshallShortestPaths<>(graph);
+            }
+        },
+        /**
+         * Johnson's algorithm.
+         */
+        JOHNSON {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new JohnsonShortestPaths<>(graph);
+            }
+        };
+
+        abstract ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+            Graph<Integer, DefaultWeightedEdge> graph);
+    }
+
+    @Param
+    public Algorithm algorithm;
+
+    @Param({ "500" })
+    public int numVertices;
+
+    @Param({ "5000" })
+    public int numEdges;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs.gnm(numVertices, numEdges, true);
+    }
+
+    /**
+     * Compute the distances between all pairs of vertices.
+     * 
+     * @return the sum of all finite distances
+     */
+    @Benchmark
+    public double allPairs()
+    {
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> alg = algorithm.create(graph);
+        double sum = 0d;
+        for (int u = 0; u < numVertices; u++) {
+            ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+                alg.getPaths(u);
+            for (int v = 0; v < numVertices; v++) {
+                double w = paths.getWeight(v);
+                if (w != Double.POSITIVE_INFINITY) {
+                    sum += w;
+                }
+            }
+        }
+        return sum;
+    }
+}
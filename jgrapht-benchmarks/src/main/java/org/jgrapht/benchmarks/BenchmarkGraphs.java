@@ -0,0 +1,306 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Standard generated graphs used by the benchmarks.
+ * 
+ * <p>
+ * All graphs have integer vertices $0, \dots, n-1$ and are generated from fixed seeds, so that
+ * repeated runs of a benchmark operate on identical inputs.
+ *
+ * @author agent
+ */
+public class BenchmarkGraphs
+{
+    /**
+     * The seed used by all generators.
+     */
+    public static final long SEED = 17;
+
+    private BenchmarkGraphs()
+    {
+    }
+
+    /**
+     * Create a uniform random graph with a fixed number of edges using the
+     * {@link GnmRandomGraphGenerator}. Edge weights are drawn uniformly from $[1, 100)$.
+     * 
+     * @param n the number of vertices
+     * @param m the number of edges
+     * @param directed whether the graph is directed
+     * @return the graph
+     */
+    public static Graph<Integer, DefaultWeightedEdge> gnm(int n, int m, boolean directed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = emptyWeighted(directed);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, SEED, false, false)
+            .generateGraph(g);
+        randomizeWeights(g);
+        return g;
+    }
+
+    /**
+     * Create an unweighted scale-free graph using the {@link BarabasiAlbertGraphGenerator}.
+     * 
+     * @param n the number of vertices
+     * @param m the number of edges added with each new vertex
+     * @return the graph
+     */
+    public static Graph<Integer, DefaultEdge> barabasiAlbert(int n, int m)
+    {
+        Graph<Integer, DefaultEdge> g = new Pseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultEdgeSupplier(), false);
+        new BarabasiAlbertGraphGenerator<Integer, DefaultEdge>(m + 1, m, n, SEED).generateGraph(g);
+        return g;
+    }
+
+    /**
+     * Create a two-dimensional grid using the {@link GridGraphGenerator}. Edge weights are drawn
+     * uniformly from $[1, 100)$.
+     * 
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return the graph
+     */
+    public static Graph<Integer, DefaultWeightedEdge> grid(int rows, int cols)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = emptyWeighted(false);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(rows, cols).generateGraph(g);
+        randomizeWeights(g);
+        return g;
+    }
+
+    /**
+     * Create a random bipartite graph using the {@link GnpRandomBipartiteGraphGenerator}. Edge
+     * weights are drawn uniformly from $[1, 100)$.
+     * 
+     * @param n1 the number of vertices of the first partition
+     * @param n2 the number of vertices of the second partition
+     * @param p the edge probability
+     * @return the graph together with its two partitions
+     */
+    public static BipartiteGraph bipartite(int n1, int n2, double p)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = emptyWeighted(false);
+        GnpRandomBipartiteGraphGenerator<Integer, DefaultWeightedEdge> generator =
+            new GnpRandomBipartiteGraphGenerator<>(n1, n2, p, SEED);
+        generator.generateGraph(g);
+        randomizeWeights(g);
+        return new BipartiteGraph(
+            g, new HashSet<>(generator.getFirstPartition()),
+            new HashSet<>(generator.getSecondPartition()));
+    }
+
+    /**
+     * Create an empty weighted pseudograph with integer vertices.
+     * 
+     * @param directed whether the graph is directed
+     * @return the graph
+     */
+    public static Graph<Integer, DefaultWeightedEdge> emptyWeighted(boolean directed)
+    {
+        if (directed) {
+            return new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+        }
+        return new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier());
+    }
+
+    private static void randomizeWeights(Graph<Integer, DefaultWeightedEdge> g)
+    {
+        Random rng = new Random(SEED);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1d + rng.nextDouble() * 99d);
+        }
+    }
+
+    /**
+     * A bipartite graph together with its partitions.
+     */
+    public static class BipartiteGraph
+    {
+        private final Graph<Integer, DefaultWeightedEdge> graph;
+        private final Set<Integer> firstPartition;
+        private final Set<Integer> secondPartition;
+
+        BipartiteGraph(
+            Graph<Integer, DefaultWeightedEdge> graph, Set<Integer> firstPartition,
+            Set<Integer> secondPartition)
+        {
+            this.graph = graph;
+            this.firstPartition = firstPartition;
+            this.secondPartition = secondPartition;
+        }
+
+        /**
+         * Get the graph.
+         * 
+         * @return the graph
+         */
+        public Graph<Integer, DefaultWeightedEdge> getGraph()
+        {
+            return graph;
+        }
+
+        /**
+         * Get the first partition.
+         * 
+         * @return the first partition
+         */
+        public Set<Integer> getFirstPartition()
+        {
+            return firstPartition;
+        }
+
+        /**
+         * Get the second partition.
+         * 
+         * @return the second partition
+         */
+        public Set<Integer> getSecondPartition()
+        {
+            return secondPartition;
+        }
+    }
+
+    /**
+     * The edges of a graph with integer vertices as parallel arrays.
+     */
+    public static class EdgeList
+    {
+        private final int numVertices;
+        private final int[] sources;
+        private final int[] targets;
+        private final double[] weights;
+
+        /**
+         * Create the edge list of a graph whose vertices are $0, \dots, n-1$.
+         * 
+         * @param graph the graph
+         * @param <E> the graph edge type
+         */
+        public <E> EdgeList(Graph<Integer, E> graph)
+        {
+            int m = graph.edgeSet().size();
+            this.numVertices = graph.vertexSet().size();
+            this.sources = new int[m];
+            this.targets = new int[m];
+            this.weights = new double[m];
+            int i = 0;
+            for (E e : graph.edgeSet()) {
+                sources[i] = graph.getEdgeSource(e);
+                targets[i] = graph.getEdgeTarget(e);
+                weights[i] = graph.getEdgeWeight(e);
+                i++;
+            }
+        }
+
+        /**
+         * Get the number of vertices.
+         * 
+         * @return the number of vertices
+         */
+        public int getNumVertices()
+        {
+            return numVertices;
+        }
+
+        /**
+         * Get the number of edges.
+         * 
+         * @return the number of edges
+         */
+        public int getNumEdges()
+        {
+            return sources.length;
+        }
+
+        /**
+         * Get the source of an edge.
+         * 
+         * @param i the index of the edge
+         * @return the source of the edge
+         */
+        public int getSource(int i)
+        {
+            return sources[i];
+        }
+
+        /**
+         * Get the target of an edge.
+         * 
+         * @param i the index of the edge
+         * @return the target of the edge
+         */
+        public int getTarget(int i)
+        {
+            return targets[i];
+        }
+
+        /**
+         * Get the weight of an edge.
+         * 
+         * @param i the index of the edge
+         * @return the weight of the edge
+         */
+        public double getWeight(int i)
+        {
+            return weights[i];
+        }
+
+        /**
+         * Get the sources of all edges. The returned array must not be modified.
+         * 
+         * @return the sources of all edges
+         */
+        public int[] getSources()
+        {
+            return sources;
+        }
+
+        /**
+         * Get the targets of all edges. The returned array must not be modified.
+         * 
+         * @return the targets of all edges
+         */
+        public int[] getTargets()
+        {
+            return targets;
+        }
+
+        /**
+         * Get the weights of all edges. The returned array must not be modified.
+         * 
+         * @return the weights of all edges
+         */
+        public double[] getWeights()
+        {
+            return weights;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.openjdk.jmh.*;
+import org.openjdk.jmh.results.format.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Entry point of the benchmarks jar.
+ * 
+ * <p>
+ * Accepts the usual JMH command line options. Unless a result format is given using
+ * <code>-rf</code>, the results are additionally written in JSON format to
+ * <code>jgrapht-benchmarks.json</code> (or the file given using <code>-rff</code>), so that runs
+ * can be archived and compared across releases.
+ *
+ * @author agent
+ */
+public class BenchmarkRunner
+{
+    /**
+     * The default file name of the results.
+     */
+    public static final String DEFAULT_RESULT_FILE = "jgrapht-benchmarks.json";
+
+    private BenchmarkRunner()
+    {
+    }
+
+    /**
+     * Run the benchmarks.
+     * 
+     * @param args the JMH command line options
+     * @throws Exception in case of an error
+     */
+    public static void main(String[] args)
+        throws Exception
+    {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+            || cmd.shouldListProfilers() || cmd.shouldListResultFormats())
+        {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+            if (!cmd.getResult().hasValue()) {
+                options.result(DEFAULT_RESULT_FILE);
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
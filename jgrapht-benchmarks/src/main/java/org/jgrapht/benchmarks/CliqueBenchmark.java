@@ -0,0 +1,118 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.clique.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of maximal clique enumeration algorithms on a uniform random graph.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CliqueBenchmark
+{
+    /**
+     * The maximal clique enumeration algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * The Bron-Kerbosch algorithm.
+         */
+        BRON_KERBOSCH {
+            @Override
+            MaximalCliqueEnumerationAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new BronKerboschCliqueFinder<>(graph);
+            }
+        },
+        /**
+         * The Bron-Kerbosch algorithm with pivoting.
+         */
+        PIVOT_BRON_KERBOSCH {
+            @Override
+            MaximalCliqueEnumerationAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new PivotBronKerboschCliqueFinder<>(graph);
+            }
+        },
+        /**
+         * The Bron-Kerbosch algorithm with pivoting and degeneracy ordering.
+         */
+        DEGENERACY_BRON_KERBOSCH {
+            @Override
+            MaximalCliqueEnumerationAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new DegeneracyBronKerboschCliqueFinder<>(graph);
+            }
+        };
+
+        abstract MaximalCliqueEnumerationAlgorithm<Integer, DefaultWeightedEdge> create(
+            Graph<Integer, DefaultWeightedEdge> graph);
+    }
+
+    @Param
+    public Algorithm algorithm;
+
+    @Param({ "1000" })
+    public int numVertices;
+
+    @Param({ "20000" })
+    public int numEdges;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs.gnm(numVertices, numEdges, false);
+    }
+
+    /**
+     * Enumerate all maximal cliques.
+     * 
+     * @return the number of maximal cliques
+     */
+    @Benchmark
+    public int maximalCliques()
+    {
+        int count = 0;
+        Iterator<Set<Integer>> it = algorithm.create(graph).iterator();
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+}
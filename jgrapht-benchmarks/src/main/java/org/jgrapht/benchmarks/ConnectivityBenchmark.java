@@ -0,0 +1,125 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of connectivity algorithms on sparse uniform random graphs.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConnectivityBenchmark
+{
+    /**
+     * The connectivity algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * Connected components of an undirected graph.
+         */
+        CONNECTED_COMPONENTS(false) {
+            @Override
+            int run(Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new ConnectivityInspector<>(graph).connectedSets().size();
+            }
+        },
+        /**
+         * Biconnected components of an undirected graph.
+         */
+        BICONNECTED_COMPONENTS(false) {
+            @Override
+            int run(Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new BiconnectivityInspector<>(graph).getBlocks().size();
+            }
+        },
+        /**
+         * Strongly connected components of a directed graph using Kosaraju's algorithm.
+         */
+        KOSARAJU(true) {
+            @Override
+            int run(Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new KosarajuStrongConnectivityInspector<>(graph)
+                    .stronglyConnectedSets().size();
+            }
+        },
+        /**
+         * Strongly connected components of a directed graph using Gabow's algorithm.
+         */
+        GABOW(true) {
+            @Override
+            int run(Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new GabowStrongConnectivityInspector<>(graph)
+                    .stronglyConnectedSets().size();
+            }
+        };
+
+        private final boolean directed;
+
+        Algorithm(boolean directed)
+        {
+            this.directed = directed;
+        }
+
+        abstract int run(Graph<Integer, DefaultWeightedEdge> graph);
+    }
+
+    @Param
+    public Algorithm algorithm;
+
+    @Param({ "100000" })
+    public int numVertices;
+
+    @Param({ "150000" })
+    public int numEdges;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs.gnm(numVertices, numEdges, algorithm.directed);
+    }
+
+    /**
+     * Compute the components.
+     * 
+     * @return the number of components
+     */
+    @Benchmark
+    public int components()
+    {
+        return algorithm.run(graph);
+    }
+}
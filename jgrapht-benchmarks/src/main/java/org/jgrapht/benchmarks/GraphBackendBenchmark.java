@@ -0,0 +1,327 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.graph.concurrent.*;
+import org.jgrapht.graph.sparse.*;
+import org.jgrapht.util.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of the construction, traversal and edge lookup performance of every {@link Graph}
+ * implementation, on a directed weighted uniform random graph.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphBackendBenchmark
+{
+    private static final int LOOKUPS = 10000;
+
+    /**
+     * The graph implementations.
+     */
+    public enum Backend
+    {
+        /**
+         * The default graph, using fast lookup specifics.
+         */
+        FAST_LOOKUP {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(
+                    new DirectedWeightedPseudograph<>(
+                        null, SupplierUtil.createDefaultWeightedEdgeSupplier()),
+                    edges);
+            }
+        },
+        /**
+         * A graph using the default specifics without the vertex pair index.
+         */
+        DEFAULT_SPECIFICS {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(new DefaultSpecificsGraph(), edges);
+            }
+        },
+        /**
+         * The default graph, presized and bulk loaded.
+         */
+        PRESIZED {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(
+                    GraphTypeBuilder
+                        .<Integer, DefaultWeightedEdge> directed().allowingMultipleEdges(true)
+                        .allowingSelfLoops(true).weighted(true)
+                        .edgeSupplier(SupplierUtil.createDefaultWeightedEdgeSupplier())
+                        .expectedVertexCount(edges.getNumVertices())
+                        .expectedEdgeCount(edges.getNumEdges()).buildGraph(),
+                    edges);
+            }
+        },
+        /**
+         * A graph which keeps its edge weights in a contiguous array.
+         */
+        INDEXED_EDGES {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(
+                    GraphTypeBuilder
+                        .<Integer, DefaultWeightedEdge> directed().allowingMultipleEdges(true)
+                        .allowingSelfLoops(true).weighted(true)
+                        .edgeSupplier(SupplierUtil.createDefaultWeightedEdgeSupplier())
+                        .indexedEdges(true).buildGraph(),
+                    edges);
+            }
+        },
+        /**
+         * A graph with integer keyed fast lookup specifics.
+         */
+        INT_VERTEX {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(
+                    new IntVertexGraph<>(
+                        SupplierUtil.createDefaultWeightedEdgeSupplier(), TYPE),
+                    edges);
+            }
+        },
+        /**
+         * A graph with implicit long edges.
+         */
+        LONG_EDGE {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(new LongEdgeGraph<>(null, TYPE), edges);
+            }
+        },
+        /**
+         * An immutable compressed sparse row graph.
+         */
+        SPARSE {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return new SparseIntDirectedWeightedGraph(
+                    edges.getNumVertices(), edges.getSources(), edges.getTargets(),
+                    edges.getWeights());
+            }
+        },
+        /**
+         * An immutable compressed sparse row graph mapped from a file.
+         */
+        MAPPED {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                try {
+                    File file = File.createTempFile("jgrapht-benchmark", ".csr");
+                    file.deleteOnExit();
+                    try (MappedSparseIntGraphWriter writer = new MappedSparseIntGraphWriter(
+                        file, edges.getNumVertices(), true, true))
+                    {
+                        for (int i = 0; i < edges.getNumEdges(); i++) {
+                            writer.addEdge(
+                                edges.getSource(i), edges.getTarget(i), edges.getWeight(i));
+                        }
+                    }
+                    return new MappedSparseIntGraph(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        },
+        /**
+         * A graph supporting concurrent updates with striped locks.
+         */
+        CONCURRENT {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(
+                    new ConcurrentGraph<>(
+                        null, SupplierUtil.createDefaultWeightedEdgeSupplier(), TYPE),
+                    edges);
+            }
+        },
+        /**
+         * The default graph wrapped in a synchronized graph.
+         */
+        AS_SYNCHRONIZED {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(
+                    new AsSynchronizedGraph<>(
+                        new DirectedWeightedPseudograph<>(
+                            null, SupplierUtil.createDefaultWeightedEdgeSupplier())),
+                    edges);
+            }
+        },
+        /**
+         * A multiversion graph with persistent adjacency structures.
+         */
+        VERSIONED {
+            @Override
+            Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges)
+            {
+                return fill(
+                    new VersionedGraph<>(
+                        null, SupplierUtil.createDefaultWeightedEdgeSupplier(), TYPE),
+                    edges);
+            }
+        };
+
+        private static final GraphType TYPE =
+            DefaultGraphType.directedPseudograph().asWeighted();
+
+        abstract Graph<Integer, ?> create(BenchmarkGraphs.EdgeList edges);
+    }
+
+    @Param
+    public Backend backend;
+
+    @Param({ "10000" })
+    public int numVertices;
+
+    @Param({ "100000" })
+    public int numEdges;
+
+    private BenchmarkGraphs.EdgeList edges;
+    private Graph<Integer, ?> graph;
+    private int[] lookupSources;
+    private int[] lookupTargets;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        edges = new BenchmarkGraphs.EdgeList(BenchmarkGraphs.gnm(numVertices, numEdges, true));
+        graph = backend.create(edges);
+
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        lookupSources = new int[LOOKUPS];
+        lookupTargets = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (i % 2 == 0) {
+                // an existing edge
+                int e = rng.nextInt(edges.getNumEdges());
+                lookupSources[i] = edges.getSource(e);
+                lookupTargets[i] = edges.getTarget(e);
+            } else {
+                lookupSources[i] = rng.nextInt(numVertices);
+                lookupTargets[i] = rng.nextInt(numVertices);
+            }
+        }
+    }
+
+    /**
+     * Construct the graph from the edge list.
+     * 
+     * @return the graph
+     */
+    @Benchmark
+    public Graph<Integer, ?> build()
+    {
+        return backend.create(edges);
+    }
+
+    /**
+     * Visit all outgoing edges of all vertices.
+     * 
+     * @return the sum of the weights and targets of all edges
+     */
+    @Benchmark
+    public double traverse()
+    {
+        return traverse(graph);
+    }
+
+    /**
+     * Look up edges between pairs of vertices, half of which are adjacent.
+     * 
+     * @param blackhole the blackhole
+     */
+    @Benchmark
+    public void lookup(Blackhole blackhole)
+    {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(graph.containsEdge(lookupSources[i], lookupTargets[i]));
+        }
+    }
+
+    private static <E> double traverse(Graph<Integer, E> graph)
+    {
+        double sum = 0d;
+        for (Integer v : graph.vertexSet()) {
+            for (E e : graph.outgoingEdgesOf(v)) {
+                sum += graph.getEdgeTarget(e) + graph.getEdgeWeight(e);
+            }
+        }
+        return sum;
+    }
+
+    private static <E> Graph<Integer, E> fill(
+        Graph<Integer, E> graph, BenchmarkGraphs.EdgeList edges)
+    {
+        for (int v = 0; v < edges.getNumVertices(); v++) {
+            graph.addVertex(v);
+        }
+        for (int i = 0; i < edges.getNumEdges(); i++) {
+            E e = graph.addEdge(edges.getSource(i), edges.getTarget(i));
+            graph.setEdgeWeight(e, edges.getWeight(i));
+        }
+        return graph;
+    }
+
+    /**
+     * A directed weighted pseudograph using the default specifics.
+     */
+    private static class DefaultSpecificsGraph
+        extends
+        AbstractBaseGraph<Integer, DefaultWeightedEdge>
+    {
+        private static final long serialVersionUID = -6563394716018519398L;
+
+        DefaultSpecificsGraph()
+        {
+            super(
+                null, SupplierUtil.createDefaultWeightedEdgeSupplier(), Backend.TYPE,
+                new DefaultGraphSpecificsStrategy<>());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.io.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of the graph importers and exporters. The input graph is exported once per trial and
+ * the benchmark measures parsing the resulting text back into a graph, as well as exporting it.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ImporterBenchmark
+{
+    private static final VertexProvider<String> VERTEX_PROVIDER = (id, attributes) -> id;
+    private static final EdgeProvider<String, DefaultWeightedEdge> EDGE_PROVIDER =
+        (from, to, label, attributes) -> new DefaultWeightedEdge();
+
+    /**
+     * The supported file formats.
+     */
+    public enum Format
+    {
+        /**
+         * Comma separated edge list.
+         */
+        CSV {
+            @Override
+            GraphExporter<Integer, DefaultWeightedEdge> createExporter()
+            {
+                return new CSVExporter<>(CSVFormat.EDGE_LIST);
+            }
+
+            @Override
+            GraphImporter<String, DefaultWeightedEdge> createImporter()
+            {
+                return new CSVImporter<>(VERTEX_PROVIDER, EDGE_PROVIDER, CSVFormat.EDGE_LIST);
+            }
+        },
+        /**
+         * DIMACS.
+         */
+        DIMACS {
+            @Override
+            GraphExporter<Integer, DefaultWeightedEdge> createExporter()
+            {
+                return new DIMACSExporter<>();
+            }
+
+            @Override
+            GraphImporter<String, DefaultWeightedEdge> createImporter()
+            {
+                return new DIMACSImporter<>(VERTEX_PROVIDER, EDGE_PROVIDER);
+            }
+        },
+        /**
+         * GraphML.
+         */
+        GRAPHML {
+            @Override
+            GraphExporter<Integer, DefaultWeightedEdge> createExporter()
+            {
+                return new GraphMLExporter<>();
+            }
+
+            @Override
+            GraphImporter<String, DefaultWeightedEdge> createImporter()
+            {
+                return new GraphMLImporter<>(VERTEX_PROVIDER, EDGE_PROVIDER);
+            }
+        },
+        /**
+         * GML.
+         */
+        GML {
+            @Override
+            GraphExporter<Integer, DefaultWeightedEdge> createExporter()
+            {
+                return new GmlExporter<>();
+            }
+
+            @Override
+            GraphImporter<String, DefaultWeightedEdge> createImporter()
+            {
+                return new GmlImporter<>(VERTEX_PROVIDER, EDGE_PROVIDER);
+            }
+        },
+        /**
+         * DOT.
+         */
+        DOT {
+            @Override
+            GraphExporter<Integer, DefaultWeightedEdge> createExporter()
+            {
+                return new DOTExporter<>();
+            }
+
+            @Override
+            GraphImporter<String, DefaultWeightedEdge> createImporter()
+            {
+                return new DOTImporter<>(VERTEX_PROVIDER, EDGE_PROVIDER);
+            }
+        };
+
+        abstract GraphExporter<Integer, DefaultWeightedEdge> createExporter();
+
+        abstract GraphImporter<String, DefaultWeightedEdge> createImporter();
+    }
+
+    @Param
+    public Format format;
+
+    @Param({ "10000" })
+    public int numVertices;
+
+    @Param({ "50000" })
+    public int numEdges;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws ExportException
+    {
+        graph = BenchmarkGraphs.gnm(numVertices, numEdges, true);
+        text = export();
+    }
+
+    /**
+     * Export the input graph.
+     * 
+     * @return the exported text
+     * @throws ExportException in case of an error
+     */
+    @Benchmark
+    public String export()
+        throws ExportException
+    {
+        StringWriter writer = new StringWriter();
+        format.createExporter().exportGraph(graph, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Import the exported input graph.
+     * 
+     * @return the imported graph
+     * @throws ImportException in case of an error
+     */
+    @Benchmark
+    public Graph<String, DefaultWeightedEdge> parse()
+        throws ImportException
+    {
+        Graph<String, DefaultWeightedEdge> result =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        format.createImporter().importGraph(result, new StringReader(text));
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.matching.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of matching algorithms on a random bipartite graph.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MatchingBenchmark
+{
+    /**
+     * The matching algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * Edmonds' maximum cardinality matching.
+         */
+        EDMONDS {
+            @Override
+            MatchingAlgorithm<Integer, DefaultWeightedEdge> create(
+                BenchmarkGraphs.BipartiteGraph input)
+            {
+                return new EdmondsMaximumCardinalityMatching<>(input.getGraph());
+            }
+        },
+        /**
+         * Greedy maximal cardinality matching.
+         */
+        GREEDY_CARDINALITY {
+            @Override
+            MatchingAlgorithm<Integer, DefaultWeightedEdge> create(
+                BenchmarkGraphs.BipartiteGraph input)
+            {
+                return new GreedyMaximumCardinalityMatching<>(input.getGraph(), false);
+            }
+        },
+        /**
+         * Hopcroft-Karp maximum cardinality bipartite matching.
+         */
+        HOPCROFT_KARP {
+            @Override
+            MatchingAlgorithm<Integer, DefaultWeightedEdge> create(
+                BenchmarkGraphs.BipartiteGraph input)
+            {
+                return new HopcroftKarpMaximumCardinalityBipartiteMatching<>(
+                    input.getGraph(), input.getFirstPartition(), input.getSecondPartition());
+            }
+        },
+        /**
+         * Greedy approximate maximum weight matching.
+         */
+        GREEDY_WEIGHTED {
+            @Override
+            MatchingAlgorithm<Integer, DefaultWeightedEdge> create(
+                BenchmarkGraphs.BipartiteGraph input)
+            {
+                return new GreedyWeightedMatching<>(input.getGraph(), false);
+            }
+        },
+        /**
+         * Path growing approximate maximum weight matching.
+         */
+        PATH_GROWING {
+            @Override
+            MatchingAlgorithm<Integer, DefaultWeightedEdge> create(
+                BenchmarkGraphs.BipartiteGraph input)
+            {
+                return new PathGrowingWeightedMatching<>(input.getGraph());
+            }
+        },
+        /**
+         * Exact maximum weight bipartite matching.
+         */
+        MAXIMUM_WEIGHT_BIPARTITE {
+            @Override
+            MatchingAlgorithm<Integer, DefaultWeightedEdge> create(
+                BenchmarkGraphs.BipartiteGraph input)
+            {
+                return new MaximumWeightBipartiteMatching<>(
+                    input.getGraph(), input.getFirstPartition(), input.getSecondPartition());
+            }
+        };
+
+        abstract MatchingAlgorithm<Integer, DefaultWeightedEdge> create(
+            BenchmarkGraphs.BipartiteGraph input);
+    }
+
+    @Param
+    public Algorithm algorithm;
+
+    @Param({ "1000" })
+    public int partitionSize;
+
+    @Param({ "0.005" })
+    public double edgeProbability;
+
+    private BenchmarkGraphs.BipartiteGraph input;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        input = BenchmarkGraphs.bipartite(partitionSize, partitionSize, edgeProbability);
+    }
+
+    /**
+     * Compute a matching.
+     * 
+     * @return the weight of the matching
+     */
+    @Benchmark
+    public double matching()
+    {
+        return algorithm.create(input).getMatching().getWeight();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.flow.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of maximum flow algorithms on a directed uniform random network, using the edge
+ * weights as capacities.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MaximumFlowBenchmark
+{
+    /**
+     * The maximum flow algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * The Edmonds-Karp algorithm.
+         */
+        EDMONDS_KARP {
+            @Override
+            MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> network)
+            {
+                return new EdmondsKarpMFImpl<>(network);
+            }
+        },
+        /**
+         * The push-relabel algorithm.
+         */
+        PUSH_RELABEL {
+            @Override
+            MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> network)
+            {
+                return new PushRelabelMFImpl<>(network);
+            }
+        },
+        /**
+         * Dinic's algorithm.
+         */
+        DINIC {
+            @Override
+            MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> network)
+            {
+                return new DinicMFImpl<>(network);
+            }
+        };
+
+        abstract MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> create(
+            Graph<Integer, DefaultWeightedEdge> network);
+    }
+
+    @Param
+    public Algorithm algorithm;
+
+    @Param({ "1000" })
+    public int numVertices;
+
+    @Param({ "20000" })
+    public int numEdges;
+
+    private Graph<Integer, DefaultWeightedEdge> network;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        network = BenchmarkGraphs.gnm(numVertices, numEdges, true);
+    }
+
+    /**
+     * Compute a maximum flow between the first and the last vertex.
+     * 
+     * @return the value of the maximum flow
+     */
+    @Benchmark
+    public double maximumFlow()
+    {
+        return algorithm.create(network).calculateMaximumFlow(0, numVertices - 1);
+    }
+}
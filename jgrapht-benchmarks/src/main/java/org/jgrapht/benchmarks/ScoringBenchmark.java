@@ -0,0 +1,134 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.scoring.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of vertex scoring algorithms on an unweighted scale-free graph.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScoringBenchmark
+{
+    /**
+     * The scoring algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * PageRank.
+         */
+        PAGE_RANK {
+            @Override
+            VertexScoringAlgorithm<Integer, ? extends Number> create(
+                Graph<Integer, DefaultEdge> graph)
+            {
+                return new PageRank<>(graph);
+            }
+        },
+        /**
+         * Betweenness centrality.
+         */
+        BETWEENNESS {
+            @Override
+            VertexScoringAlgorithm<Integer, ? extends Number> create(
+                Graph<Integer, DefaultEdge> graph)
+            {
+                return new BetweennessCentrality<>(graph);
+            }
+        },
+        /**
+         * Closeness centrality.
+         */
+        CLOSENESS {
+            @Override
+            VertexScoringAlgorithm<Integer, ? extends Number> create(
+                Graph<Integer, DefaultEdge> graph)
+            {
+                return new ClosenessCentrality<>(graph);
+            }
+        },
+        /**
+         * Harmonic centrality.
+         */
+        HARMONIC {
+            @Override
+            VertexScoringAlgorithm<Integer, ? extends Number> create(
+                Graph<Integer, DefaultEdge> graph)
+            {
+                return new HarmonicCentrality<>(graph);
+            }
+        },
+        /**
+         * Coreness.
+         */
+        CORENESS {
+            @Override
+            VertexScoringAlgorithm<Integer, ? extends Number> create(
+                Graph<Integer, DefaultEdge> graph)
+            {
+                return new Coreness<>(graph);
+            }
+        };
+
+        abstract VertexScoringAlgorithm<Integer, ? extends Number> create(
+            Graph<Integer, DefaultEdge> graph);
+    }
+
+    @Param
+    public Algorithm algorithm;
+
+    @Param({ "2000" })
+    public int numVertices;
+
+    @Param({ "3" })
+    public int edgesPerVertex;
+
+    private Graph<Integer, DefaultEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = BenchmarkGraphs.barabasiAlbert(numVertices, edgesPerVertex);
+    }
+
+    /**
+     * Compute the scores of all vertices.
+     * 
+     * @return the scores
+     */
+    @Benchmark
+    public Map<Integer, ? extends Number> scores()
+    {
+        return algorithm.create(graph).getScores();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of point-to-point shortest path algorithms on a uniform random graph and on a grid.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ShortestPathBenchmark
+{
+    private static final int QUERIES = 10;
+
+    /**
+     * The input graphs.
+     */
+    public enum Input
+    {
+        /**
+         * A directed uniform random graph with 10,000 vertices and 50,000 edges.
+         */
+        GNM {
+            @Override
+            Graph<Integer, DefaultWeightedEdge> create()
+            {
+                return BenchmarkGraphs.gnm(10000, 50000, true);
+            }
+        },
+        /**
+         * An undirected 100x100 grid.
+         */
+        GRID {
+            @Override
+            Graph<Integer, DefaultWeightedEdge> create()
+            {
+                return BenchmarkGraphs.grid(100, 100);
+            }
+        };
+
+        abstract Graph<Integer, DefaultWeightedEdge> create();
+    }
+
+    /**
+     * The shortest path algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * Dijkstra's algorithm.
+         */
+        DIJKSTRA {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new DijkstraShortestPath<>(graph);
+            }
+        },
+        /**
+         * Bidirectional Dijkstra.
+         */
+        BIDIRECTIONAL_DIJKSTRA {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new BidirectionalDijkstraShortestPath<>(graph);
+            }
+        },
+        /**
+         * The Bellman-Ford algorithm.
+         */
+        BELLMAN_FORD {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new BellmanFordShortestPath<>(graph);
+            }
+        },
+        /**
+         * Contraction hierarchies. The preprocessing is performed during the setup of the trial and
+         * is therefore not measured.
+         */
+        CONTRACTION_HIERARCHY {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> alg =
+                    new ContractionHierarchyShortestPath<>(graph);
+                alg.precompute();
+                return alg;
+            }
+        };
+
+        abstract ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+            Graph<Integer, DefaultWeightedEdge> graph);
+    }
+
+    @Param
+    public Input input;
+
+    @Param
+    public Algorithm algorithm;
+
+    private ShortestPathAlgorithm<Integer, DefaultWeightedEdge> alg;
+    private int[] sources;
+    private int[] targets;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph = input.create();
+        alg = algorithm.create(graph);
+        int n = graph.vertexSet().size();
+        Random rng = new Random(BenchmarkGraphs.SEED);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = rng.nextInt(n);
+            targets[i] = rng.nextInt(n);
+        }
+    }
+
+    /**
+     * Compute the shortest paths between several pairs of vertices.
+     * 
+     * @return the sum of the path weights
+     */
+    @Benchmark
+    public double pointToPoint()
+    {
+        double sum = 0d;
+        for (int i = 0; i < QUERIES; i++) {
+            sum += alg.getPathWeight(sources[i], targets[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.benchmarks;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks of single-source shortest path algorithms on the inputs of the
+ * {@link ShortestPathBenchmark}, stored either in a default graph or in a graph with indexed edge
+ * weights.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SingleSourceShortestPathBenchmark
+{
+    /**
+     * The single-source shortest path algorithms.
+     */
+    public enum Algorithm
+    {
+        /**
+         * Dijkstra's algorithm.
+         */
+        DIJKSTRA {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new DijkstraShortestPath<>(graph);
+            }
+        },
+        /**
+         * Parallel delta-stepping.
+         */
+        DELTA_STEPPING {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new DeltaSteppingShortestPath<>(graph);
+            }
+        },
+        /**
+         * The Bellman-Ford algorithm.
+         */
+        BELLMAN_FORD {
+            @Override
+            ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+                Graph<Integer, DefaultWeightedEdge> graph)
+            {
+                return new BellmanFordShortestPath<>(graph);
+            }
+        };
+
+        abstract ShortestPathAlgorithm<Integer, DefaultWeightedEdge> create(
+            Graph<Integer, DefaultWeightedEdge> graph);
+    }
+
+    @Param
+    public ShortestPathBenchmark.Input input;
+
+    @Param
+    public Algorithm algorithm;
+
+    @Param({ "false", "true" })
+    public boolean indexedEdges;
+
+    private Graph<Integer, DefaultWeightedEdge> graph;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        graph = input.create();
+        if (indexedEdges) {
+            Graph<Integer, DefaultWeightedEdge> indexed =
+                GraphTypeBuilder.forGraph(graph).indexedEdges(true).buildGraph();
+            Graphs.addAllVertices(indexed, graph.vertexSet());
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                Graphs.addEdge(
+                    indexed, graph.getEdgeSource(e), graph.getEdgeTarget(e),
+                    graph.getEdgeWeight(e));
+            }
+            graph = indexed;
+        }
+    }
+
+    /**
+     * Compute the shortest paths from one source to all vertices.
+     * 
+     * @return the shortest paths
+     */
+    @Benchmark
+    public ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultWeightedEdge> singleSource()
+    {
+        return algorithm.create(graph).getPaths(0);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the graph implementations and algorithms of the library.
+ */
+package org.jgrapht.benchmarks;
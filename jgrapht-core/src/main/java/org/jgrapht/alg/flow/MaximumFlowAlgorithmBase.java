@@ -21,8 +21,10 @@ import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.util.*;
 import org.jgrapht.alg.util.extension.*;
+import org.jgrapht.graph.*;
 
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 /**
@@ -116,6 +118,7 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
      */
     private void buildInternal()
     {
+        ToDoubleFunction<E> capacities = IndexedEdgeWeights.weightFunction(network);
         if (directedGraph) { // Directed graph
             for (V v : network.vertexSet()) {
                 VertexExtensionBase vx = vertexExtensionManager.getExtension(v);
@@ -128,8 +131,9 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
                     V v = network.getEdgeTarget(e);
                     VertexExtensionBase vx = vertexExtensionManager.getExtension(v);
 
-                    AnnotatedFlowEdge forwardEdge = createEdge(ux, vx, e, network.getEdgeWeight(e));
-                    AnnotatedFlowEdge backwardEdge = createBackwardEdge(forwardEdge);
+                    AnnotatedFlowEdge forwardEdge =
+                        createEdge(ux, vx, e, capacities.applyAsDouble(e));
+                    AnnotatedFlowEdge backwardEdge = createBackwardEdge(forwardEdge, capacities);
 
                     ux.getOutgoing().add(forwardEdge);
 
@@ -148,8 +152,9 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
                     vertexExtensionManager.getExtension(network.getEdgeSource(e));
                 VertexExtensionBase vx =
                     vertexExtensionManager.getExtension(network.getEdgeTarget(e));
-                AnnotatedFlowEdge forwardEdge = createEdge(ux, vx, e, network.getEdgeWeight(e));
-                AnnotatedFlowEdge backwardEdge = createBackwardEdge(forwardEdge);
+                AnnotatedFlowEdge forwardEdge =
+                    createEdge(ux, vx, e, capacities.applyAsDouble(e));
+                AnnotatedFlowEdge backwardEdge = createBackwardEdge(forwardEdge, capacities);
                 ux.getOutgoing().add(forwardEdge);
                 vx.getOutgoing().add(backwardEdge);
             }
@@ -168,7 +173,8 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
         return ex;
     }
 
-    private AnnotatedFlowEdge createBackwardEdge(AnnotatedFlowEdge forwardEdge)
+    private AnnotatedFlowEdge createBackwardEdge(
+        AnnotatedFlowEdge forwardEdge, ToDoubleFunction<E> capacities)
     {
         AnnotatedFlowEdge backwardEdge;
         E backwardPrototype =
@@ -177,13 +183,13 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
         if (directedGraph && backwardPrototype != null) { // if edge exists in directed input graph
             backwardEdge = createEdge(
                 forwardEdge.target, forwardEdge.source, backwardPrototype,
-                network.getEdgeWeight(backwardPrototype));
+                capacities.applyAsDouble(backwardPrototype));
         } else {
             backwardEdge = edgeExtensionManager.createExtension();
             backwardEdge.source = forwardEdge.target;
             backwardEdge.target = forwardEdge.source;
             if (!directedGraph) { // Undirected graph: if (u,v) exists, then so much (v,u)
-                backwardEdge.capacity = network.getEdgeWeight(backwardPrototype);
+                backwardEdge.capacity = capacities.applyAsDouble(backwardPrototype);
                 backwardEdge.prototype = backwardPrototype;
             }
         }
@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.interfaces;
+
+import org.jgrapht.*;
+
+import java.util.*;
+
+/**
+ * An algorithm which computes the shortest paths between all pairs of a set of source vertices and
+ * a set of target vertices. The result is a distance table which is stored compactly, while the
+ * paths themselves are only computed on demand.
+ * 
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public interface ManyToManyShortestPathsAlgorithm<V, E>
+    extends
+    ShortestPathAlgorithm<V, E>
+{
+
+    /**
+     * Compute the shortest paths between all pairs of a set of source vertices and a set of target
+     * vertices.
+     * 
+     * @param sources the source vertices
+     * @param targets the target vertices
+     * @return the shortest paths
+     * @throws IllegalArgumentException if a source or a target vertex is not contained in the
+     *         graph
+     */
+    ManyToManyShortestPaths<V, E> getManyToManyPaths(Set<V> sources, Set<V> targets);
+
+    /**
+     * The shortest paths between all pairs of a set of source vertices and a set of target
+     * vertices.
+     * 
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    interface ManyToManyShortestPaths<V, E>
+    {
+        /**
+         * Returns the graph over which the paths are defined.
+         *
+         * @return the graph
+         */
+        Graph<V, E> getGraph();
+
+        /**
+         * Returns the source vertices, in the order of the rows of the weight matrix.
+         * 
+         * @return the source vertices
+         */
+        List<V> getSources();
+
+        /**
+         * Returns the target vertices, in the order of the columns of the weight matrix.
+         * 
+         * @return the target vertices
+         */
+        List<V> getTargets();
+
+        /**
+         * Returns the weight of the shortest path from a source vertex to a target vertex.
+         * Returns {@link Double#POSITIVE_INFINITY} if no path exists.
+         * 
+         * @param source the source vertex
+         * @param target the target vertex
+         * @return the weight of the shortest path, or {@link Double#POSITIVE_INFINITY} if no path
+         *         exists
+         * @throws IllegalArgumentException if the vertices are not a source and a target vertex
+         */
+        double getWeight(V source, V target);
+
+        /**
+         * Returns the shortest path from a source vertex to a target vertex. The path is computed
+         * by this call.
+         * 
+         * @param source the source vertex
+         * @param target the target vertex
+         * @return the shortest path, or null if no path exists
+         * @throws IllegalArgumentException if the vertices are not a source and a target vertex
+         */
+        GraphPath<V, E> getPath(V source, V target);
+
+        /**
+         * Returns the weights of the shortest paths as a matrix whose rows correspond to the
+         * source vertices and whose columns correspond to the target vertices. The matrix is not
+         * copied and must not be modified.
+         * 
+         * @return the weight matrix
+         */
+        double[][] getWeightMatrix();
+    }
+
+}
+
+// End ManyToManyShortestPathsAlgorithm.java
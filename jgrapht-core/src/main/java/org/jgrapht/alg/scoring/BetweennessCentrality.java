@@ -19,9 +19,12 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 /**
  * Betweenness centrality.
@@ -42,7 +45,35 @@ import java.util.*;
  *
  * The running time is $O(nm) and $O(nm +n^2 \log n)$ for unweighted and weighted graph
  * respectively, where $n$ is the number of vertices and $m$ the number of edges of the graph. The
- * space complexity is $O(n + m)$.
+ * space complexity is $O(n + m)$. The vertices are numbered $0$ to $n-1$ and weighted graphs use
+ * by default an {@link IntHeap} keyed by the distances of the workspace as priority queue, so the
+ * searches neither box nor hash the vertices. Any {@link AddressableHeap} whose values are the
+ * numbers of the vertices can be used instead by passing its supplier to the constructor.
+ * 
+ * <p>
+ * The single source stages of the algorithm, one per vertex, can be executed in parallel. Each
+ * thread uses its own workspace of primitive arrays. The sources are split into blocks of fixed
+ * size, the contributions of each block are summed in the order of the sources and the sums of
+ * the blocks are added in the order of the blocks. The floating point operations are therefore
+ * performed in the same order independently of the parallelism, and the scores are identical to
+ * the ones computed by a single thread.
+ * 
+ * <p>
+ * Since the exact computation is not feasible for very large graphs, the scores can instead be
+ * approximated by sampling shortest paths, as described in M. Riondato and E. M. Kornaropoulos.
+ * Fast approximation of betweenness centrality through sampling. Data Mining and Knowledge
+ * Discovery, 30(2): 438--475, 2016. Each sample is a shortest path chosen uniformly at random
+ * between a pair of distinct vertices chosen uniformly at random, and the score of each vertex is
+ * estimated from the fraction of samples which contain it as an internal vertex. The number of
+ * samples $r = \lceil \frac{c}{\epsilon^2} (\lfloor \log_2 (VD-2) \rfloor + 1 + \ln
+ * \frac{1}{\delta}) \rceil$, where $c=0.5$ and $VD$ is an upper bound on the number of vertices
+ * of a shortest path, guarantees that with probability at least $1-\delta$ the estimate of
+ * every vertex differs from the exact score by at most $\epsilon$, when both are expressed as a
+ * fraction of the number $n(n-1)$ of ordered pairs of vertices. The bound $VD$ is computed from
+ * one shortest path tree per connected component for undirected graphs and from the sizes of the
+ * weakly connected components for directed graphs. The samples are computed by shortest path
+ * searches which stop at the sampled target, and can also be executed in parallel. For a given
+ * random number generator the estimates do not depend on the parallelism.
  *
  * 
  * @param <V> the graph vertex type
@@ -55,6 +86,14 @@ public class BetweennessCentrality<V, E>
     implements
     VertexScoringAlgorithm<V, Double>
 {
+    /**
+     * Number of sources whose contributions are summed before being added to the scores
+     */
+    private static final int SOURCE_BLOCK_SIZE = 64;
+    /**
+     * Constant of the sample size of the approximation
+     */
+    private static final double SAMPLE_SIZE_CONSTANT = 0.5;
 
     /**
      * Underlying graph
@@ -64,6 +103,30 @@ public class BetweennessCentrality<V, E>
      * Whether to normalize scores
      */
     private final boolean normalize;
+    /**
+     * Supplier of the heaps used for weighted graphs, or null to use an {@link IntHeap}
+     */
+    private final Supplier<AddressableHeap<Integer>> heapSupplier;
+    /**
+     * The number of threads
+     */
+    private final int parallelism;
+    /**
+     * The executor, or null if one is created for each computation
+     */
+    private final ExecutorService executor;
+    /**
+     * The maximum error of the approximation, or zero for the exact computation
+     */
+    private final double epsilon;
+    /**
+     * The probability that the error of the approximation is larger than epsilon
+     */
+    private final double delta;
+    /**
+     * The random number generator used for sampling
+     */
+    private final Random rng;
     /**
      * The actual scores
      */
@@ -87,8 +150,163 @@ public class BetweennessCentrality<V, E>
      *        $n$ is the number of vertices of the graph
      */
     public BetweennessCentrality(Graph<V, E> graph, boolean normalize)
+    {
+        this(graph, normalize, 1);
+    }
+
+    /**
+     * Construct a new instance.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param heapSupplier supplier of the heaps used as priority queues for weighted graphs, whose
+     *        values are the numbers of the vertices
+     */
+    public BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, Supplier<AddressableHeap<Integer>> heapSupplier)
+    {
+        this(graph, normalize, heapSupplier, 1);
+    }
+
+    /**
+     * Construct a new instance which executes the single source stages in parallel.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public BetweennessCentrality(Graph<V, E> graph, boolean normalize, int parallelism)
+    {
+        this(graph, normalize, null, parallelism, null);
+    }
+
+    /**
+     * Construct a new instance which executes the single source stages in parallel.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param heapSupplier supplier of the heaps used as priority queues for weighted graphs, whose
+     *        values are the numbers of the vertices
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, Supplier<AddressableHeap<Integer>> heapSupplier,
+        int parallelism)
+    {
+        this(
+            graph, normalize,
+            Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null"), parallelism,
+            null);
+    }
+
+    /**
+     * Construct a new instance which executes the single source stages using an existing
+     * executor, such as a {@link ForkJoinPool}. The executor is not shut down by this class.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param executor the executor
+     */
+    public BetweennessCentrality(Graph<V, E> graph, boolean normalize, ExecutorService executor)
+    {
+        this(
+            graph, normalize, null, parallelismOf(executor),
+            Objects.requireNonNull(executor, "Executor cannot be null"));
+    }
+
+    /**
+     * Construct a new instance which executes the single source stages using an existing
+     * executor, such as a {@link ForkJoinPool}. The executor is not shut down by this class.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param heapSupplier supplier of the heaps used as priority queues for weighted graphs, whose
+     *        values are the numbers of the vertices
+     * @param executor the executor
+     */
+    public BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, Supplier<AddressableHeap<Integer>> heapSupplier,
+        ExecutorService executor)
+    {
+        this(
+            graph, normalize,
+            Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null"),
+            parallelismOf(executor), Objects.requireNonNull(executor, "Executor cannot be null"));
+    }
+
+    /**
+     * Construct a new instance which approximates the scores by sampling shortest paths.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param epsilon the maximum error of the scores as a fraction of $n(n-1)$
+     * @param delta the probability that the error is larger than epsilon
+     * @throws IllegalArgumentException if epsilon or delta are not in $(0,1)$
+     */
+    public BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, double epsilon, double delta)
+    {
+        this(graph, normalize, epsilon, delta, new Random(), 1);
+    }
+
+    /**
+     * Construct a new instance which approximates the scores by sampling shortest paths. The
+     * samples are computed in parallel.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param epsilon the maximum error of the scores as a fraction of $n(n-1)$
+     * @param delta the probability that the error is larger than epsilon
+     * @param rng the random number generator
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if epsilon or delta are not in $(0,1)$
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, double epsilon, double delta, Random rng,
+        int parallelism)
+    {
+        this(
+            graph, normalize, null, parallelism, null, epsilon, delta,
+            Objects.requireNonNull(rng, "Random number generator cannot be null"));
+        if (!(epsilon > 0d && epsilon < 1d)) {
+            throw new IllegalArgumentException("Epsilon must be in (0,1)");
+        }
+        if (!(delta > 0d && delta < 1d)) {
+            throw new IllegalArgumentException("Delta must be in (0,1)");
+        }
+    }
+
+    private BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, Supplier<AddressableHeap<Integer>> heapSupplier,
+        int parallelism, ExecutorService executor)
+    {
+        this(graph, normalize, heapSupplier, parallelism, executor, 0d, 0d, null);
+    }
+
+    private BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, Supplier<AddressableHeap<Integer>> heapSupplier,
+        int parallelism, ExecutorService executor, double epsilon, double delta, Random rng)
     {
         this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.heapSupplier = heapSupplier;
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.rng = rng;
 
         this.scores = null;
         this.normalize = normalize;
@@ -126,172 +344,640 @@ public class BetweennessCentrality<V, E>
      */
     private void compute()
     {
-        // initialize result container
-        this.scores = new HashMap<>();
-        this.graph.vertexSet().forEach(v -> this.scores.put(v, 0.0));
-
-        // compute for each source
-        this.graph.vertexSet().forEach(this::compute);
+        Snapshot snapshot = new Snapshot();
+        int n = snapshot.vertices.size();
+        double[] result = rng == null ? computeExact(snapshot) : computeApproximate(snapshot);
 
         // For undirected graph, divide scores by two as each shortest path
         // considered twice.
         if (!this.graph.getType().isDirected()) {
-            this.scores.forEach((v, score) -> this.scores.put(v, score / 2));
+            for (int i = 0; i < n; i++) {
+                result[i] /= 2;
+            }
         }
 
         if (normalize) {
-            int n = this.graph.vertexSet().size();
-            int normalizationFactor = (n - 1) * (n - 2);
+            double normalizationFactor = (n - 1) * (double) (n - 2);
             if (normalizationFactor != 0) {
-                this.scores.forEach((v, score) -> this.scores.put(v, score / normalizationFactor));
+                for (int i = 0; i < n; i++) {
+                    result[i] /= normalizationFactor;
+                }
             }
         }
+
+        this.scores = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            this.scores.put(snapshot.vertices.get(i), result[i]);
+        }
     }
 
-    private void compute(V s)
+    /**
+     * Compute the exact scores, by one single source stage per vertex.
+     */
+    private double[] computeExact(Snapshot snapshot)
     {
-        // initialize
-        ArrayDeque<V> stack = new ArrayDeque<>();
-        Map<V, List<V>> predecessors = new HashMap<>();
-        this.graph.vertexSet().forEach(w -> predecessors.put(w, new ArrayList<>()));
-
-        // Number of shortest paths from s to v
-        Map<V, Double> sigma = new HashMap<>();
-        this.graph.vertexSet().forEach(t -> sigma.put(t, 0.0));
-        sigma.put(s, 1.0);
-
-        // Distance (Weight) of the shortest path from s to v
-        Map<V, Double> distance = new HashMap<>();
-        this.graph.vertexSet().forEach(t -> distance.put(t, Double.POSITIVE_INFINITY));
-        distance.put(s, 0.0);
-
-        MyQueue<V, Double> queue =
-            this.graph.getType().isWeighted() ? new WeightedQueue() : new UnweightedQueue();
-        queue.insert(s, 0.0);
-
-        // 1. compute the length and the number of shortest paths between all s to v
-        while (!queue.isEmpty()) {
-            V v = queue.remove();
-            stack.push(v);
-
-            for (E e : this.graph.outgoingEdgesOf(v)) {
-                V w = Graphs.getOppositeVertex(this.graph, e, v);
-                double eWeight = graph.getEdgeWeight(e);
-                if (eWeight < 0.0) {
-                    throw new IllegalArgumentException("Negative edge weight not allowed");
+        int n = snapshot.vertices.size();
+        double[] result = new double[n];
+
+        // compute for each source
+        int blocks = (n + SOURCE_BLOCK_SIZE - 1) / SOURCE_BLOCK_SIZE;
+        Reduction reduction = new Reduction(result);
+        ExecutorService localExecutor = executor;
+        if (localExecutor == null && parallelism > 1 && blocks > 1) {
+            localExecutor = ConcurrencyUtil.createExecutor(Math.min(parallelism, blocks));
+        }
+        try {
+            ConcurrencyUtil.parallelFor(
+                localExecutor, parallelism, blocks, 1, () -> new Workspace(snapshot),
+                (workspace, block) -> {
+                    try {
+                        double[] partial = reduction.acquire();
+                        int end = Math.min(n, (block + 1) * SOURCE_BLOCK_SIZE);
+                        for (int s = block * SOURCE_BLOCK_SIZE; s < end; s++) {
+                            workspace.compute(s, partial);
+                        }
+                        reduction.complete(block, partial);
+                    } catch (RuntimeException | Error e) {
+                        reduction.fail();
+                        throw e;
+                    }
+                });
+        } finally {
+            if (localExecutor != executor) {
+                localExecutor.shutdownNow();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Approximate the scores by sampling shortest paths. The scores have the same scale as the
+     * exact scores before the division for undirected graphs and the normalization.
+     */
+    private double[] computeApproximate(Snapshot snapshot)
+    {
+        int n = snapshot.vertices.size();
+        double[] result = new double[n];
+        int vertexDiameter = snapshot.vertexDiameterBound();
+        if (n < 3 || vertexDiameter < 3) {
+            return result;
+        }
+        int samples = (int) Math.ceil(
+            SAMPLE_SIZE_CONSTANT / (epsilon * epsilon)
+                * (Math.floor(Math.log(vertexDiameter - 2) / Math.log(2)) + 1
+                    + Math.log(1 / delta)));
+
+        // draw all random choices upfront, so that they do not depend on the parallelism
+        int[] sources = new int[samples];
+        int[] targets = new int[samples];
+        long[] seeds = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            sources[i] = rng.nextInt(n);
+            targets[i] = rng.nextInt(n - 1);
+            if (targets[i] >= sources[i]) {
+                targets[i]++;
+            }
+            seeds[i] = rng.nextLong();
+        }
+
+        // count the samples which contain each vertex, in thread local counters
+        List<int[]> counters = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService localExecutor = executor;
+        if (localExecutor == null && parallelism > 1) {
+            localExecutor = ConcurrencyUtil.createExecutor(parallelism);
+        }
+        try {
+            ConcurrencyUtil.parallelFor(localExecutor, parallelism, samples, () -> {
+                Workspace workspace = new Workspace(snapshot);
+                counters.add(workspace.samples);
+                return workspace;
+            }, (workspace, i) -> workspace.sample(sources[i], targets[i], new Random(seeds[i])));
+        } finally {
+            if (localExecutor != executor) {
+                localExecutor.shutdownNow();
+            }
+        }
+
+        double scale = n * (double) (n - 1) / samples;
+        for (int[] counter : counters) {
+            for (int v = 0; v < n; v++) {
+                result[v] += counter[v];
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            result[v] *= scale;
+        }
+        return result;
+    }
+
+    private static int parallelismOf(ExecutorService executor)
+    {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        return ConcurrencyUtil.getDefaultParallelism();
+    }
+
+    /**
+     * Compact representation of the graph. The predecessors of a vertex are stored in the range
+     * of its incoming arcs.
+     */
+    private class Snapshot
+    {
+        final boolean weighted;
+        final List<V> vertices;
+        final Map<V, Integer> index;
+        final int[] start;
+        final int[] head;
+        final double[] weight;
+        final int[] predStart;
+
+        Snapshot()
+        {
+            this.weighted = graph.getType().isWeighted();
+            this.vertices = new ArrayList<>(graph.vertexSet());
+            int n = vertices.size();
+            this.index = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                index.put(vertices.get(i), i);
+            }
+            this.start = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                start[i + 1] = start[i] + graph.outgoingEdgesOf(vertices.get(i)).size();
+            }
+            this.head = new int[start[n]];
+            this.weight = new double[start[n]];
+            this.predStart = new int[n + 1];
+            ToDoubleFunction<E> weightFunction = IndexedEdgeWeights.weightFunction(graph);
+            for (int i = 0; i < n; i++) {
+                V v = vertices.get(i);
+                int k = start[i];
+                for (E e : graph.outgoingEdgesOf(v)) {
+                    double w = weightFunction.applyAsDouble(e);
+                    if (w < 0.0) {
+                        throw new IllegalArgumentException("Negative edge weight not allowed");
+                    }
+                    head[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                    weight[k++] = w;
+                    predStart[head[k - 1] + 1]++;
                 }
-                double d = distance.get(v) + eWeight;
-                // w found for the first time?
-                if (distance.get(w) == Double.POSITIVE_INFINITY) {
-                    queue.insert(w, d);
-                    distance.put(w, d);
+            }
+            for (int i = 0; i < n; i++) {
+                predStart[i + 1] += predStart[i];
+            }
+        }
+
+        /**
+         * Compute an upper bound on the number of vertices of a shortest path. For undirected
+         * graphs the distances between vertices of a connected component are at most twice the
+         * eccentricity of any of its vertices. For directed graphs the bound is the size of the
+         * largest weakly connected component.
+         * 
+         * @return an upper bound on the number of vertices of a shortest path
+         */
+        int vertexDiameterBound()
+        {
+            int n = vertices.size();
+            if (graph.getType().isDirected()) {
+                int[] parent = new int[n];
+                for (int v = 0; v < n; v++) {
+                    parent[v] = v;
                 }
-                // shortest path to w via v?
-                if (distance.get(w) >= d) {
-                    queue.update(w, d);
-                    sigma.put(w, sigma.get(w) + sigma.get(v));
-                    predecessors.get(w).add(v);
+                for (int v = 0; v < n; v++) {
+                    for (int k = start[v]; k < start[v + 1]; k++) {
+                        int a = find(parent, v);
+                        int b = find(parent, head[k]);
+                        if (a != b) {
+                            parent[a] = b;
+                        }
+                    }
                 }
+                int[] size = new int[n];
+                int max = 0;
+                for (int v = 0; v < n; v++) {
+                    max = Math.max(max, ++size[find(parent, v)]);
+                }
+                return max;
             }
-        }
 
-        // 2. sum all pair dependencies.
-        // The pair-dependency of s and v in w
-        Map<V, Double> dependency = new HashMap<>();
-        this.graph.vertexSet().forEach(v -> dependency.put(v, 0.0));
-        // S returns vertices in order of non-increasing distance from s
-        while (!stack.isEmpty()) {
-            V w = stack.pop();
-            for (V v : predecessors.get(w)) {
-                dependency.put(
-                    v, dependency.get(v) + (sigma.get(v) / sigma.get(w)) * (1 + dependency.get(w)));
+            double minWeight = Double.POSITIVE_INFINITY;
+            for (double w : weight) {
+                minWeight = Math.min(minWeight, w);
+            }
+            Workspace workspace = new Workspace(this);
+            boolean[] visited = new boolean[n];
+            int max = 0;
+            for (int v = 0; v < n; v++) {
+                if (visited[v]) {
+                    continue;
+                }
+                int size = workspace.search(v, -1);
+                double eccentricity = 0d;
+                for (int i = 0; i < size; i++) {
+                    int u = workspace.order[i];
+                    visited[u] = true;
+                    eccentricity = Math.max(eccentricity, workspace.distance[u]);
+                }
+                workspace.reset();
+
+                double bound;
+                if (!weighted) {
+                    bound = 2 * eccentricity + 1;
+                } else if (minWeight > 0d) {
+                    bound = Math.floor(2 * eccentricity / minWeight) + 1;
+                } else {
+                    bound = size;
+                }
+                max = Math.max(max, (int) Math.min(bound, size));
             }
-            if (!w.equals(s)) {
-                this.scores.put(w, this.scores.get(w) + dependency.get(w));
+            return max;
+        }
+
+        private int find(int[] parent, int v)
+        {
+            while (parent[v] != v) {
+                parent[v] = parent[parent[v]];
+                v = parent[v];
             }
+            return v;
         }
     }
 
-    private interface MyQueue<T, D>
+    /**
+     * A priority queue of vertex numbers keyed by the distances of a workspace.
+     */
+    private interface VertexHeap
     {
-        void insert(T t, D d);
+        boolean isEmpty();
 
-        void update(T t, D d);
+        /**
+         * Insert a vertex, or decrease its key if it is already in the heap, after its distance
+         * has been set.
+         * 
+         * @param v the vertex
+         */
+        void insertOrDecrease(int v);
 
-        T remove();
+        int removeMin();
 
-        boolean isEmpty();
+        /**
+         * Remove all vertices, before each search.
+         */
+        void clear();
     }
 
-    private class WeightedQueue
+    /**
+     * The default heap, which needs neither boxing nor handles.
+     */
+    private static class IntVertexHeap
         implements
-        MyQueue<V, Double>
+        VertexHeap
     {
+        final IntHeap heap;
 
-        FibonacciHeap<V> delegate = new FibonacciHeap<>();
-        Map<V, FibonacciHeapNode<V>> seen = new HashMap<>();
+        IntVertexHeap(double[] distance)
+        {
+            this.heap = new IntHeap(distance);
+        }
 
         @Override
-        public void insert(V t, Double d)
+        public boolean isEmpty()
         {
-            FibonacciHeapNode<V> node = new FibonacciHeapNode<>(t);
-            delegate.insert(node, d);
-            seen.put(t, node);
+            return heap.isEmpty();
         }
 
         @Override
-        public void update(V t, Double d)
+        public void insertOrDecrease(int v)
         {
-            if (!seen.containsKey(t)) {
-                throw new IllegalArgumentException("Element " + t + " does not exist in queue");
-            }
-            delegate.decreaseKey(seen.get(t), d);
+            heap.insertOrDecrease(v);
         }
 
         @Override
-        public V remove()
+        public int removeMin()
         {
-            return delegate.removeMin().getData();
+            return heap.removeMin();
         }
 
         @Override
-        public boolean isEmpty()
+        public void clear()
         {
-            return delegate.isEmpty();
+            heap.clear();
         }
-
     }
 
-    private class UnweightedQueue
+    /**
+     * A heap backed by a user supplied addressable heap, whose handles are kept in an array
+     * indexed by the vertex.
+     */
+    private static class AddressableVertexHeap
         implements
-        MyQueue<V, Double>
+        VertexHeap
     {
+        final AddressableHeap<Integer> heap;
+        final AddressableHeap.Handle<Integer>[] handles;
+        final double[] distance;
 
-        Queue<V> delegate = new ArrayDeque<>();
+        @SuppressWarnings("unchecked")
+        AddressableVertexHeap(AddressableHeap<Integer> heap, double[] distance)
+        {
+            this.heap = heap;
+            this.handles =
+                (AddressableHeap.Handle<Integer>[]) new AddressableHeap.Handle<?>[distance.length];
+            this.distance = distance;
+        }
 
         @Override
-        public void insert(V t, Double d)
+        public boolean isEmpty()
         {
-            delegate.add(t);
+            return heap.isEmpty();
         }
 
         @Override
-        public void update(V t, Double d)
+        public void insertOrDecrease(int v)
         {
-            // do nothing
+            if (handles[v] == null) {
+                handles[v] = heap.insert(distance[v], v);
+            } else {
+                handles[v].decreaseKey(distance[v]);
+            }
         }
 
         @Override
-        public V remove()
+        public int removeMin()
         {
-            return delegate.remove();
+            int v = heap.deleteMin().getValue();
+            handles[v] = null;
+            return v;
         }
 
         @Override
-        public boolean isEmpty()
+        public void clear()
+        {
+            while (!heap.isEmpty()) {
+                removeMin();
+            }
+            heap.clear();
+        }
+    }
+
+    /**
+     * The workspace of a thread, which computes the dependencies of single sources.
+     */
+    private class Workspace
+    {
+        final Snapshot snapshot;
+        final double[] sigma;
+        final double[] distance;
+        final double[] dependency;
+        // vertices in order of non-decreasing distance from the source
+        final int[] order;
+        // vertices with a finite distance
+        final int[] touched;
+        int numTouched;
+        final int[] preds;
+        final int[] predCount;
+        // the heap of the weighted searches, keyed by the distances
+        final VertexHeap heap;
+        // number of sampled paths containing each vertex
+        final int[] samples;
+
+        Workspace(Snapshot snapshot)
+        {
+            this.snapshot = snapshot;
+            int n = snapshot.vertices.size();
+            this.sigma = new double[n];
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.dependency = new double[n];
+            this.order = new int[n];
+            this.touched = new int[n];
+            this.preds = new int[snapshot.head.length];
+            this.predCount = new int[n];
+            if (!snapshot.weighted) {
+                this.heap = null;
+            } else if (heapSupplier == null) {
+                this.heap = new IntVertexHeap(distance);
+            } else {
+                this.heap = new AddressableVertexHeap(heapSupplier.get(), distance);
+            }
+            this.samples = new int[n];
+        }
+
+        /**
+         * Add the dependencies of a source to the scores.
+         * 
+         * @param s the source
+         * @param scores the scores
+         */
+        void compute(int s, double[] scores)
+        {
+            int[] predStart = snapshot.predStart;
+
+            // 1. compute the length and the number of shortest paths between all s to v
+            int visited = search(s, -1);
+
+            // 2. sum all pair dependencies.
+            // order returns vertices in order of non-increasing distance from s when reversed
+            for (int i = visited - 1; i >= 0; i--) {
+                int w = order[i];
+                for (int j = predStart[w]; j < predStart[w] + predCount[w]; j++) {
+                    int v = preds[j];
+                    dependency[v] = dependency[v] + (sigma[v] / sigma[w]) * (1 + dependency[w]);
+                }
+                if (w != s) {
+                    scores[w] = scores[w] + dependency[w];
+                }
+            }
+
+            reset();
+        }
+
+        /**
+         * Sample a shortest path between two vertices uniformly at random and count its internal
+         * vertices.
+         * 
+         * @param s the source
+         * @param t the target
+         * @param rng the random number generator
+         */
+        void sample(int s, int t, Random rng)
         {
-            return delegate.isEmpty();
+            search(s, t);
+            if (distance[t] != Double.POSITIVE_INFINITY) {
+                // walk backwards choosing each predecessor proportionally to its paths
+                int[] predStart = snapshot.predStart;
+                int w = t;
+                while (w != s) {
+                    double r = rng.nextDouble() * sigma[w];
+                    int end = predStart[w] + predCount[w];
+                    int v = preds[end - 1];
+                    for (int j = predStart[w]; j < end; j++) {
+                        r -= sigma[preds[j]];
+                        if (r < 0d) {
+                            v = preds[j];
+                            break;
+                        }
+                    }
+                    if (v != s) {
+                        samples[v]++;
+                    }
+                    w = v;
+                }
+            }
+            reset();
         }
 
+        /**
+         * Compute the distances and the number of shortest paths from a source, stopping when the
+         * target is reached.
+         * 
+         * @param s the source
+         * @param target the target, or -1 to compute all
+         * @return the number of vertices in the order
+         */
+        int search(int s, int target)
+        {
+            int[] start = snapshot.start;
+            int[] head = snapshot.head;
+            double[] weight = snapshot.weight;
+            int[] predStart = snapshot.predStart;
+
+            sigma[s] = 1.0;
+            distance[s] = 0.0;
+            touched[numTouched++] = s;
+            int visited = 0;
+
+            if (heap == null) {
+                order[visited++] = s;
+                for (int i = 0; i < visited; i++) {
+                    int v = order[i];
+                    if (v == target) {
+                        return i + 1;
+                    }
+                    double d = distance[v] + 1.0;
+                    for (int k = start[v]; k < start[v + 1]; k++) {
+                        int w = head[k];
+                        // w found for the first time?
+                        if (distance[w] == Double.POSITIVE_INFINITY) {
+                            order[visited++] = w;
+                            touched[numTouched++] = w;
+                            distance[w] = d;
+                        }
+                        // shortest path to w via v?
+                        if (distance[w] == d) {
+                            sigma[w] += sigma[v];
+                            preds[predStart[w] + predCount[w]++] = v;
+                        }
+                    }
+                }
+            } else {
+                heap.clear();
+                heap.insertOrDecrease(s);
+                while (!heap.isEmpty()) {
+                    int v = heap.removeMin();
+                    order[visited++] = v;
+                    if (v == target) {
+                        break;
+                    }
+                    for (int k = start[v]; k < start[v + 1]; k++) {
+                        int w = head[k];
+                        double d = distance[v] + weight[k];
+                        if (distance[w] == Double.POSITIVE_INFINITY) {
+                            // w found for the first time
+                            distance[w] = d;
+                            touched[numTouched++] = w;
+                            heap.insertOrDecrease(w);
+                            sigma[w] = sigma[v];
+                            preds[predStart[w]] = v;
+                            predCount[w] = 1;
+                        } else if (d < distance[w]) {
+                            // shorter path to w via v, discard the previous paths
+                            distance[w] = d;
+                            heap.insertOrDecrease(w);
+                            sigma[w] = sigma[v];
+                            preds[predStart[w]] = v;
+                            predCount[w] = 1;
+                        } else if (d == distance[w]) {
+                            // another shortest path to w via v
+                            sigma[w] += sigma[v];
+                            preds[predStart[w] + predCount[w]++] = v;
+                        }
+                    }
+                }
+            }
+            return visited;
+        }
+
+        /**
+         * Reset the workspace after a search.
+         */
+        void reset()
+        {
+            for (int i = 0; i < numTouched; i++) {
+                int v = touched[i];
+                sigma[v] = 0.0;
+                distance[v] = Double.POSITIVE_INFINITY;
+                dependency[v] = 0.0;
+                predCount[v] = 0;
+            }
+            numTouched = 0;
+        }
     }
+
+    /**
+     * Adds the sums of the blocks of sources to the scores in the order of the blocks. Sums which
+     * are completed out of order are kept until all previous blocks are added. A thread waits if
+     * too many sums are pending, which bounds the memory.
+     */
+    private class Reduction
+    {
+        final double[] scores;
+        final Map<Integer, double[]> pending;
+        final Deque<double[]> pool;
+        int next;
+        boolean failed;
+
+        Reduction(double[] scores)
+        {
+            this.scores = scores;
+            this.pending = new HashMap<>();
+            this.pool = new ArrayDeque<>();
+        }
+
+        synchronized double[] acquire()
+        {
+            double[] partial = pool.poll();
+            return partial != null ? partial : new double[scores.length];
+        }
+
+        synchronized void complete(int block, double[] partial)
+        {
+            pending.put(block, partial);
+            double[] p;
+            while ((p = pending.remove(next)) != null) {
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] += p[i];
+                }
+                Arrays.fill(p, 0.0);
+                pool.push(p);
+                next++;
+            }
+            notifyAll();
+            while (pending.size() > parallelism && !failed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Interrupted while waiting for other blocks");
+                }
+            }
+        }
+
+        synchronized void fail()
+        {
+            failed = true;
+            notifyAll();
+        }
+    }
+
 }
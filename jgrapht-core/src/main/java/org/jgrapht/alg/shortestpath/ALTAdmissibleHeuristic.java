@@ -19,11 +19,14 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
-import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
+import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 /**
  * An admissible heuristic for the A* algorithm using a set of landmarks and the triangle
@@ -59,7 +62,16 @@ import java.util.*;
  * <p>
  * In general more landmarks will speed up A* but will need more space. Given an A* query with
  * vertices source and target, a good landmark appears "before" source or "after" target where
- * before and after are relative to the "direction" from source to target.
+ * before and after are relative to the "direction" from source to target. The landmarks can be
+ * chosen using one of the selection strategies {@link #farthestLandmarks(Graph, int, Random)},
+ * {@link #avoidLandmarks(Graph, int, Random)} and {@link #planarLandmarks(Graph, int, Function)}.
+ * 
+ * <p>
+ * The shortest path computations of the pre-processing phase can be executed in parallel. The
+ * distances are stored in compact arrays, which can be obtained using
+ * {@link #getLandmarkDistances()}. Since they are {@link Serializable}, they can be stored to disk
+ * and given to a new instance for the same graph using
+ * {@link #ALTAdmissibleHeuristic(Graph, LandmarkDistances)}, avoiding the pre-processing phase.
  * 
  * @author Dimitrios Michail
  *
@@ -70,11 +82,8 @@ public class ALTAdmissibleHeuristic<V, E>
     implements
     AStarAdmissibleHeuristic<V>
 {
-    private final Graph<V, E> graph;
-    private final Comparator<Double> comparator;
-    private final Map<V, Map<V, Double>> fromLandmark;
-    private final Map<V, Map<V, Double>> toLandmark;
-    private final boolean directed;
+    private final LandmarkDistances<V> distances;
+    private final Map<V, Integer> index;
 
     /**
      * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks.
@@ -87,32 +96,74 @@ public class ALTAdmissibleHeuristic<V, E>
      */
     public ALTAdmissibleHeuristic(Graph<V, E> graph, Set<V> landmarks)
     {
-        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this(graph, landmarks, 1);
+    }
+
+    /**
+     * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks. The shortest
+     * path computations of the pre-processing phase are executed in parallel.
+     * 
+     * @param graph the graph
+     * @param landmarks a set of vertices of the graph which will be used as landmarks
+     * @param parallelism the number of threads used by the pre-processing
+     * 
+     * @throws IllegalArgumentException if no landmarks are provided
+     * @throws IllegalArgumentException if the graph contains edges with negative weights
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public ALTAdmissibleHeuristic(Graph<V, E> graph, Set<V> landmarks, int parallelism)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
         Objects.requireNonNull(landmarks, "Landmarks cannot be null");
         if (landmarks.isEmpty()) {
             throw new IllegalArgumentException("At least one landmark must be provided");
         }
-        this.fromLandmark = new HashMap<>();
-        if (graph.getType().isDirected()) {
-            this.directed = true;
-            this.toLandmark = new HashMap<>();
-        } else if (graph.getType().isUndirected()) {
-            this.directed = false;
-            this.toLandmark = this.fromLandmark;
-        } else {
-            throw new IllegalArgumentException("Graph must be directed or undirected");
-        }
-        this.comparator = new ToleranceDoubleComparator();
-
-        // precomputation and validation
-        for (V v : landmarks) {
-            for (E e : graph.edgesOf(v)) {
-                if (comparator.compare(graph.getEdgeWeight(e), 0d) < 0) {
-                    throw new IllegalArgumentException("Graph edge weights cannot be negative");
-                }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        for (V l : landmarks) {
+            if (!graph.containsVertex(l)) {
+                throw new IllegalArgumentException("Landmarks must be vertices of the graph");
             }
-            precomputeToFromLandmark(v);
         }
+        Snapshot<V> snapshot = new Snapshot<>(graph);
+        this.distances = snapshot.computeDistances(new ArrayList<>(landmarks), parallelism);
+        this.index = snapshot.index;
+    }
+
+    /**
+     * Constructs a new {@link AStarAdmissibleHeuristic} using landmark distances which have been
+     * computed previously for the same graph.
+     * 
+     * @param graph the graph
+     * @param distances the landmark distances
+     * 
+     * @throws IllegalArgumentException if the distances were computed for a different graph
+     */
+    public ALTAdmissibleHeuristic(Graph<V, E> graph, LandmarkDistances<V> distances)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        this.distances = Objects.requireNonNull(distances, "Landmark distances cannot be null");
+        if (distances.directed != graph.getType().isDirected()
+            || distances.vertices.size() != graph.vertexSet().size()
+            || !graph.vertexSet().containsAll(distances.vertices))
+        {
+            throw new IllegalArgumentException("Landmark distances do not match the graph");
+        }
+        this.index = new HashMap<>();
+        for (int i = 0; i < distances.vertices.size(); i++) {
+            index.put(distances.vertices.get(i), i);
+        }
+    }
+
+    /**
+     * Get the distances to and from the landmarks.
+     * 
+     * @return the landmark distances
+     */
+    public LandmarkDistances<V> getLandmarkDistances()
+    {
+        return distances;
     }
 
     /**
@@ -136,31 +187,47 @@ public class ALTAdmissibleHeuristic<V, E>
             return maxEstimate;
         }
 
+        /*
+         * Special case, vertices added after the pre-processing
+         */
+        Integer uIndex = index.get(u);
+        Integer tIndex = index.get(t);
+        if (uIndex == null || tIndex == null) {
+            return maxEstimate;
+        }
+
+        int k = distances.landmarks.length;
+        int uOffset = uIndex * k;
+        int tOffset = tIndex * k;
+        double[] from = distances.from;
+        double[] to = distances.to;
+
         /*
          * Special case, source is landmark
          */
-        if (fromLandmark.containsKey(u)) {
-            return fromLandmark.get(u).get(t);
+        int uLandmark = distances.landmarkPosition(uIndex);
+        if (uLandmark >= 0) {
+            return from[tOffset + uLandmark];
         }
 
         /*
          * Special case, target is landmark
          */
-        if (toLandmark.containsKey(t)) {
-            return toLandmark.get(t).get(u);
+        int tLandmark = distances.landmarkPosition(tIndex);
+        if (tLandmark >= 0) {
+            return to[uOffset + tLandmark];
         }
 
         /*
          * Compute from landmarks
          */
-        for (V l : fromLandmark.keySet()) {
+        for (int l = 0; l < k; l++) {
             double estimate;
-            Map<V, Double> from = fromLandmark.get(l);
-            if (directed) {
-                Map<V, Double> to = toLandmark.get(l);
-                estimate = Math.max(to.get(u) - to.get(t), from.get(t) - from.get(u));
+            if (distances.directed) {
+                estimate = Math.max(
+                    to[uOffset + l] - to[tOffset + l], from[tOffset + l] - from[uOffset + l]);
             } else {
-                estimate = Math.abs(from.get(u) - from.get(t));
+                estimate = Math.abs(from[uOffset + l] - from[tOffset + l]);
             }
 
             // max over all landmarks
@@ -173,31 +240,512 @@ public class ALTAdmissibleHeuristic<V, E>
     }
 
     /**
-     * Compute all distances to and from a landmark
+     * Select landmarks using the farthest strategy. The first landmark is the vertex farthest from
+     * a random vertex. Each subsequent landmark is the vertex farthest from the landmarks selected
+     * so far, preferring vertices not reachable from them.
+     * 
+     * @param graph the graph
+     * @param count the number of landmarks
+     * @param rng the random number generator
+     * @return the landmarks, at most as many as the vertices of the graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @throws IllegalArgumentException if the number of landmarks is not positive
+     * @throws IllegalArgumentException if the graph contains edges with negative weights
+     */
+    public static <V, E> Set<V> farthestLandmarks(Graph<V, E> graph, int count, Random rng)
+    {
+        Snapshot<V> snapshot = new Snapshot<>(graph);
+        return snapshot.toVertices(snapshot.farthest(checkCount(count), rng));
+    }
+
+    /**
+     * Select landmarks using the avoid strategy of Goldberg and Werneck. The first landmark is
+     * selected using the farthest strategy. For each subsequent landmark a shortest path tree is
+     * grown from a random root and each vertex is weighted by the difference between its distance
+     * from the root and the lower bound provided by the current landmarks. The landmark is a leaf
+     * of the subtree with the largest total weight which does not contain a landmark. The strategy
+     * thus places landmarks in regions where the current landmarks perform poorly.
+     * 
+     * <p>
+     * The strategy is described in A. Goldberg and R. Werneck. Computing point-to-point shortest
+     * paths from external memory. In Proceedings of the 7th Workshop on Algorithm Engineering and
+     * Experiments (ALENEX 05), 26--40, 2005.
+     * 
+     * @param graph the graph
+     * @param count the number of landmarks
+     * @param rng the random number generator
+     * @return the landmarks, at most as many as the vertices of the graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @throws IllegalArgumentException if the number of landmarks is not positive
+     * @throws IllegalArgumentException if the graph contains edges with negative weights
+     */
+    public static <V, E> Set<V> avoidLandmarks(Graph<V, E> graph, int count, Random rng)
+    {
+        Snapshot<V> snapshot = new Snapshot<>(graph);
+        return snapshot.toVertices(snapshot.avoid(checkCount(count), rng));
+    }
+
+    /**
+     * Select landmarks using the planar strategy, for graphs whose vertices have coordinates in
+     * the plane. The plane is divided into equal sectors around the vertex closest to the center
+     * of the vertices, and from each sector the vertex farthest from the center is selected. If
+     * some sectors are empty, the remaining landmarks are the vertices farthest from the center.
      * 
-     * @param landmark the landmark
+     * @param graph the graph
+     * @param count the number of landmarks
+     * @param coordinates the coordinates of each vertex
+     * @return the landmarks, at most as many as the vertices of the graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @throws IllegalArgumentException if the number of landmarks is not positive
+     */
+    public static <V, E> Set<V> planarLandmarks(
+        Graph<V, E> graph, int count, Function<V, Pair<Double, Double>> coordinates)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        Objects.requireNonNull(coordinates, "Coordinates cannot be null");
+        checkCount(count);
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        int n = vertices.size();
+        if (n == 0) {
+            return new LinkedHashSet<>();
+        }
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double meanX = 0d, meanY = 0d;
+        for (int i = 0; i < n; i++) {
+            Pair<Double, Double> p = coordinates.apply(vertices.get(i));
+            x[i] = p.getFirst();
+            y[i] = p.getSecond();
+            meanX += x[i] / n;
+            meanY += y[i] / n;
+        }
+        int center = 0;
+        for (int i = 1; i < n; i++) {
+            if (Math.hypot(x[i] - meanX, y[i] - meanY) < Math
+                .hypot(x[center] - meanX, y[center] - meanY))
+            {
+                center = i;
+            }
+        }
+
+        double[] radius = new double[n];
+        int[] best = new int[count];
+        Arrays.fill(best, -1);
+        for (int i = 0; i < n; i++) {
+            double dx = x[i] - x[center];
+            double dy = y[i] - y[center];
+            radius[i] = Math.hypot(dx, dy);
+            if (i == center) {
+                continue;
+            }
+            double angle = Math.atan2(dy, dx) + Math.PI;
+            int sector = Math.min((int) (angle / (2 * Math.PI) * count), count - 1);
+            if (best[sector] < 0 || radius[i] > radius[best[sector]]) {
+                best[sector] = i;
+            }
+        }
+
+        Set<V> result = new LinkedHashSet<>();
+        for (int i : best) {
+            if (i >= 0) {
+                result.add(vertices.get(i));
+            }
+        }
+        if (result.size() < count) {
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(radius[b], radius[a]));
+            for (int i = 0; i < n && result.size() < count; i++) {
+                result.add(vertices.get(order[i]));
+            }
+        }
+        return result;
+    }
+
+    private static int checkCount(int count)
+    {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one landmark must be selected");
+        }
+        return count;
+    }
+
+    /**
+     * The distances to and from a set of landmarks. The distances are stored in arrays indexed
+     * first by vertex and then by landmark, so that the distances of a vertex to all landmarks are
+     * stored consecutively. For undirected graphs the distances to and from the landmarks coincide
+     * and are stored only once.
+     *
+     * @param <V> the graph vertex type
      */
-    private void precomputeToFromLandmark(V landmark)
+    public static final class LandmarkDistances<V>
+        implements
+        Serializable
     {
-        // compute distances from landmark
-        SingleSourcePaths<V, E> fromLandmarkPaths =
-            new DijkstraShortestPath<>(graph).getPaths(landmark);
-        Map<V, Double> fromLandMarkDistances = new HashMap<>();
-        for (V v : graph.vertexSet()) {
-            fromLandMarkDistances.put(v, fromLandmarkPaths.getWeight(v));
-        }
-        fromLandmark.put(landmark, fromLandMarkDistances);
-
-        // compute distances to landmark (using reverse graph)
-        if (directed) {
-            Graph<V, E> reverseGraph = new EdgeReversedGraph<>(graph);
-            SingleSourcePaths<V, E> toLandmarkPaths =
-                new DijkstraShortestPath<>(reverseGraph).getPaths(landmark);
-            Map<V, Double> toLandMarkDistances = new HashMap<>();
-            for (V v : graph.vertexSet()) {
-                toLandMarkDistances.put(v, toLandmarkPaths.getWeight(v));
-            }
-            toLandmark.put(landmark, toLandMarkDistances);
+        private static final long serialVersionUID = -2370468245513618804L;
+
+        private final boolean directed;
+        private final List<V> vertices;
+        private final int[] landmarks;
+        private final double[] from;
+        private final double[] to;
+        private transient int[] landmarkPosition;
+
+        LandmarkDistances(
+            boolean directed, List<V> vertices, int[] landmarks, double[] from, double[] to)
+        {
+            this.directed = directed;
+            this.vertices = vertices;
+            this.landmarks = landmarks;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Get the landmarks.
+         * 
+         * @return the landmarks
+         */
+        public List<V> getLandmarks()
+        {
+            List<V> result = new ArrayList<>(landmarks.length);
+            for (int l : landmarks) {
+                result.add(vertices.get(l));
+            }
+            return result;
+        }
+
+        int landmarkPosition(int v)
+        {
+            int[] position = landmarkPosition;
+            if (position == null) {
+                position = new int[vertices.size()];
+                Arrays.fill(position, -1);
+                for (int l = 0; l < landmarks.length; l++) {
+                    position[landmarks[l]] = l;
+                }
+                landmarkPosition = position;
+            }
+            return position[v];
+        }
+    }
+
+    /**
+     * A compact snapshot of the graph used for the shortest path computations.
+     */
+    private static final class Snapshot<V>
+    {
+        final boolean directed;
+        final List<V> vertices;
+        final Map<V, Integer> index;
+        final int n;
+        final int[] outStart;
+        final int[] outHead;
+        final double[] outWeight;
+        final int[] inStart;
+        final int[] inHead;
+        final double[] inWeight;
+
+        <E> Snapshot(Graph<V, E> graph)
+        {
+            Objects.requireNonNull(graph, "Graph cannot be null");
+            if (graph.getType().isDirected()) {
+                this.directed = true;
+            } else if (graph.getType().isUndirected()) {
+                this.directed = false;
+            } else {
+                throw new IllegalArgumentException("Graph must be directed or undirected");
+            }
+            this.vertices = new ArrayList<>(graph.vertexSet());
+            this.n = vertices.size();
+            this.index = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                index.put(vertices.get(i), i);
+            }
+
+            ToDoubleFunction<E> weight = IndexedEdgeWeights.weightFunction(graph);
+            this.outStart = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                outStart[i + 1] = outStart[i] + graph.outgoingEdgesOf(vertices.get(i)).size();
+            }
+            this.outHead = new int[outStart[n]];
+            this.outWeight = new double[outStart[n]];
+            if (directed) {
+                this.inStart = new int[n + 1];
+                for (int i = 0; i < n; i++) {
+                    inStart[i + 1] = inStart[i] + graph.incomingEdgesOf(vertices.get(i)).size();
+                }
+                this.inHead = new int[inStart[n]];
+                this.inWeight = new double[inStart[n]];
+            } else {
+                this.inStart = outStart;
+                this.inHead = outHead;
+                this.inWeight = outWeight;
+            }
+            for (int i = 0; i < n; i++) {
+                V v = vertices.get(i);
+                int k = outStart[i];
+                for (E e : graph.outgoingEdgesOf(v)) {
+                    double w = weight.applyAsDouble(e);
+                    if (w < 0d) {
+                        throw new IllegalArgumentException(
+                            "Graph edge weights cannot be negative");
+                    }
+                    outHead[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                    outWeight[k++] = w;
+                }
+                if (directed) {
+                    k = inStart[i];
+                    for (E e : graph.incomingEdgesOf(v)) {
+                        inHead[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                        inWeight[k++] = weight.applyAsDouble(e);
+                    }
+                }
+            }
+        }
+
+        Set<V> toVertices(List<Integer> list)
+        {
+            Set<V> result = new LinkedHashSet<>();
+            for (int v : list) {
+                result.add(vertices.get(v));
+            }
+            return result;
+        }
+
+        LandmarkDistances<V> computeDistances(List<V> landmarkList, int parallelism)
+        {
+            int k = landmarkList.size();
+            int[] landmarks = new int[k];
+            for (int l = 0; l < k; l++) {
+                landmarks[l] = index.get(landmarkList.get(l));
+            }
+            double[] from = new double[n * k];
+            double[] to = directed ? new double[n * k] : from;
+
+            ExecutorService executor =
+                parallelism > 1 ? ConcurrencyUtil.createExecutor(parallelism) : null;
+            try {
+                ConcurrencyUtil.parallelFor(
+                    executor, parallelism, directed ? 2 * k : k, 1, () -> new Search(n),
+                    (search, i) -> {
+                        int l = i % k;
+                        boolean forward = i < k;
+                        double[] distance = forward
+                            ? search.run(landmarks[l], outStart, outHead, outWeight, null)
+                            : search.run(landmarks[l], inStart, inHead, inWeight, null);
+                        double[] target = forward ? from : to;
+                        for (int v = 0; v < n; v++) {
+                            target[v * k + l] = distance[v];
+                        }
+                    });
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+            return new LandmarkDistances<>(directed, vertices, landmarks, from, to);
+        }
+
+        List<Integer> farthest(int count, Random rng)
+        {
+            List<Integer> result = new ArrayList<>();
+            if (n == 0) {
+                return result;
+            }
+            Search search = new Search(n);
+            double[] minDistance = new double[n];
+            Arrays.fill(minDistance, Double.POSITIVE_INFINITY);
+            boolean[] isLandmark = new boolean[n];
+
+            // first landmark is the farthest from a random vertex
+            int next = argmax(
+                search.run(rng.nextInt(n), outStart, outHead, outWeight, null), isLandmark);
+            while (next >= 0 && result.size() < count) {
+                result.add(next);
+                isLandmark[next] = true;
+                double[] distance = search.run(next, outStart, outHead, outWeight, null);
+                for (int v = 0; v < n; v++) {
+                    minDistance[v] = Math.min(minDistance[v], distance[v]);
+                }
+                next = argmax(minDistance, isLandmark);
+            }
+            return result;
+        }
+
+        List<Integer> avoid(int count, Random rng)
+        {
+            List<Integer> result = farthest(1, rng);
+            if (n == 0) {
+                return result;
+            }
+            Search search = new Search(n);
+            boolean[] isLandmark = new boolean[n];
+            isLandmark[result.get(0)] = true;
+            List<double[]> from = new ArrayList<>();
+            List<double[]> to = new ArrayList<>();
+            addDistances(result.get(0), search, from, to);
+
+            int[] pred = new int[n];
+            double[] size = new double[n];
+            int[] childStart = new int[n + 1];
+            int[] children = new int[n];
+            while (result.size() < Math.min(count, n)) {
+                // shortest path tree from a random root
+                int root = rng.nextInt(n);
+                double[] distance = search.run(root, outStart, outHead, outWeight, pred);
+                int[] order = search.settled;
+                int settled = search.numSettled;
+
+                // weigh each vertex by the quality of the current lower bound
+                for (int i = 0; i < settled; i++) {
+                    int v = order[i];
+                    double bound = 0d;
+                    for (int l = 0; l < from.size(); l++) {
+                        double estimate = directed
+                            ? Math.max(
+                                to.get(l)[root] - to.get(l)[v], from.get(l)[v] - from.get(l)[root])
+                            : Math.abs(from.get(l)[root] - from.get(l)[v]);
+                        if (Double.isFinite(estimate)) {
+                            bound = Math.max(bound, estimate);
+                        }
+                    }
+                    size[v] = distance[v] - bound;
+                }
+
+                // subtree sizes, zero for subtrees containing a landmark
+                Arrays.fill(childStart, 0);
+                for (int i = settled - 1; i >= 0; i--) {
+                    int v = order[i];
+                    if (isLandmark[v]) {
+                        size[v] = Double.NEGATIVE_INFINITY;
+                    }
+                    if (pred[v] >= 0) {
+                        size[pred[v]] += size[v];
+                        childStart[pred[v] + 1]++;
+                    }
+                }
+                for (int v = 0; v < n; v++) {
+                    childStart[v + 1] += childStart[v];
+                }
+                int[] fill = Arrays.copyOf(childStart, n);
+                for (int i = 0; i < settled; i++) {
+                    int v = order[i];
+                    if (pred[v] >= 0) {
+                        children[fill[pred[v]]++] = v;
+                    }
+                }
+
+                // descend from the largest subtree to a leaf
+                int best = -1;
+                for (int i = 0; i < settled; i++) {
+                    int v = order[i];
+                    if (size[v] > 0d && (best < 0 || size[v] > size[best])) {
+                        best = v;
+                    }
+                }
+                if (best < 0) {
+                    // current landmarks are exact on this tree, pick another vertex
+                    best = argmax(distance, isLandmark);
+                    if (best < 0) {
+                        best = rng.nextInt(n);
+                    }
+                    if (isLandmark[best]) {
+                        continue;
+                    }
+                }
+                while (childStart[best] < childStart[best + 1]) {
+                    int child = -1;
+                    for (int c = childStart[best]; c < childStart[best + 1]; c++) {
+                        int v = children[c];
+                        if (!isLandmark[v] && (child < 0 || size[v] > size[child])) {
+                            child = v;
+                        }
+                    }
+                    if (child < 0) {
+                        break;
+                    }
+                    best = child;
+                }
+
+                result.add(best);
+                isLandmark[best] = true;
+                addDistances(best, search, from, to);
+            }
+            return result;
+        }
+
+        private void addDistances(int l, Search search, List<double[]> from, List<double[]> to)
+        {
+            double[] f = search.run(l, outStart, outHead, outWeight, null).clone();
+            from.add(f);
+            to.add(directed ? search.run(l, inStart, inHead, inWeight, null).clone() : f);
+        }
+
+        /*
+         * The vertex with maximum value which is not excluded, where an infinite value means
+         * unreachable and takes precedence. Returns -1 if all vertices are excluded.
+         */
+        private static int argmax(double[] values, boolean[] excluded)
+        {
+            int best = -1;
+            for (int v = 0; v < values.length; v++) {
+                if (!excluded[v] && (best < 0 || values[v] > values[best])) {
+                    best = v;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * A Dijkstra search over the snapshot which computes the distances to all vertices.
+     */
+    private static final class Search
+    {
+        final double[] distance;
+        final IntHeap heap;
+        final int[] settled;
+        int numSettled;
+
+        Search(int n)
+        {
+            this.distance = new double[n];
+            this.heap = new IntHeap(distance);
+            this.settled = new int[n];
+        }
+
+        double[] run(int source, int[] start, int[] head, double[] weight, int[] pred)
+        {
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            if (pred != null) {
+                Arrays.fill(pred, -1);
+            }
+            numSettled = 0;
+            distance[source] = 0d;
+            heap.insertOrDecrease(source);
+            while (!heap.isEmpty()) {
+                int u = heap.removeMin();
+                settled[numSettled++] = u;
+                double d = distance[u];
+                for (int k = start[u]; k < start[u + 1]; k++) {
+                    int v = head[k];
+                    double nd = d + weight[k];
+                    if (nd < distance[v]) {
+                        distance[v] = nd;
+                        if (pred != null) {
+                            pred[v] = u;
+                        }
+                        heap.insertOrDecrease(v);
+                    }
+                }
+            }
+            return distance;
         }
     }
 
@@ -24,6 +24,7 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A* shortest path.
@@ -32,14 +33,15 @@ import java.util.*;
  * algorithm</a>. This class works for directed and undirected graphs, as well as multi-graphs and
  * mixed-graphs. The graph can also change between invocations of the
  * {@link #getPath(Object, Object)} method; no new instance of this class has to be created. The
- * heuristic is implemented using a FibonacciHeap data structure to maintain the set of open nodes.
- * However, there still exist several approaches in literature to improve the performance of this
- * heuristic which one could consider to implement. Another issue to take into consideration is the
+ * heuristic is implemented using an {@link AddressableHeap}, by default a {@link PairingHeap}, to
+ * maintain the set of open nodes. However, there still exist several approaches in literature to
+ * improve the performance of this heuristic which one could consider to implement. Another issue
+ * to take into consideration is the
  * following: given two candidate nodes, $i$, $j$ to expand, where $f(i)=f(j)$, $g(i)$ &gt; $g(j)$,
  * $h(i)$ &lt; $g(j)$, $f(i)=g(i)+h(i)$, $g(i)$ is the actual distance from the source node to $i$,
  * $h(i)$ is the estimated distance from $i$ to the target node. Usually a depth-first search is
- * desired, so ideally we would expand node $i$ first. Using the FibonacciHeap, this is not
- * necessarily the case though. This could be improved in a later version.
+ * desired, so ideally we would expand node $i$ first. Using the heap, this is not necessarily the
+ * case though. This could be improved in a later version.
  * 
  * <p>
  * Note: This implementation works with both consistent and inconsistent admissible heuristics. For
@@ -48,6 +50,13 @@ import java.util.*;
  * optimized for inconsistent heuristics. Several opportunities to improve both worst case and
  * average runtime complexities for A* with inconsistent heuristics described in literature can be
  * used to improve this implementation!
+ * 
+ * <p>
+ * For applications which perform a large number of queries, the instance can be constructed to
+ * reuse its search state between queries. The vertices are then numbered once and each thread
+ * keeps timestamp-versioned arrays and an array-based heap, so that a query does not allocate any
+ * maps, heaps or heap nodes. Such an instance can be used concurrently by multiple threads as long
+ * as the graph is not modified and the heuristic is thread-safe.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -62,8 +71,8 @@ public class AStarShortestPath<V, E>
     BaseShortestPathAlgorithm<V, E>
 {
     // List of open nodes
-    protected FibonacciHeap<V> openList;
-    protected Map<V, FibonacciHeapNode<V>> vertexToHeapNodeMap;
+    protected AddressableHeap<V> openList;
+    protected Map<V, AddressableHeap.Handle<V>> vertexToHeapNodeMap;
 
     // List of closed nodes
     protected Set<V> closedList;
@@ -84,6 +93,12 @@ public class AStarShortestPath<V, E>
     // Comparator for comparing doubles with tolerance
     protected Comparator<Double> comparator;
 
+    // Supplier of the heap used as open list
+    private final Supplier<AddressableHeap<V>> heapSupplier;
+
+    // Reusable search state, or null if each query allocates its own state
+    private final SearchWorkspace<V> workspace;
+
     /**
      * Create a new instance of the A* shortest path algorithm.
      * 
@@ -92,11 +107,53 @@ public class AStarShortestPath<V, E>
      *        the target node. The heuristic must never overestimate the distance.
      */
     public AStarShortestPath(Graph<V, E> graph, AStarAdmissibleHeuristic<V> admissibleHeuristic)
+    {
+        this(graph, admissibleHeuristic, PairingHeap::new);
+    }
+
+    /**
+     * Create a new instance of the A* shortest path algorithm.
+     * 
+     * <p>
+     * Note that a monotone heap, such as the {@link RadixHeap}, can only be used with a consistent
+     * heuristic.
+     * 
+     * @param graph the input graph
+     * @param admissibleHeuristic admissible heuristic which estimates the distance from a node to
+     *        the target node. The heuristic must never overestimate the distance.
+     * @param heapSupplier supplier of the heap used as open list
+     */
+    public AStarShortestPath(
+        Graph<V, E> graph, AStarAdmissibleHeuristic<V> admissibleHeuristic,
+        Supplier<AddressableHeap<V>> heapSupplier)
     {
         super(graph);
         this.admissibleHeuristic =
             Objects.requireNonNull(admissibleHeuristic, "Heuristic function cannot be null!");
         this.comparator = new ToleranceDoubleComparator();
+        this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
+        this.workspace = null;
+    }
+
+    /**
+     * Create a new instance of the A* shortest path algorithm, which optionally reuses its search
+     * state between queries.
+     * 
+     * @param graph the input graph
+     * @param admissibleHeuristic admissible heuristic which estimates the distance from a node to
+     *        the target node. The heuristic must never overestimate the distance.
+     * @param reuseWorkspace whether to keep array-based search state per thread which is reused
+     *        by all queries
+     */
+    public AStarShortestPath(
+        Graph<V, E> graph, AStarAdmissibleHeuristic<V> admissibleHeuristic, boolean reuseWorkspace)
+    {
+        super(graph);
+        this.admissibleHeuristic =
+            Objects.requireNonNull(admissibleHeuristic, "Heuristic function cannot be null!");
+        this.comparator = new ToleranceDoubleComparator();
+        this.heapSupplier = PairingHeap::new;
+        this.workspace = reuseWorkspace ? new SearchWorkspace<>(graph, 1) : null;
     }
 
     /**
@@ -107,7 +164,7 @@ public class AStarShortestPath<V, E>
     private void initialize(AStarAdmissibleHeuristic<V> admissibleHeuristic)
     {
         this.admissibleHeuristic = admissibleHeuristic;
-        openList = new FibonacciHeap<>();
+        openList = heapSupplier.get();
         vertexToHeapNodeMap = new HashMap<>();
         closedList = new HashSet<>();
         gScoreMap = new HashMap<>();
@@ -135,24 +192,26 @@ public class AStarShortestPath<V, E>
             return createEmptyPath(sourceVertex, targetVertex);
         }
 
+        if (workspace != null) {
+            return getPathReusingWorkspace(sourceVertex, targetVertex);
+        }
+
         this.initialize(admissibleHeuristic);
         gScoreMap.put(sourceVertex, 0.0);
-        FibonacciHeapNode<V> heapNode = new FibonacciHeapNode<>(sourceVertex);
-        openList.insert(heapNode, 0.0);
-        vertexToHeapNodeMap.put(sourceVertex, heapNode);
+        vertexToHeapNodeMap.put(sourceVertex, openList.insert(0.0, sourceVertex));
 
         do {
-            FibonacciHeapNode<V> currentNode = openList.removeMin();
+            AddressableHeap.Handle<V> currentNode = openList.deleteMin();
 
             // Check whether we reached the target vertex
-            if (currentNode.getData().equals(targetVertex)) {
+            if (currentNode.getValue().equals(targetVertex)) {
                 // Build the path
                 return this.buildGraphPath(sourceVertex, targetVertex, currentNode.getKey());
             }
 
             // We haven't reached the target vertex yet; expand the node
             expandNode(currentNode, targetVertex);
-            closedList.add(currentNode.getData());
+            closedList.add(currentNode.getValue());
         } while (!openList.isEmpty());
 
         // No path exists from sourceVertex to TargetVertex
@@ -161,12 +220,16 @@ public class AStarShortestPath<V, E>
 
     /**
      * Returns how many nodes have been expanded in the A* search procedure in its last invocation.
-     * A node is expanded if it is removed from the open list.
+     * A node is expanded if it is removed from the open list. If the instance reuses its search
+     * state, the last invocation by the current thread is considered.
      *
      * @return number of expanded nodes
      */
     public int getNumberOfExpandedNodes()
     {
+        if (workspace != null) {
+            return workspace.current()[0].count;
+        }
         return numberOfExpandedNodes;
     }
 
@@ -200,20 +263,87 @@ public class AStarShortestPath<V, E>
         return true;
     }
 
-    private void expandNode(FibonacciHeapNode<V> currentNode, V endVertex)
+    private GraphPath<V, E> getPathReusingWorkspace(V sourceVertex, V targetVertex)
+    {
+        SearchWorkspace.Index<V> index = workspace.index();
+        restart: while (true) {
+            Integer sourceId = index.ids.get(sourceVertex);
+            Integer targetId = index.ids.get(targetVertex);
+            if (sourceId == null || targetId == null) {
+                index = workspace.reindex(index);
+                continue;
+            }
+            SearchWorkspace.Side side = workspace.acquire(index.vertices.length)[0];
+            int t = targetId;
+            side.update(sourceId, 0d, 0d, null);
+
+            while (!side.heap.isEmpty()) {
+                int v = side.heap.removeMin();
+                if (v == t) {
+                    List<E> edgeList = new ArrayList<>();
+                    List<V> vertexList = new ArrayList<>();
+                    V cur = targetVertex;
+                    vertexList.add(cur);
+                    while (side.pred[v] != null) {
+                        @SuppressWarnings("unchecked") E e = (E) side.pred[v];
+                        edgeList.add(e);
+                        cur = Graphs.getOppositeVertex(graph, e, cur);
+                        vertexList.add(cur);
+                        v = index.ids.get(cur);
+                    }
+                    Collections.reverse(edgeList);
+                    Collections.reverse(vertexList);
+                    return new GraphWalk<>(
+                        graph, sourceVertex, targetVertex, vertexList, edgeList,
+                        side.distance[t]);
+                }
+
+                // expand the node
+                side.count++;
+                V vertex = index.vertex(v);
+                double gScore = side.distance[v];
+                for (E edge : graph.outgoingEdgesOf(vertex)) {
+                    V successor = Graphs.getOppositeVertex(graph, edge, vertex);
+                    Integer id = index.ids.get(successor);
+                    if (id == null) {
+                        index = workspace.reindex(index);
+                        continue restart;
+                    }
+                    int u = id;
+                    if (u == v) { // Ignore self-loop
+                        continue;
+                    }
+                    double tentativeGScore = gScore + graph.getEdgeWeight(edge);
+                    if (side.isReached(u) && tentativeGScore >= side.distance[u]) {
+                        continue;
+                    }
+                    side.update(
+                        u, tentativeGScore,
+                        tentativeGScore
+                            + admissibleHeuristic.getCostEstimate(successor, targetVertex),
+                        edge);
+                }
+            }
+
+            // No path exists from sourceVertex to TargetVertex
+            return createEmptyPath(sourceVertex, targetVertex);
+        }
+    }
+
+    private void expandNode(AddressableHeap.Handle<V> currentNode, V endVertex)
     {
         numberOfExpandedNodes++;
 
-        Set<E> outgoingEdges = graph.outgoingEdgesOf(currentNode.getData());
+        Set<E> outgoingEdges = graph.outgoingEdgesOf(currentNode.getValue());
 
         for (E edge : outgoingEdges) {
-            V successor = Graphs.getOppositeVertex(graph, edge, currentNode.getData());
+            V successor = Graphs.getOppositeVertex(graph, edge, currentNode.getValue());
 
-            if (successor.equals(currentNode.getData())) { // Ignore self-loop
+            if (successor.equals(currentNode.getValue())) { // Ignore self-loop
                 continue;
             }
 
-            double gScore_current = gScoreMap.get(currentNode.getData());
+            double gScore_current = gScoreMap.get(currentNode.getValue());
             double tentativeGScore = gScore_current + graph.getEdgeWeight(edge);
             double fScore =
                 tentativeGScore + admissibleHeuristic.getCostEstimate(successor, endVertex);
@@ -231,16 +361,14 @@ public class AStarShortestPath<V, E>
                                                       // open list, since we discovered a shorter
                                                       // path to this node
                     closedList.remove(successor);
-                    openList.insert(vertexToHeapNodeMap.get(successor), fScore);
+                    vertexToHeapNodeMap.put(successor, openList.insert(fScore, successor));
                 } else { // It's in the open list
-                    openList.decreaseKey(vertexToHeapNodeMap.get(successor), fScore);
+                    vertexToHeapNodeMap.get(successor).decreaseKey(fScore);
                 }
             } else { // We've encountered a new vertex.
                 cameFrom.put(successor, edge);
                 gScoreMap.put(successor, tentativeGScore);
-                FibonacciHeapNode<V> heapNode = new FibonacciHeapNode<>(successor);
-                openList.insert(heapNode, fScore);
-                vertexToHeapNodeMap.put(successor, heapNode);
+                vertexToHeapNodeMap.put(successor, openList.insert(fScore, successor));
             }
         }
     }
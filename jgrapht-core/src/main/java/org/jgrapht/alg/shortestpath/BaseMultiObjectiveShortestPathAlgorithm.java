@@ -22,6 +22,7 @@ import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A base implementation of the multi-objective shortest path interface.
@@ -90,4 +91,36 @@ abstract class BaseMultiObjectiveShortestPathAlgorithm<V, E>
         }
     }
 
+    /**
+     * Check the validity of the edge weight function
+     * 
+     * @param edgeWeightFunction the edge weight function
+     * @return the number of dimensions
+     * @throws IllegalArgumentException if the function returns vectors of different dimensions
+     *         or negative values
+     */
+    protected int validateEdgeWeightFunction(Function<E, double[]> edgeWeightFunction)
+    {
+        int dim = 0;
+        for (E e : graph.edgeSet()) {
+            double[] f = edgeWeightFunction.apply(e);
+            if (f == null) {
+                throw new IllegalArgumentException("Invalid edge weight function");
+            }
+            if (dim == 0) {
+                dim = f.length;
+            } else {
+                if (dim != f.length) {
+                    throw new IllegalArgumentException("Invalid edge weight function");
+                }
+            }
+            for (int i = 0; i < dim; i++) {
+                if (Double.compare(f[i], 0d) < 0) {
+                    throw new IllegalArgumentException("Edge weight must be non-negative");
+                }
+            }
+        }
+        return dim;
+    }
+
 }
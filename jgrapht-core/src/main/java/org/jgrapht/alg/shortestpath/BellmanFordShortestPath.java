@@ -19,9 +19,12 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
-import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 /**
  * The Bellman-Ford algorithm.
@@ -33,6 +36,16 @@ import java.util.*;
  * undirected graphs.
  *
  * <p>
+ * Only the edges of vertices whose distance changed are relaxed. When executed by a single thread
+ * the implementation maintains these vertices in a FIFO queue, a variant also known as the
+ * Shortest Path Faster Algorithm (SPFA), and detects negative cycles by the number of edges of the
+ * tentative shortest paths. When executed by several threads the algorithm proceeds in rounds,
+ * where the edges of all vertices whose distance changed in the previous round are relaxed in
+ * parallel. In both cases the computation stops as soon as no distance changes. The threads are
+ * either created for each computation or taken from an executor provided by the user, which is
+ * preferable when computing the paths from many sources.
+ *
+ * <p>
  * The running time is $O(|E||V|)$.
  *
  * @param <V> the graph vertex type
@@ -44,7 +57,9 @@ public class BellmanFordShortestPath<V, E>
     extends
     BaseShortestPathAlgorithm<V, E>
 {
-    private final Comparator<Double> comparator;
+    private final double epsilon;
+    private final int parallelism;
+    private final ExecutorService executor;
 
     /**
      * Construct a new instance.
@@ -63,9 +78,52 @@ public class BellmanFordShortestPath<V, E>
      * @param epsilon tolerance when comparing floating point values
      */
     public BellmanFordShortestPath(Graph<V, E> graph, double epsilon)
+    {
+        this(graph, epsilon, 1);
+    }
+
+    /**
+     * Construct a new instance which relaxes the edges of each round in parallel.
+     *
+     * @param graph the input graph
+     * @param epsilon tolerance when comparing floating point values
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public BellmanFordShortestPath(Graph<V, E> graph, double epsilon, int parallelism)
+    {
+        this(graph, epsilon, parallelism, null);
+    }
+
+    /**
+     * Construct a new instance which relaxes the edges of each round in parallel using an existing
+     * executor, such as a {@link ForkJoinPool}. The executor is not shut down by this class. The
+     * number of tasks equals the parallelism of the pool if the executor is a
+     * {@link ForkJoinPool}, and the number of available processors otherwise.
+     *
+     * @param graph the input graph
+     * @param epsilon tolerance when comparing floating point values
+     * @param executor the executor
+     */
+    public BellmanFordShortestPath(Graph<V, E> graph, double epsilon, ExecutorService executor)
+    {
+        this(
+            graph, epsilon,
+            executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : ConcurrencyUtil.getDefaultParallelism(),
+            Objects.requireNonNull(executor, "Executor cannot be null"));
+    }
+
+    private BellmanFordShortestPath(
+        Graph<V, E> graph, double epsilon, int parallelism, ExecutorService executor)
     {
         super(graph);
-        this.comparator = new ToleranceDoubleComparator(epsilon);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.epsilon = epsilon;
+        this.parallelism = parallelism;
+        this.executor = executor;
     }
 
     /**
@@ -84,7 +142,6 @@ public class BellmanFordShortestPath<V, E>
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public SingleSourcePaths<V, E> getPaths(V source)
     {
         if (!graph.containsVertex(source)) {
@@ -92,76 +149,205 @@ public class BellmanFordShortestPath<V, E>
         }
 
         /*
-         * Initialize distance and predecessor.
+         * Compact representation of the graph.
          */
-        int n = graph.vertexSet().size();
-        Map<V, Double> distance = new HashMap<>();
-        Map<V, E> pred = new HashMap<>();
-        for (V v : graph.vertexSet()) {
-            distance.put(v, Double.POSITIVE_INFINITY);
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        int n = vertices.size();
+        Map<V, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+        int[] start = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            start[i + 1] = start[i] + graph.outgoingEdgesOf(vertices.get(i)).size();
+        }
+        int[] head = new int[start[n]];
+        double[] weight = new double[start[n]];
+        List<E> edges = new ArrayList<>(start[n]);
+        ToDoubleFunction<E> weightFunction = IndexedEdgeWeights.weightFunction(graph);
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            int k = start[i];
+            for (E e : graph.outgoingEdgesOf(v)) {
+                head[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                weight[k++] = weightFunction.applyAsDouble(e);
+                edges.add(e);
+            }
         }
-        distance.put(source, 0d);
 
         /*
-         * Maintain two sets of vertices whose edges need relaxation. The first set is the current
-         * set of vertices while the second if the set for the subsequent iteration.
+         * Initialize distance and predecessor.
          */
-        Set<V>[] updated = (Set<V>[]) Array.newInstance(Set.class, 2);
-        updated[0] = new LinkedHashSet<>();
-        updated[1] = new LinkedHashSet<>();
-        int curUpdated = 0;
-        updated[curUpdated].add(source);
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        int[] pred = new int[n];
+        Arrays.fill(pred, -1);
+        int s = index.get(source);
+        distance[s] = 0d;
 
         /*
          * Relax edges.
          */
-        for (int i = 0; i < n - 1; i++) {
-            Set<V> curVertexSet = updated[curUpdated];
-            Set<V> nextVertexSet = updated[(curUpdated + 1) % 2];
-
-            for (V v : curVertexSet) {
-                for (E e : graph.outgoingEdgesOf(v)) {
-                    V u = Graphs.getOppositeVertex(graph, e, v);
-                    double newDist = distance.get(v) + graph.getEdgeWeight(e);
-                    if (comparator.compare(newDist, distance.get(u)) < 0) {
-                        distance.put(u, newDist);
-                        pred.put(u, e);
-                        nextVertexSet.add(u);
+        if (parallelism == 1) {
+            relaxQueue(s, start, head, weight, distance, pred);
+        } else {
+            relaxRounds(s, start, head, weight, distance, pred);
+        }
+
+        /*
+         * Transform result
+         */
+        Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            E e = pred[i] < 0 ? null : edges.get(pred[i]);
+            distanceAndPredecessorMap.put(vertices.get(i), Pair.of(distance[i], e));
+        }
+        return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+    }
+
+    /*
+     * Relax the edges of vertices in FIFO order. A vertex is in the queue at most once. A
+     * tentative shortest path with n edges contains a cycle, which must be negative.
+     */
+    private void relaxQueue(
+        int s, int[] start, int[] head, double[] weight, double[] distance, int[] pred)
+    {
+        int n = distance.length;
+        int[] queue = new int[n];
+        boolean[] inQueue = new boolean[n];
+        int[] length = new int[n];
+        int first = 0, size = 0;
+        queue[0] = s;
+        inQueue[s] = true;
+        size++;
+
+        while (size > 0) {
+            int u = queue[first];
+            first = (first + 1) % n;
+            size--;
+            inQueue[u] = false;
+
+            double d = distance[u];
+            for (int k = start[u]; k < start[u + 1]; k++) {
+                int v = head[k];
+                double newDist = d + weight[k];
+                if (improves(newDist, distance[v])) {
+                    distance[v] = newDist;
+                    pred[v] = k;
+                    length[v] = length[u] + 1;
+                    if (length[v] >= n) {
+                        throw new RuntimeException(GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE);
+                    }
+                    if (!inQueue[v]) {
+                        queue[(first + size) % n] = v;
+                        size++;
+                        inQueue[v] = true;
                     }
                 }
             }
+        }
+    }
 
-            // swap next with current
-            curVertexSet.clear();
-            curUpdated = (curUpdated + 1) % 2;
+    /*
+     * Relax the edges of the vertices updated in the previous round in parallel. The distances
+     * are read-only while relaxing and the improvements are applied after each round. If
+     * distances still improve after n-1 rounds, the graph contains a negative cycle.
+     */
+    private void relaxRounds(
+        int s, int[] start, int[] head, double[] weight, double[] distance, int[] pred)
+    {
+        int n = distance.length;
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        int[] lastRound = new int[n];
+        Arrays.fill(lastRound, -1);
+        int frontierSize = 1;
+        frontier[0] = s;
 
-            // stop if no relaxation
-            if (nextVertexSet.isEmpty()) {
-                break;
+        Queue<Relaxations> pool = new ConcurrentLinkedQueue<>();
+        List<Relaxations> used = Collections.synchronizedList(new ArrayList<>());
+        Supplier<Relaxations> relaxations = () -> {
+            Relaxations r = pool.poll();
+            if (r == null) {
+                r = new Relaxations();
             }
-        }
+            used.add(r);
+            return r;
+        };
 
-        /*
-         * Check for negative cycles
-         */
-        for (V v : updated[curUpdated]) {
-            for (E e : graph.outgoingEdgesOf(v)) {
-                V u = Graphs.getOppositeVertex(graph, e, v);
-                double newDist = distance.get(v) + graph.getEdgeWeight(e);
-                if (comparator.compare(newDist, distance.get(u)) < 0) {
-                    throw new RuntimeException(GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE);
+        ExecutorService localExecutor =
+            executor != null ? executor : ConcurrencyUtil.createExecutor(parallelism);
+        try {
+            for (int round = 0; frontierSize > 0; round++) {
+                int[] curFrontier = frontier;
+                ConcurrencyUtil.parallelFor(
+                    localExecutor, parallelism, frontierSize, relaxations, (r, i) -> {
+                        int u = curFrontier[i];
+                        double d = distance[u];
+                        for (int k = start[u]; k < start[u + 1]; k++) {
+                            double newDist = d + weight[k];
+                            if (improves(newDist, distance[head[k]])) {
+                                r.add(k, newDist);
+                            }
+                        }
+                    });
+
+                int nextSize = 0;
+                for (Relaxations r : used) {
+                    if (round >= n - 1 && r.size > 0) {
+                        throw new RuntimeException(GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE);
+                    }
+                    for (int i = 0; i < r.size; i++) {
+                        int k = r.arcs[i];
+                        int v = head[k];
+                        if (improves(r.distances[i], distance[v])) {
+                            distance[v] = r.distances[i];
+                            pred[v] = k;
+                            if (lastRound[v] != round) {
+                                lastRound[v] = round;
+                                next[nextSize++] = v;
+                            }
+                        }
+                    }
+                    r.size = 0;
+                    pool.add(r);
                 }
+                used.clear();
+
+                frontier = next;
+                next = curFrontier;
+                frontierSize = nextSize;
+            }
+        } finally {
+            if (localExecutor != executor) {
+                localExecutor.shutdownNow();
             }
         }
+    }
 
-        /*
-         * Transform result
-         */
-        Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
-        for (V v : graph.vertexSet()) {
-            distanceAndPredecessorMap.put(v, Pair.of(distance.get(v), pred.get(v)));
+    private boolean improves(double newDist, double oldDist)
+    {
+        return newDist < oldDist && !(Math.abs(newDist - oldDist) < epsilon);
+    }
+
+    /**
+     * Improving relaxations found by a thread during a round.
+     */
+    private static final class Relaxations
+    {
+        int[] arcs = new int[16];
+        double[] distances = new double[16];
+        int size;
+
+        void add(int arc, double distance)
+        {
+            if (size == arcs.length) {
+                arcs = Arrays.copyOf(arcs, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+            }
+            arcs[size] = arc;
+            distances[size++] = distance;
         }
-        return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
     }
 
     /**
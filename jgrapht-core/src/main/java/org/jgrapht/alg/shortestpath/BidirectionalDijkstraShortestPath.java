@@ -18,10 +18,12 @@
 package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A bidirectional version of Dijkstra's algorithm.
@@ -33,6 +35,18 @@ import java.util.*;
  * the number of visited vertices in practice. This implementation alternatively constructs forward
  * and reverse paths from the source and target vertices respectively.
  * 
+ * <p>
+ * The priority queues are {@link PairingHeap pairing heaps} by default. A different
+ * {@link AddressableHeap} implementation can be selected using the constructor.
+ * 
+ * <p>
+ * For applications which perform a large number of queries, the instance can be constructed to
+ * reuse its search state between queries. In that case the vertices are numbered once and each
+ * thread keeps timestamp-versioned distance and predecessor arrays together with array-based
+ * heaps, so that a query does not allocate any maps, heaps or heap nodes. The arrays occupy space
+ * proportional to the number of vertices for each thread which performs queries, and such an
+ * instance can be used concurrently by multiple threads as long as the graph is not modified.
+ * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  *
@@ -46,6 +60,9 @@ public final class BidirectionalDijkstraShortestPath<V, E>
     BaseShortestPathAlgorithm<V, E>
 {
     private double radius;
+    private final Supplier<AddressableHeap<Pair<V, E>>> heapSupplier;
+    private final SearchWorkspace<V> workspace;
+    private final ToDoubleFunction<E> edgeWeights;
 
     /**
      * Constructs a new instance for a specified graph.
@@ -64,12 +81,55 @@ public final class BidirectionalDijkstraShortestPath<V, E>
      * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
      */
     public BidirectionalDijkstraShortestPath(Graph<V, E> graph, double radius)
+    {
+        this(graph, radius, PairingHeap::new);
+    }
+
+    /**
+     * Constructs a new instance for a specified graph.
+     *
+     * @param graph the input graph
+     * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @param heapSupplier supplier of the heaps used as priority queues
+     */
+    public BidirectionalDijkstraShortestPath(
+        Graph<V, E> graph, double radius, Supplier<AddressableHeap<Pair<V, E>>> heapSupplier)
+    {
+        super(graph);
+        if (radius < 0.0) {
+            throw new IllegalArgumentException("Radius must be non-negative");
+        }
+        this.radius = radius;
+        this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
+        this.workspace = null;
+        this.edgeWeights = null;
+    }
+
+    /**
+     * Constructs a new instance for a specified graph, which optionally reuses its search state
+     * between queries.
+     *
+     * @param graph the input graph
+     * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @param reuseWorkspace whether to keep array-based search state per thread which is reused
+     *        by all queries
+     */
+    public BidirectionalDijkstraShortestPath(
+        Graph<V, E> graph, double radius, boolean reuseWorkspace)
     {
         super(graph);
         if (radius < 0.0) {
             throw new IllegalArgumentException("Radius must be non-negative");
         }
         this.radius = radius;
+        this.heapSupplier = PairingHeap::new;
+        if (reuseWorkspace) {
+            this.workspace = new SearchWorkspace<>(graph, 2);
+            this.edgeWeights = IndexedEdgeWeights.weightFunction(graph);
+        } else {
+            this.workspace = null;
+            this.edgeWeights = null;
+        }
     }
 
     @Override
@@ -87,6 +147,10 @@ public final class BidirectionalDijkstraShortestPath<V, E>
             return createEmptyPath(source, sink);
         }
 
+        if (workspace != null) {
+            return getPathReusingWorkspace(source, sink);
+        }
+
         // create frontiers
         SearchFrontier forwardFrontier = new SearchFrontier(graph);
         SearchFrontier backwardFrontier;
@@ -112,20 +176,21 @@ public final class BidirectionalDijkstraShortestPath<V, E>
         while (true) {
             // stopping condition
             if (frontier.heap.isEmpty() || otherFrontier.heap.isEmpty()
-                || frontier.heap.min().getKey() + otherFrontier.heap.min().getKey() >= bestPath)
+                || frontier.heap.findMin().getKey()
+                    + otherFrontier.heap.findMin().getKey() >= bestPath)
             {
                 break;
             }
 
             // frontier scan
-            FibonacciHeapNode<QueueEntry> node = frontier.heap.removeMin();
-            V v = node.getData().v;
+            AddressableHeap.Handle<Pair<V, E>> node = frontier.heap.deleteMin();
+            V v = node.getValue().getFirst();
             double vDistance = node.getKey();
 
             for (E e : frontier.graph.outgoingEdgesOf(v)) {
                 V u = Graphs.getOppositeVertex(frontier.graph, e, v);
 
-                double eWeight = frontier.graph.getEdgeWeight(e);
+                double eWeight = frontier.edgeWeights.applyAsDouble(e);
 
                 frontier.updateDistance(u, e, vDistance + eWeight);
 
@@ -173,6 +238,90 @@ public final class BidirectionalDijkstraShortestPath<V, E>
         return new BidirectionalDijkstraShortestPath<>(graph).getPath(source, sink);
     }
 
+    private GraphPath<V, E> getPathReusingWorkspace(V source, V sink)
+    {
+        boolean directed = graph.getType().isDirected();
+        SearchWorkspace.Index<V> index = workspace.index();
+        restart: while (true) {
+            Integer sourceId = index.ids.get(source);
+            Integer sinkId = index.ids.get(sink);
+            if (sourceId == null || sinkId == null) {
+                index = workspace.reindex(index);
+                continue;
+            }
+            SearchWorkspace.Side[] sides = workspace.acquire(index.vertices.length);
+            SearchWorkspace.Side forward = sides[0];
+            SearchWorkspace.Side backward = sides[1];
+            int s = sourceId;
+            int t = sinkId;
+            forward.update(s, 0d, 0d, null);
+            backward.update(t, 0d, 0d, null);
+
+            double bestPath = Double.POSITIVE_INFINITY;
+            int bestPathCommonVertex = -1;
+
+            SearchWorkspace.Side frontier = forward;
+            SearchWorkspace.Side otherFrontier = backward;
+            while (!frontier.heap.isEmpty() && !otherFrontier.heap.isEmpty()
+                && frontier.heap.minKey() + otherFrontier.heap.minKey() < bestPath)
+            {
+                int v = frontier.heap.removeMin();
+                V vertex = index.vertex(v);
+                double vDistance = frontier.distance[v];
+                Set<E> edges = frontier == forward || !directed ? graph.outgoingEdgesOf(vertex)
+                    : graph.incomingEdgesOf(vertex);
+                for (E e : edges) {
+                    Integer id = index.ids.get(Graphs.getOppositeVertex(graph, e, vertex));
+                    if (id == null) {
+                        index = workspace.reindex(index);
+                        continue restart;
+                    }
+                    int u = id;
+                    double d = vDistance + edgeWeights.applyAsDouble(e);
+                    frontier.update(u, d, d, e);
+
+                    // check path with u's distance from the other frontier
+                    double pathDistance = d + otherFrontier.getDistance(u);
+                    if (pathDistance < bestPath) {
+                        bestPath = pathDistance;
+                        bestPathCommonVertex = u;
+                    }
+                }
+
+                // swap frontiers
+                SearchWorkspace.Side tmpFrontier = frontier;
+                frontier = otherFrontier;
+                otherFrontier = tmpFrontier;
+            }
+
+            if (!Double.isFinite(bestPath) || bestPath > radius) {
+                return createEmptyPath(source, sink);
+            }
+
+            LinkedList<E> edgeList = new LinkedList<>();
+            LinkedList<V> vertexList = new LinkedList<>();
+            V common = index.vertex(bestPathCommonVertex);
+            vertexList.add(common);
+            for (SearchWorkspace.Side side : sides) {
+                V v = common;
+                int id = bestPathCommonVertex;
+                while (side.pred[id] != null) {
+                    @SuppressWarnings("unchecked") E e = (E) side.pred[id];
+                    v = Graphs.getOppositeVertex(graph, e, v);
+                    id = index.ids.get(v);
+                    if (side == forward) {
+                        edgeList.addFirst(e);
+                        vertexList.addFirst(v);
+                    } else {
+                        edgeList.addLast(e);
+                        vertexList.addLast(v);
+                    }
+                }
+            }
+            return new GraphWalk<>(graph, source, sink, vertexList, edgeList, bestPath);
+        }
+    }
+
     private GraphPath<V, E> createPath(
         SearchFrontier forwardFrontier, SearchFrontier backwardFrontier, double weight, V source,
         V commonVertex, V sink)
@@ -220,35 +369,35 @@ public final class BidirectionalDijkstraShortestPath<V, E>
     class SearchFrontier
     {
         final Graph<V, E> graph;
+        final ToDoubleFunction<E> edgeWeights;
 
-        final FibonacciHeap<QueueEntry> heap;
-        final Map<V, FibonacciHeapNode<QueueEntry>> seen;
+        final AddressableHeap<Pair<V, E>> heap;
+        final Map<V, AddressableHeap.Handle<Pair<V, E>>> seen;
 
         public SearchFrontier(Graph<V, E> graph)
         {
             this.graph = graph;
-            this.heap = new FibonacciHeap<>();
+            this.edgeWeights = IndexedEdgeWeights.weightFunction(graph);
+            this.heap = heapSupplier.get();
             this.seen = new HashMap<>();
         }
 
         public void updateDistance(V v, E e, double distance)
         {
-            FibonacciHeapNode<QueueEntry> node = seen.get(v);
+            AddressableHeap.Handle<Pair<V, E>> node = seen.get(v);
             if (node == null) {
-                node = new FibonacciHeapNode<>(new QueueEntry(e, v));
-                heap.insert(node, distance);
-                seen.put(v, node);
+                seen.put(v, heap.insert(distance, Pair.of(v, e)));
             } else {
                 if (distance < node.getKey()) {
-                    heap.decreaseKey(node, distance);
-                    node.getData().e = e;
+                    node.decreaseKey(distance);
+                    node.setValue(Pair.of(v, e));
                 }
             }
         }
 
         public double getDistance(V v)
         {
-            FibonacciHeapNode<QueueEntry> node = seen.get(v);
+            AddressableHeap.Handle<Pair<V, E>> node = seen.get(v);
             if (node == null) {
                 return Double.POSITIVE_INFINITY;
             } else {
@@ -258,28 +407,16 @@ public final class BidirectionalDijkstraShortestPath<V, E>
 
         public E getTreeEdge(V v)
         {
-            FibonacciHeapNode<QueueEntry> node = seen.get(v);
+            AddressableHeap.Handle<Pair<V, E>> node = seen.get(v);
             if (node == null) {
                 return null;
             } else {
-                return node.getData().e;
+                return node.getValue().getSecond();
             }
         }
 
     }
 
-    class QueueEntry
-    {
-        E e;
-        V v;
-
-        public QueueEntry(E e, V v)
-        {
-            this.e = e;
-            this.v = v;
-        }
-    }
-
 }
 
 // End BidirectionalDijkstraShortestPath.java
@@ -0,0 +1,437 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * A shortest path algorithm which caches the results of another algorithm and invalidates them
+ * when the graph changes.
+ * 
+ * <p>
+ * The decorator registers itself as a {@link GraphListener} of a {@link ListenableGraph} and
+ * keeps two bounded caches: one for paths between pairs of vertices and one for the results of
+ * {@link #getPaths(Object)}. When a cache is full, the least recently used entry is evicted. A
+ * query for a pair of vertices is also answered from a cached single-source result of its source
+ * vertex.
+ * 
+ * <p>
+ * Only the entries which may be affected by a change of the graph are invalidated:
+ * <ul>
+ * <li>When an edge is removed, or its weight changes, the cached paths which contain the edge are
+ * invalidated. The cached single-source results are invalidated if the edge belongs to their
+ * shortest path tree. Results which are not instances of {@link TreeSingleSourcePathsImpl} do not
+ * expose their tree and are always invalidated.</li>
+ * <li>When an edge is added, or its weight changes, the cached single-source results are
+ * invalidated if the edge shortens the distance to one of its endpoints. Cached paths are
+ * invalidated if their weight is larger than the weight of the edge, since a path using the new
+ * edge cannot be shorter than the edge itself. If the graph contains negative edge weights all
+ * cached paths are invalidated.</li>
+ * <li>When a vertex is removed, the entries whose source or sink is the vertex are invalidated.
+ * Adding a vertex only invalidates the single-source results which are not instances of
+ * {@link TreeSingleSourcePathsImpl}, since these are not required to handle unknown vertices.</li>
+ * </ul>
+ * 
+ * <p>
+ * The decorator keeps statistics about the number of cache hits, misses, evictions and
+ * invalidations. The wrapped algorithm must compute its results on the listenable graph and must
+ * not cache results itself. In order to stop receiving events from the graph, remove the decorator
+ * using {@link ListenableGraph#removeGraphListener(GraphListener)}. This class is not thread-safe.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class CachingShortestPathAlgorithm<V, E>
+    implements
+    ShortestPathAlgorithm<V, E>,
+    GraphListener<V, E>
+{
+    /**
+     * Default maximum number of cached paths between pairs of vertices.
+     */
+    public static final int DEFAULT_MAXIMUM_PATHS = 1024;
+
+    /**
+     * Default maximum number of cached single-source results.
+     */
+    public static final int DEFAULT_MAXIMUM_SINGLE_SOURCE_PATHS = 16;
+
+    private final ListenableGraph<V, E> graph;
+    private final ShortestPathAlgorithm<V, E> algorithm;
+    private final LruCache<Pair<V, V>, GraphPath<V, E>> paths;
+    private final LruCache<V, SingleSourcePaths<V, E>> singleSourcePaths;
+    private boolean negativeWeights;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+
+    /**
+     * Construct a new instance with the default cache sizes.
+     * 
+     * @param graph the listenable graph
+     * @param algorithm the algorithm whose results are cached
+     */
+    public CachingShortestPathAlgorithm(
+        ListenableGraph<V, E> graph, ShortestPathAlgorithm<V, E> algorithm)
+    {
+        this(graph, algorithm, DEFAULT_MAXIMUM_PATHS, DEFAULT_MAXIMUM_SINGLE_SOURCE_PATHS);
+    }
+
+    /**
+     * Construct a new instance.
+     * 
+     * @param graph the listenable graph
+     * @param algorithm the algorithm whose results are cached
+     * @param maximumPaths the maximum number of cached paths between pairs of vertices
+     * @param maximumSingleSourcePaths the maximum number of cached single-source results
+     * @throws IllegalArgumentException if a maximum size is negative
+     */
+    public CachingShortestPathAlgorithm(
+        ListenableGraph<V, E> graph, ShortestPathAlgorithm<V, E> algorithm, int maximumPaths,
+        int maximumSingleSourcePaths)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.algorithm = Objects.requireNonNull(algorithm, "Algorithm cannot be null");
+        if (maximumPaths < 0 || maximumSingleSourcePaths < 0) {
+            throw new IllegalArgumentException("Maximum cache size must be non-negative");
+        }
+        this.paths = new LruCache<>(maximumPaths);
+        this.singleSourcePaths = new LruCache<>(maximumSingleSourcePaths);
+        for (E e : graph.edgeSet()) {
+            if (graph.getEdgeWeight(e) < 0d) {
+                negativeWeights = true;
+                break;
+            }
+        }
+        graph.addGraphListener(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        Pair<V, V> key = Pair.of(source, sink);
+        if (paths.containsKey(key)) {
+            hitCount++;
+            return paths.get(key);
+        }
+        SingleSourcePaths<V, E> sp = singleSourcePaths.get(source);
+        if (sp != null && graph.containsVertex(sink)) {
+            hitCount++;
+            return sp.getPath(sink);
+        }
+        missCount++;
+        GraphPath<V, E> path = algorithm.getPath(source, sink);
+        paths.put(key, path);
+        return path;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        SingleSourcePaths<V, E> sp = singleSourcePaths.get(source);
+        if (sp != null && graph.containsVertex(sink)) {
+            hitCount++;
+            return sp.getWeight(sink);
+        }
+        GraphPath<V, E> path = getPath(source, sink);
+        if (path == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return path.getWeight();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        SingleSourcePaths<V, E> sp = singleSourcePaths.get(source);
+        if (sp != null) {
+            hitCount++;
+            return sp;
+        }
+        missCount++;
+        sp = algorithm.getPaths(source);
+        singleSourcePaths.put(source, sp);
+        return sp;
+    }
+
+    /**
+     * Remove all entries from the cache. The removed entries are counted as invalidations.
+     */
+    public void clear()
+    {
+        invalidationCount += paths.size() + singleSourcePaths.size();
+        paths.clear();
+        singleSourcePaths.clear();
+    }
+
+    /**
+     * Get the number of cached entries.
+     * 
+     * @return the number of cached entries
+     */
+    public int size()
+    {
+        return paths.size() + singleSourcePaths.size();
+    }
+
+    /**
+     * Get the number of queries which were answered from the cache.
+     * 
+     * @return the number of cache hits
+     */
+    public long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of queries which were delegated to the wrapped algorithm.
+     * 
+     * @return the number of cache misses
+     */
+    public long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * Get the fraction of queries which were answered from the cache.
+     * 
+     * @return the hit ratio, or zero if no query has been performed
+     */
+    public double getHitRatio()
+    {
+        long total = hitCount + missCount;
+        return total == 0 ? 0d : (double) hitCount / total;
+    }
+
+    /**
+     * Get the number of entries which were evicted because the cache was full.
+     * 
+     * @return the number of evictions
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    /**
+     * Get the number of entries which were invalidated because of changes of the graph.
+     * 
+     * @return the number of invalidations
+     */
+    public long getInvalidationCount()
+    {
+        return invalidationCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        double weight = graph.getEdgeWeight(e.getEdge());
+        invalidateShorter(e.getEdgeSource(), e.getEdgeTarget(), weight);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        invalidateContaining(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        V source = e.getEdgeSource();
+        V target = e.getEdgeTarget();
+        invalidateContaining(e.getEdge(), source, target);
+        invalidateShorter(source, target, graph.getEdgeWeight(e.getEdge()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        // a new vertex does not affect any path, but only tree results handle unknown vertices
+        Iterator<SingleSourcePaths<V, E>> it = singleSourcePaths.values().iterator();
+        while (it.hasNext()) {
+            if (!(it.next() instanceof TreeSingleSourcePathsImpl)) {
+                it.remove();
+                invalidationCount++;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        V v = e.getVertex();
+        Iterator<Pair<V, V>> it = paths.keySet().iterator();
+        while (it.hasNext()) {
+            Pair<V, V> key = it.next();
+            if (v.equals(key.getFirst()) || v.equals(key.getSecond())) {
+                it.remove();
+                invalidationCount++;
+            }
+        }
+        if (singleSourcePaths.remove(v) != null) {
+            invalidationCount++;
+        }
+    }
+
+    /*
+     * Invalidate the entries which may contain an edge, after the edge was removed or its weight
+     * was changed.
+     */
+    private void invalidateContaining(E edge, V source, V target)
+    {
+        Iterator<GraphPath<V, E>> pathIt = paths.values().iterator();
+        while (pathIt.hasNext()) {
+            GraphPath<V, E> path = pathIt.next();
+            if (path != null && path.getEdgeList().contains(edge)) {
+                pathIt.remove();
+                invalidationCount++;
+            }
+        }
+
+        boolean directed = graph.getType().isDirected();
+        Iterator<SingleSourcePaths<V, E>> spIt = singleSourcePaths.values().iterator();
+        while (spIt.hasNext()) {
+            SingleSourcePaths<V, E> sp = spIt.next();
+            boolean affected;
+            if (sp instanceof TreeSingleSourcePathsImpl) {
+                Map<V, Pair<Double, E>> tree =
+                    ((TreeSingleSourcePathsImpl<V, E>) sp).getDistanceAndPredecessorMap();
+                affected = isTreeEdge(tree, target, edge)
+                    || !directed && isTreeEdge(tree, source, edge);
+            } else {
+                affected = true;
+            }
+            if (affected) {
+                spIt.remove();
+                invalidationCount++;
+            }
+        }
+    }
+
+    /*
+     * Invalidate the entries which may become shorter by using an edge, after the edge was added or
+     * its weight was changed.
+     */
+    private void invalidateShorter(V source, V target, double weight)
+    {
+        if (weight < 0d) {
+            negativeWeights = true;
+        }
+
+        Iterator<GraphPath<V, E>> pathIt = paths.values().iterator();
+        while (pathIt.hasNext()) {
+            GraphPath<V, E> path = pathIt.next();
+            if (negativeWeights || path == null || path.getWeight() > weight) {
+                pathIt.remove();
+                invalidationCount++;
+            }
+        }
+
+        boolean directed = graph.getType().isDirected();
+        Iterator<SingleSourcePaths<V, E>> spIt = singleSourcePaths.values().iterator();
+        while (spIt.hasNext()) {
+            SingleSourcePaths<V, E> sp = spIt.next();
+            if (isShorter(sp, source, target, weight)
+                || !directed && isShorter(sp, target, source, weight))
+            {
+                spIt.remove();
+                invalidationCount++;
+            }
+        }
+    }
+
+    private boolean isTreeEdge(Map<V, Pair<Double, E>> tree, V v, E edge)
+    {
+        Pair<Double, E> p = tree.get(v);
+        return p != null && edge.equals(p.getSecond());
+    }
+
+    private boolean isShorter(SingleSourcePaths<V, E> sp, V source, V target, double weight)
+    {
+        double d = sp.getWeight(source);
+        return d != Double.POSITIVE_INFINITY && d + weight < sp.getWeight(target);
+    }
+
+    /**
+     * A map with a maximum size which evicts its least recently accessed entry.
+     */
+    private class LruCache<K, T>
+        extends
+        LinkedHashMap<K, T>
+    {
+        private static final long serialVersionUID = 6024856429467131423L;
+
+        private final int maximumSize;
+
+        LruCache(int maximumSize)
+        {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, T> eldest)
+        {
+            if (size() > maximumSize) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
+
+// End CachingShortestPathAlgorithm.java
@@ -0,0 +1,1100 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Point-to-point shortest paths using contraction hierarchies.
+ * 
+ * <p>
+ * The algorithm is described in R. Geisberger, P. Sanders, D. Schultes and D. Delling.
+ * Contraction Hierarchies: Faster and Simpler Hierarchical Routing in Road Networks. In
+ * Proceedings of the 7th International Workshop on Experimental Algorithms (WEA 2008), 319--333,
+ * 2008. In a preprocessing step the vertices are contracted one after the other. Contracting a
+ * vertex $v$ removes it from the graph and inserts a shortcut edge $(u, w)$ for each pair of
+ * neighbors whose only shortest path is $u, v, w$. The order in which the vertices were contracted
+ * defines a hierarchy, and every shortest path can be found by a bidirectional Dijkstra search
+ * which only follows edges towards vertices of higher order. Such searches settle very few
+ * vertices on road-like networks. The shortcuts of the resulting path are finally unpacked into
+ * the edges of the original graph.
+ * 
+ * <p>
+ * The contraction order is determined by the edge difference, the number of already contracted
+ * neighbors and the depth of each vertex. The preprocessing contracts in each round an independent
+ * set of vertices whose priority is minimal in their neighborhood. The shortcuts of the vertices
+ * of a round are computed in parallel using the given parallelism, as described in C. Vetter.
+ * Parallel Time-Dependent Contraction Hierarchies. Student Research Project, Karlsruhe Institute
+ * of Technology, 2009.
+ * 
+ * <p>
+ * On graphs which lack a hierarchical structure, such as random graphs, the remaining graph becomes
+ * dense as the contraction proceeds and contracting it would be prohibitively expensive. The
+ * contraction therefore stops when the average degree of the remaining graph grows above a
+ * constant. The remaining vertices form a core at the top of the hierarchy which is explored by
+ * both searches of a query, similarly to core-based routing. Road-like networks and grids are
+ * usually contracted completely.
+ * 
+ * <p>
+ * Distance tables between many sources and targets are computed with the bucket-based algorithm
+ * of S. Knopp, P. Sanders, D. Schultes, F. Schulz and D. Wagner. Computing Many-to-Many Shortest
+ * Paths Using Highway Hierarchies. In Proceedings of the 9th Workshop on Algorithm Engineering and
+ * Experiments (ALENEX 2007), 36--45, 2007. A backward search from each target stores its
+ * distance to every visited vertex in a bucket of that vertex. A forward search from each source
+ * then scans the buckets of the vertices it visits, which yields the distances to all targets at
+ * the cost of a single search per vertex. Both kinds of searches are executed in parallel.
+ * 
+ * <p>
+ * The preprocessing is performed once, by {@link #precompute()} or by the first query, and the
+ * graph must not be modified afterwards. Queries can be executed concurrently by several threads;
+ * each thread uses its own workspace whose size is linear in the number of vertices, so that no
+ * per-query allocation proportional to the size of the graph is required. The graph must not
+ * contain negative edge weights. Parallel edges and self-loops are supported.
+ * 
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BidirectionalDijkstraShortestPath
+ *
+ * @author agent
+ */
+public final class ContractionHierarchyShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+    implements
+    ManyToManyShortestPathsAlgorithm<V, E>
+{
+    /*
+     * Bounds on the number of vertices settled by the local searches which look for witness
+     * paths. A search which hits the bound is treated as if no witness exists, which adds
+     * superfluous shortcuts but never affects correctness.
+     */
+    private static final int CONTRACTION_SETTLE_LIMIT = 1000;
+    private static final int PRIORITY_SETTLE_LIMIT = 20;
+
+    /*
+     * Contraction stops when the average out-degree of the remaining graph exceeds this bound.
+     */
+    private static final int CORE_DEGREE = 16;
+
+    private static final byte LIVE = 0;
+    private static final byte BATCH = 1;
+    private static final byte CONTRACTED = 2;
+
+    private final int parallelism;
+    private volatile Hierarchy hierarchy;
+
+    /**
+     * Constructs a new instance for a specified graph. The preprocessing uses as many threads as
+     * the available processors.
+     *
+     * @param graph the input graph
+     */
+    public ContractionHierarchyShortestPath(Graph<V, E> graph)
+    {
+        this(graph, ConcurrencyUtil.getDefaultParallelism());
+    }
+
+    /**
+     * Constructs a new instance for a specified graph.
+     *
+     * @param graph the input graph
+     * @param parallelism the number of threads used by the preprocessing
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public ContractionHierarchyShortestPath(Graph<V, E> graph, int parallelism)
+    {
+        super(graph);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Compute the contraction hierarchy, if not already computed. The hierarchy is otherwise
+     * computed by the first query.
+     * 
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public void precompute()
+    {
+        getHierarchy();
+    }
+
+    /**
+     * Get the number of shortcuts which were added by the preprocessing.
+     * 
+     * @return the number of shortcuts
+     */
+    public int getNumberOfShortcuts()
+    {
+        return getHierarchy().numShortcuts;
+    }
+
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return createEmptyPath(source, sink);
+        }
+
+        Hierarchy h = getHierarchy();
+        Query query = h.queries.get();
+        if (!query.run(h.index.get(source), h.index.get(sink))) {
+            return createEmptyPath(source, sink);
+        }
+        return query.createPath();
+    }
+
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return 0d;
+        }
+
+        Hierarchy h = getHierarchy();
+        Query query = h.queries.get();
+        if (!query.run(h.index.get(source), h.index.get(sink))) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return query.best;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    @Override
+    public ManyToManyShortestPaths<V, E> getManyToManyPaths(Set<V> sources, Set<V> targets)
+    {
+        List<V> sourceList =
+            new ArrayList<>(Objects.requireNonNull(sources, "Sources cannot be null"));
+        List<V> targetList =
+            new ArrayList<>(Objects.requireNonNull(targets, "Targets cannot be null"));
+        for (V v : sourceList) {
+            if (!graph.containsVertex(v)) {
+                throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+            }
+        }
+        for (V v : targetList) {
+            if (!graph.containsVertex(v)) {
+                throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+            }
+        }
+
+        Hierarchy h = getHierarchy();
+        int n = h.vertices.length;
+        int numTargets = targetList.size();
+        double[][] weights = new double[sourceList.size()][numTargets];
+
+        ExecutorService executor =
+            parallelism > 1 ? ConcurrencyUtil.createExecutor(parallelism) : null;
+        try {
+            // backward searches, one per target
+            int[][] visited = new int[numTargets][];
+            double[][] visitedDistance = new double[numTargets][];
+            ConcurrencyUtil.parallelFor(
+                executor, parallelism, numTargets, 1, () -> new UpwardSearch(n), (search, t) -> {
+                    search.run(
+                        h.index.get(targetList.get(t)), h.backwardStart, h.backwardHead,
+                        h.backwardWeight);
+                    visited[t] = Arrays.copyOf(search.settled, search.settledSize);
+                    visitedDistance[t] = new double[search.settledSize];
+                    for (int i = 0; i < search.settledSize; i++) {
+                        visitedDistance[t][i] = search.distance[search.settled[i]];
+                    }
+                    search.reset();
+                });
+
+            // fill the buckets
+            int[] bucketStart = new int[n + 1];
+            for (int t = 0; t < numTargets; t++) {
+                for (int v : visited[t]) {
+                    bucketStart[v + 1]++;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                bucketStart[v + 1] += bucketStart[v];
+            }
+            int[] bucketTarget = new int[bucketStart[n]];
+            double[] bucketDistance = new double[bucketStart[n]];
+            int[] next = Arrays.copyOf(bucketStart, n);
+            for (int t = 0; t < numTargets; t++) {
+                int[] vt = visited[t];
+                for (int i = 0; i < vt.length; i++) {
+                    int k = next[vt[i]]++;
+                    bucketTarget[k] = t;
+                    bucketDistance[k] = visitedDistance[t][i];
+                }
+                visited[t] = null;
+                visitedDistance[t] = null;
+            }
+
+            // forward searches, one per source, which scan the buckets
+            ConcurrencyUtil.parallelFor(
+                executor, parallelism, sourceList.size(), 1, () -> new UpwardSearch(n),
+                (search, s) -> {
+                    double[] row = weights[s];
+                    Arrays.fill(row, Double.POSITIVE_INFINITY);
+                    search.run(
+                        h.index.get(sourceList.get(s)), h.forwardStart, h.forwardHead,
+                        h.forwardWeight);
+                    for (int i = 0; i < search.settledSize; i++) {
+                        int v = search.settled[i];
+                        double d = search.distance[v];
+                        for (int k = bucketStart[v]; k < bucketStart[v + 1]; k++) {
+                            double total = d + bucketDistance[k];
+                            int t = bucketTarget[k];
+                            if (total < row[t]) {
+                                row[t] = total;
+                            }
+                        }
+                    }
+                    search.reset();
+                });
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        return new ManyToManyShortestPathsImpl<>(
+            graph, sourceList, targetList, weights, this::getPath);
+    }
+
+    private Hierarchy getHierarchy()
+    {
+        Hierarchy h = hierarchy;
+        if (h == null) {
+            synchronized (this) {
+                h = hierarchy;
+                if (h == null) {
+                    h = new Hierarchy();
+                    hierarchy = h;
+                }
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Growable storage of the arcs of the hierarchy. An arc is either an edge of the original graph
+     * or a shortcut which replaces two consecutive arcs.
+     */
+    private static final class Arcs
+    {
+        int size;
+        int[] tail;
+        int[] head;
+        double[] weight;
+        int[] first;
+        int[] second;
+        Object[] edge;
+
+        Arcs(int capacity)
+        {
+            capacity = Math.max(capacity, 16);
+            tail = new int[capacity];
+            head = new int[capacity];
+            weight = new double[capacity];
+            first = new int[capacity];
+            second = new int[capacity];
+            edge = new Object[capacity];
+        }
+
+        int add(int t, int h, double w, int f, int s, Object e)
+        {
+            if (size == tail.length) {
+                int capacity = size + (size >> 1);
+                tail = Arrays.copyOf(tail, capacity);
+                head = Arrays.copyOf(head, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+                edge = Arrays.copyOf(edge, capacity);
+            }
+            tail[size] = t;
+            head[size] = h;
+            weight[size] = w;
+            first[size] = f;
+            second[size] = s;
+            edge[size] = e;
+            return size++;
+        }
+    }
+
+    /**
+     * The result of the preprocessing: the arcs together with the upward graphs used by the
+     * forward and the backward searches, in compressed sparse row format.
+     */
+    private final class Hierarchy
+    {
+        final Map<V, Integer> index;
+        final Object[] vertices;
+        final int[] arcTail;
+        final int[] arcHead;
+        final int[] arcFirst;
+        final int[] arcSecond;
+        final Object[] arcEdge;
+        final int numShortcuts;
+
+        final int[] forwardStart;
+        final int[] forwardHead;
+        final double[] forwardWeight;
+        final int[] forwardArc;
+        final int[] backwardStart;
+        final int[] backwardHead;
+        final double[] backwardWeight;
+        final int[] backwardArc;
+
+        final ThreadLocal<Query> queries;
+
+        Hierarchy()
+        {
+            int n = graph.vertexSet().size();
+            this.index = new HashMap<>();
+            this.vertices = new Object[n];
+            for (V v : graph.vertexSet()) {
+                vertices[index.size()] = v;
+                index.put(v, index.size());
+            }
+
+            Contraction contraction = new Contraction(index, vertices);
+            ExecutorService executor =
+                parallelism > 1 ? ConcurrencyUtil.createExecutor(parallelism) : null;
+            try {
+                contraction.run(executor);
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+
+            Arcs arcs = contraction.arcs;
+            int[] rank = contraction.rank;
+            int m = arcs.size;
+            this.arcTail = Arrays.copyOf(arcs.tail, m);
+            this.arcHead = Arrays.copyOf(arcs.head, m);
+            this.arcFirst = Arrays.copyOf(arcs.first, m);
+            this.arcSecond = Arrays.copyOf(arcs.second, m);
+            this.arcEdge = Arrays.copyOf(arcs.edge, m);
+            this.numShortcuts = contraction.numShortcuts;
+
+            // split arcs into the upward graphs, arcs inside the core belong to both
+            forwardStart = new int[n + 1];
+            backwardStart = new int[n + 1];
+            for (int a = 0; a < m; a++) {
+                int t = arcs.tail[a];
+                int h = arcs.head[a];
+                if (rank[h] >= rank[t]) {
+                    forwardStart[t + 1]++;
+                }
+                if (rank[h] <= rank[t]) {
+                    backwardStart[h + 1]++;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                forwardStart[v + 1] += forwardStart[v];
+                backwardStart[v + 1] += backwardStart[v];
+            }
+            forwardHead = new int[forwardStart[n]];
+            forwardWeight = new double[forwardStart[n]];
+            forwardArc = new int[forwardStart[n]];
+            backwardHead = new int[backwardStart[n]];
+            backwardWeight = new double[backwardStart[n]];
+            backwardArc = new int[backwardStart[n]];
+            int[] forwardNext = Arrays.copyOf(forwardStart, n);
+            int[] backwardNext = Arrays.copyOf(backwardStart, n);
+            for (int a = 0; a < m; a++) {
+                int t = arcs.tail[a];
+                int h = arcs.head[a];
+                if (rank[h] >= rank[t]) {
+                    int k = forwardNext[t]++;
+                    forwardHead[k] = h;
+                    forwardWeight[k] = arcs.weight[a];
+                    forwardArc[k] = a;
+                }
+                if (rank[h] <= rank[t]) {
+                    int k = backwardNext[h]++;
+                    backwardHead[k] = t;
+                    backwardWeight[k] = arcs.weight[a];
+                    backwardArc[k] = a;
+                }
+            }
+
+            this.queries = ThreadLocal.withInitial(() -> new Query(this));
+        }
+    }
+
+    /**
+     * The workspace of a bidirectional upward search. The distance arrays are reset after each
+     * query by clearing only the touched entries.
+     */
+    private final class Query
+    {
+        final Hierarchy h;
+        final double[] forwardDistance;
+        final double[] backwardDistance;
+        final int[] forwardPred;
+        final int[] backwardPred;
+        final IntHeap forwardHeap;
+        final IntHeap backwardHeap;
+        int[] touched;
+        int touchedSize;
+
+        int source;
+        int sink;
+        int meet;
+        double best;
+
+        Query(Hierarchy h)
+        {
+            this.h = h;
+            int n = h.vertices.length;
+            this.forwardDistance = new double[n];
+            this.backwardDistance = new double[n];
+            Arrays.fill(forwardDistance, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardDistance, Double.POSITIVE_INFINITY);
+            this.forwardPred = new int[n];
+            this.backwardPred = new int[n];
+            this.forwardHeap = new IntHeap(forwardDistance);
+            this.backwardHeap = new IntHeap(backwardDistance);
+            this.touched = new int[64];
+        }
+
+        boolean run(int s, int t)
+        {
+            for (int i = 0; i < touchedSize; i++) {
+                int v = touched[i];
+                forwardDistance[v] = Double.POSITIVE_INFINITY;
+                backwardDistance[v] = Double.POSITIVE_INFINITY;
+            }
+            touchedSize = 0;
+
+            source = s;
+            sink = t;
+            meet = -1;
+            best = Double.POSITIVE_INFINITY;
+
+            forwardDistance[s] = 0d;
+            forwardPred[s] = -1;
+            touch(s);
+            forwardHeap.insertOrDecrease(s);
+            backwardDistance[t] = 0d;
+            backwardPred[t] = -1;
+            touch(t);
+            backwardHeap.insertOrDecrease(t);
+
+            while (true) {
+                boolean forward = !forwardHeap.isEmpty() && forwardHeap.minKey() < best;
+                boolean backward = !backwardHeap.isEmpty() && backwardHeap.minKey() < best;
+                if (!forward && !backward) {
+                    break;
+                }
+                if (forward && (!backward || forwardHeap.minKey() <= backwardHeap.minKey())) {
+                    settle(
+                        forwardHeap, forwardDistance, backwardDistance, forwardPred,
+                        h.forwardStart, h.forwardHead, h.forwardWeight, h.forwardArc);
+                } else {
+                    settle(
+                        backwardHeap, backwardDistance, forwardDistance, backwardPred,
+                        h.backwardStart, h.backwardHead, h.backwardWeight, h.backwardArc);
+                }
+            }
+            forwardHeap.clear();
+            backwardHeap.clear();
+
+            return meet >= 0;
+        }
+
+        private void settle(
+            IntHeap heap, double[] distance, double[] otherDistance, int[] pred, int[] start,
+            int[] head, double[] weight, int[] arc)
+        {
+            int u = heap.removeMin();
+            double d = distance[u];
+            double other = otherDistance[u];
+            if (d + other < best) {
+                best = d + other;
+                meet = u;
+            }
+            for (int k = start[u]; k < start[u + 1]; k++) {
+                int v = head[k];
+                double nd = d + weight[k];
+                if (nd < distance[v]) {
+                    if (distance[v] == Double.POSITIVE_INFINITY) {
+                        touch(v);
+                    }
+                    distance[v] = nd;
+                    pred[v] = arc[k];
+                    heap.insertOrDecrease(v);
+                }
+            }
+        }
+
+        private void touch(int v)
+        {
+            if (touchedSize == touched.length) {
+                touched = Arrays.copyOf(touched, 2 * touchedSize);
+            }
+            touched[touchedSize++] = v;
+        }
+
+        GraphPath<V, E> createPath()
+        {
+            // collect the arcs of the hierarchy on the path
+            int[] stack = new int[16];
+            int stackSize = 0;
+            for (int a = backwardPred[meet]; a >= 0; a = backwardPred[h.arcHead[a]]) {
+                if (stackSize == stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * stackSize);
+                }
+                stack[stackSize++] = a;
+            }
+            // arcs of the backward search must be unpacked last
+            reverse(stack, stackSize);
+            for (int a = forwardPred[meet]; a >= 0; a = forwardPred[h.arcTail[a]]) {
+                if (stackSize == stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * stackSize);
+                }
+                stack[stackSize++] = a;
+            }
+
+            // unpack shortcuts, the top of the stack is the first arc of the path
+            List<E> edgeList = new ArrayList<>();
+            List<V> vertexList = new ArrayList<>();
+            vertexList.add(TypeUtil.uncheckedCast(h.vertices[source]));
+            while (stackSize > 0) {
+                int a = stack[--stackSize];
+                if (h.arcEdge[a] != null) {
+                    edgeList.add(TypeUtil.uncheckedCast(h.arcEdge[a]));
+                    vertexList.add(TypeUtil.uncheckedCast(h.vertices[h.arcHead[a]]));
+                } else {
+                    if (stackSize + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, 2 * stack.length);
+                    }
+                    stack[stackSize++] = h.arcSecond[a];
+                    stack[stackSize++] = h.arcFirst[a];
+                }
+            }
+
+            return new GraphWalk<>(
+                graph, vertexList.get(0), vertexList.get(vertexList.size() - 1), vertexList,
+                edgeList, best);
+        }
+
+        private void reverse(int[] a, int size)
+        {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int tmp = a[i];
+                a[i] = a[j];
+                a[j] = tmp;
+            }
+        }
+    }
+
+    /**
+     * The workspace of a unidirectional search in one of the upward graphs, which records the
+     * settled vertices.
+     */
+    private static final class UpwardSearch
+    {
+        final double[] distance;
+        final IntHeap heap;
+        int[] settled;
+        int settledSize;
+
+        UpwardSearch(int n)
+        {
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.heap = new IntHeap(distance);
+            this.settled = new int[64];
+        }
+
+        void run(int source, int[] start, int[] head, double[] weight)
+        {
+            distance[source] = 0d;
+            heap.insertOrDecrease(source);
+            while (!heap.isEmpty()) {
+                int u = heap.removeMin();
+                if (settledSize == settled.length) {
+                    settled = Arrays.copyOf(settled, 2 * settledSize);
+                }
+                settled[settledSize++] = u;
+                double d = distance[u];
+                for (int k = start[u]; k < start[u + 1]; k++) {
+                    int v = head[k];
+                    double nd = d + weight[k];
+                    if (nd < distance[v]) {
+                        distance[v] = nd;
+                        heap.insertOrDecrease(v);
+                    }
+                }
+            }
+        }
+
+        void reset()
+        {
+            for (int i = 0; i < settledSize; i++) {
+                distance[settled[i]] = Double.POSITIVE_INFINITY;
+            }
+            settledSize = 0;
+        }
+    }
+
+    /**
+     * The workspace of a local search for witness paths. The search stops as soon as all targets
+     * have been settled.
+     */
+    private final class WitnessSearch
+    {
+        final double[] distance;
+        final IntHeap heap;
+        final int[] targetOf;
+        int targets;
+        int searchId;
+        int[] touched;
+        int touchedSize;
+
+        WitnessSearch(int n)
+        {
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.heap = new IntHeap(distance);
+            this.targetOf = new int[n];
+            this.searchId = 1;
+            this.touched = new int[64];
+        }
+
+        void addTarget(int v)
+        {
+            if (targetOf[v] != searchId) {
+                targetOf[v] = searchId;
+                targets++;
+            }
+        }
+
+        void run(Contraction c, int source, int avoid, double bound, int settleLimit)
+        {
+            distance[source] = 0d;
+            touch(source);
+            heap.insertOrDecrease(source);
+            int settled = 0;
+            while (!heap.isEmpty()) {
+                if (heap.minKey() > bound || ++settled > settleLimit) {
+                    break;
+                }
+                int u = heap.removeMin();
+                if (targetOf[u] == searchId && --targets == 0) {
+                    break;
+                }
+                double d = distance[u];
+                int[] out = c.out[u];
+                for (int i = 0; i < c.outSize[u]; i++) {
+                    int a = out[i];
+                    int v = c.arcs.head[a];
+                    if (v == avoid || c.state[v] != LIVE) {
+                        continue;
+                    }
+                    double nd = d + c.arcs.weight[a];
+                    if (nd < distance[v]) {
+                        if (distance[v] == Double.POSITIVE_INFINITY) {
+                            touch(v);
+                        }
+                        distance[v] = nd;
+                        heap.insertOrDecrease(v);
+                    }
+                }
+            }
+            heap.clear();
+        }
+
+        void reset()
+        {
+            for (int i = 0; i < touchedSize; i++) {
+                distance[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedSize = 0;
+            targets = 0;
+            searchId++;
+        }
+
+        private void touch(int v)
+        {
+            if (touchedSize == touched.length) {
+                touched = Arrays.copyOf(touched, 2 * touchedSize);
+            }
+            touched[touchedSize++] = v;
+        }
+    }
+
+    /**
+     * Shortcuts found while contracting a vertex.
+     */
+    private static final class Shortcuts
+    {
+        int size;
+        int[] arcs = new int[8];
+        double[] weights = new double[4];
+
+        void add(int first, int second, double weight)
+        {
+            if (size == weights.length) {
+                arcs = Arrays.copyOf(arcs, 4 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+            }
+            arcs[2 * size] = first;
+            arcs[2 * size + 1] = second;
+            weights[size++] = weight;
+        }
+    }
+
+    /**
+     * The contraction of the graph. The remaining graph is kept as lists of incoming and outgoing
+     * arcs per vertex. The lists of a vertex are compacted whenever one of its neighbors is
+     * contracted.
+     */
+    private final class Contraction
+    {
+        final int n;
+        final Arcs arcs;
+        final int[][] out;
+        final int[] outSize;
+        final int[][] in;
+        final int[] inSize;
+        final byte[] state;
+        final int[] priority;
+        final int[] contractedNeighbors;
+        final int[] level;
+        final int[] rank;
+        int numShortcuts;
+
+        Contraction(Map<V, Integer> index, Object[] vertices)
+        {
+            this.n = vertices.length;
+            this.arcs = new Arcs(2 * graph.edgeSet().size());
+            this.out = new int[n][];
+            this.outSize = new int[n];
+            this.in = new int[n][];
+            this.inSize = new int[n];
+            this.state = new byte[n];
+            this.priority = new int[n];
+            this.contractedNeighbors = new int[n];
+            this.level = new int[n];
+            this.rank = new int[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new int[4];
+                in[v] = new int[4];
+            }
+
+            // keep only the lightest arc between each pair of vertices
+            ToDoubleFunction<E> edgeWeights = IndexedEdgeWeights.weightFunction(graph);
+            int[] seenBy = new int[n];
+            int[] seenArc = new int[n];
+            Arrays.fill(seenBy, -1);
+            for (int u = 0; u < n; u++) {
+                V uVertex = TypeUtil.uncheckedCast(vertices[u]);
+                for (E e : graph.outgoingEdgesOf(uVertex)) {
+                    int v = index.get(Graphs.getOppositeVertex(graph, e, uVertex));
+                    double weight = edgeWeights.applyAsDouble(e);
+                    if (weight < 0d) {
+                        throw new IllegalArgumentException("Negative edge weight not allowed");
+                    }
+                    if (u == v) {
+                        continue;
+                    }
+                    if (seenBy[v] == u) {
+                        int a = seenArc[v];
+                        if (weight < arcs.weight[a]) {
+                            arcs.weight[a] = weight;
+                            arcs.edge[a] = e;
+                        }
+                    } else {
+                        seenBy[v] = u;
+                        seenArc[v] = addArc(u, v, weight, -1, -1, e);
+                    }
+                }
+            }
+        }
+
+        void run(ExecutorService executor)
+        {
+            ConcurrencyUtil.parallelFor(
+                executor, parallelism, n, () -> new WitnessSearch(n),
+                (search, v) -> priority[v] = computePriority(v, search));
+
+            int[] remaining = new int[n];
+            for (int v = 0; v < n; v++) {
+                remaining[v] = v;
+            }
+            int remainingSize = n;
+            int[] batch = new int[n];
+            boolean[] selected = new boolean[n];
+            int[] updated = new int[n];
+            int[] lastNeighborOf = new int[n];
+            Arrays.fill(lastNeighborOf, -1);
+            int nextRank = 0;
+
+            while (remainingSize > 0) {
+                // select an independent set of vertices with locally minimal priority
+                final int[] candidates = remaining;
+                ConcurrencyUtil.parallelFor(
+                    executor, parallelism, remainingSize, () -> null, (unused, i) -> {
+                        int v = candidates[i];
+                        selected[v] = isLocalMinimum(v);
+                    });
+                int batchSize = 0;
+                for (int i = 0; i < remainingSize; i++) {
+                    int v = remaining[i];
+                    if (selected[v]) {
+                        selected[v] = false;
+                        state[v] = BATCH;
+                        batch[batchSize++] = v;
+                    }
+                }
+
+                // compute the shortcuts of the batch in parallel
+                final int[] contracted = batch;
+                Shortcuts[] shortcuts = new Shortcuts[batchSize];
+                ConcurrencyUtil.parallelFor(
+                    executor, parallelism, batchSize, () -> new WitnessSearch(n), (search, i) -> {
+                        Shortcuts s = new Shortcuts();
+                        findShortcuts(contracted[i], search, CONTRACTION_SETTLE_LIMIT, s);
+                        shortcuts[i] = s;
+                    });
+
+                // contract the batch
+                int updatedSize = 0;
+                for (int i = 0; i < batchSize; i++) {
+                    int v = batch[i];
+                    Shortcuts s = shortcuts[i];
+                    for (int j = 0; j < s.size; j++) {
+                        addShortcut(s.arcs[2 * j], s.arcs[2 * j + 1], s.weights[j]);
+                    }
+                    state[v] = CONTRACTED;
+                    rank[v] = nextRank++;
+                    for (int k = 0; k < outSize[v] + inSize[v]; k++) {
+                        int w = k < outSize[v] ? arcs.head[out[v][k]]
+                            : arcs.tail[in[v][k - outSize[v]]];
+                        if (state[w] != LIVE || lastNeighborOf[w] == v) {
+                            continue;
+                        }
+                        if (lastNeighborOf[w] < 0) {
+                            updated[updatedSize++] = w;
+                        }
+                        lastNeighborOf[w] = v;
+                        contractedNeighbors[w]++;
+                        level[w] = Math.max(level[w], level[v] + 1);
+                    }
+                    out[v] = null;
+                    in[v] = null;
+                    outSize[v] = 0;
+                    inSize[v] = 0;
+                }
+
+                // update the neighbors
+                for (int i = 0; i < updatedSize; i++) {
+                    int w = updated[i];
+                    lastNeighborOf[w] = -1;
+                    compact(w);
+                }
+                final int[] neighbors = updated;
+                ConcurrencyUtil.parallelFor(
+                    executor, parallelism, updatedSize, () -> new WitnessSearch(n),
+                    (search, i) -> priority[neighbors[i]] =
+                        computePriority(neighbors[i], search));
+
+                int k = 0;
+                for (int i = 0; i < remainingSize; i++) {
+                    if (state[remaining[i]] == LIVE) {
+                        remaining[k++] = remaining[i];
+                    }
+                }
+                remainingSize = k;
+
+                // leave a dense remainder uncontracted
+                long liveArcs = 0;
+                for (int i = 0; i < remainingSize; i++) {
+                    liveArcs += outSize[remaining[i]];
+                }
+                if (liveArcs > (long) CORE_DEGREE * remainingSize) {
+                    for (int i = 0; i < remainingSize; i++) {
+                        rank[remaining[i]] = nextRank;
+                    }
+                    break;
+                }
+            }
+        }
+
+        /*
+         * Whether the priority of a vertex is smaller than the priority of all its neighbors. Ties
+         * are broken using a hash of the vertices in order to avoid regular patterns.
+         */
+        private boolean isLocalMinimum(int v)
+        {
+            for (int k = 0; k < outSize[v] + inSize[v]; k++) {
+                int w = k < outSize[v] ? arcs.head[out[v][k]] : arcs.tail[in[v][k - outSize[v]]];
+                if (state[w] == LIVE && w != v && precedes(w, v)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean precedes(int w, int v)
+        {
+            if (priority[w] != priority[v]) {
+                return priority[w] < priority[v];
+            }
+            int hw = w * 0x9E3779B9;
+            int hv = v * 0x9E3779B9;
+            if (hw != hv) {
+                return hw < hv;
+            }
+            return w < v;
+        }
+
+        private int computePriority(int v, WitnessSearch search)
+        {
+            int shortcuts = findShortcuts(v, search, PRIORITY_SETTLE_LIMIT, null);
+            int edgeDifference = shortcuts - outSize[v] - inSize[v];
+            return edgeDifference + contractedNeighbors[v] + level[v];
+        }
+
+        /*
+         * Find the shortcuts required when contracting a vertex. For each incoming arc (u,v) a
+         * local search from u which avoids v looks for witness paths to the heads of the outgoing
+         * arcs of v.
+         */
+        private int findShortcuts(int v, WitnessSearch search, int settleLimit, Shortcuts result)
+        {
+            int count = 0;
+            for (int i = 0; i < inSize[v]; i++) {
+                int a = in[v][i];
+                int u = arcs.tail[a];
+                if (state[u] != LIVE) {
+                    continue;
+                }
+                double maxWeight = -1d;
+                for (int j = 0; j < outSize[v]; j++) {
+                    int b = out[v][j];
+                    int w = arcs.head[b];
+                    if (w != u && state[w] == LIVE) {
+                        maxWeight = Math.max(maxWeight, arcs.weight[b]);
+                        search.addTarget(w);
+                    }
+                }
+                if (maxWeight < 0d) {
+                    search.reset();
+                    continue;
+                }
+
+                double uWeight = arcs.weight[a];
+                search.run(this, u, v, uWeight + maxWeight, settleLimit);
+                for (int j = 0; j < outSize[v]; j++) {
+                    int b = out[v][j];
+                    int w = arcs.head[b];
+                    if (w == u || state[w] != LIVE) {
+                        continue;
+                    }
+                    double weight = uWeight + arcs.weight[b];
+                    if (search.distance[w] > weight) {
+                        count++;
+                        if (result != null) {
+                            result.add(a, b, weight);
+                        }
+                    }
+                }
+                search.reset();
+            }
+            return count;
+        }
+
+        private void addShortcut(int first, int second, double weight)
+        {
+            int u = arcs.tail[first];
+            int w = arcs.head[second];
+            for (int i = 0; i < outSize[u]; i++) {
+                int a = out[u][i];
+                if (arcs.head[a] == w && arcs.weight[a] <= weight) {
+                    return;
+                }
+            }
+            addArc(u, w, weight, first, second, null);
+            numShortcuts++;
+        }
+
+        private int addArc(int u, int v, double weight, int first, int second, E e)
+        {
+            int a = arcs.add(u, v, weight, first, second, e);
+            if (outSize[u] == out[u].length) {
+                out[u] = Arrays.copyOf(out[u], 2 * outSize[u]);
+            }
+            out[u][outSize[u]++] = a;
+            if (inSize[v] == in[v].length) {
+                in[v] = Arrays.copyOf(in[v], 2 * inSize[v]);
+            }
+            in[v][inSize[v]++] = a;
+            return a;
+        }
+
+        private void compact(int v)
+        {
+            int k = 0;
+            for (int i = 0; i < outSize[v]; i++) {
+                int a = out[v][i];
+                if (state[arcs.head[a]] != CONTRACTED) {
+                    out[v][k++] = a;
+                }
+            }
+            outSize[v] = k;
+            k = 0;
+            for (int i = 0; i < inSize[v]; i++) {
+                int a = in[v][i];
+                if (state[arcs.tail[a]] != CONTRACTED) {
+                    in[v][k++] = a;
+                }
+            }
+            inSize[v] = k;
+        }
+    }
+
+}
@@ -0,0 +1,554 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Parallel implementation of the delta-stepping single-source shortest path algorithm.
+ * 
+ * <p>
+ * The algorithm is described in U. Meyer and P. Sanders. $\Delta$-stepping: a parallelizable
+ * shortest path algorithm. Journal of Algorithms, 49(1):114--152, 2003. The tentative distances
+ * of the vertices are kept in buckets of width $\Delta$. The algorithm repeatedly removes all
+ * vertices of the first non-empty bucket and relaxes their light edges, i.e. edges of weight at
+ * most $\Delta$, until the bucket remains empty. Afterwards the heavy edges of all vertices removed
+ * from the bucket are relaxed once. All vertices of a bucket are processed in parallel.
+ * 
+ * <p>
+ * Each worker thread owns the vertices whose index is congruent to its own index. The relaxations
+ * are performed in two steps: first all workers scan the edges of their own vertices of the
+ * current bucket and produce relaxation requests, and then each worker applies the requests which
+ * target its own vertices. Thus the tentative distances and predecessors are never updated
+ * concurrently and no atomic operations are required. When $\Delta$ is not specified, it is
+ * chosen as the maximum edge weight divided by the maximum degree of the graph. A parallelism of
+ * one results in a sequential algorithm which is close to Dial's algorithm for small values of
+ * $\Delta$ and close to the Bellman-Ford algorithm for large values of $\Delta$.
+ * 
+ * <p>
+ * The graph must not contain negative edge weights. The graph is read once per invocation of
+ * {@link #getPaths(Object)} and can change between invocations.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DijkstraShortestPath
+ *
+ * @author agent
+ */
+public class DeltaSteppingShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    /*
+     * Upper bound on the number of buckets which are kept in the cyclic bucket array. A smaller
+     * delta is rounded up accordingly.
+     */
+    private static final int MAX_BUCKETS = 1 << 20;
+
+    /*
+     * Phases which scan or apply less work items than this bound are executed by the calling
+     * thread, since the cost of dispatching them to the workers exceeds the gain.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private final double delta;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a new instance for a specified graph. The value of $\Delta$ is computed from the
+     * graph and as many threads as the available processors are used.
+     *
+     * @param graph the input graph
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph)
+    {
+        this(graph, 0d);
+    }
+
+    /**
+     * Constructs a new instance for a specified graph. As many threads as the available
+     * processors are used.
+     *
+     * @param graph the input graph
+     * @param delta the bucket width, or zero in order to compute it from the graph
+     * @throws IllegalArgumentException if delta is negative or not a number
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph, double delta)
+    {
+        this(graph, delta, ConcurrencyUtil.getDefaultParallelism());
+    }
+
+    /**
+     * Constructs a new instance for a specified graph. Each invocation of
+     * {@link #getPaths(Object)} creates its own worker threads.
+     *
+     * @param graph the input graph
+     * @param delta the bucket width, or zero in order to compute it from the graph
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if delta is negative or not a number
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph, double delta, int parallelism)
+    {
+        super(graph);
+        this.delta = checkDelta(delta);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.executor = null;
+    }
+
+    /**
+     * Constructs a new instance for a specified graph which executes its tasks using an existing
+     * executor, such as a {@link ForkJoinPool}. The executor is not shut down by this class. The
+     * number of tasks equals the parallelism of the pool if the executor is a
+     * {@link ForkJoinPool}, and the number of available processors otherwise.
+     *
+     * @param graph the input graph
+     * @param delta the bucket width, or zero in order to compute it from the graph
+     * @param executor the executor
+     * @throws IllegalArgumentException if delta is negative or not a number
+     */
+    public DeltaSteppingShortestPath(Graph<V, E> graph, double delta, ExecutorService executor)
+    {
+        super(graph);
+        this.delta = checkDelta(delta);
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        if (executor instanceof ForkJoinPool) {
+            this.parallelism = ((ForkJoinPool) executor).getParallelism();
+        } else {
+            this.parallelism = ConcurrencyUtil.getDefaultParallelism();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        return getPaths(source).getPath(sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+
+        if (executor != null) {
+            return new Search(executor).run(source);
+        }
+        ExecutorService localExecutor =
+            parallelism > 1 ? ConcurrencyUtil.createExecutor(parallelism) : null;
+        try {
+            return new Search(localExecutor).run(source);
+        } finally {
+            if (localExecutor != null) {
+                localExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private static double checkDelta(double delta)
+    {
+        if (!(delta >= 0d)) {
+            throw new IllegalArgumentException("Delta must be non-negative");
+        }
+        return delta;
+    }
+
+    /**
+     * A growable list of primitive integers.
+     */
+    private static final class IntList
+    {
+        int[] elements = new int[4];
+        int size;
+
+        void add(int x)
+        {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, 2 * size);
+            }
+            elements[size++] = x;
+        }
+    }
+
+    /**
+     * A buffer of relaxation requests.
+     */
+    private static final class Requests
+    {
+        int[] vertices = new int[16];
+        double[] distances = new double[16];
+        int[] arcs = new int[16];
+        int size;
+
+        void add(int v, double d, int arc)
+        {
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+                arcs = Arrays.copyOf(arcs, 2 * size);
+            }
+            vertices[size] = v;
+            distances[size] = d;
+            arcs[size] = arc;
+            size++;
+        }
+    }
+
+    /**
+     * The state of a single invocation of the algorithm.
+     */
+    private final class Search
+    {
+        private final ExecutorService executor;
+        private final int workers;
+
+        private final List<V> vertices;
+        private final Map<V, Integer> index;
+        private final int n;
+
+        // adjacency arrays, the light arcs of each vertex come before the heavy ones
+        private int[] start;
+        private int[] lightEnd;
+        private int[] arcTarget;
+        private double[] arcWeight;
+        private Object[] arcEdge;
+        private double maxWeight;
+        private double bucketWidth;
+
+        private final double[] distance;
+        private final int[] predecessor;
+        private final int[] mark;
+
+        // per owner state
+        private IntList[][] buckets;
+        private final IntList[] frontier;
+        private final IntList[] removed;
+        private final Requests[][] requests;
+
+        Search(ExecutorService executor)
+        {
+            this.executor = executor;
+            this.vertices = new ArrayList<>(graph.vertexSet());
+            this.n = vertices.size();
+            this.workers = executor == null ? 1 : Math.max(1, Math.min(parallelism, n));
+            this.index = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                index.put(vertices.get(i), i);
+            }
+
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.predecessor = new int[n];
+            Arrays.fill(predecessor, -1);
+            this.mark = new int[n];
+
+            this.frontier = new IntList[workers];
+            this.removed = new IntList[workers];
+            this.requests = new Requests[workers][workers];
+            for (int w = 0; w < workers; w++) {
+                frontier[w] = new IntList();
+                removed[w] = new IntList();
+                for (int o = 0; o < workers; o++) {
+                    requests[w][o] = new Requests();
+                }
+            }
+        }
+
+        SingleSourcePaths<V, E> run(V source)
+        {
+            buildArcs();
+
+            int numBuckets = (int) Math.min(MAX_BUCKETS, Math.floor(maxWeight / bucketWidth) + 2);
+            buckets = new IntList[workers][numBuckets];
+
+            int s = index.get(source);
+            distance[s] = 0d;
+            insert(s, 0d);
+
+            int phase = 0;
+            long current = 0;
+            while (true) {
+                // find the next non-empty bucket
+                long next = -1;
+                for (int k = 0; k < numBuckets && next < 0; k++) {
+                    int slot = (int) ((current + k) % numBuckets);
+                    for (int w = 0; w < workers; w++) {
+                        IntList bucket = buckets[w][slot];
+                        if (bucket != null && bucket.size > 0) {
+                            next = current + k;
+                            break;
+                        }
+                    }
+                }
+                if (next < 0) {
+                    break;
+                }
+                current = next;
+                final long bucketIndex = current;
+                final int slot = (int) (current % numBuckets);
+
+                // light edges, until the bucket remains empty
+                while (true) {
+                    final int phaseMark = ++phase;
+                    int size = 0;
+                    for (int w = 0; w < workers; w++) {
+                        size += collect(w, slot, bucketIndex, phaseMark);
+                    }
+                    if (size == 0) {
+                        break;
+                    }
+                    execute(w -> relax(w, frontier[w], true), size);
+                    execute(this::apply, pendingRequests());
+                }
+
+                // heavy edges of all vertices removed from the bucket
+                final int removedMark = ++phase;
+                int removedSize = 0;
+                for (int w = 0; w < workers; w++) {
+                    removedSize += removed[w].size;
+                }
+                execute(w -> {
+                    IntList list = removed[w];
+                    int size = 0;
+                    for (int i = 0; i < list.size; i++) {
+                        int v = list.elements[i];
+                        if (mark[v] != removedMark) {
+                            mark[v] = removedMark;
+                            list.elements[size++] = v;
+                        }
+                    }
+                    list.size = size;
+                    relax(w, list, false);
+                    list.size = 0;
+                }, removedSize);
+                execute(this::apply, pendingRequests());
+            }
+
+            return createPaths(source);
+        }
+
+        /*
+         * Build the adjacency arrays and compute the bucket width.
+         */
+        private void buildArcs()
+        {
+            ToDoubleFunction<E> weights = IndexedEdgeWeights.weightFunction(graph);
+
+            start = new int[n + 1];
+            int maxDegree = 0;
+            maxWeight = 0d;
+            for (int v = 0; v < n; v++) {
+                V vertex = vertices.get(v);
+                int degree = 0;
+                for (E e : graph.outgoingEdgesOf(vertex)) {
+                    double weight = weights.applyAsDouble(e);
+                    if (weight < 0d) {
+                        throw new IllegalArgumentException("Negative edge weight not allowed");
+                    }
+                    maxWeight = Math.max(maxWeight, weight);
+                    degree++;
+                }
+                start[v + 1] = start[v] + degree;
+                maxDegree = Math.max(maxDegree, degree);
+            }
+
+            bucketWidth = delta;
+            if (bucketWidth == 0d) {
+                bucketWidth = maxDegree == 0 ? 1d : maxWeight / maxDegree;
+            }
+            bucketWidth = Math.max(bucketWidth, maxWeight / (MAX_BUCKETS - 2));
+            if (bucketWidth == 0d) {
+                bucketWidth = 1d;
+            }
+
+            int m = start[n];
+            lightEnd = new int[n];
+            arcTarget = new int[m];
+            arcWeight = new double[m];
+            arcEdge = new Object[m];
+            final double width = bucketWidth;
+            ConcurrencyUtil.parallelFor(executor, workers, n, () -> null, (unused, v) -> {
+                V vertex = vertices.get(v);
+                int light = start[v];
+                int heavy = start[v + 1];
+                for (E e : graph.outgoingEdgesOf(vertex)) {
+                    double weight = weights.applyAsDouble(e);
+                    int pos = weight <= width ? light++ : --heavy;
+                    arcTarget[pos] = index.get(Graphs.getOppositeVertex(graph, e, vertex));
+                    arcWeight[pos] = weight;
+                    arcEdge[pos] = e;
+                }
+                lightEnd[v] = light;
+            });
+        }
+
+        private void insert(int v, double d)
+        {
+            long bucketIndex = (long) Math.floor(d / bucketWidth);
+            int slot = (int) (bucketIndex % buckets[0].length);
+            IntList[] ownerBuckets = buckets[v % workers];
+            IntList bucket = ownerBuckets[slot];
+            if (bucket == null) {
+                bucket = new IntList();
+                ownerBuckets[slot] = bucket;
+            }
+            bucket.add(v);
+        }
+
+        /*
+         * Move the vertices of the current bucket, which are owned by a worker, to its frontier.
+         * Stale entries of vertices whose distance has decreased since their insertion are
+         * dropped.
+         */
+        private int collect(int w, int slot, long bucketIndex, int phaseMark)
+        {
+            IntList f = frontier[w];
+            f.size = 0;
+            IntList bucket = buckets[w][slot];
+            if (bucket == null || bucket.size == 0) {
+                return 0;
+            }
+            for (int i = 0; i < bucket.size; i++) {
+                int v = bucket.elements[i];
+                if (mark[v] != phaseMark
+                    && (long) Math.floor(distance[v] / bucketWidth) == bucketIndex)
+                {
+                    mark[v] = phaseMark;
+                    f.add(v);
+                    removed[w].add(v);
+                }
+            }
+            bucket.size = 0;
+            return f.size;
+        }
+
+        /*
+         * Scan the light or heavy arcs of a list of vertices and produce relaxation requests.
+         */
+        private void relax(int w, IntList list, boolean light)
+        {
+            Requests[] out = requests[w];
+            for (int i = 0; i < list.size; i++) {
+                int v = list.elements[i];
+                double d = distance[v];
+                int from = light ? start[v] : lightEnd[v];
+                int to = light ? lightEnd[v] : start[v + 1];
+                for (int a = from; a < to; a++) {
+                    int u = arcTarget[a];
+                    double newDistance = d + arcWeight[a];
+                    if (newDistance < distance[u]) {
+                        out[u % workers].add(u, newDistance, a);
+                    }
+                }
+            }
+        }
+
+        /*
+         * Apply all relaxation requests which target the vertices owned by a worker.
+         */
+        private void apply(int w)
+        {
+            for (int o = 0; o < workers; o++) {
+                Requests in = requests[o][w];
+                for (int i = 0; i < in.size; i++) {
+                    int u = in.vertices[i];
+                    double d = in.distances[i];
+                    if (d < distance[u]) {
+                        distance[u] = d;
+                        predecessor[u] = in.arcs[i];
+                        insert(u, d);
+                    }
+                }
+                in.size = 0;
+            }
+        }
+
+        private int pendingRequests()
+        {
+            int size = 0;
+            for (int w = 0; w < workers; w++) {
+                for (int o = 0; o < workers; o++) {
+                    size += requests[w][o].size;
+                }
+            }
+            return size;
+        }
+
+        /*
+         * Execute a task for each worker, in parallel if the amount of work is large enough.
+         */
+        private void execute(IntConsumer task, int work)
+        {
+            if (executor == null || workers == 1 || work < SEQUENTIAL_THRESHOLD) {
+                for (int w = 0; w < workers; w++) {
+                    task.accept(w);
+                }
+                return;
+            }
+            List<Callable<Void>> tasks = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                final int worker = w;
+                tasks.add(() -> {
+                    task.accept(worker);
+                    return null;
+                });
+            }
+            ConcurrencyUtil.invokeAll(executor, tasks);
+        }
+
+        @SuppressWarnings("unchecked")
+        private SingleSourcePaths<V, E> createPaths(V source)
+        {
+            Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
+            for (int v = 0; v < n; v++) {
+                if (distance[v] < Double.POSITIVE_INFINITY) {
+                    E e = predecessor[v] < 0 ? null : (E) arcEdge[predecessor[v]];
+                    distanceAndPredecessorMap.put(vertices.get(v), Pair.of(distance[v], e));
+                }
+            }
+            return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+        }
+    }
+
+}
+
+// End DeltaSteppingShortestPath.java
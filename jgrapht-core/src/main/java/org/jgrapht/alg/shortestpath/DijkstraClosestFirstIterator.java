@@ -20,9 +20,11 @@ package org.jgrapht.alg.shortestpath;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * A light-weight version of the closest-first iterator for a directed or undirected graphs. For
@@ -51,10 +53,11 @@ class DijkstraClosestFirstIterator<V, E>
     Iterator<V>
 {
     private final Graph<V, E> graph;
+    private final ToDoubleFunction<E> edgeWeights;
     private final V source;
     private final double radius;
-    private final FibonacciHeap<QueueEntry> heap;
-    private final Map<V, FibonacciHeapNode<QueueEntry>> seen;
+    private final AddressableHeap<Pair<V, E>> heap;
+    private final Map<V, AddressableHeap.Handle<Pair<V, E>>> seen;
 
     /**
      * Creates a new iterator for the specified graph. Iteration will start at the specified start
@@ -79,14 +82,33 @@ class DijkstraClosestFirstIterator<V, E>
      * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search
      */
     public DijkstraClosestFirstIterator(Graph<V, E> graph, V source, double radius)
+    {
+        this(graph, source, radius, PairingHeap::new);
+    }
+
+    /**
+     * Creates a new radius-bounded iterator for the specified graph. Iteration will start at the
+     * specified start vertex and will be limited to the subset of the connected component which
+     * includes that vertex and is reachable via paths of weighted length less than or equal to the
+     * specified radius.
+     *
+     * @param graph the graph
+     * @param source the source vertex
+     * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @param heapSupplier supplier of the heap used as priority queue
+     */
+    public DijkstraClosestFirstIterator(
+        Graph<V, E> graph, V source, double radius,
+        Supplier<AddressableHeap<Pair<V, E>>> heapSupplier)
     {
         this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.edgeWeights = IndexedEdgeWeights.weightFunction(graph);
         this.source = Objects.requireNonNull(source, "Sourve vertex cannot be null");
         if (radius < 0.0) {
             throw new IllegalArgumentException("Radius must be non-negative");
         }
         this.radius = radius;
-        this.heap = new FibonacciHeap<>();
+        this.heap = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null").get();
         this.seen = new HashMap<>();
 
         // initialize with source vertex
@@ -102,8 +124,7 @@ class DijkstraClosestFirstIterator<V, E>
         if (heap.isEmpty()) {
             return false;
         }
-        FibonacciHeapNode<QueueEntry> vNode = heap.min();
-        double vDistance = vNode.getKey();
+        double vDistance = heap.findMin().getKey();
         if (radius < vDistance) {
             heap.clear();
             return false;
@@ -122,14 +143,14 @@ class DijkstraClosestFirstIterator<V, E>
         }
 
         // settle next node
-        FibonacciHeapNode<QueueEntry> vNode = heap.removeMin();
-        V v = vNode.getData().v;
+        AddressableHeap.Handle<Pair<V, E>> vNode = heap.deleteMin();
+        V v = vNode.getValue().getFirst();
         double vDistance = vNode.getKey();
 
         // relax edges
         for (E e : graph.outgoingEdgesOf(v)) {
             V u = Graphs.getOppositeVertex(graph, e, v);
-            double eWeight = graph.getEdgeWeight(e);
+            double eWeight = edgeWeights.applyAsDouble(e);
             if (eWeight < 0.0) {
                 throw new IllegalArgumentException("Negative edge weight not allowed");
             }
@@ -169,13 +190,13 @@ class DijkstraClosestFirstIterator<V, E>
     {
         Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
 
-        for (FibonacciHeapNode<QueueEntry> vNode : seen.values()) {
+        for (AddressableHeap.Handle<Pair<V, E>> vNode : seen.values()) {
             double vDistance = vNode.getKey();
             if (radius < vDistance) {
                 continue;
             }
-            V v = vNode.getData().v;
-            distanceAndPredecessorMap.put(v, Pair.of(vDistance, vNode.getData().e));
+            V v = vNode.getValue().getFirst();
+            distanceAndPredecessorMap.put(v, Pair.of(vDistance, vNode.getValue().getSecond()));
         }
 
         return distanceAndPredecessorMap;
@@ -183,26 +204,12 @@ class DijkstraClosestFirstIterator<V, E>
 
     private void updateDistance(V v, E e, double distance)
     {
-        FibonacciHeapNode<QueueEntry> node = seen.get(v);
+        AddressableHeap.Handle<Pair<V, E>> node = seen.get(v);
         if (node == null) {
-            node = new FibonacciHeapNode<>(new QueueEntry(e, v));
-            heap.insert(node, distance);
-            seen.put(v, node);
+            seen.put(v, heap.insert(distance, Pair.of(v, e)));
         } else if (distance < node.getKey()) {
-            heap.decreaseKey(node, distance);
-            node.getData().e = e;
-        }
-    }
-
-    class QueueEntry
-    {
-        E e;
-        V v;
-
-        public QueueEntry(E e, V v)
-        {
-            this.e = e;
-            this.v = v;
+            node.decreaseKey(distance);
+            node.setValue(Pair.of(v, e));
         }
     }
 }
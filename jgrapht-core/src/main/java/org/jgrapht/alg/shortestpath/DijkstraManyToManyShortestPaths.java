@@ -0,0 +1,239 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Many-to-many shortest paths using one Dijkstra search per source vertex.
+ * 
+ * <p>
+ * The graph is copied once per invocation of {@link #getManyToManyPaths(Set, Set)} into compact
+ * adjacency arrays, which are then shared by all searches. Each search stops as soon as all target
+ * vertices have been settled and the searches of different sources are executed in parallel, each
+ * worker thread reusing its own distance array and heap. The algorithm is suitable for graphs
+ * which are queried only a few times; for repeated queries on the same graph
+ * {@link ContractionHierarchyShortestPath} shares much more work between the searches.
+ * 
+ * <p>
+ * Paths are not stored by the distance table and are computed on demand using a bidirectional
+ * Dijkstra search. The graph must not contain negative edge weights.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchyShortestPath
+ *
+ * @author agent
+ */
+public class DijkstraManyToManyShortestPaths<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+    implements
+    ManyToManyShortestPathsAlgorithm<V, E>
+{
+    private final int parallelism;
+
+    /**
+     * Constructs a new instance for a specified graph which executes sequentially.
+     *
+     * @param graph the input graph
+     */
+    public DijkstraManyToManyShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, 1);
+    }
+
+    /**
+     * Constructs a new instance for a specified graph. Each invocation of
+     * {@link #getManyToManyPaths(Set, Set)} creates its own worker threads.
+     *
+     * @param graph the input graph
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public DijkstraManyToManyShortestPaths(Graph<V, E> graph, int parallelism)
+    {
+        super(graph);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        return new BidirectionalDijkstraShortestPath<>(graph).getPath(source, sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    @Override
+    public ManyToManyShortestPaths<V, E> getManyToManyPaths(Set<V> sources, Set<V> targets)
+    {
+        List<V> sourceList =
+            new ArrayList<>(Objects.requireNonNull(sources, "Sources cannot be null"));
+        List<V> targetList =
+            new ArrayList<>(Objects.requireNonNull(targets, "Targets cannot be null"));
+        for (V v : sourceList) {
+            if (!graph.containsVertex(v)) {
+                throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+            }
+        }
+        for (V v : targetList) {
+            if (!graph.containsVertex(v)) {
+                throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+            }
+        }
+
+        // compact adjacency arrays
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        int n = vertices.size();
+        Map<V, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+        ToDoubleFunction<E> weight = IndexedEdgeWeights.weightFunction(graph);
+        int[] start = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            start[i + 1] = start[i] + graph.outgoingEdgesOf(vertices.get(i)).size();
+        }
+        int[] head = new int[start[n]];
+        double[] arcWeight = new double[start[n]];
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            int k = start[i];
+            for (E e : graph.outgoingEdgesOf(v)) {
+                double w = weight.applyAsDouble(e);
+                if (w < 0d) {
+                    throw new IllegalArgumentException("Negative edge weight not allowed");
+                }
+                head[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                arcWeight[k] = w;
+                k++;
+            }
+        }
+
+        int[] targetIndex = new int[n];
+        Arrays.fill(targetIndex, -1);
+        for (int t = 0; t < targetList.size(); t++) {
+            targetIndex[index.get(targetList.get(t))] = t;
+        }
+        int numTargets = targetList.size();
+
+        double[][] weights = new double[sourceList.size()][numTargets];
+        ExecutorService executor =
+            parallelism > 1 ? ConcurrencyUtil.createExecutor(parallelism) : null;
+        try {
+            ConcurrencyUtil.parallelFor(
+                executor, parallelism, sourceList.size(), 1, () -> new Search(n),
+                (search, s) -> {
+                    double[] row = weights[s];
+                    Arrays.fill(row, Double.POSITIVE_INFINITY);
+                    int remaining = numTargets;
+                    double[] distance = search.distance;
+                    IntHeap heap = search.heap;
+
+                    int source = index.get(sourceList.get(s));
+                    distance[source] = 0d;
+                    search.touch(source);
+                    heap.insertOrDecrease(source);
+                    while (!heap.isEmpty() && remaining > 0) {
+                        int u = heap.removeMin();
+                        double d = distance[u];
+                        if (targetIndex[u] >= 0) {
+                            row[targetIndex[u]] = d;
+                            remaining--;
+                        }
+                        for (int k = start[u]; k < start[u + 1]; k++) {
+                            int v = head[k];
+                            double nd = d + arcWeight[k];
+                            if (nd < distance[v]) {
+                                if (distance[v] == Double.POSITIVE_INFINITY) {
+                                    search.touch(v);
+                                }
+                                distance[v] = nd;
+                                heap.insertOrDecrease(v);
+                            }
+                        }
+                    }
+                    search.reset();
+                });
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        return new ManyToManyShortestPathsImpl<>(
+            graph, sourceList, targetList, weights, this::getPath);
+    }
+
+    /**
+     * The workspace of a worker thread, which is reused by all its searches.
+     */
+    private static final class Search
+    {
+        final double[] distance;
+        final IntHeap heap;
+        int[] touched;
+        int touchedSize;
+
+        Search(int n)
+        {
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.heap = new IntHeap(distance);
+            this.touched = new int[64];
+        }
+
+        void touch(int v)
+        {
+            if (touchedSize == touched.length) {
+                touched = Arrays.copyOf(touched, 2 * touchedSize);
+            }
+            touched[touchedSize++] = v;
+        }
+
+        void reset()
+        {
+            heap.clear();
+            for (int i = 0; i < touchedSize; i++) {
+                distance[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedSize = 0;
+        }
+    }
+
+}
+
+// End DijkstraManyToManyShortestPaths.java
@@ -18,10 +18,20 @@
 package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.function.*;
 
 /**
  * An implementation of <a href="http://mathworld.wolfram.com/DijkstrasAlgorithm.html">Dijkstra's
- * shortest path algorithm</a> using a Fibonacci heap.
+ * shortest path algorithm</a>.
+ * 
+ * <p>
+ * The priority queue is a {@link PairingHeap} by default. A different {@link AddressableHeap}
+ * implementation can be selected using the constructor, for example a {@link DaryHeap} or a
+ * {@link RadixHeap}.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -33,6 +43,7 @@ public final class DijkstraShortestPath<V, E>
     BaseShortestPathAlgorithm<V, E>
 {
     private final double radius;
+    private final Supplier<AddressableHeap<Pair<V, E>>> heapSupplier;
 
     /**
      * Constructs a new instance of the algorithm for a given graph.
@@ -51,12 +62,26 @@ public final class DijkstraShortestPath<V, E>
      * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
      */
     public DijkstraShortestPath(Graph<V, E> graph, double radius)
+    {
+        this(graph, radius, PairingHeap::new);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph.
+     *
+     * @param graph the graph
+     * @param radius limit on path length, or Double.POSITIVE_INFINITY for unbounded search
+     * @param heapSupplier supplier of the heap used as priority queue
+     */
+    public DijkstraShortestPath(
+        Graph<V, E> graph, double radius, Supplier<AddressableHeap<Pair<V, E>>> heapSupplier)
     {
         super(graph);
         if (radius < 0.0) {
             throw new IllegalArgumentException("Radius must be non-negative");
         }
         this.radius = radius;
+        this.heapSupplier = Objects.requireNonNull(heapSupplier, "Heap supplier cannot be null");
     }
 
     /**
@@ -76,7 +101,7 @@ public final class DijkstraShortestPath<V, E>
         }
 
         DijkstraClosestFirstIterator<V, E> it =
-            new DijkstraClosestFirstIterator<>(graph, source, radius);
+            new DijkstraClosestFirstIterator<>(graph, source, radius, heapSupplier);
 
         while (it.hasNext()) {
             V vertex = it.next();
@@ -103,7 +128,7 @@ public final class DijkstraShortestPath<V, E>
         }
 
         DijkstraClosestFirstIterator<V, E> it =
-            new DijkstraClosestFirstIterator<>(graph, source, radius);
+            new DijkstraClosestFirstIterator<>(graph, source, radius, heapSupplier);
 
         while (it.hasNext()) {
             it.next();
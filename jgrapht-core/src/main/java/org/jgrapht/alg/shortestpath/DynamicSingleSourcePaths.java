@@ -0,0 +1,353 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.event.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Single-source shortest paths which are maintained incrementally while the graph changes.
+ * 
+ * <p>
+ * The shortest path tree is computed once using Dijkstra's algorithm and afterwards repaired on
+ * each change of a {@link ListenableGraph}, following the approach of G. Ramalingam and T. Reps.
+ * An incremental algorithm for a generalization of the shortest-path problem. Journal of
+ * Algorithms, 21(2):267--305, 1996. Only the part of the tree which is affected by a change is
+ * processed:
+ * <ul>
+ * <li>When an edge is added, or the weight of an edge which does not belong to the tree changes,
+ * the distances are propagated from the endpoint of the edge which becomes closer to the source,
+ * if any, using a Dijkstra search which only visits vertices whose distance decreases.</li>
+ * <li>When an edge of the tree is removed, or its weight changes, the vertices of the subtree below
+ * the edge lose their distance. Each of them is assigned the best distance through an edge from
+ * a vertex outside the subtree and a Dijkstra search restricted to the improving vertices
+ * computes their final distances.</li>
+ * </ul>
+ * The running time of each update is thus proportional to the number of vertices whose distance
+ * or tree edge changes and the number of their incident edges, up to a logarithmic factor.
+ * 
+ * <p>
+ * The instance registers itself as a {@link GraphListener} of the graph and answers queries using
+ * the current tree. In order to stop the updates, remove the instance using
+ * {@link ListenableGraph#removeGraphListener(GraphListener)}. The graph must not contain negative
+ * edge weights. This class is not thread-safe.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DijkstraShortestPath
+ *
+ * @author agent
+ */
+public class DynamicSingleSourcePaths<V, E>
+    implements
+    SingleSourcePaths<V, E>,
+    GraphListener<V, E>
+{
+    private final ListenableGraph<V, E> graph;
+    private final V source;
+    private final Map<V, Node<V, E>> nodes;
+    private final AddressableHeap<V> heap;
+
+    /**
+     * Construct a new instance and compute the initial shortest path tree.
+     * 
+     * @param graph the listenable graph
+     * @param source the source vertex
+     * @throws IllegalArgumentException if the graph does not contain the source vertex
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public DynamicSingleSourcePaths(ListenableGraph<V, E> graph, V source)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.source = Objects.requireNonNull(source, "Source vertex cannot be null");
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                BaseShortestPathAlgorithm.GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        for (E e : graph.edgeSet()) {
+            checkWeight(graph.getEdgeWeight(e));
+        }
+
+        this.nodes = new HashMap<>();
+        for (V v : graph.vertexSet()) {
+            nodes.put(v, new Node<>());
+        }
+        this.heap = new PairingHeap<>();
+
+        Node<V, E> s = nodes.get(source);
+        s.distance = 0d;
+        s.handle = heap.insert(0d, source);
+        propagate();
+
+        graph.addGraphListener(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Graph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getSourceVertex()
+    {
+        return source;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getWeight(V sink)
+    {
+        if (source.equals(sink)) {
+            return 0d;
+        }
+        Node<V, E> node = nodes.get(sink);
+        return node == null ? Double.POSITIVE_INFINITY : node.distance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V sink)
+    {
+        if (source.equals(sink)) {
+            return GraphWalk.singletonWalk(graph, source, 0d);
+        }
+        Node<V, E> node = nodes.get(sink);
+        if (node == null || node.distance == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        LinkedList<E> edgeList = new LinkedList<>();
+        V cur = sink;
+        while (node.pred != null) {
+            edgeList.addFirst(node.pred);
+            cur = Graphs.getOppositeVertex(graph, node.pred, cur);
+            node = nodes.get(cur);
+        }
+        return new GraphWalk<>(graph, source, sink, null, edgeList, nodes.get(sink).distance);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        improve(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        V v = treeEndpoint(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+        if (v != null) {
+            repair(v);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        V v = treeEndpoint(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+        if (v != null) {
+            checkWeight(graph.getEdgeWeight(e.getEdge()));
+            repair(v);
+        } else {
+            improve(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        nodes.put(e.getVertex(), new Node<>());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        // the incident edges have already been removed
+        nodes.remove(e.getVertex());
+    }
+
+    /*
+     * Return the endpoint of an edge whose tree edge is the given edge, or null if the edge does
+     * not belong to the tree.
+     */
+    private V treeEndpoint(E edge, V u, V v)
+    {
+        Node<V, E> node = nodes.get(v);
+        if (node != null && edge.equals(node.pred)) {
+            return v;
+        }
+        node = nodes.get(u);
+        if (node != null && edge.equals(node.pred)) {
+            return u;
+        }
+        return null;
+    }
+
+    /*
+     * Decrease the distances which become shorter using an edge, which is either new or whose
+     * weight changed and does not belong to the tree.
+     */
+    private void improve(E edge, V u, V v)
+    {
+        double weight = graph.getEdgeWeight(edge);
+        checkWeight(weight);
+        relax(edge, u, v, weight);
+        if (!graph.getType().isDirected()) {
+            relax(edge, v, u, weight);
+        }
+        propagate();
+    }
+
+    /*
+     * Recompute the distances of the subtree rooted at a vertex whose tree edge was removed or
+     * changed its weight.
+     */
+    private void repair(V root)
+    {
+        // collect the subtree
+        List<V> affected = new ArrayList<>();
+        Node<V, E> rootNode = nodes.get(root);
+        rootNode.affected = true;
+        affected.add(root);
+        for (int i = 0; i < affected.size(); i++) {
+            V x = affected.get(i);
+            for (E e : graph.outgoingEdgesOf(x)) {
+                V y = Graphs.getOppositeVertex(graph, e, x);
+                Node<V, E> yNode = nodes.get(y);
+                if (!yNode.affected && e.equals(yNode.pred)) {
+                    yNode.affected = true;
+                    affected.add(y);
+                }
+            }
+        }
+        for (V x : affected) {
+            Node<V, E> node = nodes.get(x);
+            node.distance = Double.POSITIVE_INFINITY;
+            node.pred = null;
+        }
+
+        // best distance through a vertex outside the subtree
+        for (V x : affected) {
+            Node<V, E> node = nodes.get(x);
+            for (E e : graph.incomingEdgesOf(x)) {
+                Node<V, E> other = nodes.get(Graphs.getOppositeVertex(graph, e, x));
+                if (other.affected || other.distance == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                double d = other.distance + graph.getEdgeWeight(e);
+                if (d < node.distance) {
+                    node.distance = d;
+                    node.pred = e;
+                }
+            }
+            if (node.distance != Double.POSITIVE_INFINITY) {
+                node.handle = heap.insert(node.distance, x);
+            }
+        }
+        for (V x : affected) {
+            nodes.get(x).affected = false;
+        }
+
+        propagate();
+    }
+
+    private void relax(E edge, V u, V v, double weight)
+    {
+        Node<V, E> uNode = nodes.get(u);
+        Node<V, E> vNode = nodes.get(v);
+        double d = uNode.distance + weight;
+        if (d < vNode.distance) {
+            vNode.distance = d;
+            vNode.pred = edge;
+            if (vNode.handle == null) {
+                vNode.handle = heap.insert(d, v);
+            } else {
+                vNode.handle.decreaseKey(d);
+            }
+        }
+    }
+
+    /*
+     * Dijkstra search from the vertices in the heap, which only visits vertices whose distance
+     * decreases.
+     */
+    private void propagate()
+    {
+        while (!heap.isEmpty()) {
+            AddressableHeap.Handle<V> min = heap.deleteMin();
+            V x = min.getValue();
+            nodes.get(x).handle = null;
+            for (E e : graph.outgoingEdgesOf(x)) {
+                relax(e, x, Graphs.getOppositeVertex(graph, e, x), graph.getEdgeWeight(e));
+            }
+        }
+    }
+
+    private static void checkWeight(double weight)
+    {
+        if (weight < 0d) {
+            throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+    }
+
+    /**
+     * The state of a vertex.
+     */
+    private static class Node<V, E>
+    {
+        double distance = Double.POSITIVE_INFINITY;
+        E pred;
+        AddressableHeap.Handle<V> handle;
+        boolean affected;
+    }
+
+}
+
+// End DynamicSingleSourcePaths.java
@@ -25,11 +25,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.Graphs;
 import org.jgrapht.graph.GraphWalk;
+import org.jgrapht.util.ConcurrencyUtil;
 import org.jgrapht.util.TypeUtil;
 
 /**
@@ -42,6 +46,19 @@ import org.jgrapht.util.TypeUtil;
  * member methods of this class is invoked. The results are stored, so all subsequent calls to the
  * same method are computationally efficient.
  * 
+ * <p>
+ * The distance matrix is processed in square blocks, as described in G. Venkataraman, S. Sahni
+ * and S. Mukhopadhyaya. A blocked all-pairs shortest-paths algorithm. Journal of Experimental
+ * Algorithmics, 8, 2003. For each block of intermediate vertices, first the diagonal block is
+ * updated, then the blocks of the same row and column, and finally all remaining blocks. The
+ * blocks of the last two steps are independent and are processed in parallel if a parallelism
+ * larger than one is given. Each block fits in the processor cache, which makes the blocked
+ * algorithm faster than the plain triple loop even when executed by a single thread. The blocks
+ * are not processed in the order of the plain algorithm, which in the presence of zero-weight
+ * cycles may result in first hops which point to each other. Therefore, if the graph contains
+ * edges with non-positive weights, the plain algorithm is used instead, and the rows of the
+ * matrix are processed in parallel for each intermediate vertex.
+ * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  *
@@ -53,6 +70,8 @@ import org.jgrapht.util.TypeUtil;
 public class FloydWarshallShortestPaths<V, E>
     extends BaseShortestPathAlgorithm<V, E>
 {
+    private static final int BLOCK_SIZE = 64;
+
     private final List<V> vertices;
     private final List<Integer> degrees;
     private final Map<V, Integer> vertexIndices;
@@ -65,14 +84,59 @@ public class FloydWarshallShortestPaths<V, E>
     private Object[][] backtrace = null;
     private Object[][] lastHopMatrix = null;
 
+    private final int parallelism;
+    private final ExecutorService executor;
+
     /**
-     * Create a new instance of the Floyd-Warshall all-pairs shortest path algorithm.
+     * Create a new instance of the Floyd-Warshall all-pairs shortest path algorithm. The
+     * computation is performed by the calling thread.
      * 
      * @param graph the input graph
      */
     public FloydWarshallShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, 1);
+    }
+
+    /**
+     * Create a new instance of the Floyd-Warshall all-pairs shortest path algorithm. The
+     * computation creates its own worker threads.
+     * 
+     * @param graph the input graph
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public FloydWarshallShortestPaths(Graph<V, E> graph, int parallelism)
+    {
+        this(graph, parallelism, null);
+    }
+
+    /**
+     * Create a new instance of the Floyd-Warshall all-pairs shortest path algorithm which
+     * executes its tasks using an existing executor, such as a {@link ForkJoinPool}. The executor
+     * is not shut down by this class. The number of tasks equals the parallelism of the pool if
+     * the executor is a {@link ForkJoinPool}, and the number of available processors otherwise.
+     * 
+     * @param graph the input graph
+     * @param executor the executor
+     */
+    public FloydWarshallShortestPaths(Graph<V, E> graph, ExecutorService executor)
+    {
+        this(
+            graph, executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : ConcurrencyUtil.getDefaultParallelism(),
+            Objects.requireNonNull(executor, "Executor cannot be null"));
+    }
+
+    private FloydWarshallShortestPaths(
+        Graph<V, E> graph, int parallelism, ExecutorService executor)
     {
         super(graph);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.executor = executor;
 
         /*
          * Sort vertices by degree in ascending order and index them. Also compute the minimum
@@ -311,20 +375,129 @@ public class FloydWarshallShortestPaths<V, E>
         }
 
         // run fw alg
+        boolean positiveWeights = true;
+        for (E edge : graph.edgeSet()) {
+            if (!(graph.getEdgeWeight(edge) > 0.0)
+                && !graph.getEdgeSource(edge).equals(graph.getEdgeTarget(edge)))
+            {
+                positiveWeights = false;
+                break;
+            }
+        }
+        ExecutorService localExecutor = executor;
+        if (localExecutor == null && parallelism > 1) {
+            localExecutor = ConcurrencyUtil.createExecutor(parallelism);
+        }
+        try {
+            if (positiveWeights) {
+                runBlocked(localExecutor);
+            } else {
+                runPlain(localExecutor);
+            }
+        } finally {
+            if (localExecutor != null && localExecutor != executor) {
+                localExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Run the plain Floyd-Warshall algorithm. For each intermediate vertex $k$ neither row $k$
+     * nor column $k$ changes, thus the rows can be processed in parallel.
+     * 
+     * @param executor the executor or null
+     */
+    private void runPlain(ExecutorService executor)
+    {
+        int n = vertices.size();
         for (int k = minDegreeTwo; k < n; k++) {
-            for (int i = minDegreeOne; i < n; i++) {
-                if (i == k) { 
-                    continue;
+            final int pivot = k;
+            ConcurrencyUtil.parallelFor(
+                executor, parallelism, n - minDegreeOne, () -> null,
+                (s, i) -> relaxBlock(
+                    minDegreeOne + i, minDegreeOne + i + 1, minDegreeOne, n, pivot, pivot + 1));
+        }
+    }
+
+    /**
+     * Run the blocked Floyd-Warshall algorithm. Vertices with degree zero are never part of a
+     * path and vertices with degree one are never intermediate vertices of a shortest path.
+     * 
+     * @param executor the executor or null
+     */
+    private void runBlocked(ExecutorService executor)
+    {
+        int n = vertices.size();
+        int blocks = (n - minDegreeOne + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k0 = blockStart(kb);
+            final int k1 = blockStart(kb + 1);
+            final int kFrom = Math.max(k0, minDegreeTwo);
+            if (kFrom >= k1) {
+                continue;
+            }
+            final int pivot = kb;
+
+            // diagonal block
+            relaxBlock(k0, k1, k0, k1, kFrom, k1);
+
+            // blocks of the same row and column
+            ConcurrencyUtil.parallelFor(
+                executor, parallelism, 2 * blocks, 1, () -> null, (s, t) -> {
+                    int b = t >> 1;
+                    if (b == pivot) {
+                        return;
+                    }
+                    if ((t & 1) == 0) {
+                        relaxBlock(k0, k1, blockStart(b), blockStart(b + 1), kFrom, k1);
+                    } else {
+                        relaxBlock(blockStart(b), blockStart(b + 1), k0, k1, kFrom, k1);
+                    }
+                });
+
+            // remaining blocks, one row of blocks per iteration
+            ConcurrencyUtil.parallelFor(executor, parallelism, blocks, 1, () -> null, (s, ib) -> {
+                if (ib == pivot) {
+                    return;
                 }
-                for (int j = minDegreeOne; j < n; j++) {
-                    if (i == j || j == k) { 
-                        continue;
+                for (int jb = 0; jb < blocks; jb++) {
+                    if (jb != pivot) {
+                        relaxBlock(
+                            blockStart(ib), blockStart(ib + 1), blockStart(jb),
+                            blockStart(jb + 1), kFrom, k1);
                     }
-                    
-                    double ik_kj = d[i][k] + d[k][j];
-                    if (Double.compare(ik_kj, d[i][j]) < 0) {
-                        d[i][j] = ik_kj;
-                        backtrace[i][j] = backtrace[i][k];
+                }
+            });
+        }
+    }
+
+    private int blockStart(int block)
+    {
+        return Math.min(vertices.size(), minDegreeOne + block * BLOCK_SIZE);
+    }
+
+    /**
+     * Relax the paths from rows $[i0, i1)$ to columns $[j0, j1)$ through the intermediate
+     * vertices $[k0, k1)$.
+     */
+    private void relaxBlock(int i0, int i1, int j0, int j1, int k0, int k1)
+    {
+        for (int k = k0; k < k1; k++) {
+            double[] dk = d[k];
+            for (int i = i0; i < i1; i++) {
+                double[] di = d[i];
+                double dik = di[k];
+                if (i == k || dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                Object[] bi = backtrace[i];
+                Object bik = bi[k];
+                for (int j = j0; j < j1; j++) {
+                    double ik_kj = dik + dk[j];
+                    if (ik_kj < di[j] && j != i) {
+                        di[j] = ik_kj;
+                        bi[j] = bik;
                     }
                 }
             }
@@ -0,0 +1,483 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Shortest path distance oracle based on hub labels.
+ * 
+ * <p>
+ * Each vertex $v$ is assigned a forward label, i.e. a set of hubs $h$ together with the distance
+ * $d(v,h)$, and a backward label, i.e. a set of hubs $h$ together with the distance $d(h,v)$. The
+ * labels are computed such that for every pair of vertices $s,t$ the forward label of $s$ and the
+ * backward label of $t$ share a hub on a shortest path from $s$ to $t$. The distance is thus
+ * obtained as the minimum of $d(s,h) + d(h,t)$ over the common hubs, by a linear merge of the two
+ * labels which are stored as sorted arrays. No graph search is performed.
+ * 
+ * <p>
+ * The labels are computed using pruned landmark labeling, as described in T. Akiba, Y. Iwata and
+ * Y. Yoshida. Fast exact shortest-path distance queries on large networks by pruned landmark
+ * labeling. In Proceedings of the 2013 ACM SIGMOD International Conference on Management of Data,
+ * 349--360, 2013. The vertices are processed in order of decreasing degree. For each vertex a
+ * Dijkstra search is performed, in both directions for directed graphs, which adds the vertex to
+ * the labels of the vertices it reaches. The search is pruned at every vertex whose distance is
+ * already answered correctly by the labels computed so far. On graphs with a hierarchical
+ * structure, such as road or social networks, the labels remain small.
+ * 
+ * <p>
+ * The labels are computed once, by {@link #precompute()} or by the first query, and the graph
+ * must not be modified afterwards. They can be obtained using {@link #getLabels()} and, since they
+ * are {@link Serializable}, stored to disk and given to a new instance for the same graph using
+ * {@link #HubLabelingShortestPath(Graph, Labels)}. Paths are not encoded in the labels and are
+ * computed using a bidirectional Dijkstra search, unless the labels show that no path exists.
+ * Queries can be executed concurrently by several threads. The graph must not contain negative
+ * edge weights.
+ * 
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchyShortestPath
+ *
+ * @author agent
+ */
+public final class HubLabelingShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private volatile State<V> state;
+
+    /**
+     * Constructs a new instance for a specified graph.
+     *
+     * @param graph the input graph
+     */
+    public HubLabelingShortestPath(Graph<V, E> graph)
+    {
+        super(graph);
+    }
+
+    /**
+     * Constructs a new instance for a specified graph using labels which have been computed
+     * previously for the same graph.
+     *
+     * @param graph the input graph
+     * @param labels the labels
+     * @throws IllegalArgumentException if the labels were computed for a different vertex set
+     */
+    public HubLabelingShortestPath(Graph<V, E> graph, Labels<V> labels)
+    {
+        super(graph);
+        Objects.requireNonNull(labels, "Labels cannot be null");
+        if (labels.vertices.size() != graph.vertexSet().size()
+            || !graph.vertexSet().containsAll(labels.vertices))
+        {
+            throw new IllegalArgumentException("Labels do not match the vertices of the graph");
+        }
+        this.state = new State<>(labels);
+    }
+
+    /**
+     * Compute the labels, if not already computed. The labels are otherwise computed by the first
+     * query.
+     * 
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public void precompute()
+    {
+        getState();
+    }
+
+    /**
+     * Get the labels, computing them if necessary.
+     * 
+     * @return the labels
+     * @throws IllegalArgumentException if the graph contains negative edge weights
+     */
+    public Labels<V> getLabels()
+    {
+        return getState().labels;
+    }
+
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (getPathWeight(source, sink) == Double.POSITIVE_INFINITY) {
+            return createEmptyPath(source, sink);
+        }
+        return new BidirectionalDijkstraShortestPath<>(graph).getPath(source, sink);
+    }
+
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return 0d;
+        }
+        State<V> s = getState();
+        return s.labels.query(s.index.get(source), s.index.get(sink));
+    }
+
+    private State<V> getState()
+    {
+        State<V> s = state;
+        if (s == null) {
+            synchronized (this) {
+                s = state;
+                if (s == null) {
+                    s = new State<>(new Builder().build());
+                    state = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * The labels together with the index of each vertex.
+     */
+    private static final class State<V>
+    {
+        final Labels<V> labels;
+        final Map<V, Integer> index;
+
+        State(Labels<V> labels)
+        {
+            this.labels = labels;
+            this.index = new HashMap<>();
+            for (int i = 0; i < labels.vertices.size(); i++) {
+                index.put(labels.vertices.get(i), i);
+            }
+        }
+    }
+
+    /**
+     * The hub labels of a graph.
+     * 
+     * <p>
+     * The labels of all vertices are stored in compact arrays. The hubs of each label are
+     * identified by their rank and sorted in increasing order. For undirected graphs the forward
+     * and backward labels coincide and are stored only once.
+     *
+     * @param <V> the graph vertex type
+     */
+    public static final class Labels<V>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 4613825372058931547L;
+
+        private final List<V> vertices;
+        private final int[] forwardStart;
+        private final int[] forwardHub;
+        private final double[] forwardDistance;
+        private final int[] backwardStart;
+        private final int[] backwardHub;
+        private final double[] backwardDistance;
+
+        Labels(
+            List<V> vertices, int[] forwardStart, int[] forwardHub, double[] forwardDistance,
+            int[] backwardStart, int[] backwardHub, double[] backwardDistance)
+        {
+            this.vertices = vertices;
+            this.forwardStart = forwardStart;
+            this.forwardHub = forwardHub;
+            this.forwardDistance = forwardDistance;
+            this.backwardStart = backwardStart;
+            this.backwardHub = backwardHub;
+            this.backwardDistance = backwardDistance;
+        }
+
+        /**
+         * Get the average number of hubs of a label.
+         * 
+         * @return the average number of hubs of a label
+         */
+        public double getAverageLabelSize()
+        {
+            if (vertices.isEmpty()) {
+                return 0d;
+            }
+            return (forwardHub.length + backwardHub.length) / (2d * vertices.size());
+        }
+
+        double query(int s, int t)
+        {
+            double best = Double.POSITIVE_INFINITY;
+            int i = forwardStart[s];
+            int iEnd = forwardStart[s + 1];
+            int j = backwardStart[t];
+            int jEnd = backwardStart[t + 1];
+            while (i < iEnd && j < jEnd) {
+                int hi = forwardHub[i];
+                int hj = backwardHub[j];
+                if (hi == hj) {
+                    double d = forwardDistance[i++] + backwardDistance[j++];
+                    if (d < best) {
+                        best = d;
+                    }
+                } else if (hi < hj) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Growable labels used during the construction.
+     */
+    private static final class LabelLists
+    {
+        final int[][] hubs;
+        final double[][] distances;
+        final int[] sizes;
+
+        LabelLists(int n)
+        {
+            this.hubs = new int[n][];
+            this.distances = new double[n][];
+            this.sizes = new int[n];
+        }
+
+        void add(int v, int hub, double distance)
+        {
+            int size = sizes[v];
+            if (hubs[v] == null) {
+                hubs[v] = new int[4];
+                distances[v] = new double[4];
+            } else if (size == hubs[v].length) {
+                hubs[v] = Arrays.copyOf(hubs[v], 2 * size);
+                distances[v] = Arrays.copyOf(distances[v], 2 * size);
+            }
+            hubs[v][size] = hub;
+            distances[v][size] = distance;
+            sizes[v] = size + 1;
+        }
+
+        /*
+         * Compact the labels into arrays. The result contains the start offsets, the hubs and the
+         * distances.
+         */
+        Object[] compact()
+        {
+            int n = sizes.length;
+            int[] start = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                start[v + 1] = start[v] + sizes[v];
+            }
+            int[] hub = new int[start[n]];
+            double[] distance = new double[start[n]];
+            for (int v = 0; v < n; v++) {
+                if (sizes[v] > 0) {
+                    System.arraycopy(hubs[v], 0, hub, start[v], sizes[v]);
+                    System.arraycopy(distances[v], 0, distance, start[v], sizes[v]);
+                }
+                hubs[v] = null;
+                distances[v] = null;
+            }
+            return new Object[] { start, hub, distance };
+        }
+    }
+
+    /**
+     * The computation of the labels.
+     */
+    private class Builder
+    {
+        final int n;
+        final List<V> vertices;
+        final int[] outStart;
+        final int[] outHead;
+        final double[] outWeight;
+        final int[] inStart;
+        final int[] inHead;
+        final double[] inWeight;
+
+        final double[] distance;
+        final IntHeap heap;
+        final int[] visited;
+        final double[] hubDistance;
+
+        Builder()
+        {
+            boolean directed = graph.getType().isDirected();
+            this.vertices = new ArrayList<>(graph.vertexSet());
+            this.n = vertices.size();
+            Map<V, Integer> index = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                index.put(vertices.get(i), i);
+            }
+
+            ToDoubleFunction<E> weight = IndexedEdgeWeights.weightFunction(graph);
+            this.outStart = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                outStart[i + 1] = outStart[i] + graph.outgoingEdgesOf(vertices.get(i)).size();
+            }
+            this.outHead = new int[outStart[n]];
+            this.outWeight = new double[outStart[n]];
+            if (directed) {
+                this.inStart = new int[n + 1];
+                for (int i = 0; i < n; i++) {
+                    inStart[i + 1] = inStart[i] + graph.incomingEdgesOf(vertices.get(i)).size();
+                }
+                this.inHead = new int[inStart[n]];
+                this.inWeight = new double[inStart[n]];
+            } else {
+                this.inStart = outStart;
+                this.inHead = outHead;
+                this.inWeight = outWeight;
+            }
+            for (int i = 0; i < n; i++) {
+                V v = vertices.get(i);
+                int k = outStart[i];
+                for (E e : graph.outgoingEdgesOf(v)) {
+                    double w = weight.applyAsDouble(e);
+                    if (w < 0d) {
+                        throw new IllegalArgumentException("Negative edge weight not allowed");
+                    }
+                    outHead[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                    outWeight[k++] = w;
+                }
+                if (directed) {
+                    k = inStart[i];
+                    for (E e : graph.incomingEdgesOf(v)) {
+                        inHead[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                        inWeight[k++] = weight.applyAsDouble(e);
+                    }
+                }
+            }
+
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.heap = new IntHeap(distance);
+            this.visited = new int[n];
+            this.hubDistance = new double[n];
+            Arrays.fill(hubDistance, Double.POSITIVE_INFINITY);
+        }
+
+        Labels<V> build()
+        {
+            // order by decreasing degree
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(
+                order, (a, b) -> Integer.compare(
+                    outStart[b + 1] - outStart[b] + inStart[b + 1] - inStart[b],
+                    outStart[a + 1] - outStart[a] + inStart[a + 1] - inStart[a]));
+
+            boolean directed = inStart != outStart;
+            LabelLists forward = new LabelLists(n);
+            LabelLists backward = directed ? new LabelLists(n) : forward;
+            for (int rank = 0; rank < n; rank++) {
+                int h = order[rank];
+                // the forward search adds the hub to backward labels and vice versa
+                search(h, rank, outStart, outHead, outWeight, forward, backward);
+                if (directed) {
+                    search(h, rank, inStart, inHead, inWeight, backward, forward);
+                }
+            }
+
+            Object[] f = forward.compact();
+            Object[] b = directed ? backward.compact() : f;
+            return new Labels<>(
+                vertices, (int[]) f[0], (int[]) f[1], (double[]) f[2], (int[]) b[0], (int[]) b[1],
+                (double[]) b[2]);
+        }
+
+        /*
+         * Pruned Dijkstra search from a hub. The search adds the hub to the target labels of the
+         * vertices it settles. The source labels of the hub are used for pruning.
+         */
+        private void search(
+            int h, int rank, int[] start, int[] head, double[] weight, LabelLists source,
+            LabelLists target)
+        {
+            int[] hubs = source.hubs[h];
+            double[] dists = source.distances[h];
+            int numHubs = source.sizes[h];
+            for (int i = 0; i < numHubs; i++) {
+                hubDistance[hubs[i]] = dists[i];
+            }
+            hubDistance[rank] = 0d;
+
+            int numVisited = 0;
+            distance[h] = 0d;
+            visited[numVisited++] = h;
+            heap.insertOrDecrease(h);
+            while (!heap.isEmpty()) {
+                int u = heap.removeMin();
+                double d = distance[u];
+
+                // prune if the current labels already answer the query
+                int[] uHubs = target.hubs[u];
+                double[] uDists = target.distances[u];
+                boolean pruned = false;
+                for (int i = 0; i < target.sizes[u]; i++) {
+                    if (hubDistance[uHubs[i]] + uDists[i] <= d) {
+                        pruned = true;
+                        break;
+                    }
+                }
+                if (pruned) {
+                    continue;
+                }
+                target.add(u, rank, d);
+
+                for (int k = start[u]; k < start[u + 1]; k++) {
+                    int v = head[k];
+                    double nd = d + weight[k];
+                    if (nd < distance[v]) {
+                        if (distance[v] == Double.POSITIVE_INFINITY) {
+                            visited[numVisited++] = v;
+                        }
+                        distance[v] = nd;
+                        heap.insertOrDecrease(v);
+                    }
+                }
+            }
+
+            for (int i = 0; i < numVisited; i++) {
+                distance[visited[i]] = Double.POSITIVE_INFINITY;
+            }
+            for (int i = 0; i < numHubs; i++) {
+                hubDistance[hubs[i]] = Double.POSITIVE_INFINITY;
+            }
+            hubDistance[rank] = Double.POSITIVE_INFINITY;
+        }
+    }
+
+}
+
+// End HubLabelingShortestPath.java
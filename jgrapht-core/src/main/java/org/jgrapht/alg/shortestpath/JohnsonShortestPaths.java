@@ -17,10 +17,16 @@
  */
 package org.jgrapht.alg.shortestpath;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
@@ -32,6 +38,7 @@ import org.jgrapht.graph.AsGraphUnion;
 import org.jgrapht.graph.AsWeightedGraph;
 import org.jgrapht.graph.GraphWalk;
 import org.jgrapht.graph.builder.GraphTypeBuilder;
+import org.jgrapht.util.ConcurrencyUtil;
 import org.jgrapht.util.TypeUtil;
 
 /**
@@ -47,6 +54,10 @@ import org.jgrapht.util.TypeUtil;
  * Running time is $O(n m + n^2 \log n)$.
  *
  * <p>
+ * The Dijkstra executions from the different source vertices are independent. If a parallelism
+ * larger than one or an executor is provided, they are distributed among several threads.
+ *
+ * <p>
  * Since Johnson's algorithm creates additional vertices, this implementation requires the user to
  * provide a graph which is initialized with a vertex supplier.
  *
@@ -64,6 +75,8 @@ public class JohnsonShortestPaths<V, E>
     private Map<V, Integer> vertexIndices;
 
     private final Comparator<Double> comparator;
+    private final int parallelism;
+    private final ExecutorService executor;
 
     /**
      * Construct a new instance.
@@ -82,9 +95,52 @@ public class JohnsonShortestPaths<V, E>
      * @param epsilon tolerance when comparing floating point values
      */
     public JohnsonShortestPaths(Graph<V, E> graph, double epsilon)
+    {
+        this(graph, epsilon, 1);
+    }
+
+    /**
+     * Construct a new instance which runs the Dijkstra executions using its own worker threads.
+     *
+     * @param graph the input graph
+     * @param epsilon tolerance when comparing floating point values
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public JohnsonShortestPaths(Graph<V, E> graph, double epsilon, int parallelism)
+    {
+        this(graph, epsilon, parallelism, null);
+    }
+
+    /**
+     * Construct a new instance which runs the Dijkstra executions using an existing executor,
+     * such as a {@link ForkJoinPool}. The executor is not shut down by this class. The number of
+     * tasks equals the parallelism of the pool if the executor is a {@link ForkJoinPool}, and the
+     * number of available processors otherwise.
+     *
+     * @param graph the input graph
+     * @param epsilon tolerance when comparing floating point values
+     * @param executor the executor
+     */
+    public JohnsonShortestPaths(Graph<V, E> graph, double epsilon, ExecutorService executor)
+    {
+        this(
+            graph, epsilon,
+            executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : ConcurrencyUtil.getDefaultParallelism(),
+            Objects.requireNonNull(executor, "Executor cannot be null"));
+    }
+
+    private JohnsonShortestPaths(
+        Graph<V, E> graph, double epsilon, int parallelism, ExecutorService executor)
     {
         super(graph);
         this.comparator = new ToleranceDoubleComparator(epsilon);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.executor = executor;
     }
 
     /**
@@ -196,33 +252,10 @@ public class JohnsonShortestPaths<V, E>
      */
     private void runWithPositiveEdgeWeights(Graph<V, E> g)
     {
-        /*
-         * Create vertex numbering for array representation of results.
-         */
-        vertexIndices = computeVertexIndices(g);
-        final int n = g.vertexSet().size();
-        distance = new double[n][n];
-        pred = TypeUtil.uncheckedCast(new Object[n][n]);
-
         /*
          * Execute Dijkstra multiple times
          */
-        for (V v : g.vertexSet()) {
-            DijkstraClosestFirstIterator<V, E> it =
-                new DijkstraClosestFirstIterator<>(g, v, Double.POSITIVE_INFINITY);
-            while (it.hasNext()) {
-                it.next();
-            }
-            Map<V, Pair<Double, E>> distanceAndPredecessorMap = it.getDistanceAndPredecessorMap();
-
-            // transform result
-            for (V u : g.vertexSet()) {
-                Pair<Double, E> pair = distanceAndPredecessorMap
-                    .getOrDefault(u, Pair.of(Double.POSITIVE_INFINITY, null));
-                distance[vertexIndices.get(v)][vertexIndices.get(u)] = pair.getFirst();
-                pred[vertexIndices.get(v)][vertexIndices.get(u)] = pair.getSecond();
-            }
-        }
+        runDijkstra(g, g, null);
     }
 
     /**
@@ -255,42 +288,69 @@ public class JohnsonShortestPaths<V, E>
         Graph<V, E> newEdgeWeightsGraph = new AsWeightedGraph<>(g, newEdgeWeights);
 
         /*
-         * Create vertex numbering, for array representation of results
+         * Run Dijkstra using new weights for all vertices
          */
-        vertexIndices = computeVertexIndices(g);
-        final int n = g.vertexSet().size();
-        distance = new double[n][n];
-        pred = TypeUtil.uncheckedCast(new Object[n][n]);
+        runDijkstra(g, newEdgeWeightsGraph, vertexWeights);
+    }
 
+    /**
+     * Run Dijkstra's algorithm from every vertex and store the results. The executions from
+     * different sources are independent and each one writes a different row of the matrices.
+     *
+     * @param g the input graph
+     * @param searchGraph the graph on which Dijkstra's algorithm is executed
+     * @param vertexWeights the vertex weights used for re-weighting, or null if the search graph
+     *        has the original weights
+     */
+    private void runDijkstra(Graph<V, E> g, Graph<V, E> searchGraph, Map<V, Double> vertexWeights)
+    {
         /*
-         * Run Dijkstra using new weights for all vertices
+         * Create vertex numbering, for array representation of results
          */
-        for (V v : g.vertexSet()) {
-            DijkstraClosestFirstIterator<V, E> it = new DijkstraClosestFirstIterator<>(
-                newEdgeWeightsGraph, v, Double.POSITIVE_INFINITY);
-            while (it.hasNext()) {
-                it.next();
-            }
-            Map<V, Pair<Double, E>> distanceAndPredecessorMap = it.getDistanceAndPredecessorMap();
-
-            // transform distances to original weights
-            for (V u : g.vertexSet()) {
-                Pair<Double, E> oldPair = distanceAndPredecessorMap.get(u);
-
-                Pair<Double, E> newPair;
-                if (oldPair != null) {
-                    newPair = Pair.of(
-                        oldPair.getFirst() - vertexWeights.get(v) + vertexWeights.get(u),
-                        oldPair.getSecond());
-                } else {
-                    newPair = Pair.of(Double.POSITIVE_INFINITY, null);
+        List<V> vertices = new ArrayList<>(g.vertexSet());
+        vertexIndices = computeVertexIndices(g);
+        final int n = vertices.size();
+        double[][] distance = new double[n][n];
+        E[][] pred = TypeUtil.uncheckedCast(new Object[n][n]);
+
+        ExecutorService localExecutor = executor;
+        if (localExecutor == null && parallelism > 1) {
+            localExecutor = ConcurrencyUtil.createExecutor(parallelism);
+        }
+        try {
+            ConcurrencyUtil.parallelFor(localExecutor, parallelism, n, 1, () -> null, (s, i) -> {
+                V v = vertices.get(i);
+                DijkstraClosestFirstIterator<V, E> it = new DijkstraClosestFirstIterator<>(
+                    searchGraph, v, Double.POSITIVE_INFINITY);
+                while (it.hasNext()) {
+                    it.next();
                 }
 
-                distance[vertexIndices.get(v)][vertexIndices.get(u)] = newPair.getFirst();
-                pred[vertexIndices.get(v)][vertexIndices.get(u)] = newPair.getSecond();
+                // transform result, and distances to original weights
+                double[] distanceRow = distance[i];
+                E[] predRow = pred[i];
+                Arrays.fill(distanceRow, Double.POSITIVE_INFINITY);
+                for (Map.Entry<V, Pair<Double, E>> entry : it
+                    .getDistanceAndPredecessorMap().entrySet())
+                {
+                    V u = entry.getKey();
+                    int j = vertexIndices.get(u);
+                    double d = entry.getValue().getFirst();
+                    if (vertexWeights != null) {
+                        d = d - vertexWeights.get(v) + vertexWeights.get(u);
+                    }
+                    distanceRow[j] = d;
+                    predRow[j] = entry.getValue().getSecond();
+                }
+            });
+        } finally {
+            if (localExecutor != null && localExecutor != executor) {
+                localExecutor.shutdownNow();
             }
         }
 
+        this.distance = distance;
+        this.pred = pred;
     }
 
     /**
@@ -0,0 +1,597 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A label setting algorithm for the multi-objective shortest paths problem with compact label
+ * storage and target pruning.
+ * 
+ * <p>
+ * Similarly to {@link MartinShortestPath}, labels are extended in lexicographic order and a new
+ * label is discarded if it is dominated by a label of the same vertex. For every distinct vector
+ * of costs of an efficient path, one path is computed. The labels are stored in primitive arrays
+ * instead of objects and the storage of labels which are discarded before being extended is
+ * reused. Only labels which are extended are kept until the end of the computation, since they are
+ * needed for the reconstruction of the paths.
+ * 
+ * <p>
+ * When the paths to a single target are requested, the algorithm first computes for each
+ * objective a lower bound on the cost from every vertex to the target, using one execution of
+ * Dijkstra's algorithm on the reversed graph per objective. A label is then discarded if its cost
+ * plus the lower bound of its vertex is dominated by a label of the target. Vertices which cannot
+ * reach the target are never labeled. The pruning is described in A. Raith. Speed-up of labelling
+ * algorithms for biobjective shortest path problems. In Proceedings of the 45th Annual Conference
+ * of the ORSNZ, 313--322, 2010.
+ * 
+ * <p>
+ * The algorithm optionally accepts a tolerance $\epsilon \ge 0$. A label with cost $b$ is then
+ * discarded if a label of the same vertex with cost $a$ exists such that $a_i \le (1+\epsilon)
+ * b_i$ for all objectives $i$. Two labels of the same vertex can therefore never belong to the
+ * same box of the grid with boundaries at the powers of $1+\epsilon$. As a consequence the
+ * number of labels of each vertex is at most $\prod_i (\lceil \log_{1+\epsilon} (C_i/c_i) \rceil
+ * + 2)$, where $C_i$ is the sum and $c_i$ the smallest positive value of the $i$-th cost of all
+ * edges, independently of the number of efficient paths. The computed paths are no longer
+ * guaranteed to be efficient, but every efficient path with $k$ edges is approximated within a
+ * factor of $(1+\epsilon)^k$ in every objective by a computed path. A tolerance of zero computes
+ * exact results.
+ * 
+ * <p>
+ * Note that the multi-objective shortest path problem is a well-known NP-hard problem.
+ * 
+ * @author agent
+ *
+ * @param <V> the vertex type
+ * @param <E> the edge type
+ */
+public class LabelSettingMultiObjectiveShortestPath<V, E>
+    extends
+    BaseMultiObjectiveShortestPathAlgorithm<V, E>
+{
+    // the edge weight function
+    private final Function<E, double[]> edgeWeightFunction;
+    // the number of objectives
+    private final int objectives;
+    // one plus the dominance tolerance
+    private final double factor;
+    // the maximum number of labels stored simultaneously during the last computation
+    private int maximumNumberOfLabels;
+
+    /**
+     * Create a new shortest path algorithm which computes exact results.
+     * 
+     * @param graph the input graph
+     * @param edgeWeightFunction the edge weight function
+     */
+    public LabelSettingMultiObjectiveShortestPath(
+        Graph<V, E> graph, Function<E, double[]> edgeWeightFunction)
+    {
+        this(graph, edgeWeightFunction, 0d);
+    }
+
+    /**
+     * Create a new shortest path algorithm which discards labels using a tolerance.
+     * 
+     * @param graph the input graph
+     * @param edgeWeightFunction the edge weight function
+     * @param epsilon the tolerance of the dominance test, zero for exact results
+     * @throws IllegalArgumentException if the tolerance is negative
+     */
+    public LabelSettingMultiObjectiveShortestPath(
+        Graph<V, E> graph, Function<E, double[]> edgeWeightFunction, double epsilon)
+    {
+        super(graph);
+        this.edgeWeightFunction =
+            Objects.requireNonNull(edgeWeightFunction, "Function cannot be null");
+        if (!(epsilon >= 0d) || Double.isInfinite(epsilon)) {
+            throw new IllegalArgumentException("Epsilon must be non-negative");
+        }
+        this.objectives = validateEdgeWeightFunction(edgeWeightFunction);
+        this.factor = 1d + epsilon;
+    }
+
+    @Override
+    public List<GraphPath<V, E>> getPaths(V source, V sink)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (source.equals(sink)) {
+            return Collections.singletonList(createEmptyPath(source, sink));
+        }
+        if (graph.edgeSet().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<GraphPath<V, E>> paths = new Search(source, sink).run().get(sink);
+        return paths == null ? Collections.emptyList() : paths;
+    }
+
+    @Override
+    public MultiObjectiveSingleSourcePaths<V, E> getPaths(V source)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (graph.edgeSet().isEmpty()) {
+            return new ListMultiObjectiveSingleSourcePathsImpl<>(
+                graph, source, Collections.emptyMap());
+        }
+        Map<V, List<GraphPath<V, E>>> paths = new Search(source, null).run();
+        paths.put(source, Collections.singletonList(createEmptyPath(source, source)));
+        return new ListMultiObjectiveSingleSourcePathsImpl<>(graph, source, paths);
+    }
+
+    /**
+     * Get the maximum number of labels which were stored simultaneously during the last
+     * computation.
+     * 
+     * @return the maximum number of labels stored simultaneously
+     */
+    public int getMaximumNumberOfLabels()
+    {
+        return maximumNumberOfLabels;
+    }
+
+    /**
+     * A single computation. Labels are identified by integers and their data are stored in arrays
+     * indexed by the identifier.
+     */
+    private class Search
+    {
+        final int d;
+        final List<V> vertices;
+        final Map<V, Integer> index;
+        final int source;
+        final int sink;
+
+        // compact representation of the graph
+        final int[] start;
+        final int[] head;
+        final double[] arcCost;
+        final List<E> arcEdge;
+
+        // lower bounds on the cost to the sink, null if there is no sink
+        double[] lowerBound;
+
+        // label data
+        double[] cost;
+        int[] vertex;
+        int[] pred;
+        int[] arc;
+        int[] heapPos;
+        int numLabels;
+        int[] free;
+        int freeSize;
+        int liveLabels;
+
+        // labels of each vertex
+        final int[][] vertexLabels;
+        final int[] vertexLabelsSize;
+
+        // temporary labels ordered lexicographically
+        int[] heap;
+        int heapSize;
+
+        // scratch space for a new label
+        final double[] tmp;
+
+        Search(V source, V sink)
+        {
+            this.d = objectives;
+            this.vertices = new ArrayList<>(graph.vertexSet());
+            int n = vertices.size();
+            this.index = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                index.put(vertices.get(i), i);
+            }
+            this.source = index.get(source);
+            this.sink = sink == null ? -1 : index.get(sink);
+
+            this.start = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                start[i + 1] = start[i] + graph.outgoingEdgesOf(vertices.get(i)).size();
+            }
+            int m = start[n];
+            this.head = new int[m];
+            this.arcCost = new double[m * d];
+            this.arcEdge = new ArrayList<>(m);
+            for (int i = 0; i < n; i++) {
+                V v = vertices.get(i);
+                int k = start[i];
+                for (E e : graph.outgoingEdgesOf(v)) {
+                    head[k] = index.get(Graphs.getOppositeVertex(graph, e, v));
+                    System.arraycopy(edgeWeightFunction.apply(e), 0, arcCost, k * d, d);
+                    arcEdge.add(e);
+                    k++;
+                }
+            }
+
+            int capacity = 64;
+            this.cost = new double[capacity * d];
+            this.vertex = new int[capacity];
+            this.pred = new int[capacity];
+            this.arc = new int[capacity];
+            this.heapPos = new int[capacity];
+            this.free = new int[16];
+            this.vertexLabels = new int[n][];
+            this.vertexLabelsSize = new int[n];
+            this.heap = new int[capacity];
+            this.tmp = new double[d];
+        }
+
+        Map<V, List<GraphPath<V, E>>> run()
+        {
+            maximumNumberOfLabels = 0;
+            if (sink >= 0) {
+                computeLowerBounds();
+                if (lowerBound[source * d] == Double.POSITIVE_INFINITY) {
+                    return new HashMap<>();
+                }
+            }
+
+            Arrays.fill(tmp, 0d);
+            insert(source, -1, -1);
+
+            while (heapSize > 0) {
+                int l = removeMin();
+                int v = vertex[l];
+                if (sink >= 0) {
+                    if (v == sink) {
+                        continue;
+                    }
+                    if (isPrunedByTarget(l * d, cost, v)) {
+                        removeFromVertex(v, l);
+                        release(l);
+                        continue;
+                    }
+                }
+
+                for (int k = start[v]; k < start[v + 1]; k++) {
+                    int u = head[k];
+                    if (sink >= 0 && lowerBound[u * d] == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    for (int i = 0; i < d; i++) {
+                        tmp[i] = cost[l * d + i] + arcCost[k * d + i];
+                    }
+                    if (sink >= 0 && u != sink && isPrunedByTarget(0, tmp, u)) {
+                        continue;
+                    }
+                    if (isDominated(u)) {
+                        continue;
+                    }
+                    removeDominated(u);
+                    insert(u, l, k);
+                }
+            }
+
+            return buildPaths();
+        }
+
+        /*
+         * Whether a label of the vertex dominates, up to the tolerance, the scratch label.
+         */
+        private boolean isDominated(int u)
+        {
+            int[] labels = vertexLabels[u];
+            for (int j = 0; j < vertexLabelsSize[u]; j++) {
+                int offset = labels[j] * d;
+                boolean dominated = true;
+                for (int i = 0; i < d; i++) {
+                    if (cost[offset + i] > factor * tmp[i]) {
+                        dominated = false;
+                        break;
+                    }
+                }
+                if (dominated) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /*
+         * Remove the labels of the vertex which are dominated by the scratch label. Such labels
+         * have not been extended yet, since labels are extended in lexicographic order.
+         */
+        private void removeDominated(int u)
+        {
+            int[] labels = vertexLabels[u];
+            for (int j = vertexLabelsSize[u] - 1; j >= 0; j--) {
+                int l = labels[j];
+                if (heapPos[l] < 0) {
+                    continue;
+                }
+                int offset = l * d;
+                boolean dominated = true;
+                for (int i = 0; i < d; i++) {
+                    if (tmp[i] > cost[offset + i]) {
+                        dominated = false;
+                        break;
+                    }
+                }
+                if (dominated) {
+                    labels[j] = labels[--vertexLabelsSize[u]];
+                    removeFromHeap(l);
+                    release(l);
+                }
+            }
+        }
+
+        /*
+         * Whether a label of the sink dominates, up to the tolerance, the lower bound of a path
+         * to the sink which extends the given cost at the given vertex.
+         */
+        private boolean isPrunedByTarget(int offset, double[] values, int v)
+        {
+            int[] labels = vertexLabels[sink];
+            for (int j = 0; j < vertexLabelsSize[sink]; j++) {
+                int sinkOffset = labels[j] * d;
+                boolean dominated = true;
+                for (int i = 0; i < d; i++) {
+                    double bound = values[offset + i] + lowerBound[v * d + i];
+                    if (cost[sinkOffset + i] > factor * bound) {
+                        dominated = false;
+                        break;
+                    }
+                }
+                if (dominated) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /*
+         * Create a label at a vertex with the cost of the scratch label.
+         */
+        private void insert(int u, int predLabel, int predArc)
+        {
+            int l;
+            if (freeSize > 0) {
+                l = free[--freeSize];
+            } else {
+                l = numLabels++;
+                if (l == vertex.length) {
+                    int capacity = 2 * l;
+                    cost = Arrays.copyOf(cost, capacity * d);
+                    vertex = Arrays.copyOf(vertex, capacity);
+                    pred = Arrays.copyOf(pred, capacity);
+                    arc = Arrays.copyOf(arc, capacity);
+                    heapPos = Arrays.copyOf(heapPos, capacity);
+                }
+            }
+            System.arraycopy(tmp, 0, cost, l * d, d);
+            vertex[l] = u;
+            pred[l] = predLabel;
+            arc[l] = predArc;
+            liveLabels++;
+            maximumNumberOfLabels = Math.max(maximumNumberOfLabels, liveLabels);
+
+            int[] labels = vertexLabels[u];
+            if (labels == null) {
+                labels = new int[2];
+                vertexLabels[u] = labels;
+            } else if (vertexLabelsSize[u] == labels.length) {
+                labels = Arrays.copyOf(labels, 2 * labels.length);
+                vertexLabels[u] = labels;
+            }
+            labels[vertexLabelsSize[u]++] = l;
+
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, 2 * heapSize);
+            }
+            heap[heapSize] = l;
+            heapPos[l] = heapSize++;
+            siftUp(heapPos[l]);
+        }
+
+        private void release(int l)
+        {
+            if (freeSize == free.length) {
+                free = Arrays.copyOf(free, 2 * freeSize);
+            }
+            free[freeSize++] = l;
+            liveLabels--;
+        }
+
+        private void removeFromVertex(int v, int l)
+        {
+            int[] labels = vertexLabels[v];
+            for (int j = 0; j < vertexLabelsSize[v]; j++) {
+                if (labels[j] == l) {
+                    labels[j] = labels[--vertexLabelsSize[v]];
+                    return;
+                }
+            }
+        }
+
+        private int removeMin()
+        {
+            int min = heap[0];
+            removeFromHeap(min);
+            return min;
+        }
+
+        private void removeFromHeap(int l)
+        {
+            int i = heapPos[l];
+            heapPos[l] = -1;
+            int last = heap[--heapSize];
+            if (i < heapSize) {
+                heap[i] = last;
+                heapPos[last] = i;
+                siftDown(i);
+                siftUp(heapPos[last]);
+            }
+        }
+
+        private void siftUp(int i)
+        {
+            int l = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                int p = heap[parent];
+                if (compare(l, p) >= 0) {
+                    break;
+                }
+                heap[i] = p;
+                heapPos[p] = i;
+                i = parent;
+            }
+            heap[i] = l;
+            heapPos[l] = i;
+        }
+
+        private void siftDown(int i)
+        {
+            int l = heap[i];
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int c = heap[child];
+                int right = child + 1;
+                if (right < heapSize && compare(heap[right], c) < 0) {
+                    child = right;
+                    c = heap[child];
+                }
+                if (compare(l, c) <= 0) {
+                    break;
+                }
+                heap[i] = c;
+                heapPos[c] = i;
+                i = child;
+            }
+            heap[i] = l;
+            heapPos[l] = i;
+        }
+
+        /*
+         * Lexicographic comparison of the costs of two labels.
+         */
+        private int compare(int a, int b)
+        {
+            int aOffset = a * d;
+            int bOffset = b * d;
+            for (int i = 0; i < d; i++) {
+                int c = Double.compare(cost[aOffset + i], cost[bOffset + i]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        }
+
+        /*
+         * Compute for each objective the cost from every vertex to the sink, using Dijkstra's
+         * algorithm on the reversed arcs.
+         */
+        private void computeLowerBounds()
+        {
+            int n = vertices.size();
+            int m = head.length;
+            int[] inStart = new int[n + 1];
+            for (int k = 0; k < m; k++) {
+                inStart[head[k] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                inStart[v + 1] += inStart[v];
+            }
+            int[] inTail = new int[m];
+            int[] inArc = new int[m];
+            int[] fill = Arrays.copyOf(inStart, n);
+            for (int v = 0; v < n; v++) {
+                for (int k = start[v]; k < start[v + 1]; k++) {
+                    int pos = fill[head[k]]++;
+                    inTail[pos] = v;
+                    inArc[pos] = k;
+                }
+            }
+
+            lowerBound = new double[n * d];
+            double[] distance = new double[n];
+            IntHeap intHeap = new IntHeap(distance);
+            for (int i = 0; i < d; i++) {
+                Arrays.fill(distance, Double.POSITIVE_INFINITY);
+                distance[sink] = 0d;
+                intHeap.insertOrDecrease(sink);
+                while (!intHeap.isEmpty()) {
+                    int x = intHeap.removeMin();
+                    for (int j = inStart[x]; j < inStart[x + 1]; j++) {
+                        int y = inTail[j];
+                        double nd = distance[x] + arcCost[inArc[j] * d + i];
+                        if (nd < distance[y]) {
+                            distance[y] = nd;
+                            intHeap.insertOrDecrease(y);
+                        }
+                    }
+                }
+                for (int v = 0; v < n; v++) {
+                    lowerBound[v * d + i] = distance[v];
+                }
+            }
+        }
+
+        /*
+         * Build the actual paths from the final labels of each vertex, in lexicographic order of
+         * their costs.
+         */
+        private Map<V, List<GraphPath<V, E>>> buildPaths()
+        {
+            Map<V, List<GraphPath<V, E>>> paths = new HashMap<>();
+            for (int v = 0; v < vertices.size(); v++) {
+                if (v == source || vertexLabelsSize[v] == 0 || (sink >= 0 && v != sink)) {
+                    continue;
+                }
+                Integer[] labels = new Integer[vertexLabelsSize[v]];
+                for (int j = 0; j < labels.length; j++) {
+                    labels[j] = vertexLabels[v][j];
+                }
+                Arrays.sort(labels, this::compare);
+
+                V target = vertices.get(v);
+                List<GraphPath<V, E>> list = new ArrayList<>(labels.length);
+                for (int l : labels) {
+                    double weight = 0d;
+                    LinkedList<E> edgeList = new LinkedList<>();
+                    for (int cur = l; pred[cur] >= 0; cur = pred[cur]) {
+                        E e = arcEdge.get(arc[cur]);
+                        weight += graph.getEdgeWeight(e);
+                        edgeList.push(e);
+                    }
+                    list.add(
+                        new GraphWalk<>(graph, vertices.get(source), target, edgeList, weight));
+                }
+                paths.put(target, list);
+            }
+            return paths;
+        }
+    }
+
+}
+
+// End LabelSettingMultiObjectiveShortestPath.java
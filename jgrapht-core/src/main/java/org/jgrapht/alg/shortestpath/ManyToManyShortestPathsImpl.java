@@ -0,0 +1,126 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ManyToManyShortestPathsAlgorithm.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * An implementation of {@link ManyToManyShortestPaths} which stores the weights in a matrix and
+ * computes the paths on demand using a point-to-point shortest path computation.
+ * 
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ManyToManyShortestPathsImpl<V, E>
+    implements
+    ManyToManyShortestPaths<V, E>
+{
+    private final Graph<V, E> graph;
+    private final List<V> sources;
+    private final List<V> targets;
+    private final Map<V, Integer> sourceIndex;
+    private final Map<V, Integer> targetIndex;
+    private final double[][] weights;
+    private final BiFunction<V, V, GraphPath<V, E>> pathFunction;
+
+    /**
+     * Construct a new instance.
+     * 
+     * @param graph the graph
+     * @param sources the source vertices
+     * @param targets the target vertices
+     * @param weights the weight matrix, with one row per source and one column per target vertex
+     * @param pathFunction function which computes the shortest path between two vertices
+     */
+    public ManyToManyShortestPathsImpl(
+        Graph<V, E> graph, List<V> sources, List<V> targets, double[][] weights,
+        BiFunction<V, V, GraphPath<V, E>> pathFunction)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph is null");
+        this.sources = Collections.unmodifiableList(Objects.requireNonNull(sources));
+        this.targets = Collections.unmodifiableList(Objects.requireNonNull(targets));
+        this.weights = Objects.requireNonNull(weights, "Weight matrix is null");
+        this.pathFunction = Objects.requireNonNull(pathFunction, "Path function is null");
+        this.sourceIndex = new HashMap<>();
+        for (V v : sources) {
+            sourceIndex.put(v, sourceIndex.size());
+        }
+        this.targetIndex = new HashMap<>();
+        for (V v : targets) {
+            targetIndex.put(v, targetIndex.size());
+        }
+    }
+
+    @Override
+    public Graph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    @Override
+    public List<V> getSources()
+    {
+        return sources;
+    }
+
+    @Override
+    public List<V> getTargets()
+    {
+        return targets;
+    }
+
+    @Override
+    public double getWeight(V source, V target)
+    {
+        return weights[indexOf(sourceIndex, source, "source")][indexOf(
+            targetIndex, target, "target")];
+    }
+
+    @Override
+    public GraphPath<V, E> getPath(V source, V target)
+    {
+        if (getWeight(source, target) == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        return pathFunction.apply(source, target);
+    }
+
+    @Override
+    public double[][] getWeightMatrix()
+    {
+        return weights;
+    }
+
+    private static <V> int indexOf(Map<V, Integer> index, V v, String kind)
+    {
+        Integer i = index.get(v);
+        if (i == null) {
+            throw new IllegalArgumentException("Vertex is not a " + kind + " vertex");
+        }
+        return i;
+    }
+
+}
+
+// End ManyToManyShortestPathsImpl.java
@@ -0,0 +1,230 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Reusable state for point-to-point searches, which allows an algorithm instance to answer many
+ * queries without allocating per-query maps, heaps or heap nodes.
+ * 
+ * <p>
+ * The vertices of the graph are numbered once and the numbering is shared by all threads. It is
+ * rebuilt when the number of vertices changes or when a search encounters a vertex without a
+ * number. Each thread owns a fixed number of {@link Side search sides}, each holding distance,
+ * key and predecessor arrays indexed by vertex number together with an array heap. The arrays are
+ * versioned with a timestamp, so that starting a new search costs constant time instead of time
+ * proportional to the number of vertices.
+ *
+ * @param <V> the graph vertex type
+ *
+ * @author agent
+ */
+final class SearchWorkspace<V>
+{
+    private final Graph<V, ?> graph;
+    private final ThreadLocal<Side[]> sides;
+    private volatile Index<V> index;
+
+    /**
+     * Create a new workspace.
+     * 
+     * @param graph the graph
+     * @param numberOfSides the number of search sides per thread
+     */
+    SearchWorkspace(Graph<V, ?> graph, int numberOfSides)
+    {
+        this.graph = graph;
+        this.sides = ThreadLocal.withInitial(() -> {
+            Side[] result = new Side[numberOfSides];
+            for (int i = 0; i < numberOfSides; i++) {
+                result[i] = new Side();
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Get the current vertex numbering, rebuilding it if the number of vertices changed.
+     * 
+     * @return the vertex numbering
+     */
+    Index<V> index()
+    {
+        Index<V> current = index;
+        if (current == null || current.vertices.length != graph.vertexSet().size()) {
+            current = reindex(current);
+        }
+        return current;
+    }
+
+    /**
+     * Rebuild the vertex numbering, unless another thread already replaced the given numbering.
+     * 
+     * @param stale the numbering which was found to be stale
+     * @return the new vertex numbering
+     */
+    synchronized Index<V> reindex(Index<V> stale)
+    {
+        if (index == stale) {
+            index = new Index<>(graph.vertexSet());
+        }
+        return index;
+    }
+
+    /**
+     * Get the search sides of the current thread, reset for a new search.
+     * 
+     * @param n the number of vertices
+     * @return the search sides
+     */
+    Side[] acquire(int n)
+    {
+        Side[] result = sides.get();
+        for (Side side : result) {
+            side.reset(n);
+        }
+        return result;
+    }
+
+    /**
+     * Get the search sides of the current thread, in the state of the last search.
+     * 
+     * @return the search sides
+     */
+    Side[] current()
+    {
+        return sides.get();
+    }
+
+    /**
+     * A numbering of the vertices.
+     */
+    static final class Index<V>
+    {
+        final Map<V, Integer> ids;
+        final Object[] vertices;
+
+        Index(Set<V> vertexSet)
+        {
+            this.ids = new HashMap<>();
+            this.vertices = vertexSet.toArray();
+            for (int i = 0; i < vertices.length; i++) {
+                @SuppressWarnings("unchecked") V v = (V) vertices[i];
+                ids.put(v, i);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V vertex(int id)
+        {
+            return (V) vertices[id];
+        }
+    }
+
+    /**
+     * The state of one direction of a search.
+     */
+    static final class Side
+    {
+        double[] distance = new double[0];
+        double[] key = new double[0];
+        Object[] pred = new Object[0];
+        IntHeap heap = new IntHeap(key);
+        int count;
+
+        private int[] stamp = new int[0];
+        private int current;
+
+        /**
+         * Prepare for a new search.
+         * 
+         * @param n the number of vertices
+         */
+        void reset(int n)
+        {
+            if (stamp.length < n) {
+                int capacity = Math.max(n, stamp.length + (stamp.length >>> 1));
+                distance = new double[capacity];
+                key = new double[capacity];
+                pred = new Object[capacity];
+                stamp = new int[capacity];
+                heap = new IntHeap(key);
+                current = 0;
+            } else {
+                heap.clear();
+            }
+            if (++current == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                current = 1;
+            }
+            count = 0;
+        }
+
+        /**
+         * Whether a vertex has been reached by the current search.
+         * 
+         * @param v the vertex
+         * @return true if the vertex has been reached
+         */
+        boolean isReached(int v)
+        {
+            return stamp[v] == current;
+        }
+
+        /**
+         * Get the distance of a vertex in the current search.
+         * 
+         * @param v the vertex
+         * @return the distance, or infinity if the vertex has not been reached
+         */
+        double getDistance(int v)
+        {
+            return stamp[v] == current ? distance[v] : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Update the distance, the key and the predecessor of a vertex and insert it in the heap,
+         * or decrease its key, if the distance improves.
+         * 
+         * @param v the vertex
+         * @param d the new distance
+         * @param k the new key
+         * @param e the predecessor edge
+         * @return true if the distance improved
+         */
+        boolean update(int v, double d, double k, Object e)
+        {
+            if (stamp[v] == current && d >= distance[v]) {
+                return false;
+            }
+            stamp[v] = current;
+            distance[v] = d;
+            key[v] = k;
+            pred[v] = e;
+            heap.insertOrDecrease(v);
+            return true;
+        }
+    }
+
+}
+
+// End SearchWorkspace.java
@@ -91,6 +91,16 @@ public class TreeSingleSourcePathsImpl<V, E>
         return g;
     }
 
+    /**
+     * Get the distance and predecessor map.
+     * 
+     * @return an unmodifiable view of the distance and predecessor map
+     */
+    public Map<V, Pair<Double, E>> getDistanceAndPredecessorMap()
+    {
+        return Collections.unmodifiableMap(map);
+    }
+
     /**
      * {@inheritDoc}
      */
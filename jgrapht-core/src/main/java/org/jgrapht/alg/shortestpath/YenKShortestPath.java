@@ -0,0 +1,133 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Implementation of Yen's algorithm for the $k$ shortest simple paths between two vertices.
+ * 
+ * <p>
+ * The paths are computed lazily using a {@link YenShortestPathIterator}, which can also be used
+ * directly in order to stream the paths and stop early. Since the number of paths is known in
+ * advance, the number of stored candidate paths is bounded by $k$. The spur paths of each path
+ * are computed in parallel. Contrary to {@link KShortestSimplePaths} the memory consumption does
+ * not depend on the number of paths which end at intermediate vertices, which makes the algorithm
+ * suitable for large values of $k$ on dense graphs. The graph must not contain negative edge
+ * weights.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see YenShortestPathIterator
+ *
+ * @author agent
+ */
+public class YenKShortestPath<V, E>
+    implements
+    KShortestPathAlgorithm<V, E>
+{
+    private final Graph<V, E> graph;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a new sequential instance.
+     *
+     * @param graph the input graph
+     */
+    public YenKShortestPath(Graph<V, E> graph)
+    {
+        this(graph, 1);
+    }
+
+    /**
+     * Constructs a new instance. Each invocation of {@link #getPaths(Object, Object, int)} creates
+     * its own worker threads.
+     *
+     * @param graph the input graph
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public YenKShortestPath(Graph<V, E> graph, int parallelism)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.executor = null;
+    }
+
+    /**
+     * Constructs a new instance which executes its tasks using an existing executor, such as a
+     * {@link ForkJoinPool}. The executor is not shut down by this class.
+     *
+     * @param graph the input graph
+     * @param executor the executor
+     */
+    public YenKShortestPath(Graph<V, E> graph, ExecutorService executor)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        if (executor instanceof ForkJoinPool) {
+            this.parallelism = ((ForkJoinPool) executor).getParallelism();
+        } else {
+            this.parallelism = ConcurrencyUtil.getDefaultParallelism();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalArgumentException if k is not positive
+     */
+    @Override
+    public List<GraphPath<V, E>> getPaths(V source, V sink, int k)
+    {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Number of paths must be positive");
+        }
+
+        ExecutorService localExecutor = executor;
+        if (localExecutor == null && parallelism > 1) {
+            localExecutor = ConcurrencyUtil.createExecutor(parallelism);
+        }
+        try {
+            YenShortestPathIterator<V, E> it =
+                new YenShortestPathIterator<>(graph, source, sink, parallelism, localExecutor, k);
+            List<GraphPath<V, E>> paths = new ArrayList<>();
+            while (it.hasNext()) {
+                paths.add(it.next());
+            }
+            return paths;
+        } finally {
+            if (localExecutor != null && localExecutor != executor) {
+                localExecutor.shutdownNow();
+            }
+        }
+    }
+
+}
+
+// End YenKShortestPath.java
@@ -0,0 +1,333 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Iterator over the shortest simple paths between two vertices in order of increasing weight,
+ * using Yen's algorithm.
+ * 
+ * <p>
+ * The algorithm is described in J. Y. Yen. Finding the k shortest loopless paths in a network.
+ * Management Science, 17(11):712--716, 1971. Each path returned by the iterator is split at every
+ * vertex, the spur vertex, into a root path and a spur path. The shortest path from the spur
+ * vertex to the sink which avoids the vertices of the root path and the edges which leave the
+ * root path in any of the paths returned so far is a new candidate path. The iterator returns the
+ * candidate of minimum weight.
+ * 
+ * <p>
+ * The iterator is lazy: the spur paths of a path are computed only when the next path is
+ * requested. Following E. L. Lawler. A procedure for computing the k best solutions to discrete
+ * optimization problems and its application to the shortest path problem. Management Science,
+ * 18(7):401--405, 1972, only the spur vertices at or after the vertex where a path deviates from
+ * its parent path are considered, since the earlier ones have already been processed for the
+ * parent. The spur paths of a path are independent and are computed in parallel, each using a
+ * bidirectional Dijkstra search on a masked view of the graph. The paths returned so far are kept
+ * in a prefix tree which quickly identifies the edges to exclude at each spur vertex.
+ * 
+ * <p>
+ * When the number of requested paths is known in advance, the number of stored candidates can be
+ * bounded accordingly, so that memory does not grow with the total number of candidates. The
+ * graph must not contain negative edge weights and must not be modified during the iteration.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see YenKShortestPath
+ *
+ * @author agent
+ */
+public class YenShortestPathIterator<V, E>
+    implements
+    Iterator<GraphPath<V, E>>
+{
+    private final Graph<V, E> graph;
+    private final V source;
+    private final V sink;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final int maxPaths;
+
+    private final TreeSet<Candidate<V, E>> candidates;
+    private final Set<List<E>> candidateEdges;
+    private final TrieNode<E> trie;
+    private long nextSequence;
+    private int returned;
+    private Candidate<V, E> last;
+    private boolean initialized;
+
+    /**
+     * Constructs a new sequential iterator.
+     *
+     * @param graph the input graph
+     * @param source the source vertex
+     * @param sink the sink vertex
+     * @throws IllegalArgumentException if the graph does not contain the source or the sink
+     */
+    public YenShortestPathIterator(Graph<V, E> graph, V source, V sink)
+    {
+        this(graph, source, sink, 1, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new iterator. Each computation of the spur paths of a path creates its own
+     * worker threads.
+     *
+     * @param graph the input graph
+     * @param source the source vertex
+     * @param sink the sink vertex
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if the graph does not contain the source or the sink
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public YenShortestPathIterator(Graph<V, E> graph, V source, V sink, int parallelism)
+    {
+        this(graph, source, sink, parallelism, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new iterator which computes the spur paths using an existing executor, such as
+     * a {@link ForkJoinPool}. The executor is not shut down by this class.
+     *
+     * @param graph the input graph
+     * @param source the source vertex
+     * @param sink the sink vertex
+     * @param executor the executor
+     * @throws IllegalArgumentException if the graph does not contain the source or the sink
+     */
+    public YenShortestPathIterator(Graph<V, E> graph, V source, V sink, ExecutorService executor)
+    {
+        this(
+            graph, source, sink, parallelismOf(executor),
+            Objects.requireNonNull(executor, "Executor cannot be null"), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new iterator which returns at most a specified number of paths. The number of
+     * stored candidate paths never exceeds the number of paths which remain to be returned.
+     *
+     * @param graph the input graph
+     * @param source the source vertex
+     * @param sink the sink vertex
+     * @param parallelism the number of threads, if no executor is given
+     * @param executor the executor or null in order to create threads for each computation
+     * @param maxPaths the maximum number of paths to return
+     */
+    YenShortestPathIterator(
+        Graph<V, E> graph, V source, V sink, int parallelism, ExecutorService executor,
+        int maxPaths)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.source = Objects.requireNonNull(source, "Source vertex cannot be null");
+        this.sink = Objects.requireNonNull(sink, "Sink vertex cannot be null");
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                BaseShortestPathAlgorithm.GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(
+                BaseShortestPathAlgorithm.GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.maxPaths = maxPaths;
+        this.candidates = new TreeSet<>();
+        this.candidateEdges = new HashSet<>();
+        this.trie = new TrieNode<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (!initialized) {
+            initialized = true;
+            GraphPath<V, E> shortest =
+                new BidirectionalDijkstraShortestPath<>(graph).getPath(source, sink);
+            if (shortest != null) {
+                addCandidate(
+                    new Candidate<>(
+                        shortest.getEdgeList(), shortest.getVertexList(), shortest.getWeight(), 0,
+                        nextSequence++));
+            }
+        } else if (last != null) {
+            computeSpurPaths(last);
+            last = null;
+        }
+        return returned < maxPaths && !candidates.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Candidate<V, E> c = candidates.pollFirst();
+        candidateEdges.remove(c.edges);
+        returned++;
+
+        // register the path in the prefix tree
+        TrieNode<E> node = trie;
+        for (E e : c.edges) {
+            node = node.children.computeIfAbsent(e, k -> new TrieNode<>());
+        }
+
+        last = c;
+        return new GraphWalk<>(graph, source, sink, c.vertices, c.edges, c.weight);
+    }
+
+    private void computeSpurPaths(Candidate<V, E> path)
+    {
+        int first = path.deviation;
+        int numSpurs = path.edges.size() - first;
+        if (numSpurs <= 0 || returned >= maxPaths) {
+            return;
+        }
+
+        // the edges which leave each root path in the paths returned so far
+        List<Set<E>> excludedEdges = new ArrayList<>(numSpurs);
+        TrieNode<E> node = trie;
+        for (int i = 0; i < path.edges.size(); i++) {
+            if (i >= first) {
+                excludedEdges.add(new HashSet<>(node.children.keySet()));
+            }
+            node = node.children.get(path.edges.get(i));
+        }
+        double[] rootWeight = new double[path.edges.size() + 1];
+        for (int i = 0; i < path.edges.size(); i++) {
+            rootWeight[i + 1] = rootWeight[i] + graph.getEdgeWeight(path.edges.get(i));
+        }
+
+        // the tasks only set distinct elements, which requires no structural modification
+        List<Candidate<V, E>> spurs = new ArrayList<>(Collections.nCopies(numSpurs, null));
+        ExecutorService localExecutor = executor;
+        if (localExecutor == null && parallelism > 1 && numSpurs > 1) {
+            localExecutor = ConcurrencyUtil.createExecutor(Math.min(parallelism, numSpurs));
+        }
+        try {
+            ConcurrencyUtil.parallelFor(
+                localExecutor, parallelism, numSpurs, 1, () -> null, (state, j) -> {
+                int i = first + j;
+                Set<V> rootVertices = new HashSet<>(path.vertices.subList(0, i));
+                Set<E> excluded = excludedEdges.get(j);
+                Graph<V, E> masked =
+                    new MaskSubgraph<>(graph, rootVertices::contains, excluded::contains);
+                GraphPath<V, E> spur = new BidirectionalDijkstraShortestPath<>(masked)
+                    .getPath(path.vertices.get(i), sink);
+                if (spur != null) {
+                    List<E> edges = new ArrayList<>(path.edges.subList(0, i));
+                    edges.addAll(spur.getEdgeList());
+                    List<V> vertices = new ArrayList<>(path.vertices.subList(0, i));
+                    vertices.addAll(spur.getVertexList());
+                    spurs.set(
+                        j, new Candidate<>(
+                            edges, vertices, rootWeight[i] + spur.getWeight(), i, 0));
+                }
+            });
+        } finally {
+            if (localExecutor != null && localExecutor != executor) {
+                localExecutor.shutdownNow();
+            }
+        }
+
+        // insert sequentially so that the order of equal weight paths is deterministic
+        for (Candidate<V, E> c : spurs) {
+            if (c != null && !candidateEdges.contains(c.edges)) {
+                addCandidate(
+                    new Candidate<>(c.edges, c.vertices, c.weight, c.deviation, nextSequence++));
+            }
+        }
+    }
+
+    private void addCandidate(Candidate<V, E> c)
+    {
+        candidates.add(c);
+        candidateEdges.add(c.edges);
+        long remaining = (long) maxPaths - returned;
+        while (candidates.size() > remaining) {
+            candidateEdges.remove(candidates.pollLast().edges);
+        }
+    }
+
+    private static int parallelismOf(ExecutorService executor)
+    {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        return ConcurrencyUtil.getDefaultParallelism();
+    }
+
+    /**
+     * A candidate path.
+     */
+    private static final class Candidate<V, E>
+        implements
+        Comparable<Candidate<V, E>>
+    {
+        final List<E> edges;
+        final List<V> vertices;
+        final double weight;
+        final int deviation;
+        final long sequence;
+
+        Candidate(List<E> edges, List<V> vertices, double weight, int deviation, long sequence)
+        {
+            this.edges = edges;
+            this.vertices = vertices;
+            this.weight = weight;
+            this.deviation = deviation;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Candidate<V, E> o)
+        {
+            int c = Double.compare(weight, o.weight);
+            if (c != 0) {
+                return c;
+            }
+            return Long.compare(sequence, o.sequence);
+        }
+    }
+
+    /**
+     * A node of the prefix tree of the returned paths.
+     */
+    private static final class TrieNode<E>
+    {
+        final Map<E, TrieNode<E>> children = new LinkedHashMap<>();
+    }
+
+}
+
+// End YenShortestPathIterator.java
@@ -20,8 +20,10 @@ package org.jgrapht.alg.spanning;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * Borůvka's algorithm for the computation of a minimum spanning tree.
@@ -67,6 +69,8 @@ public class BoruvkaMinimumSpanningTree<V, E>
     @Override
     public SpanningTree<E> getSpanningTree()
     {
+        ToDoubleFunction<E> edgeWeights = IndexedEdgeWeights.weightFunction(graph);
+
         // create result placeholder
         Set<E> mstEdges = new LinkedHashSet<>();
         double mstWeight = 0d;
@@ -94,14 +98,14 @@ public class BoruvkaMinimumSpanningTree<V, E>
                     continue;
                 }
 
-                double eWeight = graph.getEdgeWeight(e);
+                double eWeight = edgeWeights.applyAsDouble(e);
 
                 // check if better edge
                 E sTreeEdge = bestEdge.get(sTree);
                 if (sTreeEdge == null) {
                     bestEdge.put(sTree, e);
                 } else {
-                    double sTreeEdgeWeight = graph.getEdgeWeight(sTreeEdge);
+                    double sTreeEdgeWeight = edgeWeights.applyAsDouble(sTreeEdge);
                     int c = comparator.compare(eWeight, sTreeEdgeWeight);
                     if (c < 0 || (c == 0 && edgeOrder.get(e) < edgeOrder.get(sTreeEdge))) {
                         bestEdge.put(sTree, e);
@@ -113,7 +117,7 @@ public class BoruvkaMinimumSpanningTree<V, E>
                 if (tTreeEdge == null) {
                     bestEdge.put(tTree, e);
                 } else {
-                    double tTreeEdgeWeight = graph.getEdgeWeight(tTreeEdge);
+                    double tTreeEdgeWeight = edgeWeights.applyAsDouble(tTreeEdge);
                     int c = comparator.compare(eWeight, tTreeEdgeWeight);
                     if (c < 0 || (c == 0 && edgeOrder.get(e) < edgeOrder.get(tTreeEdge))) {
                         bestEdge.put(tTree, e);
@@ -134,7 +138,7 @@ public class BoruvkaMinimumSpanningTree<V, E>
                 }
 
                 mstEdges.add(e);
-                mstWeight += graph.getEdgeWeight(e);
+                mstWeight += edgeWeights.applyAsDouble(e);
 
                 forest.union(sTree, tTree);
             }
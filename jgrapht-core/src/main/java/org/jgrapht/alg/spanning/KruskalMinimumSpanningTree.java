@@ -20,8 +20,10 @@ package org.jgrapht.alg.spanning;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * An implementation of <a href="http://en.wikipedia.org/wiki/Kruskal's_algorithm">Kruskal's minimum
@@ -57,9 +59,10 @@ public class KruskalMinimumSpanningTree<V, E>
     @Override
     public SpanningTree<E> getSpanningTree()
     {
+        ToDoubleFunction<E> edgeWeights = IndexedEdgeWeights.weightFunction(graph);
         UnionFind<V> forest = new UnionFind<>(graph.vertexSet());
         ArrayList<E> allEdges = new ArrayList<>(graph.edgeSet());
-        allEdges.sort(Comparator.comparingDouble(graph::getEdgeWeight));
+        allEdges.sort(Comparator.comparingDouble(edgeWeights));
 
         double spanningTreeCost = 0;
         Set<E> edgeList = new HashSet<>();
@@ -73,7 +76,7 @@ public class KruskalMinimumSpanningTree<V, E>
 
             forest.union(source, target);
             edgeList.add(edge);
-            spanningTreeCost += graph.getEdgeWeight(edge);
+            spanningTreeCost += edgeWeights.applyAsDouble(edge);
         }
 
         return new SpanningTreeImpl<>(edgeList, spanningTreeCost);
@@ -19,10 +19,12 @@ package org.jgrapht.alg.spanning;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.function.*;
 
 /**
  * An implementation of <a href="http://en.wikipedia.org/wiki/Prim's_algorithm"> Prim's
@@ -63,6 +65,7 @@ public class PrimMinimumSpanningTree<V, E>
     @SuppressWarnings("unchecked")
     public SpanningTree<E> getSpanningTree()
     {
+        ToDoubleFunction<E> edgeWeights = IndexedEdgeWeights.weightFunction(g);
         Set<E> minimumSpanningTreeEdgeSet = new HashSet<>(g.vertexSet().size());
         double spanningTreeWeight = 0d;
 
@@ -103,7 +106,7 @@ public class PrimMinimumSpanningTree<V, E>
             // Add the edge from its parent to the spanning tree (if it exists)
             if (vertexInfo.edgeFromParent != null) {
                 minimumSpanningTreeEdgeSet.add(vertexInfo.edgeFromParent);
-                spanningTreeWeight += g.getEdgeWeight(vertexInfo.edgeFromParent);
+                spanningTreeWeight += edgeWeights.applyAsDouble(vertexInfo.edgeFromParent);
             }
 
             // update all (unspanned) neighbors of p
@@ -113,7 +116,7 @@ public class PrimMinimumSpanningTree<V, E>
 
                 // if the vertex is not explored and we found a better edge, then update the info
                 if (!vertices[id].spanned) {
-                    double cost = g.getEdgeWeight(e);
+                    double cost = edgeWeights.applyAsDouble(e);
 
                     if (cost < vertices[id].distance) {
                         vertices[id].distance = cost;
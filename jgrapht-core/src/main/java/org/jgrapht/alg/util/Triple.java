@@ -0,0 +1,144 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.util;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Generic triple (3-tuple).
+ * 
+ * <p>
+ * Although the instances of this class are immutable, it is impossible to ensure that the
+ * references passed to the constructor will not be modified by the caller.
+ * 
+ * @param <A> the first element type
+ * @param <B> the second element type
+ * @param <C> the third element type
+ * 
+ * @author agent
+ */
+public class Triple<A, B, C>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = -7159861283372316620L;
+
+    /**
+     * The first element
+     */
+    protected final A first;
+
+    /**
+     * The second element
+     */
+    protected final B second;
+
+    /**
+     * The third element
+     */
+    protected final C third;
+
+    /**
+     * Create a new triple
+     * 
+     * @param a the first element
+     * @param b the second element
+     * @param c the third element
+     */
+    public Triple(A a, B b, C c)
+    {
+        this.first = a;
+        this.second = b;
+        this.third = c;
+    }
+
+    /**
+     * Get the first element
+     * 
+     * @return the first element
+     */
+    public A getFirst()
+    {
+        return first;
+    }
+
+    /**
+     * Get the second element
+     * 
+     * @return the second element
+     */
+    public B getSecond()
+    {
+        return second;
+    }
+
+    /**
+     * Get the third element
+     * 
+     * @return the third element
+     */
+    public C getThird()
+    {
+        return third;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "(" + first + "," + second + "," + third + ")";
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        else if (!(o instanceof Triple))
+            return false;
+
+        @SuppressWarnings("unchecked") Triple<A, B, C> other = (Triple<A, B, C>) o;
+        return Objects.equals(first, other.first) && Objects.equals(second, other.second)
+            && Objects.equals(third, other.third);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(first, second, third);
+    }
+
+    /**
+     * Creates new triple of elements pulling of the necessity to provide corresponding types of
+     * the elements supplied.
+     *
+     * @param a first element
+     * @param b second element
+     * @param c third element
+     * @param <A> the first element type
+     * @param <B> the second element type
+     * @param <C> the third element type
+     * @return new triple
+     */
+    public static <A, B, C> Triple<A, B, C> of(A a, B b, C c)
+    {
+        return new Triple<>(a, b, c);
+    }
+}
+
+// End Triple.java
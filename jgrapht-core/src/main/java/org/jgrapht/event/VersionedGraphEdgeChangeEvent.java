@@ -0,0 +1,70 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.event;
+
+/**
+ * An edge change event which additionally carries the version of the graph which resulted from the
+ * change. The version is only meaningful for events fired after a change.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class VersionedGraphEdgeChangeEvent<V, E>
+    extends
+    GraphEdgeChangeEvent<V, E>
+{
+    private static final long serialVersionUID = 4511592930461219306L;
+
+    /**
+     * The version of the graph that this event is related to.
+     */
+    protected long version;
+
+    /**
+     * Constructor for VersionedGraphEdgeChangeEvent.
+     *
+     * @param eventSource the source of this event.
+     * @param type the event type of this event.
+     * @param edge the edge that this event is related to.
+     * @param edgeSource edge source vertex
+     * @param edgeTarget edge target vertex
+     * @param edgeWeight edge weight
+     * @param version the version of the graph that this event is related to
+     */
+    public VersionedGraphEdgeChangeEvent(
+        Object eventSource, int type, E edge, V edgeSource, V edgeTarget, double edgeWeight,
+        long version)
+    {
+        super(eventSource, type, edge, edgeSource, edgeTarget, edgeWeight);
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the graph that this event is related to.
+     *
+     * @return the version of the graph
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+}
+
+// End VersionedGraphEdgeChangeEvent.java
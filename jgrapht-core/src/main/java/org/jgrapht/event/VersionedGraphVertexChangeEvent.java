@@ -0,0 +1,64 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.event;
+
+/**
+ * A vertex change event which additionally carries the version of the graph which resulted from
+ * the change. The version is only meaningful for events fired after a change.
+ *
+ * @param <V> the graph vertex type
+ *
+ * @author agent
+ */
+public class VersionedGraphVertexChangeEvent<V>
+    extends
+    GraphVertexChangeEvent<V>
+{
+    private static final long serialVersionUID = -1862257331406418395L;
+
+    /**
+     * The version of the graph that this event is related to.
+     */
+    protected long version;
+
+    /**
+     * Creates a new VersionedGraphVertexChangeEvent object.
+     *
+     * @param eventSource the source of the event.
+     * @param type the type of the event.
+     * @param vertex the vertex that the event is related to.
+     * @param version the version of the graph that the event is related to
+     */
+    public VersionedGraphVertexChangeEvent(Object eventSource, int type, V vertex, long version)
+    {
+        super(eventSource, type, vertex);
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the graph that this event is related to.
+     *
+     * @return the version of the graph
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+}
+
+// End VersionedGraphVertexChangeEvent.java
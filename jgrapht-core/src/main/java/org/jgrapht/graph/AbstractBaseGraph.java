@@ -56,6 +56,24 @@ public abstract class AbstractBaseGraph<V, E>
     private static final String GRAPH_SPECIFICS_MUST_NOT_BE_NULL =
         "Graph specifics must not be null";
 
+    /*
+     * Whether a graph class overrides getEdgeWeight, in which case the weights of its storage may
+     * differ from the weights the graph reports.
+     */
+    private static final ClassValue<Boolean> OVERRIDES_EDGE_WEIGHT = new ClassValue<Boolean>()
+    {
+        @Override
+        protected Boolean computeValue(Class<?> type)
+        {
+            try {
+                return type.getMethod("getEdgeWeight", Object.class)
+                    .getDeclaringClass() != AbstractBaseGraph.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
     private transient Set<V> unmodifiableVertexSet = null;
 
     private Supplier<V> vertexSupplier;
@@ -537,6 +555,26 @@ public abstract class AbstractBaseGraph<V, E>
         return type;
     }
 
+    /**
+     * Get the intrusive edges specifics of the graph.
+     * 
+     * @return the intrusive edges specifics
+     */
+    IntrusiveEdgesSpecifics<V, E> getIntrusiveEdgesSpecifics()
+    {
+        return intrusiveEdgesSpecifics;
+    }
+
+    /**
+     * Whether the class of the graph overrides {@link #getEdgeWeight(Object)}.
+     * 
+     * @return true if the class of the graph overrides the edge weight method, false otherwise
+     */
+    boolean overridesEdgeWeight()
+    {
+        return OVERRIDES_EDGE_WEIGHT.get(getClass());
+    }
+
     /**
      * Create the specifics for this graph. Subclasses can override this method in order to adjust
      * the specifics and thus the space-time tradeoffs of the graph implementation.
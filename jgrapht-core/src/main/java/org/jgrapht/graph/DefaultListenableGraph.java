@@ -352,7 +352,17 @@ public class DefaultListenableGraph<V, E>
         }
     }
 
-    private GraphEdgeChangeEvent<V, E> createGraphEdgeChangeEvent(
+    /**
+     * Create the event which is fired to the listeners when an edge changes.
+     *
+     * @param eventType the type of the event
+     * @param edge the edge
+     * @param source the edge source
+     * @param target the edge target
+     * @param weight the edge weight
+     * @return the event
+     */
+    protected GraphEdgeChangeEvent<V, E> createGraphEdgeChangeEvent(
         int eventType, E edge, V source, V target, double weight)
     {
         if (reuseEvents) {
@@ -368,7 +378,14 @@ public class DefaultListenableGraph<V, E>
         }
     }
 
-    private GraphVertexChangeEvent<V> createGraphVertexChangeEvent(int eventType, V vertex)
+    /**
+     * Create the event which is fired to the listeners when a vertex changes.
+     *
+     * @param eventType the type of the event
+     * @param vertex the vertex
+     * @return the event
+     */
+    protected GraphVertexChangeEvent<V> createGraphVertexChangeEvent(int eventType, V vertex)
     {
         if (reuseEvents) {
             reuseableVertexEvent.setType(eventType);
@@ -1,6 +1,9 @@
 package org.jgrapht.graph;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -23,6 +26,13 @@ import org.jgrapht.graph.specifics.UndirectedEdgeContainer;
  * v),addEdge(V u, V v). A disadvantage is an increase in memory consumption. If memory utilization
  * is an issue, use the {@link DefaultGraphSpecificsStrategy} instead.
  * 
+ * <p>
+ * When the expected number of vertices and edges are known in advance, the strategy can be
+ * constructed using {@link #FastLookupGraphSpecificsStrategy(int, int)}. The internal maps are then
+ * allocated with enough capacity to avoid rehashing. Graph builders which load all edges before
+ * handing out the graph can additionally defer the construction of the map which is used for edge
+ * retrievals, see {@link #FastLookupGraphSpecificsStrategy(int, int, boolean)}.
+ * 
  * @author Dimitrios Michail
  *
  * @param <V> the graph vertex type
@@ -33,6 +43,65 @@ public class FastLookupGraphSpecificsStrategy<V, E>
 {
     private static final long serialVersionUID = -5490869870275054280L;
 
+    private final boolean presized;
+    private final int expectedVertexCount;
+    private final int expectedEdgeCount;
+    private final boolean deferIndex;
+
+    /**
+     * Create a new strategy.
+     */
+    public FastLookupGraphSpecificsStrategy()
+    {
+        this.presized = false;
+        this.expectedVertexCount = 0;
+        this.expectedEdgeCount = 0;
+        this.deferIndex = false;
+    }
+
+    /**
+     * Create a new strategy for a graph with a known size.
+     * 
+     * @param expectedVertexCount the expected number of vertices
+     * @param expectedEdgeCount the expected number of edges
+     * @throws IllegalArgumentException if any of the expected counts is negative
+     */
+    public FastLookupGraphSpecificsStrategy(int expectedVertexCount, int expectedEdgeCount)
+    {
+        this(expectedVertexCount, expectedEdgeCount, false);
+    }
+
+    /**
+     * Create a new strategy for bulk loading a graph with a known size.
+     * 
+     * <p>
+     * When the construction of the index is deferred, the specifics do not maintain the map which
+     * is used for edge retrievals while the graph is loaded, and answer edge retrievals by
+     * scanning the edges of the vertices. The map is built in one pass by
+     * {@link FastLookupDirectedSpecifics#buildIndex()} or
+     * {@link FastLookupUndirectedSpecifics#buildIndex()}, which the owner of the graph must call
+     * after loading.
+     * 
+     * @param expectedVertexCount the expected number of vertices
+     * @param expectedEdgeCount the expected number of edges
+     * @param deferIndex whether to defer the construction of the map used for edge retrievals
+     * @throws IllegalArgumentException if any of the expected counts is negative
+     */
+    public FastLookupGraphSpecificsStrategy(
+        int expectedVertexCount, int expectedEdgeCount, boolean deferIndex)
+    {
+        if (expectedVertexCount < 0) {
+            throw new IllegalArgumentException("Expected vertex count must be non-negative");
+        }
+        if (expectedEdgeCount < 0) {
+            throw new IllegalArgumentException("Expected edge count must be non-negative");
+        }
+        this.presized = true;
+        this.expectedVertexCount = expectedVertexCount;
+        this.expectedEdgeCount = expectedEdgeCount;
+        this.deferIndex = deferIndex;
+    }
+
     /**
      * Get a function which creates the intrusive edges specifics. The factory will accept the graph
      * type as a parameter.
@@ -45,10 +114,10 @@ public class FastLookupGraphSpecificsStrategy<V, E>
         return (Function<GraphType, IntrusiveEdgesSpecifics<V, E>> & Serializable) (type) -> {
             if (type.isWeighted()) {
                 return new WeightedIntrusiveEdgesSpecifics<V, E>(
-                    this.<E, IntrusiveWeightedEdge> getPredictableOrderMapFactory().get());
+                    this.<E, IntrusiveWeightedEdge> createPredictableOrderMap(expectedEdgeCount));
             } else {
                 return new UniformIntrusiveEdgesSpecifics<>(
-                    this.<E, IntrusiveEdge> getPredictableOrderMapFactory().get());
+                    this.<E, IntrusiveEdge> createPredictableOrderMap(expectedEdgeCount));
             }
         };
     }
@@ -65,17 +134,42 @@ public class FastLookupGraphSpecificsStrategy<V, E>
         return (BiFunction<Graph<V, E>, GraphType,
             Specifics<V, E>> & Serializable) (graph, type) -> {
                 if (type.isDirected()) {
-                    return new FastLookupDirectedSpecifics<>(graph, this
-                        .<V, DirectedEdgeContainer<V, E>> getPredictableOrderMapFactory()
-                        .get(), this.<Pair<V, V>, Set<E>> getMapFactory().get(),
-                        getEdgeSetFactory());
+                    return new FastLookupDirectedSpecifics<>(
+                        graph,
+                        this.<V, DirectedEdgeContainer<V, E>> createPredictableOrderMap(
+                            expectedVertexCount),
+                        this.<Pair<V, V>, Set<E>> createMap(expectedEdgeCount),
+                        getEdgeSetFactory(), deferIndex);
                 } else {
-                    return new FastLookupUndirectedSpecifics<>(graph, this
-                        .<V, UndirectedEdgeContainer<V, E>> getPredictableOrderMapFactory()
-                        .get(), this.<Pair<V, V>, Set<E>> getMapFactory().get(),
-                        getEdgeSetFactory());
+                    return new FastLookupUndirectedSpecifics<>(
+                        graph,
+                        this.<V, UndirectedEdgeContainer<V, E>> createPredictableOrderMap(
+                            expectedVertexCount),
+                        this.<Pair<V, V>, Set<E>> createMap(expectedEdgeCount),
+                        getEdgeSetFactory(), deferIndex);
                 }
             };
     }
 
+    private <K1, V1> Map<K1, V1> createPredictableOrderMap(int expectedSize)
+    {
+        if (!presized) {
+            return this.<K1, V1> getPredictableOrderMapFactory().get();
+        }
+        return new LinkedHashMap<>(capacity(expectedSize));
+    }
+
+    private <K1, V1> Map<K1, V1> createMap(int expectedSize)
+    {
+        if (!presized) {
+            return this.<K1, V1> getMapFactory().get();
+        }
+        return new HashMap<>(capacity(expectedSize));
+    }
+
+    private static int capacity(int expectedSize)
+    {
+        return (int) Math.min(Integer.MAX_VALUE, (long) (expectedSize / 0.75d) + 1);
+    }
+
 }
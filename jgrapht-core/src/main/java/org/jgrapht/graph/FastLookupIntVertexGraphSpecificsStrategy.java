@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.Serializable;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.specifics.FastLookupIntVertexDirectedSpecifics;
+import org.jgrapht.graph.specifics.FastLookupIntVertexUndirectedSpecifics;
+import org.jgrapht.graph.specifics.Specifics;
+
+/**
+ * A fast lookup specifics strategy for graphs whose vertices are non-negative integers.
+ * 
+ * <p>
+ * Graphs constructed using this strategy store the vertices in an array indexed by the vertex
+ * itself and use an open-addressing table keyed by pairs of vertices in order to improve the
+ * performance of methods which depend on edge retrievals, e.g. getEdge(V u, V v), containsEdge(V
+ * u, V v), addEdge(V u, V v). The vertices are expected to be dense, i.e. close to the range
+ * $[0, n)$ where $n$ is the number of vertices, since memory is proportional to the largest vertex.
+ * Negative vertices are not supported.
+ * 
+ * @author agent
+ *
+ * @param <E> the graph edge type
+ */
+public class FastLookupIntVertexGraphSpecificsStrategy<E>
+    implements GraphSpecificsStrategy<Integer, E>
+{
+    private static final long serialVersionUID = 7615296317327396412L;
+
+    /**
+     * Get a function which creates the intrusive edges specifics. The factory will accept the graph
+     * type as a parameter.
+     * 
+     * @return a function which creates intrusive edges specifics.
+     */
+    @Override
+    public Function<GraphType,
+        IntrusiveEdgesSpecifics<Integer, E>> getIntrusiveEdgesSpecificsFactory()
+    {
+        return (Function<GraphType, IntrusiveEdgesSpecifics<Integer, E>> & Serializable) (type) -> {
+            if (type.isWeighted()) {
+                return new WeightedIntrusiveEdgesSpecifics<Integer, E>(
+                    this.<E, IntrusiveWeightedEdge> getPredictableOrderMapFactory().get());
+            } else {
+                return new UniformIntrusiveEdgesSpecifics<>(
+                    this.<E, IntrusiveEdge> getPredictableOrderMapFactory().get());
+            }
+        };
+    }
+
+    /**
+     * Get a function which creates the specifics. The factory will accept the graph type as a
+     * parameter.
+     * 
+     * @return a function which creates intrusive edges specifics.
+     */
+    @Override
+    public BiFunction<Graph<Integer, E>, GraphType, Specifics<Integer, E>> getSpecificsFactory()
+    {
+        return (BiFunction<Graph<Integer, E>, GraphType,
+            Specifics<Integer, E>> & Serializable) (graph, type) -> {
+                if (type.isDirected()) {
+                    return new FastLookupIntVertexDirectedSpecifics<>(graph, getEdgeSetFactory());
+                } else {
+                    return new FastLookupIntVertexUndirectedSpecifics<>(
+                        graph, getEdgeSetFactory());
+                }
+            };
+    }
+
+}
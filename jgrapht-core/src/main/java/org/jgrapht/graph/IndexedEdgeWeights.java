@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+
+import java.util.function.*;
+
+/**
+ * Access to the edges and edge weights of a graph through internal integer edge identifiers.
+ * 
+ * <p>
+ * Graph storages which keep the edge weights in a contiguous primitive array implement this
+ * interface in order to let algorithms read weights without any hashing. Edge indices lie in the
+ * range $[0, b)$ where $b$ is the {@link #getEdgeIndexBound() index bound}. Indices are stable
+ * while edges are only added; removing an edge may change the index of another edge.
+ * 
+ * <p>
+ * Algorithms should not access this interface directly but use {@link #of(Graph)} or
+ * {@link #weightFunction(Graph)}, which return the weight storage of a graph only if the graph
+ * itself (and not a view over it) uses such a storage and does not override
+ * {@link Graph#getEdgeWeight(Object)}.
+ *
+ * @param <E> the graph edge type
+ * 
+ * @author agent
+ * 
+ * @see IndexedEdgesGraphSpecificsStrategy
+ */
+public interface IndexedEdgeWeights<E>
+{
+    /**
+     * Get an upper bound (exclusive) on the edge indices.
+     * 
+     * @return an upper bound on the edge indices
+     */
+    int getEdgeIndexBound();
+
+    /**
+     * Get the index of an edge.
+     * 
+     * @param e the edge
+     * @return the index of the edge or -1 if the edge is not contained in the graph
+     */
+    int getEdgeIndex(E e);
+
+    /**
+     * Get the edge with a particular index.
+     * 
+     * @param index the index
+     * @return the edge with the given index or null if no such edge exists
+     */
+    E getEdge(int index);
+
+    /**
+     * Get the weight of the edge with a particular index.
+     * 
+     * @param index the index of an existing edge
+     * @return the weight of the edge
+     */
+    double getEdgeWeight(int index);
+
+    /**
+     * Get the indexed weight storage of a graph.
+     * 
+     * @param graph the graph
+     * @return the indexed weight storage of the graph or null if the graph does not store its
+     *         edge weights in an indexed storage or overrides {@link Graph#getEdgeWeight(Object)}
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    static <V, E> IndexedEdgeWeights<E> of(Graph<V, E> graph)
+    {
+        if (graph instanceof AbstractBaseGraph
+            && !((AbstractBaseGraph<V, E>) graph).overridesEdgeWeight())
+        {
+            IntrusiveEdgesSpecifics<V, E> specifics =
+                ((AbstractBaseGraph<V, E>) graph).getIntrusiveEdgesSpecifics();
+            if (specifics instanceof IndexedEdgeWeights) {
+                @SuppressWarnings("unchecked") IndexedEdgeWeights<E> weights =
+                    (IndexedEdgeWeights<E>) specifics;
+                return weights;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get a function which returns the weight of an edge of a graph. If the graph stores its edge
+     * weights in an indexed storage, and does not override {@link Graph#getEdgeWeight(Object)}, the
+     * function reads the weights directly from the storage. Otherwise it delegates to
+     * {@link Graph#getEdgeWeight(Object)}.
+     * 
+     * @param graph the graph
+     * @return a function which returns the edge weights of the graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    static <V, E> ToDoubleFunction<E> weightFunction(Graph<V, E> graph)
+    {
+        IndexedEdgeWeights<E> weights = of(graph);
+        if (weights == null) {
+            return graph::getEdgeWeight;
+        }
+        return e -> {
+            int index = weights.getEdgeIndex(e);
+            if (index < 0) {
+                throw new IllegalArgumentException("no such edge in graph: " + e);
+            }
+            return weights.getEdgeWeight(index);
+        };
+    }
+}
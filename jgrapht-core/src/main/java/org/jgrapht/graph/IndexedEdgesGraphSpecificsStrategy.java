@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.specifics.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A specifics strategy which keeps the edges, their endpoints and their weights in contiguous
+ * arrays indexed by an internal edge identifier.
+ * 
+ * <p>
+ * Graphs constructed using this strategy store their edge weights in a primitive
+ * <code>double</code> array, see {@link IndexedIntrusiveEdgesSpecifics}. Algorithms can read the
+ * weights without hashing using {@link IndexedEdgeWeights#of(Graph)} or
+ * {@link IndexedEdgeWeights#weightFunction(Graph)}. Edges which extend {@link DefaultEdge} store
+ * their index, so that no map entry is required per edge. The vertex related specifics are
+ * delegated to another strategy, by default the {@link FastLookupGraphSpecificsStrategy}.
+ * 
+ * @author agent
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class IndexedEdgesGraphSpecificsStrategy<V, E>
+    implements GraphSpecificsStrategy<V, E>
+{
+    private static final long serialVersionUID = 1925453398151417522L;
+
+    private final GraphSpecificsStrategy<V, E> vertexSpecificsStrategy;
+    private final int expectedEdgeCount;
+
+    /**
+     * Create a new strategy.
+     */
+    public IndexedEdgesGraphSpecificsStrategy()
+    {
+        this(new FastLookupGraphSpecificsStrategy<>(), 0);
+    }
+
+    /**
+     * Create a new strategy.
+     * 
+     * @param vertexSpecificsStrategy the strategy to use for the vertex related specifics
+     * @param expectedEdgeCount the expected number of edges
+     * @throws IllegalArgumentException if the expected number of edges is negative
+     */
+    public IndexedEdgesGraphSpecificsStrategy(
+        GraphSpecificsStrategy<V, E> vertexSpecificsStrategy, int expectedEdgeCount)
+    {
+        this.vertexSpecificsStrategy = Objects.requireNonNull(vertexSpecificsStrategy);
+        if (expectedEdgeCount < 0) {
+            throw new IllegalArgumentException("Expected edge count must be non-negative");
+        }
+        this.expectedEdgeCount = expectedEdgeCount;
+    }
+
+    /**
+     * Get a function which creates the intrusive edges specifics. The factory will accept the graph
+     * type as a parameter.
+     * 
+     * @return a function which creates intrusive edges specifics.
+     */
+    @Override
+    public Function<GraphType, IntrusiveEdgesSpecifics<V, E>> getIntrusiveEdgesSpecificsFactory()
+    {
+        return (Function<GraphType, IntrusiveEdgesSpecifics<V, E>> & Serializable) (
+            type) -> new IndexedIntrusiveEdgesSpecifics<>(
+                type.isWeighted(),
+                vertexSpecificsStrategy.<E, Integer> getMapFactory().get(),
+                expectedEdgeCount);
+    }
+
+    /**
+     * Get a function which creates the specifics. The factory will accept the graph type as a
+     * parameter.
+     * 
+     * @return a function which creates intrusive edges specifics.
+     */
+    @Override
+    public BiFunction<Graph<V, E>, GraphType, Specifics<V, E>> getSpecificsFactory()
+    {
+        return vertexSpecificsStrategy.getSpecificsFactory();
+    }
+
+    @Override
+    public <K1, V1> Supplier<Map<K1, V1>> getPredictableOrderMapFactory()
+    {
+        return vertexSpecificsStrategy.getPredictableOrderMapFactory();
+    }
+
+    @Override
+    public <K1, V1> Supplier<Map<K1, V1>> getMapFactory()
+    {
+        return vertexSpecificsStrategy.getMapFactory();
+    }
+
+    @Override
+    public EdgeSetFactory<V, E> getEdgeSetFactory()
+    {
+        return vertexSpecificsStrategy.getEdgeSetFactory();
+    }
+
+}
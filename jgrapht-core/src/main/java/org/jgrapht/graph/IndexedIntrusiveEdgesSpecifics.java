@@ -0,0 +1,340 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * An intrusive edges specifics which stores the edges in parallel arrays indexed by an internal
+ * edge identifier.
+ * 
+ * <p>
+ * Each edge is assigned a dense index in $[0, m)$ where $m$ is the number of edges, and its
+ * source, target and (if the graph is weighted) weight are stored at that position of parallel
+ * arrays. The weights are therefore kept in a contiguous <code>double</code> array. When an edge
+ * is removed, the last edge is moved into its position so that the indices remain dense.
+ * 
+ * <p>
+ * Edges which extend {@link DefaultEdge} store their index, so that retrieving their endpoints or
+ * their weight requires no hashing and no map entry is allocated per edge. The stored index is
+ * always validated. Only edges which cannot store their index, namely edges of other types and
+ * edges whose index is already used by another graph, are mapped to their index using a hash map.
+ * The edge set iterates in the order of the indices, which is the insertion order as long as no
+ * edge is removed.
+ * 
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * 
+ * @author agent
+ */
+public class IndexedIntrusiveEdgesSpecifics<V, E>
+    implements
+    IntrusiveEdgesSpecifics<V, E>,
+    IndexedEdgeWeights<E>
+{
+    private static final long serialVersionUID = -3364105458929327712L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final boolean weighted;
+    // the indices of the edges which do not store their index
+    private final Map<E, Integer> indices;
+    private Object[] edges;
+    private Object[] sources;
+    private Object[] targets;
+    private double[] weights;
+    private int size;
+    private transient int modCount;
+    private transient Set<E> unmodifiableEdgeSet = null;
+
+    /**
+     * Constructor
+     * 
+     * @param weighted whether the edges are weighted
+     */
+    public IndexedIntrusiveEdgesSpecifics(boolean weighted)
+    {
+        this(weighted, new HashMap<>(), DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param weighted whether the edges are weighted
+     * @param map an empty map to use for mapping the edges which cannot store their index to
+     *        their indices
+     * @param expectedEdgeCount the expected number of edges
+     * @throws IllegalArgumentException if the expected number of edges is negative
+     */
+    public IndexedIntrusiveEdgesSpecifics(
+        boolean weighted, Map<E, Integer> map, int expectedEdgeCount)
+    {
+        if (expectedEdgeCount < 0) {
+            throw new IllegalArgumentException("Expected edge count must be non-negative");
+        }
+        this.weighted = weighted;
+        this.indices = Objects.requireNonNull(map);
+        this.edges = new Object[expectedEdgeCount];
+        this.sources = new Object[expectedEdgeCount];
+        this.targets = new Object[expectedEdgeCount];
+        this.weights = weighted ? new double[expectedEdgeCount] : null;
+        this.size = 0;
+    }
+
+    @Override
+    public V getEdgeSource(E e)
+    {
+        return TypeUtil.uncheckedCast(sources[index(e)]);
+    }
+
+    @Override
+    public V getEdgeTarget(E e)
+    {
+        return TypeUtil.uncheckedCast(targets[index(e)]);
+    }
+
+    @Override
+    public boolean add(E e, V sourceVertex, V targetVertex)
+    {
+        if (getEdgeIndex(e) >= 0) {
+            return false;
+        }
+        if (size == MAX_CAPACITY) {
+            throw new IllegalStateException("Maximum number of edges reached");
+        }
+        ensureCapacity(size + 1);
+        int i = size++;
+        edges[i] = e;
+        sources[i] = sourceVertex;
+        targets[i] = targetVertex;
+        modCount++;
+        if (e instanceof IntrusiveEdge) {
+            IntrusiveEdge ie = (IntrusiveEdge) e;
+            ie.source = sourceVertex;
+            ie.target = targetVertex;
+            if (ie.index < 0) {
+                ie.index = i;
+            } else {
+                // the index is used by another graph
+                indices.put(e, i);
+            }
+        } else {
+            indices.put(e, i);
+        }
+        if (weighted) {
+            if (e instanceof IntrusiveWeightedEdge) {
+                weights[i] = ((IntrusiveWeightedEdge) e).weight;
+            } else {
+                weights[i] = Graph.DEFAULT_EDGE_WEIGHT;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsEdge(E e)
+    {
+        return getEdgeIndex(e) >= 0;
+    }
+
+    @Override
+    public Set<E> getEdgeSet()
+    {
+        if (unmodifiableEdgeSet == null) {
+            unmodifiableEdgeSet = new EdgeSet();
+        }
+        return unmodifiableEdgeSet;
+    }
+
+    @Override
+    public void remove(E e)
+    {
+        int i = getEdgeIndex(e);
+        if (i < 0) {
+            return;
+        }
+        if (isMapped(e)) {
+            indices.remove(e);
+        } else {
+            ((IntrusiveEdge) e).index = -1;
+        }
+        int last = --size;
+        if (i != last) {
+            E moved = TypeUtil.uncheckedCast(edges[last]);
+            edges[i] = moved;
+            sources[i] = sources[last];
+            targets[i] = targets[last];
+            if (weighted) {
+                weights[i] = weights[last];
+            }
+            if (isMapped(moved)) {
+                indices.put(moved, i);
+            } else {
+                ((IntrusiveEdge) moved).index = i;
+            }
+        }
+        modCount++;
+        edges[last] = null;
+        sources[last] = null;
+        targets[last] = null;
+    }
+
+    @Override
+    public double getEdgeWeight(E e)
+    {
+        int i = index(e);
+        return weighted ? weights[i] : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        if (!weighted) {
+            throw new UnsupportedOperationException();
+        }
+        weights[index(e)] = weight;
+        if (e instanceof IntrusiveWeightedEdge) {
+            ((IntrusiveWeightedEdge) e).weight = weight;
+        }
+    }
+
+    @Override
+    public int getEdgeIndexBound()
+    {
+        return size;
+    }
+
+    @Override
+    public int getEdgeIndex(E e)
+    {
+        if (e instanceof IntrusiveEdge) {
+            int i = ((IntrusiveEdge) e).index;
+            if (i >= 0 && i < size && edges[i] == e) {
+                return i;
+            }
+        }
+        if (indices.isEmpty()) {
+            return -1;
+        }
+        Integer i = indices.get(e);
+        return i == null ? -1 : i;
+    }
+
+    @Override
+    public E getEdge(int index)
+    {
+        return index >= 0 && index < size ? TypeUtil.uncheckedCast(edges[index]) : null;
+    }
+
+    @Override
+    public double getEdgeWeight(int index)
+    {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid edge index: " + index);
+        }
+        return weighted ? weights[index] : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    /**
+     * Whether an edge of the storage is mapped to its index, instead of storing it.
+     */
+    private boolean isMapped(E e)
+    {
+        return !(e instanceof IntrusiveEdge) || (!indices.isEmpty() && indices.containsKey(e));
+    }
+
+    /**
+     * Get the index of an edge which must exist.
+     */
+    private int index(E e)
+    {
+        int i = getEdgeIndex(e);
+        if (i < 0) {
+            throw new IllegalArgumentException("no such edge in graph: " + e);
+        }
+        return i;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > edges.length) {
+            int newCapacity = (int) Math.min(
+                MAX_CAPACITY,
+                Math.max((long) capacity, Math.max(DEFAULT_CAPACITY, edges.length * 3L / 2)));
+            edges = Arrays.copyOf(edges, newCapacity);
+            sources = Arrays.copyOf(sources, newCapacity);
+            targets = Arrays.copyOf(targets, newCapacity);
+            if (weighted) {
+                weights = Arrays.copyOf(weights, newCapacity);
+            }
+        }
+    }
+
+    /**
+     * An unmodifiable view of the edges, in the order of their indices.
+     */
+    private class EdgeSet
+        extends
+        AbstractSet<E>
+    {
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new Iterator<E>()
+            {
+                private final int expectedModCount = modCount;
+                private int next = 0;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next < size;
+                }
+
+                @Override
+                public E next()
+                {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return TypeUtil.uncheckedCast(edges[next++]);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return getEdgeIndex(TypeUtil.uncheckedCast(o)) >= 0;
+        }
+    }
+}
+
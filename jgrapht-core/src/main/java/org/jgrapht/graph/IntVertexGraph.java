@@ -0,0 +1,77 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.function.*;
+
+/**
+ * A graph whose vertices are non-negative integers.
+ * 
+ * <p>
+ * The graph uses the {@link FastLookupIntVertexGraphSpecificsStrategy} which replaces the hash maps
+ * of the default graph implementations with arrays indexed by the vertices and with an
+ * open-addressing table for the edge retrievals between pairs of vertices. This results in less
+ * memory and faster lookups, as long as the vertices are dense, i.e. close to the range $[0, n)$
+ * where $n$ is the number of vertices. The vertex set iterates in ascending order. By default the
+ * graph uses a vertex supplier which returns consecutive integers starting from zero.
+ * 
+ * <p>
+ * The type of the graph (directed or undirected, weighted, with multiple edges or self-loops) is
+ * given at construction time.
+ * 
+ * @param <E> the graph edge type
+ * 
+ * @author agent
+ */
+public class IntVertexGraph<E>
+    extends
+    AbstractBaseGraph<Integer, E>
+{
+    private static final long serialVersionUID = -1263088497616142427L;
+
+    /**
+     * Creates a new graph.
+     * 
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public IntVertexGraph(Supplier<E> edgeSupplier, GraphType type)
+    {
+        this(SupplierUtil.createIntegerSupplier(), edgeSupplier, type);
+    }
+
+    /**
+     * Creates a new graph.
+     * 
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public IntVertexGraph(
+        Supplier<Integer> vertexSupplier, Supplier<E> edgeSupplier, GraphType type)
+    {
+        super(
+            vertexSupplier, edgeSupplier, type, new FastLookupIntVertexGraphSpecificsStrategy<>());
+    }
+
+}
@@ -36,6 +36,12 @@ class IntrusiveEdge
 
     Object target;
 
+    /*
+     * Index of the edge in storages which keep their edges in arrays. It is only a hint which is
+     * validated by the storage, since the same edge object may be added to several graphs.
+     */
+    int index = -1;
+
     /**
      * @see Object#clone()
      */
@@ -43,7 +49,9 @@ class IntrusiveEdge
     public Object clone()
     {
         try {
-            return super.clone();
+            IntrusiveEdge clone = (IntrusiveEdge) super.clone();
+            clone.index = -1;
+            return clone;
         } catch (CloneNotSupportedException e) {
             // shouldn't happen as we are Cloneable
             throw new InternalError();
@@ -0,0 +1,108 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.function.*;
+
+/**
+ * A graph whose edges are implicit long identifiers.
+ * 
+ * <p>
+ * Edges are plain {@link Long} identifiers provided by a sequential supplier and no edge objects
+ * are allocated by the graph. The source, target and weight of each edge are kept in parallel
+ * arrays indexed by the identifier, which makes {@link #getEdgeSource(Object)},
+ * {@link #getEdgeTarget(Object)} and {@link #getEdgeWeight(Object)} simple array reads. This graph
+ * is suitable for large graphs whose edges carry no attributes other than a weight.
+ * 
+ * <p>
+ * Edges can also be added with explicit identifiers using {@link #addEdge(Object, Object, Object)},
+ * in which case the identifiers should be dense and non-negative. Identifiers of removed edges are
+ * not reused.
+ * 
+ * <p>
+ * By default the vertex related specifics are created by a {@link DefaultGraphSpecificsStrategy},
+ * so that {@link #getEdge(Object, Object)} and {@link #containsEdge(Object, Object)} scan the
+ * edges of one of the endpoints. A {@link FastLookupGraphSpecificsStrategy} can be passed to the
+ * constructor instead, which answers these queries in expected constant time by keeping an
+ * additional map from each pair of adjacent vertices to their edges. This map stores a pair
+ * object and an edge set per pair of adjacent vertices, which can outweigh the memory saved by
+ * the implicit edges.
+ * 
+ * @param <V> the graph vertex type
+ * 
+ * @author agent
+ * @see LongEdgeGraphSpecificsStrategy
+ */
+public class LongEdgeGraph<V>
+    extends
+    AbstractBaseGraph<V, Long>
+{
+    private static final long serialVersionUID = 5518469410729467532L;
+
+    /**
+     * Creates a new graph.
+     * 
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param type the graph type
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public LongEdgeGraph(Supplier<V> vertexSupplier, GraphType type)
+    {
+        this(vertexSupplier, type, new DefaultGraphSpecificsStrategy<>());
+    }
+
+    /**
+     * Creates a new graph with a custom strategy for the vertex related specifics, such as a
+     * {@link FastLookupGraphSpecificsStrategy} for constant time edge retrievals.
+     * 
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param type the graph type
+     * @param vertexSpecificsStrategy the strategy to use for the vertex related specifics
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public LongEdgeGraph(
+        Supplier<V> vertexSupplier, GraphType type,
+        GraphSpecificsStrategy<V, Long> vertexSpecificsStrategy)
+    {
+        super(
+            vertexSupplier, SupplierUtil.createLongSupplier(), type,
+            new LongEdgeGraphSpecificsStrategy<>(vertexSpecificsStrategy));
+    }
+
+    /**
+     * Returns a shallow copy of this graph instance. Since the weights are not stored in edge
+     * objects, they are explicitly copied to the new graph.
+     *
+     * @return a shallow copy of this graph.
+     */
+    @Override
+    public Object clone()
+    {
+        LongEdgeGraph<V> newGraph = TypeUtil.uncheckedCast(super.clone());
+        if (getType().isWeighted()) {
+            for (Long e : edgeSet()) {
+                newGraph.setEdgeWeight(e, getEdgeWeight(e));
+            }
+        }
+        return newGraph;
+    }
+
+}
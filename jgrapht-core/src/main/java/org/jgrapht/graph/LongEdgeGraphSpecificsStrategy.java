@@ -0,0 +1,92 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.specifics.Specifics;
+
+/**
+ * A specifics strategy for graphs whose edges are implicit long identifiers.
+ * 
+ * <p>
+ * Graphs constructed using this strategy do not associate any object with their edges. The
+ * endpoints and weights of the edges are stored in parallel arrays indexed by the edge identifier,
+ * see {@link LongEdgeIntrusiveEdgesSpecifics}. The vertex related specifics are delegated to
+ * another strategy, by default the {@link DefaultGraphSpecificsStrategy}.
+ * 
+ * @author agent
+ *
+ * @param <V> the graph vertex type
+ */
+public class LongEdgeGraphSpecificsStrategy<V>
+    implements GraphSpecificsStrategy<V, Long>
+{
+    private static final long serialVersionUID = -2749128733496232617L;
+
+    private final GraphSpecificsStrategy<V, Long> vertexSpecificsStrategy;
+
+    /**
+     * Create a new strategy.
+     */
+    public LongEdgeGraphSpecificsStrategy()
+    {
+        this(new DefaultGraphSpecificsStrategy<>());
+    }
+
+    /**
+     * Create a new strategy.
+     * 
+     * @param vertexSpecificsStrategy the strategy to use for the vertex related specifics
+     */
+    public LongEdgeGraphSpecificsStrategy(GraphSpecificsStrategy<V, Long> vertexSpecificsStrategy)
+    {
+        this.vertexSpecificsStrategy = Objects.requireNonNull(vertexSpecificsStrategy);
+    }
+
+    /**
+     * Get a function which creates the intrusive edges specifics. The factory will accept the graph
+     * type as a parameter.
+     * 
+     * @return a function which creates intrusive edges specifics.
+     */
+    @Override
+    public Function<GraphType, IntrusiveEdgesSpecifics<V, Long>> getIntrusiveEdgesSpecificsFactory()
+    {
+        return (Function<GraphType, IntrusiveEdgesSpecifics<V, Long>> & Serializable) (
+            type) -> new LongEdgeIntrusiveEdgesSpecifics<>(type.isWeighted());
+    }
+
+    /**
+     * Get a function which creates the specifics. The factory will accept the graph type as a
+     * parameter.
+     * 
+     * @return a function which creates intrusive edges specifics.
+     */
+    @Override
+    public BiFunction<Graph<V, Long>, GraphType, Specifics<V, Long>> getSpecificsFactory()
+    {
+        return vertexSpecificsStrategy.getSpecificsFactory();
+    }
+
+}
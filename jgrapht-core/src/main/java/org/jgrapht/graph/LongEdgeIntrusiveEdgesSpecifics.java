@@ -0,0 +1,288 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * An intrusive edges specifics for graphs whose edges are implicit long identifiers.
+ * 
+ * <p>
+ * No object is associated with an edge. Instead the edge identifier is used as an index into
+ * parallel arrays which store the source, the target and (if the graph is weighted) the weight of
+ * each edge. Retrieving the endpoints or the weight of an edge is therefore a plain array read and
+ * no map from edges to endpoints is maintained.
+ * 
+ * <p>
+ * The identifiers are expected to be dense, e.g. provided by
+ * {@link SupplierUtil#createLongSupplier()}, since memory is proportional to the largest
+ * identifier. Identifiers of removed edges are not reclaimed by the storage. Identifiers must be
+ * non-negative and less than {@link Integer#MAX_VALUE}. The edge set iterates in ascending order
+ * of the identifiers. The identifier of an edge is also its index in the sense of
+ * {@link IndexedEdgeWeights}.
+ * 
+ * @param <V> the graph vertex type
+ * 
+ * @author agent
+ */
+public class LongEdgeIntrusiveEdgesSpecifics<V>
+    implements
+    IntrusiveEdgesSpecifics<V, Long>,
+    IndexedEdgeWeights<Long>
+{
+    private static final long serialVersionUID = 6280936312407196813L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final boolean weighted;
+    private Object[] sources;
+    private Object[] targets;
+    private double[] weights;
+    private int size;
+    private transient Set<Long> unmodifiableEdgeSet = null;
+
+    /**
+     * Constructor
+     * 
+     * @param weighted whether the edges are weighted
+     */
+    public LongEdgeIntrusiveEdgesSpecifics(boolean weighted)
+    {
+        this(weighted, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param weighted whether the edges are weighted
+     * @param expectedEdgeCount the expected number of edges
+     * @throws IllegalArgumentException if the expected number of edges is negative
+     */
+    public LongEdgeIntrusiveEdgesSpecifics(boolean weighted, int expectedEdgeCount)
+    {
+        if (expectedEdgeCount < 0) {
+            throw new IllegalArgumentException("Expected edge count must be non-negative");
+        }
+        this.weighted = weighted;
+        this.sources = new Object[expectedEdgeCount];
+        this.targets = new Object[expectedEdgeCount];
+        this.weights = weighted ? new double[expectedEdgeCount] : null;
+        this.size = 0;
+    }
+
+    @Override
+    public V getEdgeSource(Long e)
+    {
+        return TypeUtil.uncheckedCast(sources[index(e)]);
+    }
+
+    @Override
+    public V getEdgeTarget(Long e)
+    {
+        return TypeUtil.uncheckedCast(targets[index(e)]);
+    }
+
+    @Override
+    public boolean add(Long e, V sourceVertex, V targetVertex)
+    {
+        long id = e;
+        if (id < 0 || id >= MAX_CAPACITY) {
+            throw new IllegalArgumentException("Edge identifier out of range: " + id);
+        }
+        int i = (int) id;
+        if (i < sources.length && sources[i] != null) {
+            return false;
+        }
+        ensureCapacity(i + 1);
+        sources[i] = Objects.requireNonNull(sourceVertex);
+        targets[i] = Objects.requireNonNull(targetVertex);
+        if (weighted) {
+            weights[i] = Graph.DEFAULT_EDGE_WEIGHT;
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean containsEdge(Long e)
+    {
+        return find(e) >= 0;
+    }
+
+    @Override
+    public Set<Long> getEdgeSet()
+    {
+        if (unmodifiableEdgeSet == null) {
+            unmodifiableEdgeSet = new EdgeSet();
+        }
+        return unmodifiableEdgeSet;
+    }
+
+    @Override
+    public void remove(Long e)
+    {
+        int i = find(e);
+        if (i >= 0) {
+            sources[i] = null;
+            targets[i] = null;
+            size--;
+        }
+    }
+
+    @Override
+    public double getEdgeWeight(Long e)
+    {
+        int i = index(e);
+        return weighted ? weights[i] : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(Long e, double weight)
+    {
+        if (!weighted) {
+            throw new UnsupportedOperationException();
+        }
+        weights[index(e)] = weight;
+    }
+
+    @Override
+    public int getEdgeIndexBound()
+    {
+        return sources.length;
+    }
+
+    @Override
+    public int getEdgeIndex(Long e)
+    {
+        return find(e);
+    }
+
+    @Override
+    public Long getEdge(int index)
+    {
+        return index >= 0 && index < sources.length && sources[index] != null ? (long) index
+            : null;
+    }
+
+    @Override
+    public double getEdgeWeight(int index)
+    {
+        if (index < 0 || index >= sources.length || sources[index] == null) {
+            throw new IndexOutOfBoundsException("Invalid edge index: " + index);
+        }
+        return weighted ? weights[index] : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    /**
+     * Get the index of an edge which must exist.
+     */
+    private int index(Long e)
+    {
+        int i = find(e);
+        if (i < 0) {
+            throw new IllegalArgumentException("no such edge in graph: " + e);
+        }
+        return i;
+    }
+
+    /**
+     * Get the index of an edge or -1 if the edge does not exist.
+     */
+    private int find(Object e)
+    {
+        if (e instanceof Long) {
+            long id = (Long) e;
+            if (id >= 0 && id < sources.length && sources[(int) id] != null) {
+                return (int) id;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > sources.length) {
+            int newCapacity = (int) Math.min(
+                MAX_CAPACITY,
+                Math.max((long) capacity, Math.max(DEFAULT_CAPACITY, sources.length * 3L / 2)));
+            sources = Arrays.copyOf(sources, newCapacity);
+            targets = Arrays.copyOf(targets, newCapacity);
+            if (weighted) {
+                weights = Arrays.copyOf(weights, newCapacity);
+            }
+        }
+    }
+
+    /**
+     * Unmodifiable view of the edges, in ascending order of their identifiers.
+     */
+    private class EdgeSet
+        extends
+        AbstractSet<Long>
+    {
+        @Override
+        public Iterator<Long> iterator()
+        {
+            return new Iterator<Long>()
+            {
+                private int next = advance(0);
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next < sources.length;
+                }
+
+                @Override
+                public Long next()
+                {
+                    if (next >= sources.length) {
+                        throw new NoSuchElementException();
+                    }
+                    int cur = next;
+                    next = advance(next + 1);
+                    return (long) cur;
+                }
+
+                private int advance(int i)
+                {
+                    while (i < sources.length && sources[i] == null) {
+                        i++;
+                    }
+                    return i;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return find(o) >= 0;
+        }
+    }
+}
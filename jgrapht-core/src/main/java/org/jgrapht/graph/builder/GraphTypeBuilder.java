@@ -19,8 +19,11 @@ package org.jgrapht.graph.builder;
 
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.graph.specifics.*;
 import org.jgrapht.util.*;
 
+import java.io.*;
+import java.util.*;
 import java.util.function.*;
 
 /**
@@ -63,6 +66,24 @@ import java.util.function.*;
  * 
  * </blockquote>
  * 
+ * <p>
+ * Large graphs can be bulk loaded by providing the expected number of vertices and edges, in which
+ * case the graph is constructed using a presized {@link FastLookupGraphSpecificsStrategy}:
+ * <blockquote>
+ * 
+ * <pre>
+ * Graph&lt;Integer, DefaultEdge&gt; g = GraphTypeBuilder
+ *     .&lt;Integer, DefaultEdge&gt; directed().allowingMultipleEdges(true).allowingSelfLoops(true)
+ *     .edgeClass(DefaultEdge.class).expectedVertexCount(n).expectedEdgeCount(m).buildGraphBuilder()
+ *     .addEdges(sources, targets).build();
+ * </pre>
+ * 
+ * </blockquote>
+ * 
+ * <p>
+ * Calling {@link #indexedEdges(boolean)} constructs a graph which keeps its edge weights in a
+ * contiguous primitive array, see {@link IndexedEdgesGraphSpecificsStrategy}.
+ * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * 
@@ -80,6 +101,9 @@ public final class GraphTypeBuilder<V, E>
     private boolean allowingSelfLoops;
     private Supplier<V> vertexSupplier;
     private Supplier<E> edgeSupplier;
+    private int expectedVertexCount;
+    private int expectedEdgeCount;
+    private boolean indexedEdges;
 
     private GraphTypeBuilder(boolean directed, boolean undirected)
     {
@@ -88,6 +112,9 @@ public final class GraphTypeBuilder<V, E>
         this.weighted = false;
         this.allowingMultipleEdges = false;
         this.allowingSelfLoops = false;
+        this.expectedVertexCount = -1;
+        this.expectedEdgeCount = -1;
+        this.indexedEdges = false;
     }
 
     /**
@@ -253,6 +280,62 @@ public final class GraphTypeBuilder<V, E>
         return newBuilder;
     }
 
+    /**
+     * Set the expected number of vertices of the graph. When the expected number of vertices or
+     * edges is provided, the graph is constructed with internal data structures which are presized
+     * accordingly. A graph loaded through {@link #buildGraphBuilder()} additionally builds the
+     * index used for edge retrievals once, when {@link GraphBuilder#build()} is called.
+     * 
+     * @param expectedVertexCount the expected number of vertices
+     * @return the graph type builder
+     * @throws IllegalArgumentException if the expected number of vertices is negative
+     * @see FastLookupGraphSpecificsStrategy#FastLookupGraphSpecificsStrategy(int, int)
+     */
+    public GraphTypeBuilder<V, E> expectedVertexCount(int expectedVertexCount)
+    {
+        if (expectedVertexCount < 0) {
+            throw new IllegalArgumentException("Expected vertex count must be non-negative");
+        }
+        this.expectedVertexCount = expectedVertexCount;
+        return this;
+    }
+
+    /**
+     * Set the expected number of edges of the graph. When the expected number of vertices or edges
+     * is provided, the graph is constructed with internal data structures which are presized
+     * accordingly. A graph loaded through {@link #buildGraphBuilder()} additionally builds the
+     * index used for edge retrievals once, when {@link GraphBuilder#build()} is called.
+     * 
+     * @param expectedEdgeCount the expected number of edges
+     * @return the graph type builder
+     * @throws IllegalArgumentException if the expected number of edges is negative
+     * @see FastLookupGraphSpecificsStrategy#FastLookupGraphSpecificsStrategy(int, int)
+     */
+    public GraphTypeBuilder<V, E> expectedEdgeCount(int expectedEdgeCount)
+    {
+        if (expectedEdgeCount < 0) {
+            throw new IllegalArgumentException("Expected edge count must be non-negative");
+        }
+        this.expectedEdgeCount = expectedEdgeCount;
+        return this;
+    }
+
+    /**
+     * Set whether the graph should store its edges in arrays indexed by an internal edge
+     * identifier. Such graphs keep their edge weights in a contiguous primitive array, which
+     * algorithms can read without hashing.
+     * 
+     * @param indexedEdges whether to use an indexed edge storage
+     * @return the graph type builder
+     * @see IndexedEdgesGraphSpecificsStrategy
+     * @see IndexedEdgeWeights
+     */
+    public GraphTypeBuilder<V, E> indexedEdges(boolean indexedEdges)
+    {
+        this.indexedEdges = indexedEdges;
+        return this;
+    }
+
     /**
      * Build the graph type.
      * 
@@ -276,11 +359,17 @@ public final class GraphTypeBuilder<V, E>
     /**
      * Build the graph and acquire a {@link GraphBuilder} in order to add vertices and edges.
      * 
+     * <p>
+     * When the expected number of vertices or edges has been provided, the graph is bulk loaded:
+     * the index used for edge retrievals is not maintained and graphs which do not allow multiple
+     * edges do not look for an existing edge on every insertion. Both happen once, in one pass,
+     * when {@link GraphBuilder#build()} is called.
+     * 
      * @return a graph builder
      */
     public GraphBuilder<V, E, Graph<V, E>> buildGraphBuilder()
     {
-        return new GraphBuilder<V, E, Graph<V, E>>(buildGraph());
+        return new GraphBuilder<V, E, Graph<V, E>>(buildGraph(true));
     }
 
     /**
@@ -290,9 +379,32 @@ public final class GraphTypeBuilder<V, E>
      * @throws UnsupportedOperationException in case a graph type is not supported
      */
     public Graph<V, E> buildGraph()
+    {
+        return buildGraph(false);
+    }
+
+    private Graph<V, E> buildGraph(boolean bulkLoading)
     {
         if (directed && undirected) {
             throw new UnsupportedOperationException("Mixed graphs are not supported");
+        } else if (expectedVertexCount >= 0 || expectedEdgeCount >= 0 || indexedEdges) {
+            GraphSpecificsStrategy<V, E> strategy;
+            boolean presized = expectedVertexCount >= 0 || expectedEdgeCount >= 0;
+            if (presized) {
+                strategy = new FastLookupGraphSpecificsStrategy<>(
+                    Math.max(expectedVertexCount, 0), Math.max(expectedEdgeCount, 0),
+                    bulkLoading);
+            } else {
+                strategy = new FastLookupGraphSpecificsStrategy<>();
+            }
+            if (indexedEdges) {
+                strategy = new IndexedEdgesGraphSpecificsStrategy<>(
+                    strategy, Math.max(expectedEdgeCount, 0));
+            }
+            if (presized && bulkLoading) {
+                strategy = new BulkLoadingStrategy<>(strategy);
+            }
+            return new StrategyGraph<>(vertexSupplier, edgeSupplier, buildType(), strategy);
         } else if (directed) {
             if (allowingSelfLoops && allowingMultipleEdges) {
                 if (weighted) {
@@ -350,4 +462,180 @@ public final class GraphTypeBuilder<V, E>
         }
     }
 
+    /**
+     * A graph whose specifics are constructed by an explicit strategy.
+     * 
+     * <p>
+     * A graph constructed by a {@link BulkLoadingStrategy} is bulk loaded until
+     * {@link #finishBulkLoading()} is called. In the meantime edge retrievals scan the edges of the
+     * vertices and an insertion in a graph without multiple edges does not check whether the edge
+     * already exists. The duplicate edges are removed when loading finishes.
+     */
+    static class StrategyGraph<V, E>
+        extends
+        AbstractBaseGraph<V, E>
+    {
+        private static final long serialVersionUID = 4352101478493457619L;
+
+        private final BulkLoadingStrategy<V, E> bulkLoadingStrategy;
+        private boolean bulkLoading;
+
+        StrategyGraph(
+            Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type,
+            GraphSpecificsStrategy<V, E> graphSpecificsStrategy)
+        {
+            super(vertexSupplier, edgeSupplier, type, graphSpecificsStrategy);
+            if (graphSpecificsStrategy instanceof BulkLoadingStrategy) {
+                this.bulkLoadingStrategy = (BulkLoadingStrategy<V, E>) graphSpecificsStrategy;
+                this.bulkLoading = true;
+            } else {
+                this.bulkLoadingStrategy = null;
+                this.bulkLoading = false;
+            }
+        }
+
+        @Override
+        public boolean containsEdge(V sourceVertex, V targetVertex)
+        {
+            if (bulkLoading) {
+                return false;
+            }
+            return super.containsEdge(sourceVertex, targetVertex);
+        }
+
+        @Override
+        public E removeEdge(V sourceVertex, V targetVertex)
+        {
+            E e = super.removeEdge(sourceVertex, targetVertex);
+            if (bulkLoading && e != null && !getType().isAllowingMultipleEdges()) {
+                // remove the duplicates which have not been discarded yet
+                while (super.removeEdge(sourceVertex, targetVertex) != null) {
+                }
+            }
+            return e;
+        }
+
+        /**
+         * Finish bulk loading by building the index used for edge retrievals and removing the
+         * duplicate edges of graphs which do not allow multiple edges.
+         */
+        void finishBulkLoading()
+        {
+            if (!bulkLoading) {
+                return;
+            }
+            bulkLoading = false;
+            bulkLoadingStrategy.buildIndex();
+
+            if (!getType().isAllowingMultipleEdges()) {
+                // keep the first edge between each pair of vertices
+                List<E> duplicates = new ArrayList<>();
+                for (E e : edgeSet()) {
+                    if (getEdge(getEdgeSource(e), getEdgeTarget(e)) != e) {
+                        duplicates.add(e);
+                    }
+                }
+                removeAllEdges(duplicates);
+            }
+        }
+
+        /**
+         * Whether the index used for edge retrievals has not been built yet.
+         * 
+         * @return true if the index has not been built yet, false otherwise
+         */
+        boolean isIndexDeferred()
+        {
+            return bulkLoadingStrategy != null && bulkLoadingStrategy.isIndexDeferred();
+        }
+    }
+
+    /**
+     * A strategy which keeps the specifics it creates with a deferred index, so that their index
+     * can be built when bulk loading finishes. Specifics created afterwards, e.g. by cloning the
+     * graph, build their index immediately.
+     */
+    private static class BulkLoadingStrategy<V, E>
+        implements
+        GraphSpecificsStrategy<V, E>
+    {
+        private static final long serialVersionUID = -3160474356298146458L;
+
+        private final GraphSpecificsStrategy<V, E> delegate;
+        private Specifics<V, E> specifics;
+        private boolean loaded;
+
+        BulkLoadingStrategy(GraphSpecificsStrategy<V, E> delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Function<GraphType,
+            IntrusiveEdgesSpecifics<V, E>> getIntrusiveEdgesSpecificsFactory()
+        {
+            return delegate.getIntrusiveEdgesSpecificsFactory();
+        }
+
+        @Override
+        public BiFunction<Graph<V, E>, GraphType, Specifics<V, E>> getSpecificsFactory()
+        {
+            BiFunction<Graph<V, E>, GraphType, Specifics<V, E>> factory =
+                delegate.getSpecificsFactory();
+            return (BiFunction<Graph<V, E>, GraphType,
+                Specifics<V, E>> & Serializable) (graph, type) -> {
+                    Specifics<V, E> result = factory.apply(graph, type);
+                    if (loaded) {
+                        buildIndex(result);
+                    } else {
+                        specifics = result;
+                    }
+                    return result;
+                };
+        }
+
+        @Override
+        public <K1, V1> Supplier<Map<K1, V1>> getPredictableOrderMapFactory()
+        {
+            return delegate.getPredictableOrderMapFactory();
+        }
+
+        @Override
+        public <K1, V1> Supplier<Map<K1, V1>> getMapFactory()
+        {
+            return delegate.getMapFactory();
+        }
+
+        @Override
+        public EdgeSetFactory<V, E> getEdgeSetFactory()
+        {
+            return delegate.getEdgeSetFactory();
+        }
+
+        void buildIndex()
+        {
+            loaded = true;
+            buildIndex(specifics);
+        }
+
+        boolean isIndexDeferred()
+        {
+            if (specifics instanceof FastLookupDirectedSpecifics) {
+                return ((FastLookupDirectedSpecifics<V, E>) specifics).isIndexDeferred();
+            } else if (specifics instanceof FastLookupUndirectedSpecifics) {
+                return ((FastLookupUndirectedSpecifics<V, E>) specifics).isIndexDeferred();
+            }
+            return false;
+        }
+
+        private static <V, E> void buildIndex(Specifics<V, E> specifics)
+        {
+            if (specifics instanceof FastLookupDirectedSpecifics) {
+                ((FastLookupDirectedSpecifics<V, E>) specifics).buildIndex();
+            } else if (specifics instanceof FastLookupUndirectedSpecifics) {
+                ((FastLookupUndirectedSpecifics<V, E>) specifics).buildIndex();
+            }
+        }
+    }
+
 }
@@ -62,6 +62,23 @@ import java.util.stream.*;
  * </p>
  *
  * <p>
+ * For read-mostly workloads an <em>optimistic read mode</em> is supported. When enabled, the
+ * lookups <code>getEdge</code>, <code>containsEdge</code>, <code>containsVertex</code>,
+ * <code>degreeOf</code>, <code>inDegreeOf</code>, <code>outDegreeOf</code>,
+ * <code>getEdgeSource</code>, <code>getEdgeTarget</code> and <code>getEdgeWeight</code>, as well as
+ * the <code>size</code>, <code>isEmpty</code> and <code>contains</code> methods of the vertex and
+ * edge sets, first execute without acquiring any lock, using the optimistic reads of a
+ * {@link StampedLock} which is write locked by all modifications. If a concurrent modification is
+ * detected, the result of the lookup, or any exception it has thrown while observing an
+ * inconsistent state, is discarded and the lookup is repeated while holding the read lock. This
+ * requires that the lookups of the backing graph have no side effects and terminate even if they
+ * observe a partially applied modification, which holds for the graphs of this library. Methods
+ * which copy collections, such as <code>getAllEdges</code> and <code>edgesOf</code>, always use the
+ * read lock. Since modifications acquire an additional lock, optimistic reads pay off only if
+ * modifications are rare.
+ * </p>
+ *
+ * <p>
  * Even though this graph implementation is thread-safe, callers should still be aware of potential
  * hazards from removal methods. If calling code obtains a reference to a vertex or edge from the
  * graph, and then calls another graph method to access information about that object, an
@@ -131,6 +148,9 @@ public class AsSynchronizedGraph<V, E>
 
     private CacheStrategy<V, E> cacheStrategy;
 
+    // Optimistic read support, also used to acquire the write lock.
+    private final OptimisticReader optimisticReader;
+
     /**
      * Constructor for AsSynchronizedGraph with default settings (cache disabled, non-fair mode, and
      * copyless mode disabled).
@@ -139,7 +159,7 @@ public class AsSynchronizedGraph<V, E>
      */
     public AsSynchronizedGraph(Graph<V, E> g)
     {
-        this(g, false, false, false);
+        this(g, false, false, false, false);
     }
 
     /**
@@ -149,11 +169,15 @@ public class AsSynchronizedGraph<V, E>
      * @param cacheEnable a flag describing whether a cache will be used
      * @param fair a flag describing whether fair mode will be used
      * @param copyless a flag describing whether copyless mode will be used
+     * @param optimisticReads a flag describing whether optimistic reads will be used
      */
-    private AsSynchronizedGraph(Graph<V, E> g, boolean cacheEnable, boolean fair, boolean copyless)
+    private AsSynchronizedGraph(
+        Graph<V, E> g, boolean cacheEnable, boolean fair, boolean copyless,
+        boolean optimisticReads)
     {
         super(g);
         readWriteLock = new ReentrantReadWriteLock(fair);
+        optimisticReader = new OptimisticReader(readWriteLock, optimisticReads);
         if (copyless) {
             cacheStrategy = new NoCopy();
         } else if (cacheEnable) {
@@ -161,8 +185,10 @@ public class AsSynchronizedGraph<V, E>
         } else {
             cacheStrategy = new NoCache();
         }
-        allEdgesSet = new CopyOnDemandSet<>(super.edgeSet(), readWriteLock, copyless);
-        allVerticesSet = new CopyOnDemandSet<>(super.vertexSet(), readWriteLock, copyless);
+        allEdgesSet =
+            new CopyOnDemandSet<>(super.edgeSet(), readWriteLock, optimisticReader, copyless);
+        allVerticesSet =
+            new CopyOnDemandSet<>(super.vertexSet(), readWriteLock, optimisticReader, copyless);
     }
 
     /**
@@ -185,13 +211,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public E getEdge(V sourceVertex, V targetVertex)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.getEdge(sourceVertex, targetVertex);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
-
+        return optimisticReader.read(() -> super.getEdge(sourceVertex, targetVertex));
     }
 
     /**
@@ -200,14 +220,14 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public E addEdge(V sourceVertex, V targetVertex)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             E e = cacheStrategy.addEdge(sourceVertex, targetVertex);
             if (e != null)
                 edgeSetModified();
             return e;
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -217,7 +237,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean addEdge(V sourceVertex, V targetVertex, E e)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             if (cacheStrategy.addEdge(sourceVertex, targetVertex, e)) {
                 edgeSetModified();
@@ -225,7 +245,7 @@ public class AsSynchronizedGraph<V, E>
             }
             return false;
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -235,7 +255,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean addVertex(V v)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             if (super.addVertex(v)) {
                 vertexSetModified();
@@ -243,7 +263,7 @@ public class AsSynchronizedGraph<V, E>
             }
             return false;
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -253,12 +273,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean containsEdge(V sourceVertex, V targetVertex)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.containsEdge(sourceVertex, targetVertex);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.containsEdge(sourceVertex, targetVertex));
     }
 
     /**
@@ -267,12 +282,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean containsEdge(E e)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.containsEdge(e);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.containsEdge(e));
     }
 
     /**
@@ -281,12 +291,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean containsVertex(V v)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.containsVertex(v);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.containsVertex(v));
     }
 
     /**
@@ -295,12 +300,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public int degreeOf(V vertex)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.degreeOf(vertex);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.degreeOf(vertex));
     }
 
     /**
@@ -332,12 +332,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public int inDegreeOf(V vertex)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.inDegreeOf(vertex);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.inDegreeOf(vertex));
     }
 
     /**
@@ -360,12 +355,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public int outDegreeOf(V vertex)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.outDegreeOf(vertex);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.outDegreeOf(vertex));
     }
 
     /**
@@ -388,11 +378,11 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean removeAllEdges(Collection<? extends E> edges)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             return super.removeAllEdges(edges);
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -402,11 +392,11 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public Set<E> removeAllEdges(V sourceVertex, V targetVertex)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             return super.removeAllEdges(sourceVertex, targetVertex);
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -416,11 +406,11 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean removeAllVertices(Collection<? extends V> vertices)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             return super.removeAllVertices(vertices);
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -430,7 +420,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean removeEdge(E e)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             if (cacheStrategy.removeEdge(e)) {
                 edgeSetModified();
@@ -438,7 +428,7 @@ public class AsSynchronizedGraph<V, E>
             }
             return false;
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -448,14 +438,14 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public E removeEdge(V sourceVertex, V targetVertex)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             E e = cacheStrategy.removeEdge(sourceVertex, targetVertex);
             if (e != null)
                 edgeSetModified();
             return e;
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -465,7 +455,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public boolean removeVertex(V v)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             if (cacheStrategy.removeVertex(v)) {
                 edgeSetModified();
@@ -474,7 +464,7 @@ public class AsSynchronizedGraph<V, E>
             }
             return false;
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -507,12 +497,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public V getEdgeSource(E e)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.getEdgeSource(e);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.getEdgeSource(e));
     }
 
     /**
@@ -521,12 +506,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public V getEdgeTarget(E e)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.getEdgeTarget(e);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.getEdgeTarget(e));
     }
 
     /**
@@ -535,12 +515,7 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public double getEdgeWeight(E e)
     {
-        readWriteLock.readLock().lock();
-        try {
-            return super.getEdgeWeight(e);
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        return optimisticReader.read(() -> super.getEdgeWeight(e));
     }
 
     /**
@@ -549,11 +524,11 @@ public class AsSynchronizedGraph<V, E>
     @Override
     public void setEdgeWeight(E e, double weight)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             super.setEdgeWeight(e, weight);
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -593,7 +568,7 @@ public class AsSynchronizedGraph<V, E>
      */
     public AsSynchronizedGraph<V, E> setCache(boolean cacheEnabled)
     {
-        readWriteLock.writeLock().lock();
+        long stamp = optimisticReader.lockWrite();
         try {
             if (cacheEnabled == isCacheEnabled())
                 return this;
@@ -603,7 +578,7 @@ public class AsSynchronizedGraph<V, E>
                 cacheStrategy = new NoCache();
             return this;
         } finally {
-            readWriteLock.writeLock().unlock();
+            optimisticReader.unlockWrite(stamp);
         }
     }
 
@@ -665,6 +640,16 @@ public class AsSynchronizedGraph<V, E>
         allEdgesSet.modified();
     }
 
+    /**
+     * Return whether optimistic reads are used for the lookups of this graph.
+     * 
+     * @return <tt>true</tt> if the graph uses optimistic reads, <tt>false</tt> otherwise
+     */
+    public boolean isOptimisticReads()
+    {
+        return optimisticReader.isEnabled();
+    }
+
     /**
      * Return whether fair mode is used for synchronizing access to this graph.
      * 
@@ -732,6 +717,8 @@ public class AsSynchronizedGraph<V, E>
 
         final ReadWriteLock readWriteLock;
 
+        final OptimisticReader optimisticReader;
+
         private static final String UNMODIFIABLE = "this set is unmodifiable";
 
         /**
@@ -739,13 +726,17 @@ public class AsSynchronizedGraph<V, E>
          * 
          * @param s the backing set.
          * @param readWriteLock the ReadWriteLock on which to locked
+         * @param optimisticReader the optimistic read support of the graph
          * @param copyless whether copyless mode should be used
          */
-        private CopyOnDemandSet(Set<E> s, ReadWriteLock readWriteLock, boolean copyless)
+        private CopyOnDemandSet(
+            Set<E> s, ReadWriteLock readWriteLock, OptimisticReader optimisticReader,
+            boolean copyless)
         {
             set = Objects.requireNonNull(s, "s must not be null");
             copy = null;
             this.readWriteLock = readWriteLock;
+            this.optimisticReader = optimisticReader;
             this.copyless = copyless;
         }
 
@@ -765,12 +756,7 @@ public class AsSynchronizedGraph<V, E>
         @Override
         public int size()
         {
-            readWriteLock.readLock().lock();
-            try {
-                return set.size();
-            } finally {
-                readWriteLock.readLock().unlock();
-            }
+            return optimisticReader.read(set::size);
         }
 
         /**
@@ -779,12 +765,7 @@ public class AsSynchronizedGraph<V, E>
         @Override
         public boolean isEmpty()
         {
-            readWriteLock.readLock().lock();
-            try {
-                return set.isEmpty();
-            } finally {
-                readWriteLock.readLock().unlock();
-            }
+            return optimisticReader.read(set::isEmpty);
         }
 
         /**
@@ -793,12 +774,7 @@ public class AsSynchronizedGraph<V, E>
         @Override
         public boolean contains(Object o)
         {
-            readWriteLock.readLock().lock();
-            try {
-                return set.contains(o);
-            } finally {
-                readWriteLock.readLock().unlock();
-            }
+            return optimisticReader.read(() -> set.contains(o));
         }
 
         /**
@@ -1407,6 +1383,109 @@ public class AsSynchronizedGraph<V, E>
         }
     }
 
+    /**
+     * Support for optimistic reads on top of the read/write lock of the graph.
+     *
+     * <p>
+     * All modifications acquire the write lock of the read/write lock, and additionally the write
+     * lock of a {@link StampedLock} if optimistic reads are enabled. Since the read/write lock is
+     * reentrant while the stamped lock is not, the stamped lock is only acquired by the outermost
+     * modification. An optimistic read executes without locking if neither lock is held for
+     * writing and validates its stamp afterwards. If validation fails, the read is repeated while
+     * holding the read lock. An exception thrown by an optimistic read is only propagated if the
+     * stamp is still valid, since otherwise it may be caused by a concurrent modification. Only
+     * lookups which neither modify nor copy state may be executed optimistically.
+     */
+    private static class OptimisticReader
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 2307196563479117583L;
+
+        private final ReentrantReadWriteLock readWriteLock;
+
+        // Null if optimistic reads are disabled.
+        private final StampedLock stampedLock;
+
+        // The stamp of the outermost modification, only accessed while holding the write lock.
+        private transient long writeStamp;
+
+        OptimisticReader(ReentrantReadWriteLock readWriteLock, boolean enabled)
+        {
+            this.readWriteLock = readWriteLock;
+            this.stampedLock = enabled ? new StampedLock() : null;
+            this.writeStamp = 0L;
+        }
+
+        boolean isEnabled()
+        {
+            return stampedLock != null;
+        }
+
+        /**
+         * Acquire the write lock.
+         *
+         * @return the stamp which must be passed to {@link #unlockWrite(long)}
+         */
+        long lockWrite()
+        {
+            readWriteLock.writeLock().lock();
+            if (stampedLock != null && writeStamp == 0L) {
+                writeStamp = stampedLock.writeLock();
+                return writeStamp;
+            }
+            return 0L;
+        }
+
+        /**
+         * Release the write lock.
+         *
+         * @param stamp the stamp returned by {@link #lockWrite()}
+         */
+        void unlockWrite(long stamp)
+        {
+            if (stamp != 0L) {
+                writeStamp = 0L;
+                stampedLock.unlockWrite(stamp);
+            }
+            readWriteLock.writeLock().unlock();
+        }
+
+        /**
+         * Get a stamp for an optimistic read, or zero if an optimistic read is not possible.
+         */
+        private long tryOptimisticRead()
+        {
+            if (stampedLock == null || readWriteLock.isWriteLocked()) {
+                return 0L;
+            }
+            return stampedLock.tryOptimisticRead();
+        }
+
+        <T> T read(Supplier<T> action)
+        {
+            long stamp = tryOptimisticRead();
+            if (stamp != 0L) {
+                try {
+                    T result = action.get();
+                    if (stampedLock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException e) {
+                    if (stampedLock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+            readWriteLock.readLock().lock();
+            try {
+                return action.get();
+            } finally {
+                readWriteLock.readLock().unlock();
+            }
+        }
+    }
+
     /**
      * A builder for {@link AsSynchronizedGraph}.
      *
@@ -1420,15 +1499,18 @@ public class AsSynchronizedGraph<V, E>
         private boolean cacheEnable;
         private boolean fair;
         private boolean copyless;
+        private boolean optimisticReads;
 
         /**
-         * Construct a new Builder with non-fair mode, cache disabled, and copyless mode disabled.
+         * Construct a new Builder with non-fair mode, cache disabled, copyless mode disabled and
+         * optimistic reads disabled.
          */
         public Builder()
         {
             cacheEnable = false;
             fair = false;
             copyless = false;
+            optimisticReads = false;
         }
 
         /**
@@ -1441,6 +1523,7 @@ public class AsSynchronizedGraph<V, E>
             this.cacheEnable = graph.isCacheEnabled();
             this.fair = graph.isFair();
             this.copyless = graph.isCopyless();
+            this.optimisticReads = graph.isOptimisticReads();
         }
 
         /**
@@ -1507,6 +1590,39 @@ public class AsSynchronizedGraph<V, E>
             return copyless;
         }
 
+        /**
+         * Request a synchronized graph which uses optimistic reads for its lookups and the sizes of
+         * its vertex and edge sets.
+         *
+         * @return the Builder
+         */
+        public Builder<V, E> setOptimisticReads()
+        {
+            optimisticReads = true;
+            return this;
+        }
+
+        /**
+         * Request a synchronized graph which always acquires the read lock for reading.
+         *
+         * @return the Builder
+         */
+        public Builder<V, E> clearOptimisticReads()
+        {
+            optimisticReads = false;
+            return this;
+        }
+
+        /**
+         * Return whether optimistic reads will be used for the synchronized graph being built.
+         *
+         * @return <tt>true</tt> if optimistic reads will be used, <tt>false</tt> otherwise
+         */
+        public boolean isOptimisticReads()
+        {
+            return optimisticReads;
+        }
+
         /**
          * Request a synchronized graph with fair mode.
          *
@@ -1547,7 +1663,7 @@ public class AsSynchronizedGraph<V, E>
          */
         public AsSynchronizedGraph<V, E> build(Graph<V, E> graph)
         {
-            return new AsSynchronizedGraph<>(graph, cacheEnable, fair, copyless);
+            return new AsSynchronizedGraph<>(graph, cacheEnable, fair, copyless, optimisticReads);
         }
     }
 }
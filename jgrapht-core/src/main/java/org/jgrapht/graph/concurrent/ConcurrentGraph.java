@@ -0,0 +1,588 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * A thread-safe graph which supports concurrent insertion and removal of vertices and edges from
+ * multiple threads.
+ *
+ * <p>
+ * Unlike {@link AsSynchronizedGraph}, which serializes all writers behind a single lock, this
+ * graph stores its vertices, edges and adjacency sets in concurrent hash maps and uses striped
+ * locks keyed by the vertices in order to keep the structure consistent. Modifications which touch
+ * disjoint sets of vertices only contend if their vertices hash to the same stripe. Read operations
+ * never lock.
+ *
+ * <p>
+ * All returned sets are unmodifiable. The sets returned by {@link #vertexSet()},
+ * {@link #edgeSet()}, {@link #incomingEdgesOf(Object)} and {@link #outgoingEdgesOf(Object)} are
+ * live views whose iterators are <i>weakly consistent</i>: they never throw
+ * {@link ConcurrentModificationException}, they traverse elements as they existed upon
+ * construction of the iterator exactly once, and may (but are not guaranteed to) reflect any
+ * modifications subsequent to construction. The set returned by {@link #edgesOf(Object)} of a
+ * directed graph is a copy.
+ *
+ * <p>
+ * Like {@link AsSynchronizedGraph}, callers should be aware that a vertex or edge obtained from the
+ * graph may be concurrently removed by another thread, in which case subsequent queries about it
+ * throw {@link IllegalArgumentException}. The vertex and edge suppliers are accessed while
+ * synchronizing on the supplier itself.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class ConcurrentGraph<V, E>
+    extends
+    AbstractGraph<V, E>
+    implements
+    Graph<V, E>,
+    Serializable
+{
+    private static final long serialVersionUID = -8276154298313066297L;
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+    private final Supplier<V> vertexSupplier;
+    private final Supplier<E> edgeSupplier;
+    private final GraphType type;
+
+    private final ConcurrentHashMap<V, VertexEntry<V, E>> vertexMap;
+    private final ConcurrentHashMap<E, EdgeEntry<V>> edgeMap;
+    private final ReentrantLock[] locks;
+
+    private transient Set<V> unmodifiableVertexSet;
+    private transient Set<E> unmodifiableEdgeSet;
+
+    /**
+     * Create a new graph.
+     * 
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public ConcurrentGraph(Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type)
+    {
+        this(vertexSupplier, edgeSupplier, type, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Create a new graph.
+     * 
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     * @param concurrencyLevel the estimated number of concurrently updating threads. The number of
+     *        lock stripes is the smallest power of two which is at least four times this value.
+     * @throws IllegalArgumentException if the graph type is mixed or the concurrency level is not
+     *         positive
+     */
+    public ConcurrentGraph(
+        Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type,
+        int concurrencyLevel)
+    {
+        this.vertexSupplier = vertexSupplier;
+        this.edgeSupplier = edgeSupplier;
+        this.type = Objects.requireNonNull(type);
+        if (type.isMixed()) {
+            throw new IllegalArgumentException("Mixed graph not supported");
+        }
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+        this.vertexMap = new ConcurrentHashMap<>(16, 0.75f, concurrencyLevel);
+        this.edgeMap = new ConcurrentHashMap<>(16, 0.75f, concurrencyLevel);
+
+        int stripes = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 4 - 1) << 1;
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<V, E> entry = vertexMap.get(sourceVertex);
+        if (entry == null || !vertexMap.containsKey(targetVertex)) {
+            return null;
+        }
+        Set<E> result = new LinkedHashSet<>();
+        for (Map.Entry<E, EdgeEntry<V>> e : entry.outgoing.entrySet()) {
+            if (connects(e.getValue(), sourceVertex, targetVertex)) {
+                result.add(e.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<V, E> entry = vertexMap.get(sourceVertex);
+        if (entry == null || !vertexMap.containsKey(targetVertex)) {
+            return null;
+        }
+        for (Map.Entry<E, EdgeEntry<V>> e : entry.outgoing.entrySet()) {
+            if (connects(e.getValue(), sourceVertex, targetVertex)) {
+                return e.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier()
+    {
+        return vertexSupplier;
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier()
+    {
+        return edgeSupplier;
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex)
+    {
+        if (edgeSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no edge supplier");
+        }
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+
+        E e;
+        synchronized (edgeSupplier) {
+            e = edgeSupplier.get();
+        }
+        return insertEdge(sourceVertex, targetVertex, e) ? e : null;
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+        return insertEdge(sourceVertex, targetVertex, e);
+    }
+
+    @Override
+    public V addVertex()
+    {
+        if (vertexSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no vertex supplier");
+        }
+        V v;
+        synchronized (vertexSupplier) {
+            v = vertexSupplier.get();
+        }
+        return addVertex(v) ? v : null;
+    }
+
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        }
+        if (vertexMap.containsKey(v)) {
+            return false;
+        }
+        return vertexMap.putIfAbsent(v, new VertexEntry<>(type.isDirected())) == null;
+    }
+
+    @Override
+    public boolean containsEdge(E e)
+    {
+        return e != null && edgeMap.containsKey(e);
+    }
+
+    @Override
+    public boolean containsVertex(V v)
+    {
+        return v != null && vertexMap.containsKey(v);
+    }
+
+    @Override
+    public Set<E> edgeSet()
+    {
+        if (unmodifiableEdgeSet == null) {
+            unmodifiableEdgeSet = Collections.unmodifiableSet(edgeMap.keySet());
+        }
+        return unmodifiableEdgeSet;
+    }
+
+    @Override
+    public int degreeOf(V vertex)
+    {
+        VertexEntry<V, E> entry = getEntry(vertex);
+        if (type.isDirected()) {
+            return entry.incoming.size() + entry.outgoing.size();
+        }
+        return entry.outgoing.size() + entry.loops.get();
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex)
+    {
+        VertexEntry<V, E> entry = getEntry(vertex);
+        if (!type.isDirected()) {
+            return entry.unmodifiableOutgoing;
+        }
+        Set<E> result = new LinkedHashSet<>(entry.outgoing.keySet());
+        result.addAll(entry.incoming.keySet());
+        return Collections.unmodifiableSet(result);
+    }
+
+    @Override
+    public int inDegreeOf(V vertex)
+    {
+        if (!type.isDirected()) {
+            return degreeOf(vertex);
+        }
+        return getEntry(vertex).incoming.size();
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex)
+    {
+        return getEntry(vertex).unmodifiableIncoming;
+    }
+
+    @Override
+    public int outDegreeOf(V vertex)
+    {
+        if (!type.isDirected()) {
+            return degreeOf(vertex);
+        }
+        return getEntry(vertex).outgoing.size();
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return getEntry(vertex).unmodifiableOutgoing;
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        while (true) {
+            E e = getEdge(sourceVertex, targetVertex);
+            if (e == null) {
+                return null;
+            }
+            if (removeEdge(e)) {
+                return e;
+            }
+            // removed concurrently by another thread, retry
+        }
+    }
+
+    @Override
+    public boolean removeEdge(E e)
+    {
+        if (e == null) {
+            return false;
+        }
+        EdgeEntry<V> ee = edgeMap.get(e);
+        if (ee == null) {
+            return false;
+        }
+        lock(ee.source, ee.target);
+        try {
+            if (!edgeMap.remove(e, ee)) {
+                return false;
+            }
+            VertexEntry<V, E> sourceEntry = vertexMap.get(ee.source);
+            VertexEntry<V, E> targetEntry = vertexMap.get(ee.target);
+            sourceEntry.outgoing.remove(e);
+            if (type.isDirected()) {
+                targetEntry.incoming.remove(e);
+            } else if (ee.source.equals(ee.target)) {
+                sourceEntry.loops.decrementAndGet();
+            } else {
+                targetEntry.outgoing.remove(e);
+            }
+            return true;
+        } finally {
+            unlock(ee.source, ee.target);
+        }
+    }
+
+    @Override
+    public boolean removeVertex(V v)
+    {
+        VertexEntry<V, E> entry = vertexMap.get(v);
+        if (entry == null) {
+            return false;
+        }
+        ReentrantLock lock = lockFor(v);
+        while (true) {
+            /*
+             * Edges are removed without holding the lock of the vertex, since removing an edge
+             * requires the locks of both its endpoints in a fixed order. Once no edges remain, the
+             * vertex is removed while holding its lock, which excludes concurrent insertions of
+             * edges touching it.
+             */
+            for (E e : entry.outgoing.keySet()) {
+                removeEdge(e);
+            }
+            for (E e : entry.incoming.keySet()) {
+                removeEdge(e);
+            }
+            lock.lock();
+            try {
+                if (vertexMap.get(v) != entry) {
+                    return false;
+                }
+                if (entry.outgoing.isEmpty() && entry.incoming.isEmpty()) {
+                    vertexMap.remove(v);
+                    return true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Set<V> vertexSet()
+    {
+        if (unmodifiableVertexSet == null) {
+            unmodifiableVertexSet = Collections.unmodifiableSet(vertexMap.keySet());
+        }
+        return unmodifiableVertexSet;
+    }
+
+    @Override
+    public V getEdgeSource(E e)
+    {
+        return getEdgeEntry(e).source;
+    }
+
+    @Override
+    public V getEdgeTarget(E e)
+    {
+        return getEdgeEntry(e).target;
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        EdgeEntry<V> ee = getEdgeEntry(e);
+        return type.isWeighted() ? ee.weight : Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (!type.isWeighted()) {
+            throw new UnsupportedOperationException();
+        }
+        getEdgeEntry(e).weight = weight;
+    }
+
+    /**
+     * Insert an edge between two vertices while holding the locks of both vertices.
+     */
+    private boolean insertEdge(V sourceVertex, V targetVertex, E e)
+    {
+        boolean loop = sourceVertex.equals(targetVertex);
+        if (!type.isAllowingSelfLoops() && loop) {
+            throw new IllegalArgumentException("loops not allowed");
+        }
+
+        lock(sourceVertex, targetVertex);
+        try {
+            VertexEntry<V, E> sourceEntry = vertexMap.get(sourceVertex);
+            VertexEntry<V, E> targetEntry = vertexMap.get(targetVertex);
+            if (sourceEntry == null || targetEntry == null) {
+                // removed concurrently
+                assertVertexExist(sourceVertex);
+                assertVertexExist(targetVertex);
+            }
+            if (!type.isAllowingMultipleEdges()
+                && getEdge(sourceVertex, targetVertex) != null)
+            {
+                return false;
+            }
+            EdgeEntry<V> ee = new EdgeEntry<>(sourceVertex, targetVertex);
+            if (edgeMap.putIfAbsent(e, ee) != null) {
+                return false;
+            }
+            sourceEntry.outgoing.put(e, ee);
+            if (type.isDirected()) {
+                targetEntry.incoming.put(e, ee);
+            } else if (loop) {
+                sourceEntry.loops.incrementAndGet();
+            } else {
+                targetEntry.outgoing.put(e, ee);
+            }
+            return true;
+        } finally {
+            unlock(sourceVertex, targetVertex);
+        }
+    }
+
+    private boolean connects(EdgeEntry<V> ee, V sourceVertex, V targetVertex)
+    {
+        if (ee.source.equals(sourceVertex) && ee.target.equals(targetVertex)) {
+            return true;
+        }
+        return !type.isDirected() && ee.source.equals(targetVertex)
+            && ee.target.equals(sourceVertex);
+    }
+
+    private VertexEntry<V, E> getEntry(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        }
+        VertexEntry<V, E> entry = vertexMap.get(v);
+        if (entry == null) {
+            throw new IllegalArgumentException("no such vertex in graph: " + v.toString());
+        }
+        return entry;
+    }
+
+    private EdgeEntry<V> getEdgeEntry(E e)
+    {
+        EdgeEntry<V> ee = edgeMap.get(e);
+        if (ee == null) {
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+        return ee;
+    }
+
+    private int stripe(V v)
+    {
+        int h = v.hashCode();
+        h ^= (h >>> 16);
+        return h & (locks.length - 1);
+    }
+
+    private ReentrantLock lockFor(V v)
+    {
+        return locks[stripe(v)];
+    }
+
+    /**
+     * Lock the stripes of two vertices, always in increasing stripe order to avoid deadlocks.
+     */
+    private void lock(V u, V v)
+    {
+        int i = stripe(u);
+        int j = stripe(v);
+        if (i == j) {
+            locks[i].lock();
+        } else if (i < j) {
+            locks[i].lock();
+            locks[j].lock();
+        } else {
+            locks[j].lock();
+            locks[i].lock();
+        }
+    }
+
+    private void unlock(V u, V v)
+    {
+        int i = stripe(u);
+        int j = stripe(v);
+        locks[i].unlock();
+        if (i != j) {
+            locks[j].unlock();
+        }
+    }
+
+    /**
+     * The adjacency of a vertex, mapping each touching edge to its endpoints. Undirected graphs
+     * only use the outgoing map, where loops are stored once and counted separately.
+     */
+    private static class VertexEntry<V, E>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 4651782369185306710L;
+
+        final ConcurrentHashMap<E, EdgeEntry<V>> outgoing;
+        final ConcurrentHashMap<E, EdgeEntry<V>> incoming;
+        final AtomicInteger loops;
+        final Set<E> unmodifiableOutgoing;
+        final Set<E> unmodifiableIncoming;
+
+        VertexEntry(boolean directed)
+        {
+            this.outgoing = new ConcurrentHashMap<>(4);
+            this.incoming = directed ? new ConcurrentHashMap<>(4) : outgoing;
+            this.loops = new AtomicInteger();
+            this.unmodifiableOutgoing = Collections.unmodifiableSet(outgoing.keySet());
+            this.unmodifiableIncoming =
+                directed ? Collections.unmodifiableSet(incoming.keySet()) : unmodifiableOutgoing;
+        }
+    }
+
+    /**
+     * The endpoints and weight of an edge.
+     */
+    private static class EdgeEntry<V>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -1830153735268233845L;
+
+        final V source;
+        final V target;
+        volatile double weight;
+
+        EdgeEntry(V source, V target)
+        {
+            this.source = source;
+            this.target = target;
+            this.weight = Graph.DEFAULT_EDGE_WEIGHT;
+        }
+    }
+}
@@ -0,0 +1,641 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An immutable hash map with structural sharing, implemented as a compressed hash-array mapped
+ * prefix tree (CHAMP).
+ * 
+ * <p>
+ * Updates never modify an existing map but return a new map which shares all unmodified parts of
+ * the tree with the original. Each update therefore costs $O(\log_{32} n)$ time and space, while
+ * holding on to an older map costs nothing. Neither keys nor values may be <code>null</code>.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author agent
+ */
+final class PersistentHashMap<K, V>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 5339327497409548101L;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<?, ?> EMPTY =
+        new PersistentHashMap<>(new BitmapNode<>(0, 0, new Object[0]), 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentHashMap(Node<K, V> root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Get the empty map.
+     * 
+     * @return the empty map
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty()
+    {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Get the number of entries.
+     * 
+     * @return the number of entries
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Whether the map is empty.
+     * 
+     * @return true if the map is empty, false otherwise
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Get the value of a key.
+     * 
+     * @param key the key
+     * @return the value of the key, or null if the map does not contain the key
+     */
+    V get(Object key)
+    {
+        if (key == null) {
+            return null;
+        }
+        return root.find(key, hash(key), 0);
+    }
+
+    /**
+     * Whether the map contains a key.
+     * 
+     * @param key the key
+     * @return true if the map contains the key, false otherwise
+     */
+    boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Return a map which additionally maps a key to a value.
+     * 
+     * @param key the key
+     * @param value the value
+     * @return the new map, or this map if the key is already mapped to the same value
+     */
+    PersistentHashMap<K, V> put(K key, V value)
+    {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        boolean[] added = new boolean[1];
+        Node<K, V> newRoot = root.put(key, value, hash(key), 0, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Return a map without a key.
+     * 
+     * @param key the key
+     * @return the new map, or this map if the key is not contained in the map
+     */
+    PersistentHashMap<K, V> remove(Object key)
+    {
+        if (key == null) {
+            return this;
+        }
+        Node<K, V> newRoot = root.remove(key, hash(key), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Get a cursor over the entries of the map.
+     * 
+     * @return a cursor over the entries of the map
+     */
+    Cursor<K, V> cursor()
+    {
+        return new Cursor<>(root);
+    }
+
+    /**
+     * Get an immutable set view of the keys of the map.
+     * 
+     * @return an immutable set view of the keys
+     */
+    Set<K> keySet()
+    {
+        return new KeySet<>(this);
+    }
+
+    private static int hash(Object key)
+    {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift)
+    {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int index(int bitmap, int bit)
+    {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    /**
+     * Create a node containing two entries whose hashes agree below a given shift.
+     */
+    private static <K, V> Node<K, V> merge(
+        K key0, V value0, int hash0, K key1, V value1, int hash1, int shift)
+    {
+        if (shift >= Integer.SIZE) {
+            return new CollisionNode<>(new Object[] { key0, value0, key1, value1 });
+        }
+        int mask0 = (hash0 >>> shift) & MASK;
+        int mask1 = (hash1 >>> shift) & MASK;
+        if (mask0 != mask1) {
+            int dataMap = (1 << mask0) | (1 << mask1);
+            if (mask0 < mask1) {
+                return new BitmapNode<>(dataMap, 0, new Object[] { key0, value0, key1, value1 });
+            } else {
+                return new BitmapNode<>(dataMap, 0, new Object[] { key1, value1, key0, value0 });
+            }
+        }
+        Node<K, V> node = merge(key0, value0, hash0, key1, value1, hash1, shift + BITS);
+        return new BitmapNode<>(0, 1 << mask0, new Object[] { node });
+    }
+
+    /**
+     * A node of the tree.
+     */
+    private abstract static class Node<K, V>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -2616436862429566813L;
+
+        abstract V find(Object key, int hash, int shift);
+
+        abstract Node<K, V> put(K key, V value, int hash, int shift, boolean[] added);
+
+        abstract Node<K, V> remove(Object key, int hash, int shift);
+
+        abstract int payloadArity();
+
+        abstract int nodeArity();
+
+        abstract K key(int i);
+
+        abstract V value(int i);
+
+        abstract Node<K, V> node(int i);
+    }
+
+    /**
+     * An inner node which stores entries inline and links to child nodes. The content array
+     * contains the key-value pairs at the front, and the child nodes at the back in reverse
+     * order.
+     */
+    private static final class BitmapNode<K, V>
+        extends
+        Node<K, V>
+    {
+        private static final long serialVersionUID = 6021837014227335946L;
+
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] content;
+
+        BitmapNode(int dataMap, int nodeMap, Object[] content)
+        {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V find(Object key, int hash, int shift)
+        {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                return key.equals(content[2 * i]) ? (V) content[2 * i + 1] : null;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeAt(bit).find(key, hash, shift + BITS);
+            }
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> put(K key, V value, int hash, int shift, boolean[] added)
+        {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                K currentKey = (K) content[2 * i];
+                if (currentKey.equals(key)) {
+                    if (content[2 * i + 1] == value) {
+                        return this;
+                    }
+                    Object[] dst = content.clone();
+                    dst[2 * i + 1] = value;
+                    return new BitmapNode<>(dataMap, nodeMap, dst);
+                }
+                added[0] = true;
+                Node<K, V> node = merge(
+                    currentKey, (V) content[2 * i + 1], hash(currentKey), key, value, hash,
+                    shift + BITS);
+                return migrateToNode(bit, node);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node<K, V> node = nodeAt(bit);
+                Node<K, V> newNode = node.put(key, value, hash, shift + BITS, added);
+                return newNode == node ? this : setNode(bit, newNode);
+            }
+            added[0] = true;
+            int i = 2 * index(dataMap, bit);
+            Object[] dst = new Object[content.length + 2];
+            System.arraycopy(content, 0, dst, 0, i);
+            dst[i] = key;
+            dst[i + 1] = value;
+            System.arraycopy(content, i, dst, i + 2, content.length - i);
+            return new BitmapNode<>(dataMap | bit, nodeMap, dst);
+        }
+
+        @Override
+        Node<K, V> remove(Object key, int hash, int shift)
+        {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = 2 * index(dataMap, bit);
+                if (!key.equals(content[i])) {
+                    return this;
+                }
+                Object[] dst = new Object[content.length - 2];
+                System.arraycopy(content, 0, dst, 0, i);
+                System.arraycopy(content, i + 2, dst, i, content.length - i - 2);
+                return new BitmapNode<>(dataMap ^ bit, nodeMap, dst);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node<K, V> node = nodeAt(bit);
+                Node<K, V> newNode = node.remove(key, hash, shift + BITS);
+                if (newNode == node) {
+                    return this;
+                }
+                if (newNode.payloadArity() == 1 && newNode.nodeArity() == 0) {
+                    // keep the tree canonical by inlining single entries
+                    return migrateToInline(bit, newNode.key(0), newNode.value(0));
+                }
+                return setNode(bit, newNode);
+            }
+            return this;
+        }
+
+        @Override
+        int payloadArity()
+        {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity()
+        {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K key(int i)
+        {
+            return (K) content[2 * i];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V value(int i)
+        {
+            return (V) content[2 * i + 1];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> node(int i)
+        {
+            return (Node<K, V>) content[content.length - 1 - i];
+        }
+
+        private Node<K, V> nodeAt(int bit)
+        {
+            return node(index(nodeMap, bit));
+        }
+
+        private Node<K, V> setNode(int bit, Node<K, V> node)
+        {
+            Object[] dst = content.clone();
+            dst[content.length - 1 - index(nodeMap, bit)] = node;
+            return new BitmapNode<>(dataMap, nodeMap, dst);
+        }
+
+        private Node<K, V> migrateToNode(int bit, Node<K, V> node)
+        {
+            int oldIndex = 2 * index(dataMap, bit);
+            int newIndex = content.length - 2 - index(nodeMap, bit);
+            Object[] dst = new Object[content.length - 1];
+            System.arraycopy(content, 0, dst, 0, oldIndex);
+            System.arraycopy(content, oldIndex + 2, dst, oldIndex, newIndex - oldIndex);
+            dst[newIndex] = node;
+            System.arraycopy(
+                content, newIndex + 2, dst, newIndex + 1, content.length - newIndex - 2);
+            return new BitmapNode<>(dataMap ^ bit, nodeMap | bit, dst);
+        }
+
+        private Node<K, V> migrateToInline(int bit, K key, V value)
+        {
+            int oldIndex = content.length - 1 - index(nodeMap, bit);
+            int newIndex = 2 * index(dataMap, bit);
+            Object[] dst = new Object[content.length + 1];
+            System.arraycopy(content, 0, dst, 0, newIndex);
+            dst[newIndex] = key;
+            dst[newIndex + 1] = value;
+            System.arraycopy(content, newIndex, dst, newIndex + 2, oldIndex - newIndex);
+            System.arraycopy(
+                content, oldIndex + 1, dst, oldIndex + 2, content.length - oldIndex - 1);
+            return new BitmapNode<>(dataMap | bit, nodeMap ^ bit, dst);
+        }
+    }
+
+    /**
+     * A leaf node holding entries whose keys have the same hash.
+     */
+    private static final class CollisionNode<K, V>
+        extends
+        Node<K, V>
+    {
+        private static final long serialVersionUID = -2975322564719506431L;
+
+        private final Object[] content;
+
+        CollisionNode(Object[] content)
+        {
+            this.content = content;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V find(Object key, int hash, int shift)
+        {
+            int i = indexOf(key);
+            return i < 0 ? null : (V) content[i + 1];
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, boolean[] added)
+        {
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (content[i + 1] == value) {
+                    return this;
+                }
+                Object[] dst = content.clone();
+                dst[i + 1] = value;
+                return new CollisionNode<>(dst);
+            }
+            added[0] = true;
+            Object[] dst = Arrays.copyOf(content, content.length + 2);
+            dst[content.length] = key;
+            dst[content.length + 1] = value;
+            return new CollisionNode<>(dst);
+        }
+
+        @Override
+        Node<K, V> remove(Object key, int hash, int shift)
+        {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            Object[] dst = new Object[content.length - 2];
+            System.arraycopy(content, 0, dst, 0, i);
+            System.arraycopy(content, i + 2, dst, i, content.length - i - 2);
+            if (dst.length == 2) {
+                // a single entry, which is inlined by the parent
+                return new BitmapNode<>(1, 0, dst);
+            }
+            return new CollisionNode<>(dst);
+        }
+
+        @Override
+        int payloadArity()
+        {
+            return content.length / 2;
+        }
+
+        @Override
+        int nodeArity()
+        {
+            return 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K key(int i)
+        {
+            return (K) content[2 * i];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V value(int i)
+        {
+            return (V) content[2 * i + 1];
+        }
+
+        @Override
+        Node<K, V> node(int i)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < content.length; i += 2) {
+                if (key.equals(content[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * A cursor over the entries of a map. The cursor is initially positioned before the first
+     * entry.
+     */
+    static final class Cursor<K, V>
+    {
+        private final ArrayDeque<Node<K, V>> stack;
+        private Node<K, V> current;
+        private int index;
+
+        Cursor(Node<K, V> root)
+        {
+            this.stack = new ArrayDeque<>();
+            this.current = root;
+            this.index = -1;
+            for (int i = 0; i < root.nodeArity(); i++) {
+                stack.push(root.node(i));
+            }
+        }
+
+        /**
+         * Advance to the next entry.
+         * 
+         * @return true if the cursor points to an entry, false if there are no more entries
+         */
+        boolean next()
+        {
+            index++;
+            while (index >= current.payloadArity()) {
+                if (stack.isEmpty()) {
+                    return false;
+                }
+                current = stack.pop();
+                index = 0;
+                for (int i = 0; i < current.nodeArity(); i++) {
+                    stack.push(current.node(i));
+                }
+            }
+            return true;
+        }
+
+        K key()
+        {
+            return current.key(index);
+        }
+
+        V value()
+        {
+            return current.value(index);
+        }
+    }
+
+    /**
+     * An immutable set view of the keys of a map.
+     */
+    private static final class KeySet<K>
+        extends
+        AbstractSet<K>
+    {
+        private final PersistentHashMap<K, ?> map;
+
+        KeySet(PersistentHashMap<K, ?> map)
+        {
+            this.map = map;
+        }
+
+        @Override
+        public int size()
+        {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeyIterator<>(map.cursor());
+        }
+    }
+
+    /**
+     * An iterator over the keys of a map.
+     */
+    static final class KeyIterator<K>
+        implements
+        Iterator<K>
+    {
+        private final Cursor<K, ?> cursor;
+        private boolean hasNext;
+
+        KeyIterator(Cursor<K, ?> cursor)
+        {
+            this.cursor = cursor;
+            this.hasNext = cursor.next();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return hasNext;
+        }
+
+        @Override
+        public K next()
+        {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            K key = cursor.key();
+            hasNext = cursor.next();
+            return key;
+        }
+    }
+}
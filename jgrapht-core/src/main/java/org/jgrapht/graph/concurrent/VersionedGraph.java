@@ -0,0 +1,917 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * A thread-safe graph based on multiversion concurrency control, which supports taking immutable
+ * snapshots of its current state in constant time.
+ *
+ * <p>
+ * The vertices, the edges and the adjacency sets of every vertex are stored in persistent hash maps
+ * which share structure between versions. Every successful modification creates a new version of
+ * the graph in $O(\log n)$ time and publishes it atomically, leaving all previous versions intact.
+ * The method {@link #snapshot()} therefore simply returns an immutable graph backed by the current
+ * version, which stays unchanged while writers continue to modify this graph. This makes it
+ * possible to run long algorithms, e.g. centrality computations or strongly connected components,
+ * on a consistent view of a graph which keeps receiving updates, without copying it.
+ *
+ * <p>
+ * Modifications are serialized by a lock, while read operations never lock. Each read operation
+ * of this graph observes the latest published version. The sets returned by
+ * {@link #vertexSet()} and {@link #edgeSet()} are unmodifiable live views, while the sets returned
+ * by the remaining methods reflect the version at the time of the call. Iterators never throw
+ * {@link ConcurrentModificationException} and traverse the version which was current when they
+ * were created. Use a snapshot in order to perform several read operations on the same version.
+ * The iteration order of the returned sets is not the insertion order.
+ *
+ * <p>
+ * Every modification increases the version number of the graph, see {@link #getVersion()}. In order
+ * to be notified about changes together with the versions they belong to, wrap this graph in a
+ * {@link VersionedListenableGraph}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class VersionedGraph<V, E>
+    extends
+    AbstractGraph<V, E>
+    implements
+    Graph<V, E>,
+    Serializable
+{
+    private static final long serialVersionUID = 1720491512883432717L;
+
+    private final Supplier<V> vertexSupplier;
+    private final Supplier<E> edgeSupplier;
+    private final GraphType type;
+    private final ReentrantLock writeLock;
+
+    private volatile State<V, E> state;
+
+    private transient Set<V> vertexSetView;
+    private transient Set<E> edgeSetView;
+
+    /**
+     * Create a new graph.
+     * 
+     * @param vertexSupplier the vertex supplier, can be null
+     * @param edgeSupplier the edge supplier, can be null
+     * @param type the graph type
+     * @throws IllegalArgumentException if the graph type is mixed
+     */
+    public VersionedGraph(Supplier<V> vertexSupplier, Supplier<E> edgeSupplier, GraphType type)
+    {
+        this.vertexSupplier = vertexSupplier;
+        this.edgeSupplier = edgeSupplier;
+        this.type = Objects.requireNonNull(type);
+        if (type.isMixed()) {
+            throw new IllegalArgumentException("Mixed graph not supported");
+        }
+        this.writeLock = new ReentrantLock();
+        this.state = new State<>(
+            0L, type.isDirected(), PersistentHashMap.empty(), PersistentHashMap.empty());
+    }
+
+    /**
+     * Get the current version of the graph. The version is initially zero and increases by one
+     * with every modification of the graph.
+     * 
+     * @return the current version
+     */
+    public long getVersion()
+    {
+        return state.version;
+    }
+
+    /**
+     * Get an immutable snapshot of the current version of the graph. This takes constant time and
+     * space, independently of the size of the graph.
+     * 
+     * @return an immutable snapshot of the current version of the graph
+     */
+    public Snapshot<V, E> snapshot()
+    {
+        return new Snapshot<>(state, vertexSupplier, edgeSupplier, type);
+    }
+
+    /**
+     * Get the lock which serializes modifications of this graph.
+     * 
+     * @return the write lock
+     */
+    ReentrantLock getWriteLock()
+    {
+        return writeLock;
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        return state.getAllEdges(sourceVertex, targetVertex);
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex)
+    {
+        return state.getEdge(sourceVertex, targetVertex);
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier()
+    {
+        return vertexSupplier;
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier()
+    {
+        return edgeSupplier;
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex)
+    {
+        if (edgeSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no edge supplier");
+        }
+        writeLock.lock();
+        try {
+            if (!prepareEdge(sourceVertex, targetVertex)) {
+                return null;
+            }
+            E e = edgeSupplier.get();
+            return insertEdge(sourceVertex, targetVertex, e) ? e : null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        writeLock.lock();
+        try {
+            return prepareEdge(sourceVertex, targetVertex)
+                && insertEdge(sourceVertex, targetVertex, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public V addVertex()
+    {
+        if (vertexSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no vertex supplier");
+        }
+        writeLock.lock();
+        try {
+            V v = vertexSupplier.get();
+            return addVertex(v) ? v : null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addVertex(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        }
+        writeLock.lock();
+        try {
+            State<V, E> s = state;
+            if (s.vertices.containsKey(v)) {
+                return false;
+            }
+            PersistentHashMap<E, EdgeEntry<V>> empty = PersistentHashMap.empty();
+            state = s.next(s.vertices.put(v, new VertexEntry<>(empty, empty, 0)), s.edges);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsEdge(E e)
+    {
+        return state.edges.containsKey(e);
+    }
+
+    @Override
+    public boolean containsVertex(V v)
+    {
+        return state.vertices.containsKey(v);
+    }
+
+    @Override
+    public Set<E> edgeSet()
+    {
+        if (edgeSetView == null) {
+            edgeSetView = new LiveSet<>(() -> state.edges);
+        }
+        return edgeSetView;
+    }
+
+    @Override
+    public int degreeOf(V vertex)
+    {
+        return state.degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex)
+    {
+        return state.edgesOf(vertex);
+    }
+
+    @Override
+    public int inDegreeOf(V vertex)
+    {
+        return state.inDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex)
+    {
+        return state.incomingEdgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(V vertex)
+    {
+        return state.outDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return state.outgoingEdgesOf(vertex);
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        writeLock.lock();
+        try {
+            E e = state.getEdge(sourceVertex, targetVertex);
+            if (e != null) {
+                removeEdge(e);
+            }
+            return e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeEdge(E e)
+    {
+        if (e == null) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            State<V, E> s = state;
+            EdgeEntry<V> ee = s.edges.get(e);
+            if (ee == null) {
+                return false;
+            }
+            state = s.next(s.withoutEdge(s.vertices, e, ee), s.edges.remove(e));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeVertex(V v)
+    {
+        if (v == null) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            State<V, E> s = state;
+            VertexEntry<V, E> entry = s.vertices.get(v);
+            if (entry == null) {
+                return false;
+            }
+            PersistentHashMap<V, VertexEntry<V, E>> vertices = s.vertices;
+            PersistentHashMap<E, EdgeEntry<V>> edges = s.edges;
+            for (PersistentHashMap<E, EdgeEntry<V>> adjacency : Arrays
+                .asList(entry.outgoing, entry.incoming))
+            {
+                PersistentHashMap.Cursor<E, EdgeEntry<V>> c = adjacency.cursor();
+                while (c.next()) {
+                    if (edges.containsKey(c.key())) {
+                        vertices = s.withoutEdge(vertices, c.key(), c.value());
+                        edges = edges.remove(c.key());
+                    }
+                }
+            }
+            state = s.next(vertices.remove(v), edges);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<V> vertexSet()
+    {
+        if (vertexSetView == null) {
+            vertexSetView = new LiveSet<>(() -> state.vertices);
+        }
+        return vertexSetView;
+    }
+
+    @Override
+    public V getEdgeSource(E e)
+    {
+        return state.getEdgeEntry(e).source;
+    }
+
+    @Override
+    public V getEdgeTarget(E e)
+    {
+        return state.getEdgeEntry(e).target;
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        return state.getEdgeEntry(e).weight;
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (!type.isWeighted()) {
+            throw new UnsupportedOperationException();
+        }
+        writeLock.lock();
+        try {
+            State<V, E> s = state;
+            EdgeEntry<V> ee = s.getEdgeEntry(e);
+            EdgeEntry<V> newEntry = new EdgeEntry<>(ee.source, ee.target, weight);
+            state = s.next(s.withEdge(s.vertices, e, newEntry), s.edges.put(e, newEntry));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Check whether an edge between two vertices may be added, while holding the write lock.
+     */
+    private boolean prepareEdge(V sourceVertex, V targetVertex)
+    {
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+        if (!type.isAllowingSelfLoops() && sourceVertex.equals(targetVertex)) {
+            throw new IllegalArgumentException("loops not allowed");
+        }
+        return type.isAllowingMultipleEdges() || state.getEdge(sourceVertex, targetVertex) == null;
+    }
+
+    /**
+     * Insert an edge between two vertices, while holding the write lock.
+     */
+    private boolean insertEdge(V sourceVertex, V targetVertex, E e)
+    {
+        State<V, E> s = state;
+        if (s.edges.containsKey(e)) {
+            return false;
+        }
+        EdgeEntry<V> ee = new EdgeEntry<>(sourceVertex, targetVertex, Graph.DEFAULT_EDGE_WEIGHT);
+        state = s.next(s.withEdge(s.vertices, e, ee), s.edges.put(e, ee));
+        return true;
+    }
+
+    /**
+     * An immutable snapshot of a version of a {@link VersionedGraph}. All modification methods
+     * throw {@link UnsupportedOperationException}.
+     *
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    public static final class Snapshot<V, E>
+        extends
+        AbstractGraph<V, E>
+        implements
+        Graph<V, E>,
+        Serializable
+    {
+        private static final long serialVersionUID = -3302817165094516216L;
+
+        private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+        private final State<V, E> state;
+        private final Supplier<V> vertexSupplier;
+        private final Supplier<E> edgeSupplier;
+        private final GraphType type;
+
+        private Snapshot(
+            State<V, E> state, Supplier<V> vertexSupplier, Supplier<E> edgeSupplier,
+            GraphType type)
+        {
+            this.state = state;
+            this.vertexSupplier = vertexSupplier;
+            this.edgeSupplier = edgeSupplier;
+            this.type = type.asUnmodifiable();
+        }
+
+        /**
+         * Get the version of the graph captured by this snapshot.
+         * 
+         * @return the version of the snapshot
+         */
+        public long getVersion()
+        {
+            return state.version;
+        }
+
+        @Override
+        public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+        {
+            return state.getAllEdges(sourceVertex, targetVertex);
+        }
+
+        @Override
+        public E getEdge(V sourceVertex, V targetVertex)
+        {
+            return state.getEdge(sourceVertex, targetVertex);
+        }
+
+        @Override
+        public Supplier<V> getVertexSupplier()
+        {
+            return vertexSupplier;
+        }
+
+        @Override
+        public Supplier<E> getEdgeSupplier()
+        {
+            return edgeSupplier;
+        }
+
+        @Override
+        public E addEdge(V sourceVertex, V targetVertex)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean addEdge(V sourceVertex, V targetVertex, E e)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public V addVertex()
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean addVertex(V v)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean containsEdge(E e)
+        {
+            return state.edges.containsKey(e);
+        }
+
+        @Override
+        public boolean containsVertex(V v)
+        {
+            return state.vertices.containsKey(v);
+        }
+
+        @Override
+        public Set<E> edgeSet()
+        {
+            return state.edges.keySet();
+        }
+
+        @Override
+        public int degreeOf(V vertex)
+        {
+            return state.degreeOf(vertex);
+        }
+
+        @Override
+        public Set<E> edgesOf(V vertex)
+        {
+            return state.edgesOf(vertex);
+        }
+
+        @Override
+        public int inDegreeOf(V vertex)
+        {
+            return state.inDegreeOf(vertex);
+        }
+
+        @Override
+        public Set<E> incomingEdgesOf(V vertex)
+        {
+            return state.incomingEdgesOf(vertex);
+        }
+
+        @Override
+        public int outDegreeOf(V vertex)
+        {
+            return state.outDegreeOf(vertex);
+        }
+
+        @Override
+        public Set<E> outgoingEdgesOf(V vertex)
+        {
+            return state.outgoingEdgesOf(vertex);
+        }
+
+        @Override
+        public E removeEdge(V sourceVertex, V targetVertex)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean removeEdge(E e)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public boolean removeVertex(V v)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        @Override
+        public Set<V> vertexSet()
+        {
+            return state.vertices.keySet();
+        }
+
+        @Override
+        public V getEdgeSource(E e)
+        {
+            return state.getEdgeEntry(e).source;
+        }
+
+        @Override
+        public V getEdgeTarget(E e)
+        {
+            return state.getEdgeEntry(e).target;
+        }
+
+        @Override
+        public GraphType getType()
+        {
+            return type;
+        }
+
+        @Override
+        public double getEdgeWeight(E e)
+        {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            return state.getEdgeEntry(e).weight;
+        }
+
+        @Override
+        public void setEdgeWeight(E e, double weight)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+    }
+
+    /**
+     * An immutable version of the graph, which implements all read operations.
+     */
+    private static final class State<V, E>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = -6329488155963498305L;
+
+        final long version;
+        final boolean directed;
+        final PersistentHashMap<V, VertexEntry<V, E>> vertices;
+        final PersistentHashMap<E, EdgeEntry<V>> edges;
+
+        State(
+            long version, boolean directed, PersistentHashMap<V, VertexEntry<V, E>> vertices,
+            PersistentHashMap<E, EdgeEntry<V>> edges)
+        {
+            this.version = version;
+            this.directed = directed;
+            this.vertices = vertices;
+            this.edges = edges;
+        }
+
+        State<V, E> next(
+            PersistentHashMap<V, VertexEntry<V, E>> vertices,
+            PersistentHashMap<E, EdgeEntry<V>> edges)
+        {
+            return new State<>(version + 1, directed, vertices, edges);
+        }
+
+        /**
+         * Record an edge, or replace its entry, in the adjacency sets of its endpoints.
+         */
+        PersistentHashMap<V, VertexEntry<V, E>> withEdge(
+            PersistentHashMap<V, VertexEntry<V, E>> vertices, E e, EdgeEntry<V> ee)
+        {
+            boolean isNew = !edges.containsKey(e);
+            VertexEntry<V, E> source = vertices.get(ee.source);
+            if (ee.source.equals(ee.target)) {
+                PersistentHashMap<E, EdgeEntry<V>> outgoing = source.outgoing.put(e, ee);
+                if (directed) {
+                    source = new VertexEntry<>(outgoing, source.incoming.put(e, ee), 0);
+                } else {
+                    source = new VertexEntry<>(
+                        outgoing, outgoing, isNew ? source.loops + 1 : source.loops);
+                }
+                return vertices.put(ee.source, source);
+            }
+            VertexEntry<V, E> target = vertices.get(ee.target);
+            if (directed) {
+                source = new VertexEntry<>(source.outgoing.put(e, ee), source.incoming, 0);
+                target = new VertexEntry<>(target.outgoing, target.incoming.put(e, ee), 0);
+            } else {
+                source = source.withAdjacency(source.outgoing.put(e, ee));
+                target = target.withAdjacency(target.outgoing.put(e, ee));
+            }
+            return vertices.put(ee.source, source).put(ee.target, target);
+        }
+
+        /**
+         * Remove an edge from the adjacency sets of its endpoints.
+         */
+        PersistentHashMap<V, VertexEntry<V, E>> withoutEdge(
+            PersistentHashMap<V, VertexEntry<V, E>> vertices, E e, EdgeEntry<V> ee)
+        {
+            VertexEntry<V, E> source = vertices.get(ee.source);
+            if (ee.source.equals(ee.target)) {
+                PersistentHashMap<E, EdgeEntry<V>> outgoing = source.outgoing.remove(e);
+                if (directed) {
+                    source = new VertexEntry<>(outgoing, source.incoming.remove(e), 0);
+                } else {
+                    source = new VertexEntry<>(outgoing, outgoing, source.loops - 1);
+                }
+                return vertices.put(ee.source, source);
+            }
+            VertexEntry<V, E> target = vertices.get(ee.target);
+            if (directed) {
+                source = new VertexEntry<>(source.outgoing.remove(e), source.incoming, 0);
+                target = new VertexEntry<>(target.outgoing, target.incoming.remove(e), 0);
+            } else {
+                source = source.withAdjacency(source.outgoing.remove(e));
+                target = target.withAdjacency(target.outgoing.remove(e));
+            }
+            return vertices.put(ee.source, source).put(ee.target, target);
+        }
+
+        Set<E> getAllEdges(V sourceVertex, V targetVertex)
+        {
+            VertexEntry<V, E> entry = vertices.get(sourceVertex);
+            if (entry == null || !vertices.containsKey(targetVertex)) {
+                return null;
+            }
+            Set<E> result = new LinkedHashSet<>();
+            PersistentHashMap.Cursor<E, EdgeEntry<V>> c = entry.outgoing.cursor();
+            while (c.next()) {
+                if (connects(c.value(), sourceVertex, targetVertex)) {
+                    result.add(c.key());
+                }
+            }
+            return Collections.unmodifiableSet(result);
+        }
+
+        E getEdge(V sourceVertex, V targetVertex)
+        {
+            VertexEntry<V, E> entry = vertices.get(sourceVertex);
+            if (entry == null || !vertices.containsKey(targetVertex)) {
+                return null;
+            }
+            PersistentHashMap.Cursor<E, EdgeEntry<V>> c = entry.outgoing.cursor();
+            while (c.next()) {
+                if (connects(c.value(), sourceVertex, targetVertex)) {
+                    return c.key();
+                }
+            }
+            return null;
+        }
+
+        int degreeOf(V vertex)
+        {
+            VertexEntry<V, E> entry = getEntry(vertex);
+            if (directed) {
+                return entry.incoming.size() + entry.outgoing.size();
+            }
+            return entry.outgoing.size() + entry.loops;
+        }
+
+        Set<E> edgesOf(V vertex)
+        {
+            VertexEntry<V, E> entry = getEntry(vertex);
+            if (!directed) {
+                return entry.outgoing.keySet();
+            }
+            Set<E> result = new LinkedHashSet<>(entry.outgoing.keySet());
+            result.addAll(entry.incoming.keySet());
+            return Collections.unmodifiableSet(result);
+        }
+
+        int inDegreeOf(V vertex)
+        {
+            if (!directed) {
+                return degreeOf(vertex);
+            }
+            return getEntry(vertex).incoming.size();
+        }
+
+        Set<E> incomingEdgesOf(V vertex)
+        {
+            return getEntry(vertex).incoming.keySet();
+        }
+
+        int outDegreeOf(V vertex)
+        {
+            if (!directed) {
+                return degreeOf(vertex);
+            }
+            return getEntry(vertex).outgoing.size();
+        }
+
+        Set<E> outgoingEdgesOf(V vertex)
+        {
+            return getEntry(vertex).outgoing.keySet();
+        }
+
+        EdgeEntry<V> getEdgeEntry(E e)
+        {
+            EdgeEntry<V> ee = edges.get(e);
+            if (ee == null) {
+                throw new IllegalArgumentException("no such edge in graph: " + String.valueOf(e));
+            }
+            return ee;
+        }
+
+        private VertexEntry<V, E> getEntry(V v)
+        {
+            if (v == null) {
+                throw new NullPointerException();
+            }
+            VertexEntry<V, E> entry = vertices.get(v);
+            if (entry == null) {
+                throw new IllegalArgumentException("no such vertex in graph: " + v.toString());
+            }
+            return entry;
+        }
+
+        private boolean connects(EdgeEntry<V> ee, V sourceVertex, V targetVertex)
+        {
+            if (ee.source.equals(sourceVertex) && ee.target.equals(targetVertex)) {
+                return true;
+            }
+            return !directed && ee.source.equals(targetVertex) && ee.target.equals(sourceVertex);
+        }
+    }
+
+    /**
+     * The immutable adjacency of a vertex. In undirected graphs the incoming and outgoing edges
+     * coincide and self-loops are counted separately in order to compute the degree.
+     */
+    private static final class VertexEntry<V, E>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 3470916587624802658L;
+
+        final PersistentHashMap<E, EdgeEntry<V>> outgoing;
+        final PersistentHashMap<E, EdgeEntry<V>> incoming;
+        final int loops;
+
+        VertexEntry(
+            PersistentHashMap<E, EdgeEntry<V>> outgoing,
+            PersistentHashMap<E, EdgeEntry<V>> incoming, int loops)
+        {
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+            this.loops = loops;
+        }
+
+        VertexEntry<V, E> withAdjacency(PersistentHashMap<E, EdgeEntry<V>> edges)
+        {
+            return new VertexEntry<>(edges, edges, loops);
+        }
+    }
+
+    /**
+     * The immutable endpoints and weight of an edge.
+     */
+    private static final class EdgeEntry<V>
+        implements
+        Serializable
+    {
+        private static final long serialVersionUID = 8722601585432815309L;
+
+        final V source;
+        final V target;
+        final double weight;
+
+        EdgeEntry(V source, V target, double weight)
+        {
+            this.source = source;
+            this.target = target;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * An unmodifiable live set view of the keys of the map of the current version.
+     */
+    private static final class LiveSet<T>
+        extends
+        AbstractSet<T>
+    {
+        private final Supplier<PersistentHashMap<T, ?>> map;
+
+        LiveSet(Supplier<PersistentHashMap<T, ?>> map)
+        {
+            this.map = map;
+        }
+
+        @Override
+        public int size()
+        {
+            return map.get().size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return map.get().isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return map.get().containsKey(o);
+        }
+
+        @Override
+        public Iterator<T> iterator()
+        {
+            return new PersistentHashMap.KeyIterator<>(map.get().cursor());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.event.*;
+import org.jgrapht.graph.*;
+
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * A listenable graph backed by a {@link VersionedGraph}, whose events carry the version of the
+ * graph which resulted from each change.
+ *
+ * <p>
+ * All events fired by this graph are instances of {@link VersionedGraphEdgeChangeEvent} or
+ * {@link VersionedGraphVertexChangeEvent}. Each modification and the notification of the listeners
+ * are performed while holding the write lock of the backing graph, so that the version reported by
+ * an event is exactly the version produced by the corresponding change, even in the presence of
+ * concurrent writers. Listeners may therefore obtain a {@link VersionedGraph#snapshot()} of the
+ * version they are notified about, but should not block waiting on other writers. Removing a vertex
+ * first removes its touching edges, each of which produces its own version and event. Event
+ * objects are never reused, regardless of {@link #setReuseEvents(boolean)}.
+ *
+ * <p>
+ * Modifications must be performed through this graph in order to be reported to the listeners.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class VersionedListenableGraph<V, E>
+    extends
+    DefaultListenableGraph<V, E>
+{
+    private static final long serialVersionUID = -4519203541580447733L;
+
+    private final VersionedGraph<V, E> versionedGraph;
+
+    /**
+     * Creates a new listenable graph.
+     *
+     * @param g the backing versioned graph
+     */
+    public VersionedListenableGraph(VersionedGraph<V, E> g)
+    {
+        super(g, false);
+        this.versionedGraph = g;
+    }
+
+    /**
+     * Get the current version of the backing graph.
+     * 
+     * @return the current version
+     */
+    public long getVersion()
+    {
+        return versionedGraph.getVersion();
+    }
+
+    /**
+     * Get an immutable snapshot of the current version of the backing graph.
+     * 
+     * @return an immutable snapshot of the current version
+     */
+    public VersionedGraph.Snapshot<V, E> snapshot()
+    {
+        return versionedGraph.snapshot();
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex)
+    {
+        return locked(() -> super.addEdge(sourceVertex, targetVertex));
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        return locked(() -> super.addEdge(sourceVertex, targetVertex, e));
+    }
+
+    @Override
+    public V addVertex()
+    {
+        return locked(() -> {
+            Supplier<V> vertexSupplier = getVertexSupplier();
+            if (vertexSupplier == null) {
+                throw new UnsupportedOperationException("The graph contains no vertex supplier");
+            }
+            V v = vertexSupplier.get();
+            return addVertex(v) ? v : null;
+        });
+    }
+
+    @Override
+    public boolean addVertex(V v)
+    {
+        return locked(() -> super.addVertex(v));
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        return locked(() -> super.removeEdge(sourceVertex, targetVertex));
+    }
+
+    @Override
+    public boolean removeEdge(E e)
+    {
+        return locked(() -> super.removeEdge(e));
+    }
+
+    @Override
+    public boolean removeVertex(V v)
+    {
+        return locked(() -> super.removeVertex(v));
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight)
+    {
+        locked(() -> {
+            super.setEdgeWeight(e, weight);
+            return null;
+        });
+    }
+
+    @Override
+    protected GraphEdgeChangeEvent<V, E> createGraphEdgeChangeEvent(
+        int eventType, E edge, V source, V target, double weight)
+    {
+        return new VersionedGraphEdgeChangeEvent<>(
+            this, eventType, edge, source, target, weight, versionedGraph.getVersion());
+    }
+
+    @Override
+    protected GraphVertexChangeEvent<V> createGraphVertexChangeEvent(int eventType, V vertex)
+    {
+        return new VersionedGraphVertexChangeEvent<>(
+            this, eventType, vertex, versionedGraph.getVersion());
+    }
+
+    private <T> T locked(Supplier<T> action)
+    {
+        ReentrantLock lock = versionedGraph.getWriteLock();
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Helper methods for building compressed sparse row (CSR) representations.
+ * 
+ * @author agent
+ */
+class CSRUtil
+{
+    private CSRUtil()
+    {
+    }
+
+    /**
+     * Arrange a list of (row, column, value) entries into compressed sparse row format. Both rows
+     * and columns must be in the range [0, n). Entries of the same row are ordered by column and
+     * entries with equal row and column keep their input order.
+     * 
+     * <p>
+     * The method runs in linear time using two passes of counting sort.
+     * 
+     * @param n the number of rows (and columns)
+     * @param rows the row of each entry
+     * @param cols the column of each entry
+     * @param values the value of each entry
+     * @param count the number of entries to use from the input arrays
+     * @param result array of length at least count where the values are stored in row order
+     * @return the row offsets, an array of length n+1 where row i occupies positions [offsets[i],
+     *         offsets[i+1]) of the result array
+     */
+    static int[] compress(int n, int[] rows, int[] cols, int[] values, int count, int[] result)
+    {
+        // first pass, order by column
+        int[] byColumn = new int[count];
+        int[] start = new int[n + 1];
+        for (int i = 0; i < count; i++) {
+            start[cols[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            start[i + 1] += start[i];
+        }
+        for (int i = 0; i < count; i++) {
+            byColumn[start[cols[i]]++] = i;
+        }
+
+        // second pass, stable order by row
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[rows[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        System.arraycopy(offsets, 0, start, 0, n + 1);
+        for (int i = 0; i < count; i++) {
+            int entry = byColumn[i];
+            result[start[rows[entry]]++] = values[entry];
+        }
+        return offsets;
+    }
+
+    /**
+     * Check that a vertex is in the range [0, n).
+     * 
+     * @param v the vertex
+     * @param n the number of vertices
+     * @return the vertex
+     * @throws IllegalArgumentException if the vertex is out of range
+     */
+    static int checkVertex(int v, int n)
+    {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex " + v + " not in range [0," + n + ")");
+        }
+        return v;
+    }
+
+    /**
+     * Convert a part of a list of tuples to a primitive array.
+     * 
+     * @param list the list
+     * @param f function which extracts the integer from each tuple
+     * @return the array
+     * @param <T> the tuple type
+     */
+    static <T> int[] toArray(List<T> list, ToIntFunction<T> f)
+    {
+        int[] result = new int[list.size()];
+        int i = 0;
+        for (T t : list) {
+            result[i++] = f.applyAsInt(t);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import java.util.*;
+
+/**
+ * An unmodifiable set view of a contiguous part of an integer array. The view assumes that the
+ * array slice contains no duplicates.
+ * 
+ * @author agent
+ */
+class IntArraySliceSet
+    extends
+    AbstractSet<Integer>
+{
+    private final int[] array;
+    private final int from;
+    private final int to;
+
+    /**
+     * Create a new view
+     * 
+     * @param array the array
+     * @param from the first position (inclusive)
+     * @param to the last position (exclusive)
+     */
+    IntArraySliceSet(int[] array, int from, int to)
+    {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public Iterator<Integer> iterator()
+    {
+        return new Iterator<Integer>()
+        {
+            private int next = from;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < to;
+            }
+
+            @Override
+            public Integer next()
+            {
+                if (next >= to) {
+                    throw new NoSuchElementException();
+                }
+                return array[next++];
+            }
+        };
+    }
+
+    @Override
+    public int size()
+    {
+        return to - from;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (o instanceof Integer) {
+            int value = (Integer) o;
+            for (int i = from; i < to; i++) {
+                if (array[i] == value) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An unmodifiable set containing all integers in the range [0, n).
+ * 
+ * @author agent
+ */
+class IntegerRangeSet
+    extends
+    AbstractSet<Integer>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 4530462311618406722L;
+
+    private final int n;
+
+    /**
+     * Create a new set
+     * 
+     * @param n the size of the range
+     */
+    IntegerRangeSet(int n)
+    {
+        this.n = n;
+    }
+
+    @Override
+    public Iterator<Integer> iterator()
+    {
+        return new Iterator<Integer>()
+        {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < n;
+            }
+
+            @Override
+            public Integer next()
+            {
+                if (next >= n) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    @Override
+    public int size()
+    {
+        return n;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (o instanceof Integer) {
+            int i = (Integer) o;
+            return i >= 0 && i < n;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+/**
+ * A double array stored in a memory-mapped region of a file.
+ * 
+ * <p>
+ * A single mapping cannot exceed 2GB, thus the region is split into several segments, each mapped
+ * separately.
+ * 
+ * @author agent
+ */
+class MappedDoubleArray
+{
+    private static final int SEGMENT_BITS = 27;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+
+    private final DoubleBuffer[] segments;
+    private final int length;
+
+    /**
+     * Map a region of a file as a double array.
+     * 
+     * @param channel the file channel
+     * @param mode the mapping mode
+     * @param position the position in bytes where the array starts in the file
+     * @param length the number of doubles
+     * @throws IOException in case of an I/O error
+     */
+    MappedDoubleArray(FileChannel channel, FileChannel.MapMode mode, long position, int length)
+        throws IOException
+    {
+        this.length = length;
+        int count = (int) ((length + (long) SEGMENT_MASK) >>> SEGMENT_BITS);
+        this.segments = new DoubleBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            long size = Math.min(length - start, 1L << SEGMENT_BITS);
+            segments[i] = channel
+                .map(mode, position + Double.BYTES * start, Double.BYTES * size)
+                .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Get the value at a position.
+     * 
+     * @param index the position
+     * @return the value
+     */
+    double get(int index)
+    {
+        return segments[index >>> SEGMENT_BITS].get(index & SEGMENT_MASK);
+    }
+
+    /**
+     * Set the value at a position.
+     * 
+     * @param index the position
+     * @param value the value
+     */
+    void set(int index, double value)
+    {
+        segments[index >>> SEGMENT_BITS].put(index & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Get the length of the array.
+     * 
+     * @return the length of the array
+     */
+    int length()
+    {
+        return length;
+    }
+}
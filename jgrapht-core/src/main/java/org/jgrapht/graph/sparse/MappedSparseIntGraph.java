@@ -0,0 +1,463 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A sparse graph whose data reside in a memory-mapped file.
+ * 
+ * <p>
+ * The graph uses the same compressed sparse row representation as {@link SparseIntDirectedGraph}
+ * and {@link SparseIntUndirectedGraph}, but instead of keeping the arrays in the heap it maps them
+ * directly from a file created by {@link MappedSparseIntGraphWriter} using
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)}. Opening a graph only reads the file
+ * header and is therefore almost instant, regardless of the size of the graph. The operating
+ * system pages in only those parts of the file which are actually accessed, which makes it
+ * possible to work with graphs much larger than the available heap.
+ * 
+ * <p>
+ * Assuming the graph has $n$ vertices, the vertices are numbered from $0$ to $n-1$. Similarly,
+ * edges are numbered from $0$ to $m-1$ where $m$ is the total number of edges. The graph is
+ * immutable, may be directed or undirected, weighted or unweighted, and allows self-loops and
+ * multiple edges. The file is mapped read-only and the mapping is released when the graph is
+ * garbage collected.
+ * 
+ * @author agent
+ * @see MappedSparseIntGraphWriter
+ */
+public class MappedSparseIntGraph
+    extends
+    AbstractGraph<Integer, Integer>
+{
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    private final MappedSparseIntGraphLayout layout;
+    private final GraphType type;
+    private final MappedIntArray sources;
+    private final MappedIntArray targets;
+    private final MappedIntArray outOffsets;
+    private final MappedIntArray outEdges;
+    private final MappedIntArray inOffsets;
+    private final MappedIntArray inEdges;
+    private final MappedDoubleArray weights;
+
+    /**
+     * Open a graph from a file.
+     * 
+     * @param file the file
+     * @throws IOException in case of an I/O error or if the file is not a valid graph file
+     */
+    public MappedSparseIntGraph(File file)
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MappedSparseIntGraphLayout.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            this.layout = MappedSparseIntGraphLayout.readHeader(header);
+            if (channel.size() < layout.size) {
+                throw new IOException("Truncated sparse graph file");
+            }
+
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            int n = layout.numVertices;
+            int m = layout.numEdges;
+            this.sources = new MappedIntArray(channel, mode, layout.sourcesPosition, m);
+            this.targets = new MappedIntArray(channel, mode, layout.targetsPosition, m);
+            this.outOffsets = new MappedIntArray(channel, mode, layout.outOffsetsPosition, n + 1);
+            this.outEdges =
+                new MappedIntArray(channel, mode, layout.outEdgesPosition, layout.outCount);
+            if (layout.directed) {
+                this.inOffsets =
+                    new MappedIntArray(channel, mode, layout.inOffsetsPosition, n + 1);
+                this.inEdges =
+                    new MappedIntArray(channel, mode, layout.inEdgesPosition, layout.inCount);
+            } else {
+                this.inOffsets = outOffsets;
+                this.inEdges = outEdges;
+            }
+            if (layout.weighted) {
+                this.weights = new MappedDoubleArray(channel, mode, layout.weightsPosition, m);
+            } else {
+                this.weights = null;
+            }
+        }
+
+        DefaultGraphType.Builder builder = new DefaultGraphType.Builder();
+        if (layout.directed) {
+            builder = builder.directed();
+        } else {
+            builder = builder.undirected();
+        }
+        this.type = builder
+            .weighted(layout.weighted).modifiable(false).allowMultipleEdges(true)
+            .allowSelfLoops(true).build();
+    }
+
+    @Override
+    public Supplier<Integer> getVertexSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Supplier<Integer> getEdgeSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Integer addEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addEdge(Integer sourceVertex, Integer targetVertex, Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Integer addVertex()
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean containsEdge(Integer e)
+    {
+        return e != null && e >= 0 && e < layout.numEdges;
+    }
+
+    @Override
+    public boolean containsVertex(Integer v)
+    {
+        return v != null && v >= 0 && v < layout.numVertices;
+    }
+
+    @Override
+    public Set<Integer> edgeSet()
+    {
+        return new IntegerRangeSet(layout.numEdges);
+    }
+
+    @Override
+    public int degreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        if (layout.directed) {
+            return outDegreeOf(vertex) + inDegreeOf(vertex);
+        }
+        // self-loops count twice
+        int degree = outOffsets.get(vertex + 1) - outOffsets.get(vertex);
+        int pos = lowerBound(vertex, vertex);
+        while (pos < outOffsets.get(vertex + 1) && opposite(outEdges.get(pos), vertex) == vertex) {
+            degree++;
+            pos++;
+        }
+        return degree;
+    }
+
+    @Override
+    public Set<Integer> edgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        if (!layout.directed) {
+            return new SliceSet(outEdges, outOffsets.get(vertex), outOffsets.get(vertex + 1));
+        }
+        ArrayUnenforcedSet<Integer> result = new ArrayUnenforcedSet<>(degreeOf(vertex));
+        for (int i = outOffsets.get(vertex); i < outOffsets.get(vertex + 1); i++) {
+            result.add(outEdges.get(i));
+        }
+        for (int i = inOffsets.get(vertex); i < inOffsets.get(vertex + 1); i++) {
+            int e = inEdges.get(i);
+            // self-loops are already included as outgoing edges
+            if (sources.get(e) != vertex) {
+                result.add(e);
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    @Override
+    public int inDegreeOf(Integer vertex)
+    {
+        if (!layout.directed) {
+            return degreeOf(vertex);
+        }
+        assertVertexExist(vertex);
+        return inOffsets.get(vertex + 1) - inOffsets.get(vertex);
+    }
+
+    @Override
+    public Set<Integer> incomingEdgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new SliceSet(inEdges, inOffsets.get(vertex), inOffsets.get(vertex + 1));
+    }
+
+    @Override
+    public int outDegreeOf(Integer vertex)
+    {
+        if (!layout.directed) {
+            return degreeOf(vertex);
+        }
+        assertVertexExist(vertex);
+        return outOffsets.get(vertex + 1) - outOffsets.get(vertex);
+    }
+
+    @Override
+    public Set<Integer> outgoingEdgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new SliceSet(outEdges, outOffsets.get(vertex), outOffsets.get(vertex + 1));
+    }
+
+    @Override
+    public Integer removeEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeEdge(Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Integer> vertexSet()
+    {
+        return new IntegerRangeSet(layout.numVertices);
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer e)
+    {
+        assertEdgeExist(e);
+        return sources.get(e);
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer e)
+    {
+        assertEdgeExist(e);
+        return targets.get(e);
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return type;
+    }
+
+    @Override
+    public double getEdgeWeight(Integer e)
+    {
+        assertEdgeExist(e);
+        if (weights == null) {
+            return Graph.DEFAULT_EDGE_WEIGHT;
+        }
+        return weights.get(e);
+    }
+
+    @Override
+    public void setEdgeWeight(Integer e, double weight)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Integer> getAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int from = lowerBound(sourceVertex, targetVertex);
+        int to = from;
+        while (to < outOffsets.get(sourceVertex + 1)
+            && opposite(outEdges.get(to), sourceVertex) == targetVertex)
+        {
+            to++;
+        }
+        return new SliceSet(outEdges, from, to);
+    }
+
+    @Override
+    public Integer getEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int pos = lowerBound(sourceVertex, targetVertex);
+        if (pos < outOffsets.get(sourceVertex + 1)
+            && opposite(outEdges.get(pos), sourceVertex) == targetVertex)
+        {
+            return outEdges.get(pos);
+        }
+        return null;
+    }
+
+    /**
+     * Get the endpoint of an edge which is opposite to a vertex. For directed graphs, this is
+     * always the target of the edge.
+     * 
+     * @param e the edge
+     * @param v one endpoint of the edge
+     * @return the other endpoint of the edge
+     */
+    private int opposite(int e, int v)
+    {
+        if (layout.directed) {
+            return targets.get(e);
+        }
+        int s = sources.get(e);
+        return s == v ? targets.get(e) : s;
+    }
+
+    /**
+     * Find the first position in the outgoing edges of a vertex whose opposite endpoint is not
+     * less than a given vertex.
+     * 
+     * @param v the vertex
+     * @param u the opposite vertex
+     * @return the position in the outgoing edges
+     */
+    private int lowerBound(int v, int u)
+    {
+        int low = outOffsets.get(v);
+        int high = outOffsets.get(v + 1);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (opposite(outEdges.get(mid), v) < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ensures that the specified edge exists in this graph, or else throws exception.
+     *
+     * @param e edge
+     * @return <code>true</code> if this assertion holds.
+     * @throws NullPointerException if specified edge is <code>null</code>.
+     * @throws IllegalArgumentException if specified edge does not exist in this graph.
+     */
+    protected boolean assertEdgeExist(Integer e)
+    {
+        if (containsEdge(e)) {
+            return true;
+        } else if (e == null) {
+            throw new NullPointerException();
+        } else {
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+    }
+
+    /**
+     * An unmodifiable set view of a contiguous part of a mapped array.
+     */
+    private static class SliceSet
+        extends
+        AbstractSet<Integer>
+    {
+        private final MappedIntArray array;
+        private final int from;
+        private final int to;
+
+        SliceSet(MappedIntArray array, int from, int to)
+        {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            return new Iterator<Integer>()
+            {
+                private int next = from;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next < to;
+                }
+
+                @Override
+                public Integer next()
+                {
+                    if (next >= to) {
+                        throw new NoSuchElementException();
+                    }
+                    return array.get(next++);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            if (o instanceof Integer) {
+                int value = (Integer) o;
+                for (int i = from; i < to; i++) {
+                    if (array.get(i) == value) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
+
+// End MappedSparseIntGraph.java
@@ -0,0 +1,158 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import java.io.*;
+import java.nio.*;
+
+/**
+ * The file layout used by {@link MappedSparseIntGraph} and {@link MappedSparseIntGraphWriter}.
+ * 
+ * <p>
+ * All values are stored in little-endian byte order. The file starts with a header of eight
+ * integers: a magic number, the format version, a set of flags, the number of vertices $n$, the
+ * number of edges $m$, the number of entries in the outgoing rows, the number of entries in the
+ * incoming rows and a reserved value. The header is followed by the sections
+ * <ul>
+ * <li>sources: $m$ integers</li>
+ * <li>targets: $m$ integers</li>
+ * <li>outgoing offsets: $n+1$ integers</li>
+ * <li>outgoing edges: one integer per entry of the outgoing rows</li>
+ * <li>incoming offsets: $n+1$ integers, only for directed graphs</li>
+ * <li>incoming edges: one integer per entry of the incoming rows, only for directed graphs</li>
+ * <li>weights: $m$ doubles aligned to eight bytes, only for weighted graphs</li>
+ * </ul>
+ * For undirected graphs the outgoing rows contain all touching edges of a vertex.
+ * 
+ * @author agent
+ */
+class MappedSparseIntGraphLayout
+{
+    static final int MAGIC = 0x4A475347;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8 * Integer.BYTES;
+
+    static final int FLAG_DIRECTED = 1;
+    static final int FLAG_WEIGHTED = 2;
+
+    final boolean directed;
+    final boolean weighted;
+    final int numVertices;
+    final int numEdges;
+    final int outCount;
+    final int inCount;
+
+    final long sourcesPosition;
+    final long targetsPosition;
+    final long outOffsetsPosition;
+    final long outEdgesPosition;
+    final long inOffsetsPosition;
+    final long inEdgesPosition;
+    final long weightsPosition;
+    final long size;
+
+    /**
+     * Compute the layout of a file.
+     * 
+     * @param directed whether the graph is directed
+     * @param weighted whether the graph is weighted
+     * @param numVertices the number of vertices
+     * @param numEdges the number of edges
+     * @param outCount the number of entries in the outgoing rows
+     * @param inCount the number of entries in the incoming rows
+     */
+    MappedSparseIntGraphLayout(
+        boolean directed, boolean weighted, int numVertices, int numEdges, int outCount,
+        int inCount)
+    {
+        this.directed = directed;
+        this.weighted = weighted;
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+        this.outCount = outCount;
+        this.inCount = directed ? inCount : 0;
+
+        long pos = HEADER_SIZE;
+        this.sourcesPosition = pos;
+        pos += (long) Integer.BYTES * numEdges;
+        this.targetsPosition = pos;
+        pos += (long) Integer.BYTES * numEdges;
+        this.outOffsetsPosition = pos;
+        pos += (long) Integer.BYTES * (numVertices + 1);
+        this.outEdgesPosition = pos;
+        pos += (long) Integer.BYTES * outCount;
+        this.inOffsetsPosition = pos;
+        if (directed) {
+            pos += (long) Integer.BYTES * (numVertices + 1);
+        }
+        this.inEdgesPosition = pos;
+        pos += (long) Integer.BYTES * this.inCount;
+        pos = (pos + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+        this.weightsPosition = pos;
+        if (weighted) {
+            pos += (long) Double.BYTES * numEdges;
+        }
+        this.size = pos;
+    }
+
+    /**
+     * Encode the header.
+     * 
+     * @return a buffer containing the header
+     */
+    ByteBuffer writeHeader()
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int flags = (directed ? FLAG_DIRECTED : 0) | (weighted ? FLAG_WEIGHTED : 0);
+        header.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(numVertices).putInt(numEdges)
+            .putInt(outCount).putInt(inCount).putInt(0);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Decode a header.
+     * 
+     * @param header a buffer containing the header
+     * @return the layout
+     * @throws IOException in case the header is invalid
+     */
+    static MappedSparseIntGraphLayout readHeader(ByteBuffer header)
+        throws IOException
+    {
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Not a sparse graph file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported sparse graph file version " + version);
+        }
+        int flags = header.getInt();
+        int numVertices = header.getInt();
+        int numEdges = header.getInt();
+        int outCount = header.getInt();
+        int inCount = header.getInt();
+        if (numVertices < 0 || numEdges < 0 || outCount < 0 || inCount < 0) {
+            throw new IOException("Corrupted sparse graph file header");
+        }
+        return new MappedSparseIntGraphLayout(
+            (flags & FLAG_DIRECTED) != 0, (flags & FLAG_WEIGHTED) != 0, numVertices, numEdges,
+            outCount, inCount);
+    }
+}
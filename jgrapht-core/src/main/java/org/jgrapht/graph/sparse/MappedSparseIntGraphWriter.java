@@ -0,0 +1,385 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+/**
+ * A writer of graph files which can be opened using {@link MappedSparseIntGraph}.
+ * 
+ * <p>
+ * Edges are added one at a time and are numbered from $0$ to $m-1$ in the order they are added. The
+ * writer never keeps the edges in memory. They are appended to temporary files next to the
+ * output file and the compressed sparse row representation is built when the writer is closed,
+ * using two passes of counting sort over memory-mapped files. The heap usage of the writer is
+ * therefore linear in the number of vertices but independent of the number of edges.
+ * 
+ * <p>
+ * Usage example:
+ * 
+ * <pre>
+ * try (MappedSparseIntGraphWriter writer = new MappedSparseIntGraphWriter(file, 3, true, false)) {
+ *     writer.addEdge(0, 1);
+ *     writer.addEdge(1, 2);
+ * }
+ * Graph&lt;Integer, Integer&gt; graph = new MappedSparseIntGraph(file);
+ * </pre>
+ * 
+ * @author agent
+ * @see MappedSparseIntGraph
+ */
+public class MappedSparseIntGraphWriter
+    implements
+    Closeable
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final File file;
+    private final int numVertices;
+    private final boolean directed;
+    private final boolean weighted;
+
+    private final int[] outDegrees;
+    private final int[] inDegrees;
+    private int numEdges;
+    private long outCount;
+    private long inCount;
+
+    private final SpillFile sources;
+    private final SpillFile targets;
+    private final SpillFile weights;
+    private boolean closed;
+
+    /**
+     * Create a new writer.
+     * 
+     * @param file the output file
+     * @param numVertices the number of vertices
+     * @param directed whether the graph is directed
+     * @param weighted whether the graph is weighted
+     * @throws IOException in case of an I/O error
+     */
+    public MappedSparseIntGraphWriter(
+        File file, int numVertices, boolean directed, boolean weighted)
+        throws IOException
+    {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        this.file = file;
+        this.numVertices = numVertices;
+        this.directed = directed;
+        this.weighted = weighted;
+        this.outDegrees = new int[numVertices];
+        this.inDegrees = directed ? new int[numVertices] : outDegrees;
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        this.sources = new SpillFile(dir);
+        this.targets = new SpillFile(dir);
+        this.weights = weighted ? new SpillFile(dir) : null;
+    }
+
+    /**
+     * Add an edge. If the graph is weighted the edge gets the default edge weight.
+     * 
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return the new edge
+     * @throws IOException in case of an I/O error
+     * @throws IllegalArgumentException in case a vertex is not in [0, numVertices)
+     */
+    public int addEdge(int source, int target)
+        throws IOException
+    {
+        return addEdge(source, target, Graph.DEFAULT_EDGE_WEIGHT, false);
+    }
+
+    /**
+     * Add a weighted edge.
+     * 
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param weight the edge weight
+     * @return the new edge
+     * @throws IOException in case of an I/O error
+     * @throws IllegalArgumentException in case a vertex is not in [0, numVertices)
+     * @throws UnsupportedOperationException if the graph is not weighted
+     */
+    public int addEdge(int source, int target, double weight)
+        throws IOException
+    {
+        return addEdge(source, target, weight, true);
+    }
+
+    /**
+     * Get the number of edges added so far.
+     * 
+     * @return the number of edges added so far
+     */
+    public int getEdgeCount()
+    {
+        return numEdges;
+    }
+
+    /**
+     * Build the output file and release all temporary resources.
+     * 
+     * @throws IOException in case of an I/O error
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            build();
+        } finally {
+            sources.delete();
+            targets.delete();
+            if (weights != null) {
+                weights.delete();
+            }
+        }
+    }
+
+    private int addEdge(int source, int target, double weight, boolean hasWeight)
+        throws IOException
+    {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        if (hasWeight && !weighted) {
+            throw new UnsupportedOperationException("Graph is not weighted");
+        }
+        CSRUtil.checkVertex(source, numVertices);
+        CSRUtil.checkVertex(target, numVertices);
+
+        // every edge identifier and every row entry must be addressable by an int
+        long newOutCount = outCount + (directed || source == target ? 1 : 2);
+        if (numEdges == Integer.MAX_VALUE || newOutCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many edges");
+        }
+
+        sources.putInt(source);
+        targets.putInt(target);
+        if (weighted) {
+            weights.putDouble(weight);
+        }
+
+        outDegrees[source]++;
+        if (directed || source != target) {
+            inDegrees[target]++;
+        }
+        outCount = newOutCount;
+        if (directed) {
+            inCount++;
+        }
+        return numEdges++;
+    }
+
+    private void build()
+        throws IOException
+    {
+        int m = numEdges;
+        MappedSparseIntGraphLayout layout = new MappedSparseIntGraphLayout(
+            directed, weighted, numVertices, m, (int) outCount, (int) inCount);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            FileChannel out = raf.getChannel())
+        {
+            raf.setLength(0);
+            raf.setLength(layout.size);
+            out.write(layout.writeHeader(), 0);
+
+            sources.transferTo(out, layout.sourcesPosition);
+            targets.transferTo(out, layout.targetsPosition);
+            if (weighted) {
+                weights.transferTo(out, layout.weightsPosition);
+            }
+
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE;
+            MappedIntArray src = new MappedIntArray(out, mode, layout.sourcesPosition, m);
+            MappedIntArray tgt = new MappedIntArray(out, mode, layout.targetsPosition, m);
+
+            if (directed) {
+                // outgoing rows grouped by source and ordered by target
+                buildRows(
+                    out, layout.outOffsetsPosition, layout.outEdgesPosition, layout.outCount,
+                    outDegrees, inDegrees, src, tgt, false);
+                // incoming rows grouped by target and ordered by source
+                buildRows(
+                    out, layout.inOffsetsPosition, layout.inEdgesPosition, layout.inCount,
+                    inDegrees, outDegrees, tgt, src, false);
+            } else {
+                buildRows(
+                    out, layout.outOffsetsPosition, layout.outEdgesPosition, layout.outCount,
+                    outDegrees, outDegrees, src, tgt, true);
+            }
+        }
+    }
+
+    /**
+     * Build the compressed rows using two passes of counting sort. The first pass distributes the
+     * edges into a temporary file ordered by column. The second pass scans the temporary file and
+     * distributes the edges into their rows, which are thus ordered by column.
+     * 
+     * @param out the output channel
+     * @param offsetsPosition the position of the row offsets in the output
+     * @param edgesPosition the position of the row entries in the output
+     * @param count the total number of row entries
+     * @param rowCounts the number of entries of each row
+     * @param colCounts the number of entries of each column
+     * @param rows the row of each edge
+     * @param cols the column of each edge
+     * @param undirected if true each edge is placed in the rows of both endpoints
+     * @throws IOException in case of an I/O error
+     */
+    private void buildRows(
+        FileChannel out, long offsetsPosition, long edgesPosition, int count, int[] rowCounts,
+        int[] colCounts, MappedIntArray rows, MappedIntArray cols, boolean undirected)
+        throws IOException
+    {
+        int n = numVertices;
+        int m = numEdges;
+        FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE;
+
+        MappedIntArray offsets = new MappedIntArray(out, mode, offsetsPosition, n + 1);
+        int[] rowPos = new int[n];
+        int sum = 0;
+        for (int v = 0; v < n; v++) {
+            offsets.set(v, sum);
+            rowPos[v] = sum;
+            sum += rowCounts[v];
+        }
+        offsets.set(n, sum);
+
+        int[] colStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            colStart[v + 1] = colStart[v] + colCounts[v];
+        }
+
+        File tmpFile =
+            File.createTempFile("jgrapht", ".tmp", file.getAbsoluteFile().getParentFile());
+        try (RandomAccessFile tmpRaf = new RandomAccessFile(tmpFile, "rw");
+            FileChannel tmpChannel = tmpRaf.getChannel())
+        {
+            tmpRaf.setLength((long) Integer.BYTES * count);
+            MappedIntArray tmp = new MappedIntArray(tmpChannel, mode, 0, count);
+
+            // first pass, order by column
+            int[] colPos = new int[n];
+            System.arraycopy(colStart, 0, colPos, 0, n);
+            for (int e = 0; e < m; e++) {
+                int r = rows.get(e);
+                int c = cols.get(e);
+                tmp.set(colPos[c]++, e);
+                if (undirected && r != c) {
+                    tmp.set(colPos[r]++, e);
+                }
+            }
+
+            // second pass, stable order by row
+            MappedIntArray entries = new MappedIntArray(out, mode, edgesPosition, count);
+            for (int c = 0; c < n; c++) {
+                for (int i = colStart[c]; i < colStart[c + 1]; i++) {
+                    int e = tmp.get(i);
+                    int r = rows.get(e);
+                    if (undirected && r == c) {
+                        r = cols.get(e);
+                    }
+                    entries.set(rowPos[r]++, e);
+                }
+            }
+        } finally {
+            tmpFile.delete();
+        }
+    }
+
+    /**
+     * A temporary file where values are appended using a buffer.
+     */
+    private static class SpillFile
+    {
+        private final File file;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        SpillFile(File dir)
+            throws IOException
+        {
+            this.file = File.createTempFile("jgrapht", ".tmp", dir);
+            this.channel = new RandomAccessFile(file, "rw").getChannel();
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void putInt(int value)
+            throws IOException
+        {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value)
+            throws IOException
+        {
+            if (buffer.remaining() < Double.BYTES) {
+                flush();
+            }
+            buffer.putDouble(value);
+        }
+
+        void transferTo(FileChannel target, long position)
+            throws IOException
+        {
+            flush();
+            long size = channel.size();
+            long done = 0;
+            while (done < size) {
+                done += channel.transferTo(done, size - done, target.position(position + done));
+            }
+        }
+
+        void delete()
+            throws IOException
+        {
+            channel.close();
+            file.delete();
+        }
+
+        private void flush()
+            throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
+
+// End MappedSparseIntGraphWriter.java
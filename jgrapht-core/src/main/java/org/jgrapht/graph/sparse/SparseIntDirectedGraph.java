@@ -0,0 +1,388 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A sparse directed graph.
+ * 
+ * <p>
+ * Assuming the graph has $n$ vertices, the vertices are numbered from $0$ to $n-1$. Similarly,
+ * edges are numbered from $0$ to $m-1$ where $m$ is the total number of edges, in the order they
+ * are given to the constructor.
+ * 
+ * <p>
+ * The graph is immutable and uses a compressed sparse row (CSR) representation. Besides the
+ * source and target of each edge, it stores for each vertex the outgoing and the incoming edges in
+ * two contiguous arrays. Thus the graph uses a small constant number of integers per edge and no
+ * objects at all. Edges of a vertex are ordered by their opposite endpoint, which allows
+ * retrieving an edge between two vertices using binary search in time $O(\log d)$ where $d$ is the
+ * degree of the vertex.
+ * 
+ * <p>
+ * The graph allows self-loops and multiple edges. It is unweighted, see
+ * {@link SparseIntDirectedWeightedGraph} for a weighted version.
+ * 
+ * @author agent
+ */
+public class SparseIntDirectedGraph
+    extends
+    AbstractGraph<Integer, Integer>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = -7601215378002327307L;
+
+    protected static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    /**
+     * Source vertex of each edge
+     */
+    protected final int[] sources;
+
+    /**
+     * Target vertex of each edge
+     */
+    protected final int[] targets;
+
+    /**
+     * Offsets of the outgoing edges of each vertex in {@link #outEdges}
+     */
+    protected final int[] outOffsets;
+
+    /**
+     * Outgoing edges, grouped by source and ordered by target vertex
+     */
+    protected final int[] outEdges;
+
+    /**
+     * Offsets of the incoming edges of each vertex in {@link #inEdges}
+     */
+    protected final int[] inOffsets;
+
+    /**
+     * Incoming edges, grouped by target and ordered by source vertex
+     */
+    protected final int[] inEdges;
+
+    /**
+     * Create a new graph from an edge list.
+     * 
+     * @param numVertices number of vertices
+     * @param edges list of edges
+     * @throws IllegalArgumentException in case an edge endpoint is not in [0, numVertices)
+     */
+    public SparseIntDirectedGraph(int numVertices, List<Pair<Integer, Integer>> edges)
+    {
+        this(
+            numVertices, CSRUtil.toArray(edges, Pair::getFirst),
+            CSRUtil.toArray(edges, Pair::getSecond), false);
+    }
+
+    /**
+     * Create a new graph from an edge list given as two parallel arrays. Edge $i$ has source
+     * <code>sources[i]</code> and target <code>targets[i]</code>. The arrays are copied.
+     * 
+     * @param numVertices number of vertices
+     * @param sources the source vertex of each edge
+     * @param targets the target vertex of each edge
+     * @throws IllegalArgumentException in case the arrays have different lengths or an edge
+     *         endpoint is not in [0, numVertices)
+     */
+    public SparseIntDirectedGraph(int numVertices, int[] sources, int[] targets)
+    {
+        this(numVertices, sources.clone(), targets.clone(), false);
+    }
+
+    /**
+     * Create a new graph which uses the given arrays as its edge storage, without copying.
+     * 
+     * @param numVertices number of vertices
+     * @param sources the source vertex of each edge
+     * @param targets the target vertex of each edge
+     * @param unused marker parameter in order to distinguish from the public constructor
+     */
+    SparseIntDirectedGraph(int numVertices, int[] sources, int[] targets, boolean unused)
+    {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Source and target arrays must have equal length");
+        }
+        int m = sources.length;
+        int[] edgeIds = new int[m];
+        for (int e = 0; e < m; e++) {
+            CSRUtil.checkVertex(sources[e], numVertices);
+            CSRUtil.checkVertex(targets[e], numVertices);
+            edgeIds[e] = e;
+        }
+
+        this.sources = sources;
+        this.targets = targets;
+        this.outEdges = new int[m];
+        this.outOffsets = CSRUtil.compress(numVertices, sources, targets, edgeIds, m, outEdges);
+        this.inEdges = new int[m];
+        this.inOffsets = CSRUtil.compress(numVertices, targets, sources, edgeIds, m, inEdges);
+    }
+
+    @Override
+    public Supplier<Integer> getVertexSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Supplier<Integer> getEdgeSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Integer addEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addEdge(Integer sourceVertex, Integer targetVertex, Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Integer addVertex()
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean containsEdge(Integer e)
+    {
+        return e != null && e >= 0 && e < sources.length;
+    }
+
+    @Override
+    public boolean containsVertex(Integer v)
+    {
+        return v != null && v >= 0 && v < outOffsets.length - 1;
+    }
+
+    @Override
+    public Set<Integer> edgeSet()
+    {
+        return new IntegerRangeSet(sources.length);
+    }
+
+    @Override
+    public int degreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return outDegreeOf(vertex) + inDegreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> edgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        ArrayUnenforcedSet<Integer> result = new ArrayUnenforcedSet<>(degreeOf(vertex));
+        for (int i = outOffsets[vertex]; i < outOffsets[vertex + 1]; i++) {
+            result.add(outEdges[i]);
+        }
+        for (int i = inOffsets[vertex]; i < inOffsets[vertex + 1]; i++) {
+            int e = inEdges[i];
+            // self-loops are already included as outgoing edges
+            if (sources[e] != vertex) {
+                result.add(e);
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    @Override
+    public int inDegreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return inOffsets[vertex + 1] - inOffsets[vertex];
+    }
+
+    @Override
+    public Set<Integer> incomingEdgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new IntArraySliceSet(inEdges, inOffsets[vertex], inOffsets[vertex + 1]);
+    }
+
+    @Override
+    public int outDegreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return outOffsets[vertex + 1] - outOffsets[vertex];
+    }
+
+    @Override
+    public Set<Integer> outgoingEdgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new IntArraySliceSet(outEdges, outOffsets[vertex], outOffsets[vertex + 1]);
+    }
+
+    @Override
+    public Integer removeEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeEdge(Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Integer> vertexSet()
+    {
+        return new IntegerRangeSet(outOffsets.length - 1);
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer e)
+    {
+        assertEdgeExist(e);
+        return sources[e];
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer e)
+    {
+        assertEdgeExist(e);
+        return targets[e];
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return new DefaultGraphType.Builder()
+            .directed().weighted(false).modifiable(false).allowMultipleEdges(true)
+            .allowSelfLoops(true).build();
+    }
+
+    @Override
+    public double getEdgeWeight(Integer e)
+    {
+        assertEdgeExist(e);
+        return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(Integer e, double weight)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Integer> getAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int from = lowerBound(sourceVertex, targetVertex);
+        int to = from;
+        while (to < outOffsets[sourceVertex + 1] && targets[outEdges[to]] == targetVertex) {
+            to++;
+        }
+        return new IntArraySliceSet(outEdges, from, to);
+    }
+
+    @Override
+    public Integer getEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int pos = lowerBound(sourceVertex, targetVertex);
+        if (pos < outOffsets[sourceVertex + 1] && targets[outEdges[pos]] == targetVertex) {
+            return outEdges[pos];
+        }
+        return null;
+    }
+
+    /**
+     * Find the first position in the outgoing edges of a vertex whose target is not less than a
+     * given vertex.
+     * 
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return the position in {@link #outEdges}
+     */
+    private int lowerBound(int source, int target)
+    {
+        int low = outOffsets[source];
+        int high = outOffsets[source + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (targets[outEdges[mid]] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ensures that the specified edge exists in this graph, or else throws exception.
+     *
+     * @param e edge
+     * @return <code>true</code> if this assertion holds.
+     * @throws NullPointerException if specified edge is <code>null</code>.
+     * @throws IllegalArgumentException if specified edge does not exist in this graph.
+     */
+    protected boolean assertEdgeExist(Integer e)
+    {
+        if (containsEdge(e)) {
+            return true;
+        } else if (e == null) {
+            throw new NullPointerException();
+        } else {
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+    }
+}
+
+// End SparseIntDirectedGraph.java
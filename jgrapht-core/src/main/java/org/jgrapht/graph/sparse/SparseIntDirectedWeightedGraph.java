@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+
+import java.util.*;
+
+/**
+ * A sparse directed weighted graph.
+ * 
+ * <p>
+ * Assuming the graph has $n$ vertices, the vertices are numbered from $0$ to $n-1$. Similarly,
+ * edges are numbered from $0$ to $m-1$ where $m$ is the total number of edges, in the order they
+ * are given to the constructor.
+ * 
+ * <p>
+ * The graph is immutable and uses the same compressed sparse row representation as
+ * {@link SparseIntDirectedGraph}. The edge weights are stored in an additional array indexed by
+ * the edge identifier.
+ * 
+ * @author agent
+ */
+public class SparseIntDirectedWeightedGraph
+    extends
+    SparseIntDirectedGraph
+{
+    private static final long serialVersionUID = -3587284213735016862L;
+
+    /**
+     * Weight of each edge
+     */
+    protected final double[] weights;
+
+    /**
+     * Create a new graph from an edge list.
+     * 
+     * @param numVertices number of vertices
+     * @param edges list of edges, each given as a triple (source, target, weight)
+     * @throws IllegalArgumentException in case an edge endpoint is not in [0, numVertices)
+     */
+    public SparseIntDirectedWeightedGraph(
+        int numVertices, List<Triple<Integer, Integer, Double>> edges)
+    {
+        super(
+            numVertices, CSRUtil.toArray(edges, Triple::getFirst),
+            CSRUtil.toArray(edges, Triple::getSecond), false);
+        this.weights = edges.stream().mapToDouble(Triple::getThird).toArray();
+    }
+
+    /**
+     * Create a new graph from an edge list given as three parallel arrays. Edge $i$ has source
+     * <code>sources[i]</code>, target <code>targets[i]</code> and weight <code>weights[i]</code>.
+     * The arrays are copied.
+     * 
+     * @param numVertices number of vertices
+     * @param sources the source vertex of each edge
+     * @param targets the target vertex of each edge
+     * @param weights the weight of each edge
+     * @throws IllegalArgumentException in case the arrays have different lengths or an edge
+     *         endpoint is not in [0, numVertices)
+     */
+    public SparseIntDirectedWeightedGraph(
+        int numVertices, int[] sources, int[] targets, double[] weights)
+    {
+        super(numVertices, sources.clone(), targets.clone(), false);
+        if (weights.length != sources.length) {
+            throw new IllegalArgumentException("Weight array must have one entry per edge");
+        }
+        this.weights = weights.clone();
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return new DefaultGraphType.Builder()
+            .directed().weighted(true).modifiable(false).allowMultipleEdges(true)
+            .allowSelfLoops(true).build();
+    }
+
+    @Override
+    public double getEdgeWeight(Integer e)
+    {
+        assertEdgeExist(e);
+        return weights[e];
+    }
+}
+
+// End SparseIntDirectedWeightedGraph.java
@@ -0,0 +1,402 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A sparse undirected graph.
+ * 
+ * <p>
+ * Assuming the graph has $n$ vertices, the vertices are numbered from $0$ to $n-1$. Similarly,
+ * edges are numbered from $0$ to $m-1$ where $m$ is the total number of edges, in the order they
+ * are given to the constructor.
+ * 
+ * <p>
+ * The graph is immutable and uses a compressed sparse row (CSR) representation. Besides the two
+ * endpoints of each edge, it stores for each vertex the touching edges in a contiguous array.
+ * Edges of a vertex are ordered by their opposite endpoint, which allows retrieving an edge
+ * between two vertices using binary search in time $O(\log d)$ where $d$ is the degree of the
+ * vertex.
+ * 
+ * <p>
+ * The graph allows self-loops and multiple edges. It is unweighted, see
+ * {@link SparseIntUndirectedWeightedGraph} for a weighted version.
+ * 
+ * @author agent
+ */
+public class SparseIntUndirectedGraph
+    extends
+    AbstractGraph<Integer, Integer>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 6423474618926452397L;
+
+    protected static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    /**
+     * First endpoint of each edge
+     */
+    protected final int[] sources;
+
+    /**
+     * Second endpoint of each edge
+     */
+    protected final int[] targets;
+
+    /**
+     * Offsets of the touching edges of each vertex in {@link #edges}
+     */
+    protected final int[] offsets;
+
+    /**
+     * Touching edges, grouped by vertex and ordered by opposite vertex. Self-loops appear only
+     * once.
+     */
+    protected final int[] edges;
+
+    /**
+     * Create a new graph from an edge list.
+     * 
+     * @param numVertices number of vertices
+     * @param edges list of edges
+     * @throws IllegalArgumentException in case an edge endpoint is not in [0, numVertices)
+     */
+    public SparseIntUndirectedGraph(int numVertices, List<Pair<Integer, Integer>> edges)
+    {
+        this(
+            numVertices, CSRUtil.toArray(edges, Pair::getFirst),
+            CSRUtil.toArray(edges, Pair::getSecond), false);
+    }
+
+    /**
+     * Create a new graph from an edge list given as two parallel arrays. Edge $i$ has endpoints
+     * <code>sources[i]</code> and <code>targets[i]</code>. The arrays are copied.
+     * 
+     * @param numVertices number of vertices
+     * @param sources the first endpoint of each edge
+     * @param targets the second endpoint of each edge
+     * @throws IllegalArgumentException in case the arrays have different lengths or an edge
+     *         endpoint is not in [0, numVertices)
+     */
+    public SparseIntUndirectedGraph(int numVertices, int[] sources, int[] targets)
+    {
+        this(numVertices, sources.clone(), targets.clone(), false);
+    }
+
+    /**
+     * Create a new graph which uses the given arrays as its edge storage, without copying.
+     * 
+     * @param numVertices number of vertices
+     * @param sources the first endpoint of each edge
+     * @param targets the second endpoint of each edge
+     * @param unused marker parameter in order to distinguish from the public constructor
+     */
+    SparseIntUndirectedGraph(int numVertices, int[] sources, int[] targets, boolean unused)
+    {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Source and target arrays must have equal length");
+        }
+        int m = sources.length;
+        int loops = 0;
+        for (int e = 0; e < m; e++) {
+            CSRUtil.checkVertex(sources[e], numVertices);
+            CSRUtil.checkVertex(targets[e], numVertices);
+            if (sources[e] == targets[e]) {
+                loops++;
+            }
+        }
+
+        // each edge contributes one entry per endpoint, self-loops only one
+        int count = 2 * m - loops;
+        int[] rows = new int[count];
+        int[] cols = new int[count];
+        int[] edgeIds = new int[count];
+        int k = 0;
+        for (int e = 0; e < m; e++) {
+            rows[k] = sources[e];
+            cols[k] = targets[e];
+            edgeIds[k++] = e;
+            if (sources[e] != targets[e]) {
+                rows[k] = targets[e];
+                cols[k] = sources[e];
+                edgeIds[k++] = e;
+            }
+        }
+
+        this.sources = sources;
+        this.targets = targets;
+        this.edges = new int[count];
+        this.offsets = CSRUtil.compress(numVertices, rows, cols, edgeIds, count, this.edges);
+    }
+
+    @Override
+    public Supplier<Integer> getVertexSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Supplier<Integer> getEdgeSupplier()
+    {
+        return null;
+    }
+
+    @Override
+    public Integer addEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addEdge(Integer sourceVertex, Integer targetVertex, Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Integer addVertex()
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean addVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean containsEdge(Integer e)
+    {
+        return e != null && e >= 0 && e < sources.length;
+    }
+
+    @Override
+    public boolean containsVertex(Integer v)
+    {
+        return v != null && v >= 0 && v < offsets.length - 1;
+    }
+
+    @Override
+    public Set<Integer> edgeSet()
+    {
+        return new IntegerRangeSet(sources.length);
+    }
+
+    @Override
+    public int degreeOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        // self-loops count twice
+        int degree = offsets[vertex + 1] - offsets[vertex];
+        int pos = lowerBound(vertex, vertex);
+        while (pos < offsets[vertex + 1] && opposite(edges[pos], vertex) == vertex) {
+            degree++;
+            pos++;
+        }
+        return degree;
+    }
+
+    @Override
+    public Set<Integer> edgesOf(Integer vertex)
+    {
+        assertVertexExist(vertex);
+        return new IntArraySliceSet(edges, offsets[vertex], offsets[vertex + 1]);
+    }
+
+    @Override
+    public int inDegreeOf(Integer vertex)
+    {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> incomingEdgesOf(Integer vertex)
+    {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(Integer vertex)
+    {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> outgoingEdgesOf(Integer vertex)
+    {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public Integer removeEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeEdge(Integer e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public boolean removeVertex(Integer v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Integer> vertexSet()
+    {
+        return new IntegerRangeSet(offsets.length - 1);
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer e)
+    {
+        assertEdgeExist(e);
+        return sources[e];
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer e)
+    {
+        assertEdgeExist(e);
+        return targets[e];
+    }
+
+    @Override
+    public GraphType getType()
+    {
+        return new DefaultGraphType.Builder()
+            .undirected().weighted(false).modifiable(false).allowMultipleEdges(true)
+            .allowSelfLoops(true).build();
+    }
+
+    @Override
+    public double getEdgeWeight(Integer e)
+    {
+        assertEdgeExist(e);
+        return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(Integer e, double weight)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    @Override
+    public Set<Integer> getAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int from = lowerBound(sourceVertex, targetVertex);
+        int to = from;
+        while (to < offsets[sourceVertex + 1]
+            && opposite(edges[to], sourceVertex) == targetVertex)
+        {
+            to++;
+        }
+        return new IntArraySliceSet(edges, from, to);
+    }
+
+    @Override
+    public Integer getEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int pos = lowerBound(sourceVertex, targetVertex);
+        if (pos < offsets[sourceVertex + 1]
+            && opposite(edges[pos], sourceVertex) == targetVertex)
+        {
+            return edges[pos];
+        }
+        return null;
+    }
+
+    /**
+     * Get the endpoint of an edge which is opposite to a vertex.
+     * 
+     * @param e the edge
+     * @param v one endpoint of the edge
+     * @return the other endpoint of the edge
+     */
+    private int opposite(int e, int v)
+    {
+        return sources[e] == v ? targets[e] : sources[e];
+    }
+
+    /**
+     * Find the first position in the touching edges of a vertex whose opposite endpoint is not
+     * less than a given vertex.
+     * 
+     * @param v the vertex
+     * @param u the opposite vertex
+     * @return the position in {@link #edges}
+     */
+    private int lowerBound(int v, int u)
+    {
+        int low = offsets[v];
+        int high = offsets[v + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (opposite(edges[mid], v) < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ensures that the specified edge exists in this graph, or else throws exception.
+     *
+     * @param e edge
+     * @return <code>true</code> if this assertion holds.
+     * @throws NullPointerException if specified edge is <code>null</code>.
+     * @throws IllegalArgumentException if specified edge does not exist in this graph.
+     */
+    protected boolean assertEdgeExist(Integer e)
+    {
+        if (containsEdge(e)) {
+            return true;
+        } else if (e == null) {
+            throw new NullPointerException();
+        } else {
+            throw new IllegalArgumentException("no such edge in graph: " + e.toString());
+        }
+    }
+}
+
+// End SparseIntUndirectedGraph.java
@@ -0,0 +1,5 @@
+/**
+ * Immutable sparse graph implementations with integer vertices and edges, stored either in the heap
+ * or in memory-mapped files.
+ */
+package org.jgrapht.graph.sparse;
@@ -0,0 +1,309 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A map with non-negative integer keys which stores the values in an array indexed by the key.
+ * 
+ * <p>
+ * The map is intended for dense keys, i.e. keys which are close to the range $[0, n)$ where $n$ is
+ * the number of entries. All operations on single keys run in constant (amortized) time and no
+ * objects are allocated per entry. Iteration follows the ascending order of the keys and takes
+ * time proportional to the largest key. The map does not support <code>null</code> values.
+ * 
+ * @param <V> the value type
+ * 
+ * @author agent
+ */
+class DenseIntegerMap<V>
+    extends
+    AbstractMap<Integer, V>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = 3150271036683427409L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] values;
+    private int size;
+    private transient int modCount;
+    private transient Set<Integer> keySet;
+    private transient Set<Map.Entry<Integer, V>> entrySet;
+
+    /**
+     * Create a new map.
+     */
+    DenseIntegerMap()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new map.
+     * 
+     * @param capacity the initial capacity
+     */
+    DenseIntegerMap(int capacity)
+    {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.values = new Object[capacity];
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key)
+    {
+        if (key instanceof Integer) {
+            int k = (Integer) key;
+            if (k >= 0 && k < values.length) {
+                return (V) values[k];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(Integer key, V value)
+    {
+        int k = key;
+        if (k < 0) {
+            throw new IllegalArgumentException("Key must be non-negative: " + k);
+        }
+        Objects.requireNonNull(value, "Null values are not supported");
+        ensureCapacity(k + 1);
+        V old = (V) values[k];
+        values[k] = value;
+        if (old == null) {
+            size++;
+            modCount++;
+        }
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key)
+    {
+        if (key instanceof Integer) {
+            int k = (Integer) key;
+            if (k >= 0 && k < values.length && values[k] != null) {
+                V old = (V) values[k];
+                values[k] = null;
+                size--;
+                modCount++;
+                return old;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Make sure that the map can hold keys up to a given value without resizing.
+     * 
+     * @param capacity the minimum capacity
+     */
+    void ensureCapacity(int capacity)
+    {
+        if (capacity > values.length) {
+            int newCapacity = Math.max(capacity, values.length + (values.length >> 1));
+            if (newCapacity < 0) {
+                newCapacity = Integer.MAX_VALUE;
+            }
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    @Override
+    public Set<Integer> keySet()
+    {
+        if (keySet == null) {
+            keySet = new AbstractSet<Integer>()
+            {
+                @Override
+                public Iterator<Integer> iterator()
+                {
+                    return new KeyIterator();
+                }
+
+                @Override
+                public int size()
+                {
+                    return size;
+                }
+
+                @Override
+                public boolean contains(Object o)
+                {
+                    return containsKey(o);
+                }
+
+                @Override
+                public boolean remove(Object o)
+                {
+                    return DenseIntegerMap.this.remove(o) != null;
+                }
+
+                @Override
+                public void clear()
+                {
+                    DenseIntegerMap.this.clear();
+                }
+            };
+        }
+        return keySet;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet()
+    {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Integer, V>>()
+            {
+                @Override
+                public Iterator<Map.Entry<Integer, V>> iterator()
+                {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size()
+                {
+                    return size;
+                }
+
+                @Override
+                public void clear()
+                {
+                    DenseIntegerMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Base iterator over the occupied positions of the array.
+     */
+    private abstract class BaseIterator
+    {
+        private int next;
+        private int last;
+        private int expectedModCount;
+
+        BaseIterator()
+        {
+            this.next = advance(0);
+            this.last = -1;
+            this.expectedModCount = modCount;
+        }
+
+        public boolean hasNext()
+        {
+            return next < values.length;
+        }
+
+        int nextIndex()
+        {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= values.length) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return last;
+        }
+
+        public void remove()
+        {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            DenseIntegerMap.this.remove(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private int advance(int i)
+        {
+            while (i < values.length && values[i] == null) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private class KeyIterator
+        extends
+        BaseIterator
+        implements
+        Iterator<Integer>
+    {
+        @Override
+        public Integer next()
+        {
+            return nextIndex();
+        }
+    }
+
+    private class EntryIterator
+        extends
+        BaseIterator
+        implements
+        Iterator<Map.Entry<Integer, V>>
+    {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<Integer, V> next()
+        {
+            int k = nextIndex();
+            return new AbstractMap.SimpleImmutableEntry<>(k, (V) values[k]);
+        }
+    }
+}
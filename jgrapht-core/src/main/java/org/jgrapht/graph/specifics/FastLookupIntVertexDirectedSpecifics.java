@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.*;
+
+import java.util.*;
+
+/**
+ * Fast lookup directed specifics for graphs whose vertices are non-negative integers.
+ * 
+ * <p>
+ * The vertices are kept in an array indexed by the vertex itself, instead of a hash map, and the
+ * edges between pairs of vertices are stored in an open-addressing table keyed by the packed pair
+ * of vertices. Compared to {@link FastLookupDirectedSpecifics} no objects are allocated per vertex
+ * pair, which reduces both memory consumption and the cost of edge retrievals. The vertex set
+ * iterates in ascending order and the vertices are expected to be dense, i.e. close to the range
+ * $[0, n)$. Negative vertices are not supported.
+ *
+ * @param <E> the graph edge type
+ *
+ * @author agent
+ */
+public class FastLookupIntVertexDirectedSpecifics<E>
+    extends
+    DirectedSpecifics<Integer, E>
+{
+    private static final long serialVersionUID = -2276306128540426934L;
+
+    private final IntPairEdgeTable<E> edgeTable;
+
+    /**
+     * Construct a new fast lookup directed specifics.
+     * 
+     * @param graph the graph for which these specifics are for
+     * @param edgeSetFactory factory for the creation of vertex edge sets
+     */
+    public FastLookupIntVertexDirectedSpecifics(
+        Graph<Integer, E> graph, EdgeSetFactory<Integer, E> edgeSetFactory)
+    {
+        super(graph, new DenseIntegerMap<>(), edgeSetFactory);
+        this.edgeTable = new IntPairEdgeTable<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<E> getAllEdges(Integer sourceVertex, Integer targetVertex)
+    {
+        if (graph.containsVertex(sourceVertex) && graph.containsVertex(targetVertex)) {
+            Set<E> edgeSet = edgeSetFactory.createEdgeSet(sourceVertex);
+            int u = sourceVertex;
+            int v = targetVertex;
+            edgeTable.getAll(u, v, edgeSet);
+            return edgeSet;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E getEdge(Integer sourceVertex, Integer targetVertex)
+    {
+        if (sourceVertex == null || targetVertex == null) {
+            return null;
+        }
+        int u = sourceVertex;
+        int v = targetVertex;
+        return edgeTable.get(u, v);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addEdgeToTouchingVertices(E e)
+    {
+        int source = graph.getEdgeSource(e);
+        int target = graph.getEdgeTarget(e);
+
+        getEdgeContainer(source).addOutgoingEdge(e);
+        getEdgeContainer(target).addIncomingEdge(e);
+
+        edgeTable.add(source, target, e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeEdgeFromTouchingVertices(E e)
+    {
+        int source = graph.getEdgeSource(e);
+        int target = graph.getEdgeTarget(e);
+
+        getEdgeContainer(source).removeOutgoingEdge(e);
+        getEdgeContainer(target).removeIncomingEdge(e);
+
+        edgeTable.remove(source, target, e);
+    }
+
+}
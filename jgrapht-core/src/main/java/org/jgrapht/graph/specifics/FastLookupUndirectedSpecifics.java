@@ -45,6 +45,11 @@ public class FastLookupUndirectedSpecifics<V, E>
      */
     protected Map<Pair<V, V>, Set<E>> touchingVerticesToEdgeMap;
 
+    /**
+     * Whether the touching vertices map has not been built yet, see {@link #buildIndex()}.
+     */
+    private boolean indexDeferred;
+
     /**
      * Construct a new fast lookup undirected specifics.
      * 
@@ -105,6 +110,33 @@ public class FastLookupUndirectedSpecifics<V, E>
         super(graph, vertexMap, edgeSetFactory);
         this.touchingVerticesToEdgeMap = Objects.requireNonNull(touchingVerticesToEdgeMap);
     }
+
+    /**
+     * Construct a new fast lookup undirected specifics.
+     * 
+     * <p>
+     * When the construction of the touching vertices map is deferred, edges added to the graph
+     * are only recorded in the vertex edge sets and the map is built in one pass by
+     * {@link #buildIndex()}. Until then edge retrievals scan the edges of the vertices. This
+     * speeds up the bulk loading of large graphs.
+     * 
+     * @param graph the graph for which these specifics are for
+     * @param vertexMap map for the storage of vertex edge sets. Needs to have a predictable
+     *        iteration order.
+     * @param touchingVerticesToEdgeMap Additional map for caching. No need for a predictable
+     *        iteration order.
+     * @param edgeSetFactory factory for the creation of vertex edge sets
+     * @param deferIndex whether to defer the construction of the touching vertices map until
+     *        {@link #buildIndex()} is called
+     */
+    public FastLookupUndirectedSpecifics(
+        Graph<V, E> graph, Map<V, UndirectedEdgeContainer<V, E>> vertexMap,
+        Map<Pair<V, V>, Set<E>> touchingVerticesToEdgeMap, EdgeSetFactory<V, E> edgeSetFactory,
+        boolean deferIndex)
+    {
+        this(graph, vertexMap, touchingVerticesToEdgeMap, edgeSetFactory);
+        this.indexDeferred = deferIndex;
+    }
     
     /**
      * {@inheritDoc}
@@ -112,6 +144,9 @@ public class FastLookupUndirectedSpecifics<V, E>
     @Override
     public Set<E> getAllEdges(V sourceVertex, V targetVertex)
     {
+        if (indexDeferred) {
+            return super.getAllEdges(sourceVertex, targetVertex);
+        }
         if (graph.containsVertex(sourceVertex) && graph.containsVertex(targetVertex)) {
             Set<E> edges =
                 touchingVerticesToEdgeMap.get(new UnorderedPair<>(sourceVertex, targetVertex));
@@ -133,6 +168,9 @@ public class FastLookupUndirectedSpecifics<V, E>
     @Override
     public E getEdge(V sourceVertex, V targetVertex)
     {
+        if (indexDeferred) {
+            return super.getEdge(sourceVertex, targetVertex);
+        }
         Set<E> edges =
             touchingVerticesToEdgeMap.get(new UnorderedPair<>(sourceVertex, targetVertex));
         if (edges == null || edges.isEmpty())
@@ -152,20 +190,14 @@ public class FastLookupUndirectedSpecifics<V, E>
 
         getEdgeContainer(source).addEdge(e);
 
-        // Add edge to touchingVerticesToEdgeMap for the UnorderedPair {u,v}
-        Pair<V, V> vertexPair = new UnorderedPair<>(source, target);
-        Set<E> edgeSet = touchingVerticesToEdgeMap.get(vertexPair);
-        if (edgeSet != null)
-            edgeSet.add(e);
-        else {
-            edgeSet = edgeSetFactory.createEdgeSet(source);
-            edgeSet.add(e);
-            touchingVerticesToEdgeMap.put(vertexPair, edgeSet);
-        }
-
         if (!source.equals(target)) { // If not a self loop
             getEdgeContainer(target).addEdge(e);
         }
+
+        // Add edge to touchingVerticesToEdgeMap for the UnorderedPair {u,v}
+        if (!indexDeferred) {
+            addToTouchingVerticesToEdgeMap(e, source, target);
+        }
     }
 
     /**
@@ -182,6 +214,10 @@ public class FastLookupUndirectedSpecifics<V, E>
         if (!source.equals(target))
             getEdgeContainer(target).removeEdge(e);
 
+        if (indexDeferred) {
+            return;
+        }
+
         /*
          * Remove the edge from the touchingVerticesToEdgeMap. If there are no more remaining edges
          * for a pair of touching vertices, remove the pair from the map.
@@ -195,4 +231,42 @@ public class FastLookupUndirectedSpecifics<V, E>
         }
     }
 
+    /**
+     * Whether the construction of the touching vertices map is deferred.
+     * 
+     * @return true if the touching vertices map has not been built yet, false otherwise
+     */
+    public boolean isIndexDeferred()
+    {
+        return indexDeferred;
+    }
+
+    /**
+     * Build the touching vertices map in one pass, if its construction has been deferred. This
+     * method modifies the specifics and must not be called concurrently with any other operation
+     * on the graph. Afterwards the map is maintained on every edge insertion and removal.
+     */
+    public void buildIndex()
+    {
+        if (indexDeferred) {
+            for (E e : graph.edgeSet()) {
+                addToTouchingVerticesToEdgeMap(e, graph.getEdgeSource(e), graph.getEdgeTarget(e));
+            }
+            indexDeferred = false;
+        }
+    }
+
+    private void addToTouchingVerticesToEdgeMap(E e, V source, V target)
+    {
+        Pair<V, V> vertexPair = new UnorderedPair<>(source, target);
+        Set<E> edgeSet = touchingVerticesToEdgeMap.get(vertexPair);
+        if (edgeSet != null)
+            edgeSet.add(e);
+        else {
+            edgeSet = edgeSetFactory.createEdgeSet(source);
+            edgeSet.add(e);
+            touchingVerticesToEdgeMap.put(vertexPair, edgeSet);
+        }
+    }
+
 }
@@ -0,0 +1,277 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.specifics;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An open-addressing hash table which maps pairs of integer vertices to the edges connecting them.
+ * 
+ * <p>
+ * Each pair $(u,v)$ is packed into a single <code>long</code> key. The table uses linear probing
+ * with backward-shift deletion, so that no objects are allocated per pair. A pair connected by a
+ * single edge stores the edge directly, while parallel edges are kept in a small list. Callers are
+ * responsible for normalizing the pairs of undirected graphs.
+ * 
+ * @param <E> the edge type
+ * 
+ * @author agent
+ */
+class IntPairEdgeTable<E>
+    implements
+    Serializable
+{
+    private static final long serialVersionUID = -6405786410573329817L;
+
+    private static final long EMPTY = -1L;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift;
+    private int size;
+
+    /**
+     * Create a new table.
+     */
+    IntPairEdgeTable()
+    {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get the number of vertex pairs stored in the table.
+     * 
+     * @return the number of vertex pairs
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Get an arbitrary edge connecting a pair of vertices.
+     * 
+     * @param u the first vertex
+     * @param v the second vertex
+     * @return an edge connecting the two vertices or null if none exists
+     */
+    @SuppressWarnings("unchecked")
+    E get(int u, int v)
+    {
+        int pos = find(key(u, v));
+        if (pos < 0) {
+            return null;
+        }
+        Object value = values[pos];
+        if (value instanceof EdgeList) {
+            return ((EdgeList<E>) value).get(0);
+        }
+        return (E) value;
+    }
+
+    /**
+     * Add all edges connecting a pair of vertices to a collection.
+     * 
+     * @param u the first vertex
+     * @param v the second vertex
+     * @param result the collection to add the edges to
+     * @return true if at least one edge was found, false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    boolean getAll(int u, int v, Collection<E> result)
+    {
+        int pos = find(key(u, v));
+        if (pos < 0) {
+            return false;
+        }
+        Object value = values[pos];
+        if (value instanceof EdgeList) {
+            result.addAll((EdgeList<E>) value);
+        } else {
+            result.add((E) value);
+        }
+        return true;
+    }
+
+    /**
+     * Add an edge connecting a pair of vertices.
+     * 
+     * @param u the first vertex
+     * @param v the second vertex
+     * @param e the edge
+     */
+    @SuppressWarnings("unchecked")
+    void add(int u, int v, E e)
+    {
+        long k = key(u, v);
+        int pos = slot(k);
+        while (keys[pos] != EMPTY) {
+            if (keys[pos] == k) {
+                Object value = values[pos];
+                if (value instanceof EdgeList) {
+                    ((EdgeList<E>) value).add(e);
+                } else {
+                    EdgeList<E> list = new EdgeList<>();
+                    list.add((E) value);
+                    list.add(e);
+                    values[pos] = list;
+                }
+                return;
+            }
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = k;
+        values[pos] = e;
+        if (++size > (keys.length >>> 1) + (keys.length >>> 2)) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Remove an edge connecting a pair of vertices.
+     * 
+     * @param u the first vertex
+     * @param v the second vertex
+     * @param e the edge
+     */
+    @SuppressWarnings("unchecked")
+    void remove(int u, int v, E e)
+    {
+        int pos = find(key(u, v));
+        if (pos < 0) {
+            return;
+        }
+        Object value = values[pos];
+        if (value instanceof EdgeList) {
+            EdgeList<E> list = (EdgeList<E>) value;
+            list.remove(e);
+            if (list.size() == 1) {
+                values[pos] = list.get(0);
+            }
+        } else if (value.equals(e)) {
+            delete(pos);
+        }
+    }
+
+    /**
+     * Remove all pairs from the table.
+     */
+    void clear()
+    {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private static long key(int u, int v)
+    {
+        return ((long) u << 32) | (v & 0xFFFFFFFFL);
+    }
+
+    private int slot(long k)
+    {
+        return (int) ((k * PHI) >>> shift);
+    }
+
+    /*
+     * The probes are bounded by the capacity of the keys array read at the start, so that a lookup
+     * terminates even if it observes a concurrent rehash.
+     */
+    private int find(long k)
+    {
+        long[] keys = this.keys;
+        int m = keys.length - 1;
+        int pos = slot(k) & m;
+        for (int i = 0; i <= m && keys[pos] != EMPTY; i++) {
+            if (keys[pos] == k) {
+                return pos;
+            }
+            pos = (pos + 1) & m;
+        }
+        return -1;
+    }
+
+    /*
+     * Backward-shift deletion: move subsequent entries of the probe sequence into the hole so that
+     * no tombstones are required.
+     */
+    private void delete(int pos)
+    {
+        int hole = pos;
+        int cur = (pos + 1) & mask;
+        while (keys[cur] != EMPTY) {
+            int home = slot(keys[cur]);
+            if (((cur - home) & mask) >= ((cur - hole) & mask)) {
+                keys[hole] = keys[cur];
+                values[hole] = values[cur];
+                hole = cur;
+            }
+            cur = (cur + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+    }
+
+    private void allocate(int capacity)
+    {
+        long[] newKeys = new long[capacity];
+        Arrays.fill(newKeys, EMPTY);
+        keys = newKeys;
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private void rehash(int capacity)
+    {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != EMPTY) {
+                int pos = slot(k);
+                while (keys[pos] != EMPTY) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = k;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * The list of parallel edges of a pair of vertices.
+     */
+    private static class EdgeList<E>
+        extends
+        ArrayList<E>
+    {
+        private static final long serialVersionUID = 2476513932880476451L;
+
+        EdgeList()
+        {
+            super(2);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+/**
+ * An addressable heap with <code>double</code> keys.
+ * 
+ * <p>
+ * Inserting an element returns a handle which can later be used to decrease the key of the
+ * element. Handles remain valid after their element has been removed from the heap; their key and
+ * value can still be read, which allows algorithms to use the handles as their bookkeeping of
+ * tentative distances. This is the priority queue abstraction used by the Dijkstra family of
+ * algorithms, which accept a supplier of heaps in order to select the implementation.
+ * 
+ * <p>
+ * Implementations are not synchronized.
+ *
+ * @param <T> the type of the values
+ *
+ * @see DaryHeap
+ * @see PairingHeap
+ * @see RadixHeap
+ *
+ * @author agent
+ */
+public interface AddressableHeap<T>
+{
+    /**
+     * A handle to an element of an addressable heap.
+     *
+     * @param <T> the type of the value
+     */
+    interface Handle<T>
+    {
+        /**
+         * Get the key of the element.
+         * 
+         * @return the key of the element
+         */
+        double getKey();
+
+        /**
+         * Get the value of the element.
+         * 
+         * @return the value of the element
+         */
+        T getValue();
+
+        /**
+         * Set the value of the element.
+         * 
+         * @param value the new value
+         */
+        void setValue(T value);
+
+        /**
+         * Decrease the key of the element.
+         * 
+         * @param newKey the new key
+         * @throws IllegalArgumentException if the new key is larger than the current key or if the
+         *         element is no longer contained in the heap
+         */
+        void decreaseKey(double newKey);
+    }
+
+    /**
+     * Insert an element into the heap.
+     * 
+     * @param key the key of the element
+     * @param value the value of the element
+     * @return a handle to the element
+     * @throws IllegalArgumentException if the key is NaN
+     */
+    Handle<T> insert(double key, T value);
+
+    /**
+     * Get an element with the minimum key.
+     * 
+     * @return a handle to an element with the minimum key
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    Handle<T> findMin();
+
+    /**
+     * Remove an element with the minimum key.
+     * 
+     * @return a handle to the removed element
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    Handle<T> deleteMin();
+
+    /**
+     * Whether the heap is empty.
+     * 
+     * @return true if the heap is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Get the number of elements in the heap.
+     * 
+     * @return the number of elements in the heap
+     */
+    int size();
+
+    /**
+     * Remove all elements from the heap.
+     */
+    void clear();
+}
+
+// End AddressableHeap.java
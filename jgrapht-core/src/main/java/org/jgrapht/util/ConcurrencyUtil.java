@@ -0,0 +1,173 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Utility methods for algorithms which split their work among several threads.
+ *
+ * @author agent
+ */
+public class ConcurrencyUtil
+{
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private ConcurrencyUtil()
+    {
+    }
+
+    /**
+     * Get the default parallelism, which equals the number of available processors.
+     * 
+     * @return the default parallelism
+     */
+    public static int getDefaultParallelism()
+    {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Create an executor with a fixed number of daemon threads.
+     * 
+     * @param parallelism the number of threads
+     * @return the executor
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public static ExecutorService createExecutor(int parallelism)
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "jgrapht-worker-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Execute a loop body for all integers in $[0, n)$ using several threads. The range is split
+     * dynamically into blocks, which makes the method suitable for iterations of irregular cost.
+     * Each thread creates its own local state once, which is passed to all iterations executed by
+     * that thread. If the executor is null or the parallelism is one, the loop is executed by the
+     * calling thread.
+     * 
+     * @param executor the executor, can be null
+     * @param parallelism the number of tasks to submit to the executor
+     * @param n the number of iterations
+     * @param localState supplier of the thread local state
+     * @param body the loop body
+     * @param <T> the type of the thread local state
+     * @throws RuntimeException any exception thrown by the loop body
+     */
+    public static <T> void parallelFor(
+        ExecutorService executor, int parallelism, int n, Supplier<T> localState,
+        ObjIntConsumer<T> body)
+    {
+        parallelFor(executor, parallelism, n, DEFAULT_BLOCK_SIZE, localState, body);
+    }
+
+    /**
+     * Execute a loop body for all integers in $[0, n)$ using several threads. The range is split
+     * dynamically into blocks of the given size. A block size of one is appropriate for a small
+     * number of expensive iterations.
+     * 
+     * @param executor the executor, can be null
+     * @param parallelism the number of tasks to submit to the executor
+     * @param n the number of iterations
+     * @param blockSize the number of consecutive iterations which are assigned to a thread at once
+     * @param localState supplier of the thread local state
+     * @param body the loop body
+     * @param <T> the type of the thread local state
+     * @throws IllegalArgumentException if the block size is not positive
+     * @throws RuntimeException any exception thrown by the loop body
+     */
+    public static <T> void parallelFor(
+        ExecutorService executor, int parallelism, int n, int blockSize, Supplier<T> localState,
+        ObjIntConsumer<T> body)
+    {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        int tasks = Math.min(parallelism, (n + blockSize - 1) / blockSize);
+        if (executor == null || tasks <= 1) {
+            T state = localState.get();
+            for (int i = 0; i < n; i++) {
+                body.accept(state, i);
+            }
+            return;
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> callables = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            callables.add(() -> {
+                T state = localState.get();
+                int start;
+                while ((start = next.getAndAdd(blockSize)) < n) {
+                    int end = Math.min(n, start + blockSize);
+                    for (int i = start; i < end; i++) {
+                        body.accept(state, i);
+                    }
+                }
+                return null;
+            });
+        }
+        invokeAll(executor, callables);
+    }
+
+    /**
+     * Execute a collection of tasks and wait for all of them to complete. If a task fails, its
+     * exception is rethrown.
+     * 
+     * @param executor the executor
+     * @param tasks the tasks
+     * @param <T> the result type of the tasks
+     * @return the results of the tasks in the same order
+     * @throws RuntimeException any exception thrown by a task
+     */
+    public static <T> List<T> invokeAll(
+        ExecutorService executor, Collection<? extends Callable<T>> tasks)
+    {
+        try {
+            List<Future<T>> futures = executor.invokeAll(tasks);
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> f : futures) {
+                results.add(f.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for tasks");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An addressable array-based $d$-ary heap.
+ * 
+ * <p>
+ * The elements are stored in an array, where the children of the element at position $i$ are at
+ * positions $d i + 1, \ldots, d i + d$, and each element records its own position. Operations
+ * insert and decrease key run in $O(\log_d n)$ and delete minimum in $O(d \log_d n)$ time. A
+ * degree of $4$ is usually a good choice, since it results in shallow trees while the children of
+ * an element are stored consecutively in memory.
+ *
+ * @param <T> the type of the values
+ *
+ * @author agent
+ */
+public class DaryHeap<T>
+    implements
+    AddressableHeap<T>
+{
+    private static final int DEFAULT_DEGREE = 4;
+
+    private final int d;
+    private Node[] array;
+    private int size;
+
+    /**
+     * Construct a new $4$-ary heap.
+     */
+    public DaryHeap()
+    {
+        this(DEFAULT_DEGREE);
+    }
+
+    /**
+     * Construct a new heap.
+     * 
+     * @param d the degree of the heap
+     * @throws IllegalArgumentException if the degree is less than $2$
+     */
+    @SuppressWarnings("unchecked")
+    public DaryHeap(int d)
+    {
+        if (d < 2) {
+            throw new IllegalArgumentException("Degree must be at least 2");
+        }
+        this.d = d;
+        this.array = (Node[]) new DaryHeap<?>.Node[16];
+    }
+
+    @Override
+    public Handle<T> insert(double key, T value)
+    {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("Key cannot be NaN");
+        }
+        if (size == array.length) {
+            array = Arrays.copyOf(array, 2 * size);
+        }
+        Node node = new Node(key, value);
+        node.index = size++;
+        array[node.index] = node;
+        siftUp(node);
+        return node;
+    }
+
+    @Override
+    public Handle<T> findMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return array[0];
+    }
+
+    @Override
+    public Handle<T> deleteMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        Node min = array[0];
+        min.index = -1;
+        Node last = array[--size];
+        array[size] = null;
+        if (size > 0) {
+            last.index = 0;
+            array[0] = last;
+            siftDown(last);
+        }
+        return min;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            array[i].index = -1;
+            array[i] = null;
+        }
+        size = 0;
+    }
+
+    private void siftUp(Node node)
+    {
+        int i = node.index;
+        double key = node.key;
+        while (i > 0) {
+            int parent = (i - 1) / d;
+            Node p = array[parent];
+            if (p.key <= key) {
+                break;
+            }
+            array[i] = p;
+            p.index = i;
+            i = parent;
+        }
+        array[i] = node;
+        node.index = i;
+    }
+
+    private void siftDown(Node node)
+    {
+        int i = node.index;
+        double key = node.key;
+        while (true) {
+            int first = d * i + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + d, size);
+            int min = first;
+            double minKey = array[first].key;
+            for (int c = first + 1; c < last; c++) {
+                if (array[c].key < minKey) {
+                    min = c;
+                    minKey = array[c].key;
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            Node child = array[min];
+            array[i] = child;
+            child.index = i;
+            i = min;
+        }
+        array[i] = node;
+        node.index = i;
+    }
+
+    private class Node
+        implements
+        Handle<T>
+    {
+        double key;
+        T value;
+        int index;
+
+        Node(double key, T value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public double getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public T getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public void setValue(T value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public void decreaseKey(double newKey)
+        {
+            if (index < 0) {
+                throw new IllegalArgumentException("Element is not contained in the heap");
+            }
+            if (newKey > key || Double.isNaN(newKey)) {
+                throw new IllegalArgumentException("Keys can only be decreased");
+            }
+            key = newKey;
+            siftUp(this);
+        }
+    }
+}
+
+// End DaryHeap.java
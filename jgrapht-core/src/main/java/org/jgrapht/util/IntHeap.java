@@ -0,0 +1,152 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * A binary heap of integers keyed by an external array of distances. The heap is intended for
+ * searches over graphs whose vertices are numbered $0$ to $n-1$, which reuse the same heap and
+ * distance array for many searches.
+ *
+ * <p>
+ * The key of an integer is read from the array whenever it is compared, so a key must only be
+ * decreased by the caller while the integer is not in the heap or immediately before calling
+ * {@link #insertOrDecrease(int)}. Operations insert, decrease key and remove minimum run in
+ * $O(\log n)$ time, without any boxing or hashing.
+ *
+ * @author agent
+ */
+public final class IntHeap
+{
+    private final double[] keys;
+    private final int[] pos;
+    private int[] heap;
+    private int size;
+
+    /**
+     * Construct a new heap.
+     * 
+     * @param keys the keys of the integers, indexed by the integers
+     */
+    public IntHeap(double[] keys)
+    {
+        this.keys = keys;
+        this.pos = new int[keys.length];
+        Arrays.fill(pos, -1);
+        this.heap = new int[16];
+    }
+
+    /**
+     * Whether the heap is empty.
+     * 
+     * @return true if the heap is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Get the key of an integer with the minimum key. The heap must not be empty.
+     * 
+     * @return the minimum key
+     */
+    public double minKey()
+    {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Insert an integer, or restore the heap order after its key has been decreased if it is
+     * already in the heap.
+     * 
+     * @param v the integer
+     */
+    public void insertOrDecrease(int v)
+    {
+        int i = pos[v];
+        if (i < 0) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, 2 * size);
+            }
+            i = size++;
+        }
+        double key = keys[v];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (keys[p] <= key) {
+                break;
+            }
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    /**
+     * Remove an integer with the minimum key. The heap must not be empty.
+     * 
+     * @return the removed integer
+     */
+    public int removeMin()
+    {
+        int min = heap[0];
+        pos[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            double key = keys[last];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int c = heap[child];
+                int right = child + 1;
+                if (right < size && keys[heap[right]] < keys[c]) {
+                    child = right;
+                    c = heap[child];
+                }
+                if (key <= keys[c]) {
+                    break;
+                }
+                heap[i] = c;
+                pos[c] = i;
+                i = child;
+            }
+            heap[i] = last;
+            pos[last] = i;
+        }
+        return min;
+    }
+
+    /**
+     * Remove all integers from the heap in time proportional to their number.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+}
+
+// End IntHeap.java
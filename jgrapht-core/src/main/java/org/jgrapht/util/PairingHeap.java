@@ -0,0 +1,242 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An addressable pairing heap.
+ * 
+ * <p>
+ * The heap is a heap-ordered multi-way tree, where each element points to its leftmost child and
+ * its siblings. Operations insert and decrease key link a tree with the root in constant time,
+ * while delete minimum combines the children of the root using the standard two-pass method in
+ * $O(\log n)$ amortized time. See M. L. Fredman, R. Sedgewick, D. D. Sleator and R. E. Tarjan. The
+ * pairing heap: A new form of self-adjusting heap. Algorithmica, 1(1--4):111--129, 1986.
+ * 
+ * <p>
+ * Pairing heaps have good performance in practice for algorithms which perform many decrease key
+ * operations, such as Dijkstra's algorithm.
+ *
+ * @param <T> the type of the values
+ *
+ * @author agent
+ */
+public class PairingHeap<T>
+    implements
+    AddressableHeap<T>
+{
+    private Node root;
+    private int size;
+    private int epoch;
+    private Node[] buffer;
+
+    /**
+     * Construct a new empty heap.
+     */
+    @SuppressWarnings("unchecked")
+    public PairingHeap()
+    {
+        this.buffer = (Node[]) new PairingHeap<?>.Node[16];
+    }
+
+    @Override
+    public Handle<T> insert(double key, T value)
+    {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("Key cannot be NaN");
+        }
+        Node node = new Node(key, value);
+        root = root == null ? node : link(root, node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public Handle<T> findMin()
+    {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return root;
+    }
+
+    @Override
+    public Handle<T> deleteMin()
+    {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        Node min = root;
+        root = combine(min.child);
+        min.child = null;
+        min.inHeap = false;
+        size--;
+        return min;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void clear()
+    {
+        root = null;
+        size = 0;
+        epoch++;
+    }
+
+    /*
+     * Link two trees, the root with the larger key becomes the leftmost child of the other.
+     */
+    private Node link(Node a, Node b)
+    {
+        if (b.key < a.key) {
+            Node tmp = a;
+            a = b;
+            b = tmp;
+        }
+        b.prev = a;
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    /*
+     * Combine a list of siblings into a single tree using the two-pass method.
+     */
+    private Node combine(Node first)
+    {
+        if (first == null) {
+            return null;
+        }
+
+        // first pass: link pairs from left to right
+        int n = 0;
+        Node cur = first;
+        while (cur != null) {
+            Node a = cur;
+            Node b = a.next;
+            a.prev = null;
+            a.next = null;
+            if (b != null) {
+                cur = b.next;
+                b.prev = null;
+                b.next = null;
+                a = link(a, b);
+            } else {
+                cur = null;
+            }
+            if (n == buffer.length) {
+                buffer = Arrays.copyOf(buffer, 2 * n);
+            }
+            buffer[n++] = a;
+        }
+
+        // second pass: link from right to left
+        Node result = buffer[n - 1];
+        buffer[n - 1] = null;
+        for (int i = n - 2; i >= 0; i--) {
+            result = link(buffer[i], result);
+            buffer[i] = null;
+        }
+        return result;
+    }
+
+    private class Node
+        implements
+        Handle<T>
+    {
+        double key;
+        T value;
+        Node child;
+        Node next;
+        // left sibling, or parent for the leftmost child
+        Node prev;
+        boolean inHeap;
+        final int nodeEpoch;
+
+        Node(double key, T value)
+        {
+            this.key = key;
+            this.value = value;
+            this.inHeap = true;
+            this.nodeEpoch = epoch;
+        }
+
+        @Override
+        public double getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public T getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public void setValue(T value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public void decreaseKey(double newKey)
+        {
+            if (!inHeap || nodeEpoch != epoch) {
+                throw new IllegalArgumentException("Element is not contained in the heap");
+            }
+            if (newKey > key || Double.isNaN(newKey)) {
+                throw new IllegalArgumentException("Keys can only be decreased");
+            }
+            key = newKey;
+            if (this == root) {
+                return;
+            }
+
+            // cut the subtree and link it with the root
+            if (prev.child == this) {
+                prev.child = next;
+            } else {
+                prev.next = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            prev = null;
+            next = null;
+            root = link(root, this);
+        }
+    }
+}
+
+// End PairingHeap.java
@@ -0,0 +1,258 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An addressable monotone radix heap.
+ * 
+ * <p>
+ * A radix heap is a monotone priority queue: the key of an inserted element, or the new key of a
+ * decrease key operation, must not be smaller than the key of the last element returned by
+ * {@link #findMin()} or {@link #deleteMin()}. This holds for Dijkstra's algorithm with non-negative
+ * edge weights, but not for example for A* with an inconsistent heuristic. See R. K. Ahuja, K.
+ * Mehlhorn, J. B. Orlin and R. E. Tarjan. Faster algorithms for the shortest path problem. Journal
+ * of the ACM, 37(2):213--223, 1990.
+ * 
+ * <p>
+ * The keys are mapped to 64-bit integers which preserve their order. An element is kept in the
+ * bucket which corresponds to the highest bit in which its key differs from the last minimum.
+ * Insert and decrease key therefore take constant time. When the bucket of the minimum is not the
+ * first one, delete minimum redistributes the elements of that bucket into lower buckets, and
+ * each element moves at most $64$ times.
+ *
+ * @param <T> the type of the values
+ *
+ * @author agent
+ */
+public class RadixHeap<T>
+    implements
+    AddressableHeap<T>
+{
+    private static final int BUCKETS = 65;
+
+    private final Node[] buckets;
+    private double lastKey;
+    private long lastBits;
+    private int size;
+
+    /**
+     * Construct a new empty heap.
+     */
+    @SuppressWarnings("unchecked")
+    public RadixHeap()
+    {
+        this.buckets = (Node[]) new RadixHeap<?>.Node[BUCKETS];
+        this.lastKey = Double.NEGATIVE_INFINITY;
+        this.lastBits = bits(lastKey);
+    }
+
+    @Override
+    public Handle<T> insert(double key, T value)
+    {
+        checkKey(key);
+        Node node = new Node(key, value);
+        link(node);
+        size++;
+        return node;
+    }
+
+    @Override
+    public Handle<T> findMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        if (buckets[0] == null) {
+            redistribute();
+        }
+        return buckets[0];
+    }
+
+    @Override
+    public Handle<T> deleteMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        if (buckets[0] == null) {
+            redistribute();
+        }
+        Node min = buckets[0];
+        unlink(min);
+        min.bucket = -1;
+        size--;
+        return min;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void clear()
+    {
+        for (int i = 0; i < BUCKETS; i++) {
+            for (Node node = buckets[i]; node != null; node = node.next) {
+                node.bucket = -1;
+            }
+            buckets[i] = null;
+        }
+        size = 0;
+        lastKey = Double.NEGATIVE_INFINITY;
+        lastBits = bits(lastKey);
+    }
+
+    /*
+     * Move the minimum of the first non-empty bucket to the first bucket, by making it the last
+     * minimum and redistributing the rest of its bucket.
+     */
+    private void redistribute()
+    {
+        int i = 1;
+        while (buckets[i] == null) {
+            i++;
+        }
+        Node min = buckets[i];
+        for (Node node = min.next; node != null; node = node.next) {
+            if (node.key < min.key) {
+                min = node;
+            }
+        }
+        lastKey = min.key;
+        lastBits = min.bits;
+
+        Node node = buckets[i];
+        buckets[i] = null;
+        while (node != null) {
+            Node next = node.next;
+            link(node);
+            node = next;
+        }
+    }
+
+    private void checkKey(double key)
+    {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("Key cannot be NaN");
+        }
+        if (key < lastKey) {
+            throw new IllegalArgumentException("Key smaller than the last minimum key");
+        }
+    }
+
+    private void link(Node node)
+    {
+        long diff = node.bits ^ lastBits;
+        int b = diff == 0 ? 0 : 64 - Long.numberOfLeadingZeros(diff);
+        node.bucket = b;
+        node.prev = null;
+        node.next = buckets[b];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[b] = node;
+    }
+
+    private void unlink(Node node)
+    {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[node.bucket] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /*
+     * Map a key to a long whose unsigned order is the order of the keys.
+     */
+    private static long bits(double key)
+    {
+        long l = Double.doubleToLongBits(key == 0d ? 0d : key);
+        return l < 0 ? ~l : l ^ Long.MIN_VALUE;
+    }
+
+    private class Node
+        implements
+        Handle<T>
+    {
+        double key;
+        long bits;
+        T value;
+        int bucket;
+        Node prev;
+        Node next;
+
+        Node(double key, T value)
+        {
+            this.key = key;
+            this.bits = bits(key);
+            this.value = value;
+        }
+
+        @Override
+        public double getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public T getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public void setValue(T value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public void decreaseKey(double newKey)
+        {
+            if (bucket < 0) {
+                throw new IllegalArgumentException("Element is not contained in the heap");
+            }
+            if (newKey > key || Double.isNaN(newKey)) {
+                throw new IllegalArgumentException("Keys can only be decreased");
+            }
+            checkKey(newKey);
+            unlink(this);
+            key = newKey;
+            bits = bits(newKey);
+            link(this);
+        }
+    }
+}
+
+// End RadixHeap.java
@@ -19,12 +19,14 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.*;
 
@@ -171,6 +173,243 @@ public class BetweennessCentralityTest
 
     }
 
+    @Test
+    public void testWeighted5Heaps()
+    {
+        Graph<String, DefaultWeightedEdge> g = createWeighted5();
+        assertGraph5(new BetweennessCentrality<>(g, false, DaryHeap::new).getScores());
+        assertGraph5(new BetweennessCentrality<>(g, false, RadixHeap::new).getScores());
+        assertGraph5(new BetweennessCentrality<>(g, false, PairingHeap::new, 2).getScores());
+    }
+
+    @Test
+    public void testWeightedImprovedDistance()
+    {
+        // w is first discovered by the long edge and then improved through a
+        Graph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "s", "w", 10.0);
+        Graphs.addEdgeWithVertices(g, "s", "a", 1.0);
+        Graphs.addEdgeWithVertices(g, "a", "w", 1.0);
+
+        Map<String, Double> scores = new BetweennessCentrality<>(g).getScores();
+        assertEquals(0.0, scores.get("s"), 0.0);
+        assertEquals(1.0, scores.get("a"), 0.0);
+        assertEquals(0.0, scores.get("w"), 0.0);
+    }
+
+    @Test
+    public void testWeightedRandomBruteForce()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            for (int seed = 0; seed < 5; seed++) {
+                Graph<Integer, DefaultWeightedEdge> g = randomWeighted(directed, 25, 80, seed);
+                Map<Integer, Double> expected = bruteForce(g);
+                Map<Integer, Double> scores = new BetweennessCentrality<>(g).getScores();
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.get(v), scores.get(v), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelIdentical()
+    {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (boolean directed : new boolean[] { true, false }) {
+                Graph<Integer, DefaultWeightedEdge> weighted =
+                    randomWeighted(directed, 300, 1500, 17);
+                Graph<Integer, DefaultEdge> unweighted = directed
+                    ? new SimpleDirectedGraph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false)
+                    : new SimpleGraph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false);
+                new GnmRandomGraphGenerator<Integer, DefaultEdge>(300, 1500, 17, false, false)
+                    .generateGraph(unweighted);
+                assertIdentical(weighted, pool);
+                assertIdentical(unweighted, pool);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new BetweennessCentrality<>(new SimpleGraph<>(DefaultEdge.class), false, 0);
+    }
+
+    @Test
+    public void testApproximateRandom()
+    {
+        double epsilon = 0.05;
+        for (boolean directed : new boolean[] { true, false }) {
+            for (long seed = 0; seed < 3; seed++) {
+                Graph<Integer, DefaultWeightedEdge> g = randomWeighted(directed, 60, 200, seed);
+                int n = g.vertexSet().size();
+                Map<Integer, Double> expected = new BetweennessCentrality<>(g).getScores();
+                Map<Integer, Double> scores =
+                    new BetweennessCentrality<>(g, false, epsilon, 0.1, new Random(seed), 1)
+                        .getScores();
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.get(v), scores.get(v), epsilon * n * (n - 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testApproximateParallelIdentical()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> g = randomWeighted(directed, 100, 400, 5);
+            Map<Integer, Double> expected =
+                new BetweennessCentrality<>(g, true, 0.05, 0.1, new Random(7), 1).getScores();
+            Map<Integer, Double> scores =
+                new BetweennessCentrality<>(g, true, 0.05, 0.1, new Random(7), 3).getScores();
+            for (Integer v : g.vertexSet()) {
+                assertEquals(
+                    Double.doubleToLongBits(expected.get(v)),
+                    Double.doubleToLongBits(scores.get(v)));
+            }
+        }
+    }
+
+    @Test
+    public void testApproximateLinear()
+    {
+        // every shortest path of a path graph is unique, so the estimates only depend on the pairs
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(2).generateGraph(g);
+        Map<Integer, Double> scores =
+            new BetweennessCentrality<>(g, false, 0.1, 0.1, new Random(1), 1).getScores();
+        assertEquals(0d, scores.get(0), 0d);
+        assertEquals(0d, scores.get(1), 0d);
+
+        g.addVertex(2);
+        g.addEdge(1, 2);
+        scores = new BetweennessCentrality<>(g, true, 0.1, 0.1, new Random(1), 1).getScores();
+        assertEquals(0d, scores.get(0), 0d);
+        // error of at most 0.1 * n(n-1), halved and normalized by (n-1)(n-2)
+        assertEquals(0.5, scores.get(1), 0.1 * 6 / 2 / 2);
+        assertEquals(0d, scores.get(2), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEpsilon()
+    {
+        new BetweennessCentrality<>(new SimpleGraph<>(DefaultEdge.class), false, 0d, 0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDelta()
+    {
+        new BetweennessCentrality<>(new SimpleGraph<>(DefaultEdge.class), false, 0.1, 1d);
+    }
+
+    private static <E> void assertIdentical(Graph<Integer, E> g, ExecutorService executor)
+    {
+        Map<Integer, Double> sequential = new BetweennessCentrality<>(g, true).getScores();
+        List<Map<Integer, Double>> parallel = Arrays.asList(
+            new BetweennessCentrality<>(g, true, 2).getScores(),
+            new BetweennessCentrality<>(g, true, 4).getScores(),
+            new BetweennessCentrality<>(g, true, executor).getScores());
+        for (Map<Integer, Double> scores : parallel) {
+            for (Integer v : g.vertexSet()) {
+                assertEquals(
+                    Double.doubleToLongBits(sequential.get(v)),
+                    Double.doubleToLongBits(scores.get(v)));
+            }
+        }
+
+        // the order of vertices at equal distances, and hence of the sums, depends on the heap
+        Map<Integer, Double> pairing =
+            new BetweennessCentrality<>(g, true, PairingHeap::new).getScores();
+        Map<Integer, Double> pairingParallel =
+            new BetweennessCentrality<>(g, true, PairingHeap::new, executor).getScores();
+        for (Integer v : g.vertexSet()) {
+            assertEquals(
+                Double.doubleToLongBits(pairing.get(v)),
+                Double.doubleToLongBits(pairingParallel.get(v)));
+        }
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomWeighted(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new SimpleDirectedWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new SimpleWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, false, false)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            // small integer weights create many shortest paths of equal length
+            g.setEdgeWeight(e, 1 + rng.nextInt(3));
+        }
+        return g;
+    }
+
+    /*
+     * Betweenness from all pairs distances and path counts.
+     */
+    private static <E> Map<Integer, Double> bruteForce(Graph<Integer, E> g)
+    {
+        ShortestPathAlgorithm<Integer, E> fw = new FloydWarshallShortestPaths<>(g);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        Map<Integer, Map<Integer, Double>> sigma = new HashMap<>();
+        for (Integer s : vertices) {
+            // count shortest paths in order of distance from s
+            List<Integer> order = new ArrayList<>(vertices);
+            order.sort(Comparator.comparingDouble(v -> fw.getPathWeight(s, v)));
+            Map<Integer, Double> count = new HashMap<>();
+            for (Integer v : order) {
+                count.put(v, v.equals(s) ? 1.0 : 0.0);
+            }
+            for (Integer v : order) {
+                double dv = fw.getPathWeight(s, v);
+                if (dv == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (E e : g.outgoingEdgesOf(v)) {
+                    Integer w = Graphs.getOppositeVertex(g, e, v);
+                    if (dv + g.getEdgeWeight(e) == fw.getPathWeight(s, w)) {
+                        count.put(w, count.get(w) + count.get(v));
+                    }
+                }
+            }
+            sigma.put(s, count);
+        }
+
+        Map<Integer, Double> result = new HashMap<>();
+        for (Integer v : vertices) {
+            double score = 0.0;
+            for (Integer s : vertices) {
+                for (Integer t : vertices) {
+                    if (s.equals(v) || t.equals(v) || s.equals(t)) {
+                        continue;
+                    }
+                    double dst = fw.getPathWeight(s, t);
+                    if (dst != Double.POSITIVE_INFINITY
+                        && fw.getPathWeight(s, v) + fw.getPathWeight(v, t) == dst)
+                    {
+                        score += sigma.get(s).get(v) * sigma.get(v).get(t) / sigma.get(s).get(t);
+                    }
+                }
+            }
+            result.put(v, g.getType().isDirected() ? score : score / 2);
+        }
+        return result;
+    }
+
     @Test
     public void testStar()
     {
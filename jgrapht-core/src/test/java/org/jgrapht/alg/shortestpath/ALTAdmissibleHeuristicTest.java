@@ -26,6 +26,7 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.io.*;
 import java.util.*;
 import java.util.function.*;
 
@@ -145,4 +146,122 @@ public class ALTAdmissibleHeuristicTest
 
     }
 
+    @Test
+    public void testSelectionStrategies()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> g = randomGraph(directed, 80, 300, 11);
+            List<Set<Integer>> selections = new ArrayList<>();
+            selections.add(ALTAdmissibleHeuristic.farthestLandmarks(g, 4, new Random(1)));
+            selections.add(ALTAdmissibleHeuristic.avoidLandmarks(g, 4, new Random(1)));
+            selections.add(
+                ALTAdmissibleHeuristic
+                    .planarLandmarks(g, 4, v -> Pair.of(Math.cos(v), Math.sin(3.0 * v))));
+            for (Set<Integer> landmarks : selections) {
+                assertEquals(4, landmarks.size());
+                assertTrue(g.vertexSet().containsAll(landmarks));
+                for (int parallelism : new int[] { 1, 3 }) {
+                    assertAdmissibleAndExact(
+                        g, new ALTAdmissibleHeuristic<>(g, landmarks, parallelism));
+                }
+            }
+        }
+
+        // more landmarks than vertices
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 5, 10, 3);
+        assertEquals(5, ALTAdmissibleHeuristic.farthestLandmarks(g, 10, new Random(1)).size());
+        assertEquals(5, ALTAdmissibleHeuristic.avoidLandmarks(g, 10, new Random(1)).size());
+    }
+
+    @Test
+    public void testSerializedDistances()
+        throws Exception
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 50, 200, 5);
+        Set<Integer> landmarks = ALTAdmissibleHeuristic.avoidLandmarks(g, 3, new Random(7));
+        ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> h =
+            new ALTAdmissibleHeuristic<>(g, landmarks);
+        assertEquals(new ArrayList<>(landmarks), h.getLandmarkDistances().getLandmarks());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(h.getLandmarkDistances());
+        }
+        ALTAdmissibleHeuristic.LandmarkDistances<Integer> distances;
+        try (ObjectInputStream in =
+            new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            @SuppressWarnings("unchecked")
+            ALTAdmissibleHeuristic.LandmarkDistances<Integer> read =
+                (ALTAdmissibleHeuristic.LandmarkDistances<Integer>) in.readObject();
+            distances = read;
+        }
+        ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> loaded =
+            new ALTAdmissibleHeuristic<>(g, distances);
+        for (Integer u : g.vertexSet()) {
+            for (Integer v : g.vertexSet()) {
+                assertEquals(h.getCostEstimate(u, v), loaded.getCostEstimate(u, v), 0d);
+            }
+        }
+        assertAdmissibleAndExact(g, loaded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDistancesOfDifferentGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 10, 20, 1);
+        Graph<Integer, DefaultWeightedEdge> other = randomGraph(false, 10, 20, 1);
+        new ALTAdmissibleHeuristic<>(
+            other, new ALTAdmissibleHeuristic<>(g, Collections.singleton(0))
+                .getLandmarkDistances());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, 1.0);
+        Graphs.addEdgeWithVertices(g, 2, 3, -1.0);
+        new ALTAdmissibleHeuristic<>(g, Collections.singleton(1));
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, true, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+        return g;
+    }
+
+    private static void assertAdmissibleAndExact(
+        Graph<Integer, DefaultWeightedEdge> g, AStarAdmissibleHeuristic<Integer> h)
+    {
+        Comparator<Double> comparator = new ToleranceDoubleComparator();
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(g);
+        AStarShortestPath<Integer, DefaultWeightedEdge> astar = new AStarShortestPath<>(g, h);
+        for (Integer v : g.vertexSet()) {
+            SingleSourcePaths<Integer, DefaultWeightedEdge> paths = dijkstra.getPaths(v);
+            for (Integer u : g.vertexSet()) {
+                double weight = paths.getWeight(u);
+                assertTrue(comparator.compare(h.getCostEstimate(v, u), weight) <= 0);
+                GraphPath<Integer, DefaultWeightedEdge> path = astar.getPath(v, u);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                } else {
+                    assertEquals(weight, path.getWeight(), 1e-9);
+                }
+            }
+        }
+    }
+
 }
@@ -20,6 +20,7 @@ package org.jgrapht.alg.shortestpath;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import static org.junit.Assert.*;
@@ -134,6 +135,71 @@ public class AStarShortestPathTest
         assertTrue(aStarShortestPath2.isConsistentHeuristic(new EuclideanDistance()));
     }
 
+    /**
+     * Test with different heaps as open list.
+     */
+    @Test
+    public void testLabyrinth1Heaps()
+    {
+        this.readLabyrinth(labyrinth1);
+        GraphPath<Node, DefaultWeightedEdge> path =
+            new AStarShortestPath<>(graph, new ManhattanDistance(), DaryHeap::new)
+                .getPath(sourceNode, targetNode);
+        assertEquals(47d, path.getWeight(), 0d);
+        GraphPath<Node, DefaultWeightedEdge> path2 =
+            new AStarShortestPath<>(graph, new ManhattanDistance(), RadixHeap::new)
+                .getPath(sourceNode, targetNode);
+        assertEquals(47d, path2.getWeight(), 0d);
+    }
+
+    /**
+     * Test an instance which reuses its search state.
+     */
+    @Test
+    public void testLabyrinth1ReuseWorkspace()
+    {
+        this.readLabyrinth(labyrinth1);
+        AStarShortestPath<Node, DefaultWeightedEdge> aStarShortestPath =
+            new AStarShortestPath<>(graph, new ManhattanDistance(), true);
+        for (int i = 0; i < 3; i++) {
+            GraphPath<Node, DefaultWeightedEdge> path =
+                aStarShortestPath.getPath(sourceNode, targetNode);
+            assertEquals(47d, path.getWeight(), 0d);
+            assertEquals(47, path.getEdgeList().size());
+            assertEquals(sourceNode, path.getVertexList().get(0));
+            assertEquals(targetNode, path.getVertexList().get(47));
+            assertTrue(aStarShortestPath.getNumberOfExpandedNodes() > 0);
+            assertEquals(
+                47d, aStarShortestPath.getPath(targetNode, sourceNode).getWeight(), 0d);
+        }
+
+        this.readLabyrinth(labyrinth2);
+        assertNull(
+            new AStarShortestPath<>(graph, new ManhattanDistance(), true)
+                .getPath(sourceNode, targetNode));
+    }
+
+    /**
+     * Test an instance which reuses its search state after a vertex is replaced by another one.
+     */
+    @Test
+    public void testReuseWorkspaceReplacedVertex()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "1", "2", 1.0);
+        Graphs.addEdgeWithVertices(g, "2", "3", 1.0);
+        AStarShortestPath<String, DefaultWeightedEdge> aStarShortestPath =
+            new AStarShortestPath<>(g, (u, v) -> 0d, true);
+        assertEquals(2d, aStarShortestPath.getPath("1", "3").getWeight(), 0d);
+
+        // same number of vertices, the new vertex has no incoming edges
+        g.removeVertex("3");
+        Graphs.addEdgeWithVertices(g, "4", "1", 1.0);
+        assertEquals(2d, aStarShortestPath.getPath("4", "2").getWeight(), 0d);
+        assertNull(aStarShortestPath.getPath("1", "4"));
+    }
+
     /**
      * Test on a graph where there is no path from the source node to the target node.
      */
@@ -237,6 +303,9 @@ public class AStarShortestPathTest
         AStarShortestPath<Integer, DefaultWeightedEdge> alg = new AStarShortestPath<>(g, h);
         // shortest path from 3 to 2 is 3->0->1->2 with weight 0.9641320715228003
         assertEquals(0.9641320715228003, alg.getPath(3, 2).getWeight(), 1e-9);
+        assertEquals(
+            0.9641320715228003, new AStarShortestPath<>(g, h, true).getPath(3, 2).getWeight(),
+            1e-9);
         assertFalse(alg.isConsistentHeuristic(h));
     }
 
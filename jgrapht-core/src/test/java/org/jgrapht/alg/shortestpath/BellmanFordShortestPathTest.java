@@ -19,10 +19,14 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.*;
 
@@ -152,6 +156,134 @@ public class BellmanFordShortestPathTest
         }
     }
 
+    @Test
+    public void testNegativeCycleDetectionParallel()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 500, 5, true, true)
+            .generateGraph(g);
+        Random rng = new Random(5);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble() * 10);
+        }
+
+        // a negative cycle reachable from the source through a long path
+        for (int v = 0; v < 30; v++) {
+            g.setEdgeWeight(g.addEdge(v, v + 1), 1.0);
+        }
+        g.setEdgeWeight(g.addEdge(30, 60), -1.0);
+        g.setEdgeWeight(g.addEdge(60, 30), -1.0);
+
+        for (int parallelism : new int[] { 2, 3 }) {
+            try {
+                new BellmanFordShortestPath<>(
+                    g, ToleranceDoubleComparator.DEFAULT_EPSILON, parallelism).getPaths(0);
+                fail("Negative-weight cycle not detected");
+            } catch (RuntimeException e) {
+                assertEquals("Graph contains a negative-weight cycle", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testRandomNegativeWeights()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 500, seed, true, true)
+                .generateGraph(g);
+
+            // reduced weights w(u,v) + p(u) - p(v) contain negative weights but no negative cycle
+            Random rng = new Random(seed);
+            Map<Integer, Double> potential = new HashMap<>();
+            for (Integer v : g.vertexSet()) {
+                potential.put(v, rng.nextDouble() * 20);
+            }
+            Map<DefaultWeightedEdge, Double> original = new HashMap<>();
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                double w = rng.nextDouble() * 10;
+                original.put(e, w);
+                g.setEdgeWeight(
+                    e, w + potential.get(g.getEdgeSource(e)) - potential.get(g.getEdgeTarget(e)));
+            }
+            Graph<Integer, DefaultWeightedEdge> positive =
+                new AsWeightedGraph<>(g, original);
+
+            for (Integer source : Arrays.asList(0, 50)) {
+                SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+                    new DijkstraShortestPath<>(positive).getPaths(source);
+                for (int parallelism : new int[] { 1, 3 }) {
+                    SingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+                        new BellmanFordShortestPath<>(
+                            g, ToleranceDoubleComparator.DEFAULT_EPSILON, parallelism)
+                                .getPaths(source);
+                    for (Integer v : g.vertexSet()) {
+                        double weight = expected.getWeight(v);
+                        if (weight == Double.POSITIVE_INFINITY) {
+                            assertEquals(weight, paths.getWeight(v), 0d);
+                            assertNull(paths.getPath(v));
+                            continue;
+                        }
+                        double reduced = weight + potential.get(source) - potential.get(v);
+                        assertEquals(reduced, paths.getWeight(v), 1e-9);
+                        assertEquals(reduced, paths.getPath(v).getWeight(), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExecutor()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 400, 17, true, true)
+            .generateGraph(g);
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 10 * rng.nextDouble() - 1);
+        }
+        Graph<Integer, DefaultWeightedEdge> dag = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        Graphs.addAllVertices(dag, g.vertexSet());
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            // keeping only the edges towards larger vertices excludes negative cycles
+            if (g.getEdgeSource(e) < g.getEdgeTarget(e)) {
+                Graphs.addEdge(dag, g.getEdgeSource(e), g.getEdgeTarget(e), g.getEdgeWeight(e));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BellmanFordShortestPath<Integer, DefaultWeightedEdge> parallel =
+                new BellmanFordShortestPath<>(dag, ToleranceDoubleComparator.DEFAULT_EPSILON, pool);
+            BellmanFordShortestPath<Integer, DefaultWeightedEdge> sequential =
+                new BellmanFordShortestPath<>(dag);
+            // the executor is reused for all sources
+            for (Integer source : dag.vertexSet()) {
+                SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+                    sequential.getPaths(source);
+                SingleSourcePaths<Integer, DefaultWeightedEdge> paths = parallel.getPaths(source);
+                for (Integer v : dag.vertexSet()) {
+                    assertEquals(expected.getWeight(v), paths.getWeight(v), 1e-9);
+                }
+            }
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new BellmanFordShortestPath<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class), 1e-9, 0);
+    }
+
     @Test
     public void testNegativeEdgeUndirectedGraph()
     {
@@ -171,6 +303,24 @@ public class BellmanFordShortestPathTest
         }
     }
 
+    @Test
+    public void testNegativeEdgeUndirectedGraphParallel()
+    {
+        WeightedPseudograph<String, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("w", "y", "x"));
+        g.setEdgeWeight(g.addEdge("w", "y"), 1);
+        g.setEdgeWeight(g.addEdge("y", "x"), 1);
+        g.setEdgeWeight(g.addEdge("y", "x"), -1);
+        try {
+            new BellmanFordShortestPath<>(g, ToleranceDoubleComparator.DEFAULT_EPSILON, 3)
+                .getPaths("w");
+            fail("Negative-weight cycle not detected");
+        } catch (RuntimeException e) {
+            assertEquals("Graph contains a negative-weight cycle", e.getMessage());
+        }
+    }
+
 }
 
 // End BellmanFordShortestPathTest.java
@@ -18,12 +18,14 @@
 package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.*;
 
@@ -426,6 +428,114 @@ public class BidirectionalDijkstraShortestPathTest
         }
     }
 
+    @Test
+    public void testReuseWorkspace()
+        throws Exception
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> g = directed
+                ? new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+                : new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(30, 120, 3, true, true)
+                .generateGraph(g);
+            Random rng = new Random(5);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, rng.nextDouble());
+            }
+
+            BidirectionalDijkstraShortestPath<Integer, DefaultWeightedEdge> sp =
+                new BidirectionalDijkstraShortestPath<>(g, Double.POSITIVE_INFINITY, true);
+            assertSameAsDijkstra(g, sp);
+
+            // the vertices are numbered again after the graph changes
+            Integer v = g.addVertex();
+            Graphs.addEdge(g, 0, v, 0.5);
+            Graphs.addEdge(g, v, 1, 0.5);
+            g.removeVertex(2);
+            Integer w = g.addVertex();
+            Graphs.addEdge(g, 3, w, 0.1);
+            assertSameAsDijkstra(g, sp);
+
+            // concurrent queries
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    futures.add(executor.submit(() -> assertSameAsDijkstra(g, sp)));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testReuseWorkspaceRadius()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("1", "2", "3"));
+        Graphs.addEdge(g, "1", "2", 3.0);
+        Graphs.addEdge(g, "2", "3", 3.0);
+
+        BidirectionalDijkstraShortestPath<String, DefaultWeightedEdge> sp =
+            new BidirectionalDijkstraShortestPath<>(g, 5.0, true);
+        assertEquals(3.0, sp.getPathWeight("1", "2"), 0);
+        assertNull(sp.getPath("1", "3"));
+        assertEquals(Arrays.asList("2", "3"), sp.getPath("2", "3").getVertexList());
+    }
+
+    @Test
+    public void testReuseWorkspaceReplacedVertex()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "1", "2", 1.0);
+        Graphs.addEdgeWithVertices(g, "2", "3", 1.0);
+
+        BidirectionalDijkstraShortestPath<String, DefaultWeightedEdge> sp =
+            new BidirectionalDijkstraShortestPath<>(g, Double.POSITIVE_INFINITY, true);
+        assertEquals(2.0, sp.getPathWeight("1", "3"), 0);
+
+        // same number of vertices, the new vertex has no incoming edges
+        g.removeVertex("3");
+        Graphs.addEdgeWithVertices(g, "4", "1", 1.0);
+        assertEquals(Arrays.asList("4", "1", "2"), sp.getPath("4", "2").getVertexList());
+        assertNull(sp.getPath("1", "4"));
+    }
+
+    private static <V, E> void assertSameAsDijkstra(
+        Graph<V, E> g, BidirectionalDijkstraShortestPath<V, E> sp)
+    {
+        for (V v : g.vertexSet()) {
+            SingleSourcePaths<V, E> expected = new DijkstraShortestPath<>(g).getPaths(v);
+            for (V u : g.vertexSet()) {
+                GraphPath<V, E> p = sp.getPath(v, u);
+                double weight = expected.getWeight(u);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(p);
+                } else {
+                    assertEquals(weight, p.getWeight(), 1e-9);
+                    assertEquals(p.getVertexList().size(), p.getEdgeList().size() + 1);
+                    assertEquals(v, p.getVertexList().get(0));
+                    assertEquals(u, p.getVertexList().get(p.getLength()));
+                    double total = 0d;
+                    for (E e : p.getEdgeList()) {
+                        total += g.getEdgeWeight(e);
+                    }
+                    assertEquals(weight, total, 1e-9);
+                }
+            }
+        }
+    }
+
     private <V, E> double computePathWeight(Graph<V, E> g, GraphPath<V, E> path)
     {
         if (path.getEdgeList().isEmpty()) {
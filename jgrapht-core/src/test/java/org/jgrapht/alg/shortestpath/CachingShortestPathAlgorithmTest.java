@@ -0,0 +1,204 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CachingShortestPathAlgorithm}.
+ * 
+ * @author agent
+ */
+public class CachingShortestPathAlgorithmTest
+{
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        ListenableGraph<String, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+        Graphs.addEdge(g, "a", "b", 0.25);
+        Graphs.addEdge(g, "b", "c", 0.25);
+        Graphs.addEdge(g, "a", "c", 5.0);
+
+        CachingShortestPathAlgorithm<String, DefaultWeightedEdge> sp =
+            new CachingShortestPathAlgorithm<>(g, new DijkstraShortestPath<>(g));
+
+        assertEquals(0.5, sp.getPath("a", "c").getWeight(), 1e-9);
+        assertEquals(0.5, sp.getPathWeight("a", "c"), 1e-9);
+        assertNull(sp.getPath("a", "d"));
+        assertNull(sp.getPath("a", "d"));
+        assertEquals(2, sp.getMissCount());
+        assertEquals(2, sp.getHitCount());
+        assertEquals(0.5, sp.getHitRatio(), 1e-9);
+        assertEquals(2, sp.size());
+
+        // a heavy edge cannot shorten the path of weight 0.5
+        Graphs.addEdge(g, "c", "a", 3.0);
+        assertEquals(1, sp.getInvalidationCount());
+        assertEquals(1, sp.size());
+        assertEquals(0.5, sp.getPathWeight("a", "c"), 1e-9);
+        assertEquals(3, sp.getHitCount());
+
+        // removing an edge of the path invalidates it
+        g.removeEdge("b", "c");
+        assertEquals(0, sp.size());
+        assertEquals(5.0, sp.getPathWeight("a", "c"), 1e-9);
+
+        // a single-source result answers pair queries
+        SingleSourcePaths<String, DefaultWeightedEdge> paths = sp.getPaths("a");
+        assertSame(paths, sp.getPaths("a"));
+        long hits = sp.getHitCount();
+        assertEquals(0.25, sp.getPathWeight("a", "b"), 1e-9);
+        assertEquals(hits + 1, sp.getHitCount());
+
+        // a change of a non-tree edge does not affect the tree
+        Graphs.addEdge(g, "b", "d", 1.0);
+        assertNotSame(paths, sp.getPaths("a"));
+        paths = sp.getPaths("a");
+        g.setEdgeWeight(g.getEdge("c", "a"), 10.0);
+        assertSame(paths, sp.getPaths("a"));
+        g.setEdgeWeight(g.getEdge("a", "b"), 4.0);
+        assertNotSame(paths, sp.getPaths("a"));
+        assertEquals(5.0, sp.getPathWeight("a", "d"), 1e-9);
+
+        g.removeVertex("a");
+        assertEquals(0, sp.size());
+    }
+
+    @Test
+    public void testEviction()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> g =
+            new DefaultListenableGraph<>(randomGraph(true, 20, 60, 1));
+        CachingShortestPathAlgorithm<Integer, DefaultWeightedEdge> sp =
+            new CachingShortestPathAlgorithm<>(g, new DijkstraShortestPath<>(g), 3, 1);
+
+        sp.getPath(0, 1);
+        sp.getPath(0, 2);
+        sp.getPath(0, 3);
+        sp.getPath(0, 1);
+        sp.getPath(0, 4);
+        assertEquals(1, sp.getEvictionCount());
+        long misses = sp.getMissCount();
+        sp.getPath(0, 1);
+        assertEquals(misses, sp.getMissCount());
+        sp.getPath(0, 2);
+        assertEquals(misses + 1, sp.getMissCount());
+
+        sp.getPaths(0);
+        sp.getPaths(1);
+        assertEquals(3, sp.getEvictionCount());
+        assertEquals(4, sp.size());
+
+        sp.clear();
+        assertEquals(0, sp.size());
+    }
+
+    @Test
+    public void testRandomChanges()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            ListenableGraph<Integer, DefaultWeightedEdge> g =
+                new DefaultListenableGraph<>(randomGraph(directed, 30, 90, 7));
+            CachingShortestPathAlgorithm<Integer, DefaultWeightedEdge> sp =
+                new CachingShortestPathAlgorithm<>(g, new DijkstraShortestPath<>(g), 50, 4);
+            Random rng = new Random(directed ? 1 : 2);
+            List<Integer> vertices = new ArrayList<>(g.vertexSet());
+
+            for (int round = 0; round < 300; round++) {
+                int op = rng.nextInt(4);
+                if (op == 0) {
+                    Integer u = vertices.get(rng.nextInt(vertices.size()));
+                    Integer v = vertices.get(rng.nextInt(vertices.size()));
+                    Graphs.addEdge(g, u, v, rng.nextDouble() * 10);
+                } else if (op == 1 && !g.edgeSet().isEmpty()) {
+                    g.removeEdge(randomEdge(g, rng));
+                } else if (op == 2 && !g.edgeSet().isEmpty()) {
+                    g.setEdgeWeight(randomEdge(g, rng), rng.nextDouble() * 10);
+                } else if (op == 3 && rng.nextInt(10) == 0) {
+                    Integer v = vertices.remove(rng.nextInt(vertices.size()));
+                    g.removeVertex(v);
+                    Integer w = 1000 + round;
+                    g.addVertex(w);
+                    vertices.add(w);
+                }
+
+                DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                    new DijkstraShortestPath<>(g);
+                for (int q = 0; q < 20; q++) {
+                    Integer s = vertices.get(rng.nextInt(5));
+                    Integer t = vertices.get(rng.nextInt(vertices.size()));
+                    double expected = dijkstra.getPathWeight(s, t);
+                    if (rng.nextBoolean()) {
+                        assertEquals(expected, sp.getPathWeight(s, t), 1e-9);
+                    } else {
+                        GraphPath<Integer, DefaultWeightedEdge> path = sp.getPath(s, t);
+                        if (expected == Double.POSITIVE_INFINITY) {
+                            assertNull(path);
+                        } else {
+                            assertEquals(expected, path.getWeight(), 1e-9);
+                        }
+                    }
+                    if (q % 5 == 0) {
+                        assertEquals(expected, sp.getPaths(s).getWeight(t), 1e-9);
+                    }
+                }
+            }
+            assertTrue(sp.getHitCount() > 0);
+            assertTrue(sp.getInvalidationCount() > 0);
+        }
+    }
+
+    private static DefaultWeightedEdge randomEdge(
+        Graph<Integer, DefaultWeightedEdge> g, Random rng)
+    {
+        List<DefaultWeightedEdge> edges = new ArrayList<>(g.edgeSet());
+        return edges.get(rng.nextInt(edges.size()));
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, true, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble() * 10);
+        }
+        return g;
+    }
+
+}
+
+// End CachingShortestPathAlgorithmTest.java
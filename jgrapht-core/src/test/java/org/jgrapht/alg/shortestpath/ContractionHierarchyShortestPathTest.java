@@ -0,0 +1,211 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ContractionHierarchyShortestPath}.
+ * 
+ * @author agent
+ */
+public class ContractionHierarchyShortestPathTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("1", "2", "3", "4", "5"));
+        g.setEdgeWeight(g.addEdge("1", "2"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 3.0);
+        g.setEdgeWeight(g.addEdge("2", "4"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "5"), 5.0);
+        g.setEdgeWeight(g.addEdge("5", "4"), 5.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 4.0);
+        g.setEdgeWeight(g.addEdge("2", "2"), 1.0);
+
+        ContractionHierarchyShortestPath<String, DefaultWeightedEdge> sp =
+            new ContractionHierarchyShortestPath<>(g, 1);
+        GraphPath<String, DefaultWeightedEdge> p = sp.getPath("3", "4");
+
+        assertEquals("3", p.getStartVertex());
+        assertEquals("4", p.getEndVertex());
+        assertEquals(9.0, p.getWeight(), 0);
+        assertEquals(Arrays.asList("3", "1", "2", "4"), p.getVertexList());
+        assertEquals(3.0, g.getEdgeWeight(p.getEdgeList().get(0)), 0);
+        assertEquals(g.getEdge("1", "2"), p.getEdgeList().get(1));
+        assertEquals(g.getEdge("2", "4"), p.getEdgeList().get(2));
+        assertEquals(9.0, sp.getPathWeight("3", "4"), 0);
+
+        assertNull(sp.getPath("4", "3"));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("4", "3"), 0);
+
+        GraphPath<String, DefaultWeightedEdge> empty = sp.getPath("5", "5");
+        assertEquals(0d, empty.getWeight(), 0);
+        assertTrue(empty.getEdgeList().isEmpty());
+        assertEquals(0d, sp.getPathWeight("5", "5"), 0);
+    }
+
+    @Test
+    public void testRandomGraphsDirected()
+    {
+        for (int parallelism : new int[] { 1, 4 }) {
+            for (int seed = 0; seed < 10; seed++) {
+                Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 60, 300, seed);
+                assertSameAsDijkstra(g, new ContractionHierarchyShortestPath<>(g, parallelism));
+            }
+        }
+    }
+
+    @Test
+    public void testRandomGraphsUndirected()
+    {
+        for (int parallelism : new int[] { 1, 4 }) {
+            for (int seed = 0; seed < 10; seed++) {
+                Graph<Integer, DefaultWeightedEdge> g = randomGraph(false, 60, 150, seed);
+                assertSameAsDijkstra(g, new ContractionHierarchyShortestPath<>(g, parallelism));
+            }
+        }
+    }
+
+    @Test
+    public void testDenseGraphs()
+    {
+        for (int seed = 0; seed < 3; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 50, 1500, seed);
+            assertSameAsDijkstra(g, new ContractionHierarchyShortestPath<>(g, 2));
+        }
+    }
+
+    @Test
+    public void testGrid()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(15, 15).generateGraph(g);
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(10));
+        }
+
+        ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> sp =
+            new ContractionHierarchyShortestPath<>(g, 2);
+        sp.precompute();
+        assertTrue(sp.getNumberOfShortcuts() > 0);
+        assertSameAsDijkstra(g, sp);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, -1.0);
+        new ContractionHierarchyShortestPath<>(g).getPath(1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        new ContractionHierarchyShortestPath<>(g, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingVertex()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex(1);
+        new ContractionHierarchyShortestPath<>(g).getPath(1, 2);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, true, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(5) == 0 ? 0d : rng.nextDouble() * 10);
+        }
+        return g;
+    }
+
+    private static <V, E> void assertSameAsDijkstra(
+        Graph<V, E> g, ContractionHierarchyShortestPath<V, E> sp)
+    {
+        DijkstraShortestPath<V, E> dijkstra = new DijkstraShortestPath<>(g);
+        for (V source : g.vertexSet()) {
+            ShortestPathAlgorithm.SingleSourcePaths<V, E> expected = dijkstra.getPaths(source);
+            for (V sink : g.vertexSet()) {
+                double weight = expected.getWeight(sink);
+                assertEquals(weight, sp.getPathWeight(source, sink), 1e-9);
+
+                GraphPath<V, E> path = sp.getPath(source, sink);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(source, path.getStartVertex());
+                assertEquals(sink, path.getEndVertex());
+                assertEquals(weight, path.getWeight(), 1e-9);
+
+                // the unpacked path is a valid walk in the original graph
+                List<V> vertices = path.getVertexList();
+                List<E> edges = path.getEdgeList();
+                assertEquals(vertices.size(), edges.size() + 1);
+                double total = 0d;
+                for (int i = 0; i < edges.size(); i++) {
+                    E e = edges.get(i);
+                    assertTrue(g.containsEdge(e));
+                    V u = vertices.get(i);
+                    V v = vertices.get(i + 1);
+                    if (g.getType().isDirected()) {
+                        assertEquals(u, g.getEdgeSource(e));
+                        assertEquals(v, g.getEdgeTarget(e));
+                    } else {
+                        assertEquals(v, Graphs.getOppositeVertex(g, e, u));
+                    }
+                    total += g.getEdgeWeight(e);
+                }
+                assertEquals(weight, total, 1e-9);
+            }
+        }
+    }
+
+}
+
+// End ContractionHierarchyShortestPathTest.java
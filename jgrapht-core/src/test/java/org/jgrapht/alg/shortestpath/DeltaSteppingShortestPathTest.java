@@ -0,0 +1,196 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DeltaSteppingShortestPath}.
+ * 
+ * @author agent
+ */
+public class DeltaSteppingShortestPathTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("1", "2", "3", "4", "5"));
+        g.setEdgeWeight(g.addEdge("1", "2"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 3.0);
+        g.setEdgeWeight(g.addEdge("2", "4"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "5"), 5.0);
+        g.setEdgeWeight(g.addEdge("5", "4"), 5.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 4.0);
+        g.setEdgeWeight(g.addEdge("2", "2"), 1.0);
+
+        DeltaSteppingShortestPath<String, DefaultWeightedEdge> sp =
+            new DeltaSteppingShortestPath<>(g, 2.0, 2);
+        GraphPath<String, DefaultWeightedEdge> p = sp.getPath("3", "4");
+        assertEquals(9.0, p.getWeight(), 0);
+        assertEquals(Arrays.asList("3", "1", "2", "4"), p.getVertexList());
+        assertEquals(3.0, g.getEdgeWeight(p.getEdgeList().get(0)), 0);
+
+        SingleSourcePaths<String, DefaultWeightedEdge> paths = sp.getPaths("3");
+        assertEquals(0d, paths.getWeight("3"), 0);
+        assertEquals(3d, paths.getWeight("1"), 0);
+        assertEquals(6d, paths.getWeight("2"), 0);
+        assertEquals(5d, paths.getWeight("5"), 0);
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("4", "3"), 0);
+        assertNull(sp.getPath("4", "3"));
+        assertEquals(0d, sp.getPath("5", "5").getWeight(), 0);
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        for (int parallelism : new int[] { 1, 3 }) {
+            for (double delta : new double[] { 0d, 0.5, 3d, 100d }) {
+                for (int seed = 0; seed < 3; seed++) {
+                    Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 60, 300, seed);
+                    assertSameAsDijkstra(g, new DeltaSteppingShortestPath<>(g, delta, parallelism));
+                    g = randomGraph(false, 60, 150, seed);
+                    assertSameAsDijkstra(g, new DeltaSteppingShortestPath<>(g, delta, parallelism));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExecutor()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 3; seed++) {
+                Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 2000, 20000, seed);
+                assertSameAsDijkstra(g, new DeltaSteppingShortestPath<>(g, 0d, pool), 3);
+                assertSameAsDijkstra(g, new DeltaSteppingShortestPath<>(g, 100d, pool), 3);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testZeroWeights()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 50, 200, 7);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 0d);
+        }
+        assertSameAsDijkstra(g, new DeltaSteppingShortestPath<>(g, 0d, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, -1.0);
+        new DeltaSteppingShortestPath<>(g).getPaths(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDelta()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        new DeltaSteppingShortestPath<>(g, -1d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        new DeltaSteppingShortestPath<>(g, 1d, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingVertex()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex(1);
+        new DeltaSteppingShortestPath<>(g).getPaths(2);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, true, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(5) == 0 ? 0d : rng.nextDouble() * 10);
+        }
+        return g;
+    }
+
+    private static <V, E> void assertSameAsDijkstra(
+        Graph<V, E> g, DeltaSteppingShortestPath<V, E> sp)
+    {
+        assertSameAsDijkstra(g, sp, g.vertexSet().size());
+    }
+
+    private static <V, E> void assertSameAsDijkstra(
+        Graph<V, E> g, DeltaSteppingShortestPath<V, E> sp, int sources)
+    {
+        DijkstraShortestPath<V, E> dijkstra = new DijkstraShortestPath<>(g);
+        for (V source : new ArrayList<>(g.vertexSet()).subList(0, sources)) {
+            SingleSourcePaths<V, E> expected = dijkstra.getPaths(source);
+            SingleSourcePaths<V, E> actual = sp.getPaths(source);
+            assertEquals(source, actual.getSourceVertex());
+            for (V sink : g.vertexSet()) {
+                double weight = expected.getWeight(sink);
+                assertEquals(weight, actual.getWeight(sink), 1e-9);
+
+                GraphPath<V, E> path = actual.getPath(sink);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(source, path.getStartVertex());
+                assertEquals(sink, path.getEndVertex());
+                double total = 0d;
+                for (E e : path.getEdgeList()) {
+                    total += g.getEdgeWeight(e);
+                }
+                assertEquals(weight, total, 1e-9);
+            }
+        }
+    }
+
+}
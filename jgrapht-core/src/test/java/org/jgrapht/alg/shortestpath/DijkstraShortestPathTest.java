@@ -19,10 +19,14 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.function.*;
 
 import static org.junit.Assert.*;
 
@@ -162,6 +166,36 @@ public class DijkstraShortestPathTest
         }
     }
 
+    @Test
+    public void testHeaps()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 500, 17).generateGraph(g);
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(10));
+        }
+
+        List<Supplier<AddressableHeap<Pair<Integer, DefaultWeightedEdge>>>> heaps =
+            Arrays.asList(PairingHeap::new, DaryHeap::new, () -> new DaryHeap<>(2), RadixHeap::new);
+        SingleSourcePaths<Integer, DefaultWeightedEdge> expected =
+            new BellmanFordShortestPath<>(g).getPaths(0);
+        for (Supplier<AddressableHeap<Pair<Integer, DefaultWeightedEdge>>> heap : heaps) {
+            SingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+                new DijkstraShortestPath<>(g, Double.POSITIVE_INFINITY, heap).getPaths(0);
+            for (Integer v : g.vertexSet()) {
+                assertEquals(expected.getWeight(v), paths.getWeight(v), 1e-9);
+            }
+            for (Integer v : g.vertexSet()) {
+                assertEquals(
+                    expected.getWeight(v), new BidirectionalDijkstraShortestPath<>(
+                        g, Double.POSITIVE_INFINITY, heap).getPathWeight(0, v),
+                    1e-9);
+            }
+        }
+    }
+
 }
 
 // End DijkstraShortestPathTest.java
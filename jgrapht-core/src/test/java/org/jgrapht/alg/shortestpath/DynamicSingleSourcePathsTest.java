@@ -0,0 +1,186 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DynamicSingleSourcePaths}.
+ * 
+ * @author agent
+ */
+public class DynamicSingleSourcePathsTest
+{
+
+    @Test
+    public void testSmallGraph()
+    {
+        ListenableGraph<String, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        Graphs.addAllVertices(g, Arrays.asList("s", "a", "b", "c"));
+        DefaultWeightedEdge sa = Graphs.addEdge(g, "s", "a", 1.0);
+        Graphs.addEdge(g, "a", "b", 1.0);
+        Graphs.addEdge(g, "s", "b", 5.0);
+        Graphs.addEdge(g, "b", "c", 1.0);
+
+        DynamicSingleSourcePaths<String, DefaultWeightedEdge> paths =
+            new DynamicSingleSourcePaths<>(g, "s");
+        assertEquals("s", paths.getSourceVertex());
+        assertEquals(3.0, paths.getWeight("c"), 1e-9);
+        assertEquals(Arrays.asList("s", "a", "b", "c"), paths.getPath("c").getVertexList());
+
+        g.setEdgeWeight(sa, 10.0);
+        assertEquals(6.0, paths.getWeight("c"), 1e-9);
+        assertEquals(Arrays.asList("s", "b", "c"), paths.getPath("c").getVertexList());
+        assertEquals(10.0, paths.getWeight("a"), 1e-9);
+
+        Graphs.addEdge(g, "s", "c", 0.5);
+        assertEquals(0.5, paths.getWeight("c"), 1e-9);
+        assertEquals(1, paths.getPath("c").getLength());
+
+        g.removeEdge("s", "b");
+        assertEquals(11.0, paths.getWeight("b"), 1e-9);
+
+        g.removeVertex("a");
+        assertEquals(Double.POSITIVE_INFINITY, paths.getWeight("b"), 0);
+        assertNull(paths.getPath("b"));
+
+        g.addVertex("d");
+        assertNull(paths.getPath("d"));
+        Graphs.addEdge(g, "c", "d", 1.0);
+        assertEquals(1.5, paths.getPath("d").getWeight(), 1e-9);
+        assertEquals(0d, paths.getPath("s").getWeight(), 0);
+    }
+
+    @Test
+    public void testRandomChangesDirected()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            runRandomChanges(true, seed);
+        }
+    }
+
+    @Test
+    public void testRandomChangesUndirected()
+    {
+        for (int seed = 0; seed < 5; seed++) {
+            runRandomChanges(false, seed);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        Graphs.addEdgeWithVertices(g, 1, 2, 1.0);
+        new DynamicSingleSourcePaths<>(g, 1);
+        g.setEdgeWeight(g.getEdge(1, 2), -1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSource()
+    {
+        ListenableGraph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class));
+        new DynamicSingleSourcePaths<>(g, 1);
+    }
+
+    private static void runRandomChanges(boolean directed, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> base = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(40, 120, seed, true, true)
+            .generateGraph(base);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : base.edgeSet()) {
+            base.setEdgeWeight(e, randomWeight(rng));
+        }
+        ListenableGraph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(base);
+        DynamicSingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+            new DynamicSingleSourcePaths<>(g, 0);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        int nextVertex = 1000;
+
+        for (int round = 0; round < 200; round++) {
+            int op = rng.nextInt(10);
+            List<DefaultWeightedEdge> edges = new ArrayList<>(g.edgeSet());
+            if (op < 3) {
+                Integer u = vertices.get(rng.nextInt(vertices.size()));
+                Integer v = vertices.get(rng.nextInt(vertices.size()));
+                Graphs.addEdge(g, u, v, randomWeight(rng));
+            } else if (op < 5 && !edges.isEmpty()) {
+                g.removeEdge(edges.get(rng.nextInt(edges.size())));
+            } else if (op < 9 && !edges.isEmpty()) {
+                g.setEdgeWeight(edges.get(rng.nextInt(edges.size())), randomWeight(rng));
+            } else if (op == 9) {
+                Integer v = vertices.get(1 + rng.nextInt(vertices.size() - 1));
+                g.removeVertex(v);
+                vertices.remove(v);
+                g.addVertex(nextVertex);
+                vertices.add(nextVertex++);
+            }
+            assertSameAsDijkstra(g, paths);
+        }
+    }
+
+    private static double randomWeight(Random rng)
+    {
+        return rng.nextInt(5) == 0 ? 0d : rng.nextInt(20);
+    }
+
+    private static <V, E> void assertSameAsDijkstra(
+        Graph<V, E> g, DynamicSingleSourcePaths<V, E> paths)
+    {
+        SingleSourcePaths<V, E> expected =
+            new DijkstraShortestPath<>(g).getPaths(paths.getSourceVertex());
+        for (V v : g.vertexSet()) {
+            double weight = expected.getWeight(v);
+            assertEquals(weight, paths.getWeight(v), 1e-9);
+            GraphPath<V, E> path = paths.getPath(v);
+            if (weight == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+                continue;
+            }
+            double total = 0d;
+            V cur = paths.getSourceVertex();
+            for (E e : path.getEdgeList()) {
+                assertTrue(g.containsEdge(e));
+                cur = Graphs.getOppositeVertex(g, e, cur);
+                total += g.getEdgeWeight(e);
+            }
+            assertEquals(v, cur);
+            assertEquals(weight, total, 1e-9);
+        }
+    }
+
+}
+
+// End DynamicSingleSourcePathsTest.java
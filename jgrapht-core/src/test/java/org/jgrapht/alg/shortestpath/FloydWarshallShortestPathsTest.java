@@ -18,12 +18,14 @@
 package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.*;
 
@@ -111,6 +113,67 @@ public class FloydWarshallShortestPathsTest
         }
     }
 
+    @Test
+    public void testBlockedParallel()
+    {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int seed = 0; seed < 4; seed++) {
+                // positive weights use the blocked algorithm, zero weights the plain one
+                boolean directed = seed % 2 == 0;
+                boolean zeroWeights = seed >= 2;
+                Graph<Integer, DefaultWeightedEdge> g = directed
+                    ? new DirectedWeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+                    : new WeightedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(),
+                        SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    200, 500, seed, true, true).generateGraph(g);
+                Random rng = new Random(seed);
+                for (DefaultWeightedEdge e : g.edgeSet()) {
+                    g.setEdgeWeight(
+                        e, zeroWeights && rng.nextInt(5) == 0 ? 0d : 0.1 + rng.nextDouble() * 10);
+                }
+
+                List<FloydWarshallShortestPaths<Integer, DefaultWeightedEdge>> algs =
+                    Arrays.asList(
+                        new FloydWarshallShortestPaths<>(g),
+                        new FloydWarshallShortestPaths<>(g, 4),
+                        new FloydWarshallShortestPaths<>(g, pool));
+                DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                    new DijkstraShortestPath<>(g);
+                for (Integer v1 : g.vertexSet()) {
+                    SingleSourcePaths<Integer, DefaultWeightedEdge> paths = dijkstra.getPaths(v1);
+                    for (Integer v2 : g.vertexSet()) {
+                        double weight = paths.getWeight(v2);
+                        for (FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> fw : algs) {
+                            assertEquals(weight, fw.getPathWeight(v1, v2), 1e-9);
+                            GraphPath<Integer, DefaultWeightedEdge> path = fw.getPath(v1, v2);
+                            if (Double.isInfinite(weight)) {
+                                assertNull(path);
+                                assertNull(fw.getFirstHop(v1, v2));
+                            } else if (!path.getEdgeList().isEmpty()) {
+                                verifyPath(g, path, weight);
+                                assertEquals(path.getVertexList().get(1), fw.getFirstHop(v1, v2));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism()
+    {
+        new FloydWarshallShortestPaths<>(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class), 0);
+    }
+
     /**
      * Verify whether the path calculated by FloydWarshallShortestPaths is an actual valid path.
      */
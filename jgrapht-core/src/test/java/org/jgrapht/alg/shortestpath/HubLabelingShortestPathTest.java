@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link HubLabelingShortestPath}.
+ * 
+ * @author agent
+ */
+public class HubLabelingShortestPathTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("1", "2", "3", "4", "5"));
+        g.setEdgeWeight(g.addEdge("1", "2"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 3.0);
+        g.setEdgeWeight(g.addEdge("2", "4"), 3.0);
+        g.setEdgeWeight(g.addEdge("3", "5"), 5.0);
+        g.setEdgeWeight(g.addEdge("5", "4"), 5.0);
+        g.setEdgeWeight(g.addEdge("3", "1"), 4.0);
+        g.setEdgeWeight(g.addEdge("2", "2"), 1.0);
+
+        HubLabelingShortestPath<String, DefaultWeightedEdge> sp =
+            new HubLabelingShortestPath<>(g);
+        assertEquals(9.0, sp.getPathWeight("3", "4"), 0);
+        GraphPath<String, DefaultWeightedEdge> p = sp.getPath("3", "4");
+        assertEquals(9.0, p.getWeight(), 0);
+        assertEquals(Arrays.asList("3", "1", "2", "4"), p.getVertexList());
+
+        assertNull(sp.getPath("4", "3"));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("4", "3"), 0);
+        assertEquals(0d, sp.getPathWeight("5", "5"), 0);
+        assertEquals(0d, sp.getPath("5", "5").getWeight(), 0);
+    }
+
+    @Test
+    public void testRandomGraphsDirected()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 60, 300, seed);
+            assertSameAsDijkstra(g, new HubLabelingShortestPath<>(g));
+        }
+    }
+
+    @Test
+    public void testRandomGraphsUndirected()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            Graph<Integer, DefaultWeightedEdge> g = randomGraph(false, 60, 150, seed);
+            assertSameAsDijkstra(g, new HubLabelingShortestPath<>(g));
+        }
+    }
+
+    @Test
+    public void testGrid()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(15, 15).generateGraph(g);
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(10));
+        }
+
+        HubLabelingShortestPath<Integer, DefaultWeightedEdge> sp = new HubLabelingShortestPath<>(g);
+        sp.precompute();
+        double size = sp.getLabels().getAverageLabelSize();
+        assertTrue(size >= 1d && size < g.vertexSet().size());
+        assertSameAsDijkstra(g, sp);
+    }
+
+    @Test
+    public void testSerializedLabels()
+        throws Exception
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 50, 250, 7);
+        HubLabelingShortestPath<Integer, DefaultWeightedEdge> sp = new HubLabelingShortestPath<>(g);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sp.getLabels());
+        }
+        HubLabelingShortestPath.Labels<Integer> labels;
+        try (ObjectInputStream in =
+            new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            @SuppressWarnings("unchecked")
+            HubLabelingShortestPath.Labels<Integer> read =
+                (HubLabelingShortestPath.Labels<Integer>) in.readObject();
+            labels = read;
+        }
+
+        // a graph with the same vertices and edges but different vertex iteration order
+        Graph<Integer, DefaultWeightedEdge> copy =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        Collections.reverse(vertices);
+        Graphs.addAllVertices(copy, vertices);
+        Graphs.addAllEdges(copy, g, g.edgeSet());
+
+        assertSameAsDijkstra(copy, new HubLabelingShortestPath<>(copy, labels));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLabelsOfDifferentGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 10, 20, 1);
+        Graph<Integer, DefaultWeightedEdge> other = randomGraph(true, 11, 20, 1);
+        new HubLabelingShortestPath<>(other, new HubLabelingShortestPath<>(g).getLabels());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, -1.0);
+        new HubLabelingShortestPath<>(g).getPathWeight(1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingVertex()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex(1);
+        new HubLabelingShortestPath<>(g).getPathWeight(1, 2);
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, true, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(5) == 0 ? 0d : rng.nextDouble() * 10);
+        }
+        return g;
+    }
+
+    private static <V, E> void assertSameAsDijkstra(
+        Graph<V, E> g, HubLabelingShortestPath<V, E> sp)
+    {
+        DijkstraShortestPath<V, E> dijkstra = new DijkstraShortestPath<>(g);
+        for (V source : g.vertexSet()) {
+            ShortestPathAlgorithm.SingleSourcePaths<V, E> expected = dijkstra.getPaths(source);
+            for (V sink : g.vertexSet()) {
+                double weight = expected.getWeight(sink);
+                assertEquals(weight, sp.getPathWeight(source, sink), 1e-9);
+
+                GraphPath<V, E> path = sp.getPath(source, sink);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                } else {
+                    assertEquals(weight, path.getWeight(), 1e-9);
+                }
+            }
+        }
+    }
+
+}
+
+// End HubLabelingShortestPathTest.java
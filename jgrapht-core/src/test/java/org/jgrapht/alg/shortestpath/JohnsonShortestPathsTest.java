@@ -18,6 +18,7 @@
 package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.graph.builder.*;
@@ -25,6 +26,7 @@ import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
 import static org.junit.Assert.*;
@@ -155,4 +157,75 @@ public class JohnsonShortestPathsTest
 
     }
 
+    @Test
+    public void testParallelAgainstSequential()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 600, 7, true, true)
+            .generateGraph(g);
+
+        // negative weights only on edges towards larger vertices, so there is no negative cycle
+        Random rng = new Random(7);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            if (g.getEdgeSource(e) < g.getEdgeTarget(e)) {
+                g.setEdgeWeight(e, rng.nextDouble() - 0.5);
+            } else {
+                g.setEdgeWeight(e, 1 + 10 * rng.nextDouble());
+            }
+        }
+
+        JohnsonShortestPaths<Integer, DefaultWeightedEdge> sequential =
+            new JohnsonShortestPaths<>(g);
+        for (int parallelism : new int[] { 2, 3 }) {
+            JohnsonShortestPaths<Integer, DefaultWeightedEdge> parallel =
+                new JohnsonShortestPaths<>(
+                    g, ToleranceDoubleComparator.DEFAULT_EPSILON, parallelism);
+            for (Integer v : g.vertexSet()) {
+                for (Integer u : g.vertexSet()) {
+                    GraphPath<Integer, DefaultWeightedEdge> path = parallel.getPath(v, u);
+                    if (path == null) {
+                        assertNull(sequential.getPath(v, u));
+                        continue;
+                    }
+                    assertEquals(sequential.getPathWeight(v, u), path.getWeight(), 1e-9);
+                    double total = 0d;
+                    for (DefaultWeightedEdge e : path.getEdgeList()) {
+                        total += g.getEdgeWeight(e);
+                    }
+                    assertEquals(path.getWeight(), total, 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExecutor()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 400, 13, true, true)
+            .generateGraph(g);
+        Random rng = new Random(13);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 10 * rng.nextDouble());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            JohnsonShortestPaths<Integer, DefaultWeightedEdge> parallel =
+                new JohnsonShortestPaths<>(g, ToleranceDoubleComparator.DEFAULT_EPSILON, pool);
+            JohnsonShortestPaths<Integer, DefaultWeightedEdge> sequential =
+                new JohnsonShortestPaths<>(g);
+            for (Integer v : g.vertexSet()) {
+                for (Integer u : g.vertexSet()) {
+                    assertEquals(
+                        sequential.getPathWeight(v, u), parallel.getPathWeight(v, u), 1e-9);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,234 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.MultiObjectiveShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test {@link LabelSettingMultiObjectiveShortestPath}.
+ * 
+ * @author agent
+ */
+public class LabelSettingMultiObjectiveShortestPathTest
+{
+
+    @Test
+    public void testGraphDirected()
+    {
+        DirectedPseudograph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+
+        IntStream.range(1, 6).forEach(g::addVertex);
+        DefaultEdge e12 = g.addEdge(1, 2);
+        DefaultEdge e13 = g.addEdge(1, 3);
+        DefaultEdge e14 = g.addEdge(1, 4);
+        DefaultEdge e24 = g.addEdge(2, 4);
+        DefaultEdge e25 = g.addEdge(2, 5);
+        DefaultEdge e34 = g.addEdge(3, 4);
+        DefaultEdge e35 = g.addEdge(3, 5);
+        DefaultEdge e45 = g.addEdge(4, 5);
+
+        DefaultEdgeFunction<DefaultEdge, double[]> f =
+            new DefaultEdgeFunction<>(new double[] { 0.0, 0.0 });
+        f.set(e12, new double[] { 1.0, 5.0 });
+        f.set(e13, new double[] { 4.0, 2.0 });
+        f.set(e14, new double[] { 4.0, 4.0 });
+        f.set(e24, new double[] { 1.0, 2.0 });
+        f.set(e25, new double[] { 2.0, 5.0 });
+        f.set(e34, new double[] { 2.0, 3.0 });
+        f.set(e35, new double[] { 6.0, 1.0 });
+        f.set(e45, new double[] { 3.0, 3.0 });
+
+        LabelSettingMultiObjectiveShortestPath<Integer, DefaultEdge> sp =
+            new LabelSettingMultiObjectiveShortestPath<>(g, f);
+        MultiObjectiveSingleSourcePaths<Integer, DefaultEdge> paths = sp.getPaths(1);
+        assertEquals(1, paths.getPaths(1).size());
+        assertEquals(1, paths.getPaths(2).size());
+        assertEquals(1, paths.getPaths(3).size());
+        assertEquals(2, paths.getPaths(4).size());
+
+        // paths are ordered lexicographically
+        List<GraphPath<Integer, DefaultEdge>> paths15 = paths.getPaths(5);
+        assertEquals(3, paths15.size());
+        assertEquals(Arrays.asList(1, 2, 5), paths15.get(0).getVertexList());
+        assertEquals(Arrays.asList(1, 4, 5), paths15.get(1).getVertexList());
+        assertEquals(Arrays.asList(1, 3, 5), paths15.get(2).getVertexList());
+
+        assertEquals(costs(sp.getPaths(1, 5), f), costs(paths15, f));
+        assertEquals(1, sp.getPaths(3, 3).size());
+        assertTrue(sp.getPaths(5, 1).isEmpty());
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            for (int seed = 0; seed < 5; seed++) {
+                Graph<Integer, DefaultEdge> g = randomGraph(directed, 30, 120, seed);
+                Function<DefaultEdge, double[]> f = randomCosts(g, 3, seed);
+
+                LabelSettingMultiObjectiveShortestPath<Integer, DefaultEdge> sp =
+                    new LabelSettingMultiObjectiveShortestPath<>(g, f);
+                for (Integer source : Arrays.asList(0, 7)) {
+                    MultiObjectiveSingleSourcePaths<Integer, DefaultEdge> expected =
+                        new MartinShortestPath<>(g, f).getPaths(source);
+                    MultiObjectiveSingleSourcePaths<Integer, DefaultEdge> paths =
+                        sp.getPaths(source);
+                    for (Integer sink : g.vertexSet()) {
+                        Set<List<Double>> expectedCosts = costs(expected.getPaths(sink), f);
+                        assertEquals(expectedCosts, costs(paths.getPaths(sink), f));
+                        assertEquals(expectedCosts, costs(sp.getPaths(source, sink), f));
+                        for (GraphPath<Integer, DefaultEdge> p : sp.getPaths(source, sink)) {
+                            assertEquals(source, p.getStartVertex());
+                            assertEquals(sink, p.getEndVertex());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEpsilonDominance()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GridGraphGenerator<Integer, DefaultEdge>(12, 12).generateGraph(g);
+        Function<DefaultEdge, double[]> f = randomCosts(g, 2, 3);
+        double epsilon = 0.01;
+
+        LabelSettingMultiObjectiveShortestPath<Integer, DefaultEdge> exact =
+            new LabelSettingMultiObjectiveShortestPath<>(g, f);
+        LabelSettingMultiObjectiveShortestPath<Integer, DefaultEdge> approximate =
+            new LabelSettingMultiObjectiveShortestPath<>(g, f, epsilon);
+        List<GraphPath<Integer, DefaultEdge>> exactPaths = exact.getPaths(0, 143);
+        List<GraphPath<Integer, DefaultEdge>> approximatePaths = approximate.getPaths(0, 143);
+
+        assertTrue(approximatePaths.size() <= exactPaths.size());
+        assertTrue(approximate.getMaximumNumberOfLabels() < exact.getMaximumNumberOfLabels());
+
+        // every efficient path is approximated
+        for (GraphPath<Integer, DefaultEdge> p : exactPaths) {
+            double[] c = cost(p, f);
+            double bound = Math.pow(1 + epsilon, p.getLength());
+            assertTrue(approximatePaths.stream().map(q -> cost(q, f)).anyMatch(
+                a -> a[0] <= bound * c[0] + 1e-9 && a[1] <= bound * c[1] + 1e-9));
+        }
+    }
+
+    @Test
+    public void testNoPaths()
+    {
+        DirectedPseudograph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex(1);
+        g.addVertex(2);
+        g.addVertex(3);
+        g.addEdge(2, 3);
+
+        DefaultEdgeFunction<DefaultEdge, double[]> f =
+            new DefaultEdgeFunction<>(new double[] { 1.0, 1.0 });
+        LabelSettingMultiObjectiveShortestPath<Integer, DefaultEdge> sp =
+            new LabelSettingMultiObjectiveShortestPath<>(g, f);
+
+        MultiObjectiveSingleSourcePaths<Integer, DefaultEdge> paths1 = sp.getPaths(1);
+        assertEquals(1, paths1.getPaths(1).size());
+        assertEquals(0, paths1.getPaths(2).size());
+        assertTrue(sp.getPaths(1, 3).isEmpty());
+        assertTrue(sp.getPaths(3, 2).isEmpty());
+        assertEquals(1, sp.getPaths(2, 3).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeEpsilon()
+    {
+        DirectedPseudograph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        new LabelSettingMultiObjectiveShortestPath<>(g, e -> new double[] { 1.0 }, -0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSink()
+    {
+        DirectedPseudograph<Integer, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex(1);
+        new LabelSettingMultiObjectiveShortestPath<>(g, e -> new double[] { 1.0 }).getPaths(1, 2);
+    }
+
+    private static Graph<Integer, DefaultEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultEdge> g = directed
+            ? new DirectedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false)
+            : new Pseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(n, m, seed, true, true)
+            .generateGraph(g);
+        return g;
+    }
+
+    private static Function<DefaultEdge, double[]> randomCosts(
+        Graph<Integer, DefaultEdge> g, int objectives, long seed)
+    {
+        Random rng = new Random(seed);
+        Map<DefaultEdge, double[]> costs = new HashMap<>();
+        for (DefaultEdge e : g.edgeSet()) {
+            double[] c = new double[objectives];
+            for (int i = 0; i < objectives; i++) {
+                c[i] = rng.nextInt(10) == 0 ? 0d : 1 + rng.nextInt(20);
+            }
+            costs.put(e, c);
+        }
+        return costs::get;
+    }
+
+    private static double[] cost(
+        GraphPath<Integer, DefaultEdge> p, Function<DefaultEdge, double[]> f)
+    {
+        double[] total = null;
+        for (DefaultEdge e : p.getEdgeList()) {
+            double[] c = f.apply(e);
+            if (total == null) {
+                total = new double[c.length];
+            }
+            for (int i = 0; i < c.length; i++) {
+                total[i] += c[i];
+            }
+        }
+        return total == null ? new double[0] : total;
+    }
+
+    private static Set<List<Double>> costs(
+        List<GraphPath<Integer, DefaultEdge>> paths, Function<DefaultEdge, double[]> f)
+    {
+        return paths.stream().map(p -> DoubleStream.of(cost(p, f)).boxed().collect(
+            Collectors.toList())).collect(Collectors.toSet());
+    }
+
+}
+
+// End LabelSettingMultiObjectiveShortestPathTest.java
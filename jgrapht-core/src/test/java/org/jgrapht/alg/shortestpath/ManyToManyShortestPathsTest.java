@@ -0,0 +1,178 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.ManyToManyShortestPathsAlgorithm.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the implementations of {@link ManyToManyShortestPathsAlgorithm}.
+ * 
+ * @author agent
+ */
+public class ManyToManyShortestPathsTest
+{
+
+    @Test
+    public void testSmallGraph()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+        g.setEdgeWeight(g.addEdge("a", "b"), 1.0);
+        g.setEdgeWeight(g.addEdge("b", "c"), 2.0);
+        g.setEdgeWeight(g.addEdge("a", "c"), 5.0);
+
+        for (ManyToManyShortestPathsAlgorithm<String, DefaultWeightedEdge> alg : Arrays
+            .asList(
+                new DijkstraManyToManyShortestPaths<>(g),
+                new ContractionHierarchyShortestPath<>(g, 1)))
+        {
+            ManyToManyShortestPaths<String, DefaultWeightedEdge> paths = alg.getManyToManyPaths(
+                new LinkedHashSet<>(Arrays.asList("a", "b")),
+                new LinkedHashSet<>(Arrays.asList("c", "d", "a")));
+
+            assertEquals(Arrays.asList("a", "b"), paths.getSources());
+            assertEquals(Arrays.asList("c", "d", "a"), paths.getTargets());
+            assertEquals(3.0, paths.getWeight("a", "c"), 1e-9);
+            assertEquals(0.0, paths.getWeight("a", "a"), 1e-9);
+            assertEquals(Double.POSITIVE_INFINITY, paths.getWeight("a", "d"), 0);
+            assertEquals(Double.POSITIVE_INFINITY, paths.getWeight("b", "a"), 0);
+            assertEquals(2.0, paths.getWeightMatrix()[1][0], 1e-9);
+
+            assertEquals(Arrays.asList("a", "b", "c"), paths.getPath("a", "c").getVertexList());
+            assertNull(paths.getPath("a", "d"));
+        }
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            for (int seed = 0; seed < 5; seed++) {
+                Graph<Integer, DefaultWeightedEdge> g = randomGraph(directed, 80, 300, seed);
+                Random rng = new Random(seed);
+                Set<Integer> sources = randomSubset(g, 20, rng);
+                Set<Integer> targets = randomSubset(g, 25, rng);
+                for (int parallelism : new int[] { 1, 3 }) {
+                    assertSameAsDijkstra(
+                        g, new DijkstraManyToManyShortestPaths<>(g, parallelism), sources,
+                        targets);
+                    assertSameAsDijkstra(
+                        g, new ContractionHierarchyShortestPath<>(g, parallelism), sources,
+                        targets);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSource()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 5, 5, 0);
+        new DijkstraManyToManyShortestPaths<>(g)
+            .getManyToManyPaths(Collections.singleton(10), Collections.singleton(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingTarget()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 5, 5, 0);
+        new ContractionHierarchyShortestPath<>(g)
+            .getManyToManyPaths(Collections.singleton(0), Collections.singleton(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotATarget()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 5, 5, 0);
+        new DijkstraManyToManyShortestPaths<>(g)
+            .getManyToManyPaths(Collections.singleton(0), Collections.singleton(1))
+            .getWeight(0, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, -1.0);
+        new DijkstraManyToManyShortestPaths<>(g)
+            .getManyToManyPaths(Collections.singleton(1), Collections.singleton(2));
+    }
+
+    private static Set<Integer> randomSubset(Graph<Integer, ?> g, int size, Random rng)
+    {
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        Collections.shuffle(vertices, rng);
+        return new LinkedHashSet<>(vertices.subList(0, size));
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, true, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextInt(5) == 0 ? 0d : rng.nextDouble() * 10);
+        }
+        return g;
+    }
+
+    private static <V, E> void assertSameAsDijkstra(
+        Graph<V, E> g, ManyToManyShortestPathsAlgorithm<V, E> alg, Set<V> sources,
+        Set<V> targets)
+    {
+        ManyToManyShortestPaths<V, E> paths = alg.getManyToManyPaths(sources, targets);
+        DijkstraShortestPath<V, E> dijkstra = new DijkstraShortestPath<>(g);
+        for (V source : sources) {
+            SingleSourcePaths<V, E> expected = dijkstra.getPaths(source);
+            for (V target : targets) {
+                double weight = expected.getWeight(target);
+                assertEquals(weight, paths.getWeight(source, target), 1e-9);
+                GraphPath<V, E> path = paths.getPath(source, target);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                } else {
+                    assertEquals(weight, path.getWeight(), 1e-9);
+                    assertEquals(source, path.getStartVertex());
+                    assertEquals(target, path.getEndVertex());
+                }
+            }
+        }
+    }
+
+}
+
+// End ManyToManyShortestPathsTest.java
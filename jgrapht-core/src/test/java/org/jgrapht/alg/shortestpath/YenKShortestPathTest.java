@@ -0,0 +1,185 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link YenKShortestPath} and {@link YenShortestPathIterator}.
+ * 
+ * @author agent
+ */
+public class YenKShortestPathTest
+{
+
+    @Test
+    public void testCompleteGraph4()
+    {
+        KShortestPathCompleteGraph4 graph = new KShortestPathCompleteGraph4();
+        List<GraphPath<String, DefaultWeightedEdge>> paths =
+            new YenKShortestPath<>(graph).getPaths("vS", "v3", 10);
+
+        assertEquals(5, paths.size());
+        assertEquals(2, paths.get(0).getWeight(), 0);
+        assertEquals(Arrays.asList(graph.eS1, graph.e13), paths.get(0).getEdgeList());
+        for (int i = 1; i < paths.size(); i++) {
+            assertTrue(paths.get(i - 1).getWeight() <= paths.get(i).getWeight());
+        }
+    }
+
+    @Test
+    public void testLazyIterator()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new SimpleWeightedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new CompleteGraphGenerator<Integer, DefaultWeightedEdge>(12).generateGraph(g);
+
+        // the complete graph has billions of simple paths between two vertices
+        YenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new YenShortestPathIterator<>(g, 0, 1);
+        assertEquals(1.0, it.next().getWeight(), 0);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2.0, it.next().getWeight(), 0);
+        }
+        assertEquals(3.0, it.next().getWeight(), 0);
+    }
+
+    @Test
+    public void testSameAsKShortestSimplePaths()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            for (int seed = 0; seed < 5; seed++) {
+                Graph<Integer, DefaultWeightedEdge> g = randomGraph(directed, 12, 40, seed);
+                List<GraphPath<Integer, DefaultWeightedEdge>> expected =
+                    new KShortestSimplePaths<>(g).getPaths(0, 1, 30);
+                for (int parallelism : new int[] { 1, 3 }) {
+                    List<GraphPath<Integer, DefaultWeightedEdge>> actual =
+                        new YenKShortestPath<>(g, parallelism).getPaths(0, 1, 30);
+                    assertSamePaths(g, expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExecutor()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = randomGraph(true, 15, 60, 3);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            List<GraphPath<Integer, DefaultWeightedEdge>> expected =
+                new YenKShortestPath<>(g).getPaths(0, 1, 50);
+            List<GraphPath<Integer, DefaultWeightedEdge>> actual =
+                new YenKShortestPath<>(g, pool).getPaths(0, 1, 50);
+            assertEquals(expected, actual);
+
+            YenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+                new YenShortestPathIterator<>(g, 0, 1, pool);
+            for (GraphPath<Integer, DefaultWeightedEdge> p : expected) {
+                assertEquals(p, it.next());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNoPath()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, 1.0);
+        assertTrue(new YenKShortestPath<>(g).getPaths(2, 1, 3).isEmpty());
+        YenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new YenShortestPathIterator<>(g, 1, 2);
+        assertEquals(1.0, it.next().getWeight(), 0);
+        assertFalse(it.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testExhaustedIterator()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, 1.0);
+        YenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new YenShortestPathIterator<>(g, 2, 1);
+        it.next();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidK()
+    {
+        Graph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, 1, 2, 1.0);
+        new YenKShortestPath<>(g).getPaths(1, 2, 0);
+    }
+
+    private static <V, E> void assertSamePaths(
+        Graph<V, E> g, List<GraphPath<V, E>> expected, List<GraphPath<V, E>> actual)
+    {
+        assertEquals(expected.size(), actual.size());
+        Set<List<E>> distinct = new HashSet<>();
+        for (int i = 0; i < expected.size(); i++) {
+            GraphPath<V, E> path = actual.get(i);
+            assertEquals(expected.get(i).getWeight(), path.getWeight(), 1e-9);
+            assertTrue(distinct.add(path.getEdgeList()));
+
+            // simple and consistent with the graph
+            List<V> vertices = path.getVertexList();
+            assertEquals(vertices.size(), new HashSet<>(vertices).size());
+            double total = 0d;
+            for (int j = 0; j < path.getEdgeList().size(); j++) {
+                E e = path.getEdgeList().get(j);
+                assertEquals(vertices.get(j + 1), Graphs.getOppositeVertex(g, e, vertices.get(j)));
+                total += g.getEdgeWeight(e);
+            }
+            assertEquals(path.getWeight(), total, 1e-9);
+        }
+    }
+
+    private static Graph<Integer, DefaultWeightedEdge> randomGraph(
+        boolean directed, int n, int m, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = directed
+            ? new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+            : new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, seed, false, true)
+            .generateGraph(g);
+        Random rng = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(10));
+        }
+        return g;
+    }
+
+}
+
+// End YenKShortestPathTest.java
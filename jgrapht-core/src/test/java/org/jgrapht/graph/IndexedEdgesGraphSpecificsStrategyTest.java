@@ -0,0 +1,297 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.flow.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.alg.spanning.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedEdgesGraphSpecificsStrategy}.
+ * 
+ * @author agent
+ */
+public class IndexedEdgesGraphSpecificsStrategyTest
+{
+
+    private static <V, E> Graph<V, E> create(Class<E> edgeClass, boolean weighted)
+    {
+        return GraphTypeBuilder
+            .<V, E> directed().allowingMultipleEdges(true).allowingSelfLoops(true)
+            .weighted(weighted).edgeClass(edgeClass).indexedEdges(true).buildGraph();
+    }
+
+    @Test
+    public void testIndices()
+    {
+        Graph<String, DefaultWeightedEdge> g = create(DefaultWeightedEdge.class, true);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        DefaultWeightedEdge e1 = g.addEdge("a", "b");
+        DefaultWeightedEdge e2 = g.addEdge("b", "c");
+        DefaultWeightedEdge e3 = g.addEdge("c", "a");
+        g.setEdgeWeight(e1, 1.0);
+        g.setEdgeWeight(e2, 2.0);
+        g.setEdgeWeight(e3, 3.0);
+
+        IndexedEdgeWeights<DefaultWeightedEdge> weights = IndexedEdgeWeights.of(g);
+        assertNotNull(weights);
+        assertEquals(3, weights.getEdgeIndexBound());
+        assertEquals(0, weights.getEdgeIndex(e1));
+        assertEquals(2, weights.getEdgeIndex(e3));
+        assertEquals(e2, weights.getEdge(1));
+        assertEquals(3.0, weights.getEdgeWeight(2), 1e-9);
+        assertEquals(-1, weights.getEdgeIndex(new DefaultWeightedEdge()));
+
+        // removal keeps the indices dense
+        g.removeEdge(e1);
+        assertEquals(2, weights.getEdgeIndexBound());
+        assertEquals(0, weights.getEdgeIndex(e3));
+        assertEquals(3.0, weights.getEdgeWeight(0), 1e-9);
+        assertEquals(2.0, g.getEdgeWeight(e2), 1e-9);
+        assertEquals("c", g.getEdgeSource(e3));
+        assertEquals("a", g.getEdgeTarget(e3));
+        assertFalse(g.containsEdge(e1));
+        // the edge set iterates in index order
+        assertEquals(Arrays.asList(e3, e2), new ArrayList<>(g.edgeSet()));
+        assertEquals(3.0, IndexedEdgeWeights.weightFunction(g).applyAsDouble(e3), 1e-9);
+
+        g.removeVertex("c");
+        assertEquals(0, g.edgeSet().size());
+        assertEquals(0, weights.getEdgeIndexBound());
+        assertNull(weights.getEdge(0));
+    }
+
+    @Test
+    public void testSharedEdges()
+    {
+        Graph<String, DefaultWeightedEdge> g1 = create(DefaultWeightedEdge.class, true);
+        Graph<String, DefaultWeightedEdge> g2 = create(DefaultWeightedEdge.class, true);
+        Graphs.addAllVertices(g1, Arrays.asList("a", "b", "c"));
+        Graphs.addAllVertices(g2, Arrays.asList("a", "b", "c"));
+        DefaultWeightedEdge e1 = g1.addEdge("a", "b");
+        DefaultWeightedEdge e2 = g1.addEdge("b", "c");
+        g1.setEdgeWeight(e2, 5.0);
+
+        // the same edge object has different indices in the two graphs
+        g2.addEdge("b", "c", e2);
+        g2.addEdge("a", "b", e1);
+        assertEquals(5.0, g2.getEdgeWeight(e2), 1e-9);
+        assertEquals(0, IndexedEdgeWeights.of(g2).getEdgeIndex(e2));
+        assertEquals(1, IndexedEdgeWeights.of(g1).getEdgeIndex(e2));
+        assertEquals(0, IndexedEdgeWeights.of(g1).getEdgeIndex(e1));
+        assertEquals(1, IndexedEdgeWeights.of(g2).getEdgeIndex(e1));
+
+        g2.setEdgeWeight(e2, 7.0);
+        assertEquals(7.0, g2.getEdgeWeight(e2), 1e-9);
+        assertEquals(5.0, g1.getEdgeWeight(e2), 1e-9);
+        assertEquals("b", g1.getEdgeSource(e2));
+    }
+
+    @Test
+    public void testIntrusiveEdgesAreNotMapped()
+    {
+        Map<DefaultWeightedEdge, Integer> map = new HashMap<>();
+        IndexedIntrusiveEdgesSpecifics<String, DefaultWeightedEdge> specifics =
+            new IndexedIntrusiveEdgesSpecifics<>(true, map, 0);
+        DefaultWeightedEdge e1 = new DefaultWeightedEdge();
+        DefaultWeightedEdge e2 = new DefaultWeightedEdge();
+        assertTrue(specifics.add(e1, "a", "b"));
+        assertTrue(specifics.add(e2, "b", "c"));
+        specifics.setEdgeWeight(e2, 2.0);
+        assertTrue(map.isEmpty());
+        assertEquals(1, specifics.getEdgeIndex(e2));
+
+        // a shared edge is mapped by the second storage only
+        Map<DefaultWeightedEdge, Integer> otherMap = new HashMap<>();
+        IndexedIntrusiveEdgesSpecifics<String, DefaultWeightedEdge> other =
+            new IndexedIntrusiveEdgesSpecifics<>(true, otherMap, 0);
+        assertTrue(other.add(e2, "b", "c"));
+        assertEquals(1, otherMap.size());
+        assertEquals(0, other.getEdgeIndex(e2));
+        assertEquals(1, specifics.getEdgeIndex(e2));
+
+        // the moved edge keeps its index in the edge
+        specifics.remove(e1);
+        assertEquals(0, specifics.getEdgeIndex(e2));
+        assertEquals(2.0, specifics.getEdgeWeight(e2), 1e-9);
+        assertEquals(-1, specifics.getEdgeIndex(e1));
+        assertTrue(map.isEmpty());
+
+        // removed and cloned edges are added to another storage without a map entry
+        DefaultWeightedEdge clone = (DefaultWeightedEdge) e2.clone();
+        assertTrue(other.add(e1, "a", "b"));
+        assertTrue(other.add(clone, "b", "c"));
+        assertEquals(1, otherMap.size());
+        assertEquals(1, other.getEdgeIndex(e1));
+        assertEquals(2, other.getEdgeIndex(clone));
+    }
+
+    @Test
+    public void testOverriddenEdgeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new AbstractBaseGraph<Integer, DefaultWeightedEdge>(
+            null, SupplierUtil.createDefaultWeightedEdgeSupplier(),
+            DefaultGraphType.directedPseudograph().asWeighted(),
+            new IndexedEdgesGraphSpecificsStrategy<>())
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public double getEdgeWeight(DefaultWeightedEdge e)
+            {
+                return 2 * super.getEdgeWeight(e);
+            }
+        };
+        Graphs.addEdgeWithVertices(g, 0, 1, 3.0);
+        Graphs.addEdgeWithVertices(g, 1, 2, 4.0);
+        Graphs.addEdgeWithVertices(g, 0, 2, 10.0);
+
+        assertNull(IndexedEdgeWeights.of(g));
+        assertEquals(
+            6.0, IndexedEdgeWeights.weightFunction(g).applyAsDouble(g.getEdge(0, 1)), 1e-9);
+        assertEquals(14.0, new DijkstraShortestPath<>(g).getPathWeight(0, 2), 1e-9);
+    }
+
+    @Test
+    public void testCustomEdges()
+    {
+        Graph<Integer, String> g = GraphTypeBuilder
+            .<Integer, String> directed().allowingMultipleEdges(true).allowingSelfLoops(true)
+            .weighted(true).vertexSupplier(SupplierUtil.createIntegerSupplier())
+            .indexedEdges(true).buildGraph();
+        g.addVertex();
+        g.addVertex();
+        assertTrue(g.addEdge(0, 1, "x"));
+        assertTrue(g.addEdge(1, 0, "y"));
+        assertFalse(g.addEdge(1, 0, "y"));
+        g.setEdgeWeight("y", 2.5);
+
+        assertEquals(1.0, g.getEdgeWeight("x"), 1e-9);
+        assertEquals(2.5, g.getEdgeWeight("y"), 1e-9);
+        assertEquals(Integer.valueOf(1), g.getEdgeSource("y"));
+        assertEquals(1, IndexedEdgeWeights.of(g).getEdgeIndex("y"));
+
+        g.removeEdge("x");
+        assertEquals(0, IndexedEdgeWeights.of(g).getEdgeIndex("y"));
+        assertEquals(2.5, g.getEdgeWeight("y"), 1e-9);
+        try {
+            g.getEdgeWeight("x");
+            fail("Edge should not exist");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnweighted()
+    {
+        Graph<Integer, DefaultEdge> g = create(DefaultEdge.class, false);
+        Graphs.addEdgeWithVertices(g, 0, 1);
+        DefaultEdge e = g.getEdge(0, 1);
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e), 1e-9);
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, IndexedEdgeWeights.of(g).getEdgeWeight(0), 1e-9);
+        g.setEdgeWeight(e, 2.0);
+    }
+
+    @Test
+    public void testViewsAreNotIndexed()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = create(DefaultWeightedEdge.class, true);
+        assertNotNull(IndexedEdgeWeights.of(g));
+        assertNull(IndexedEdgeWeights.of(new AsUnmodifiableGraph<>(g)));
+        assertNull(IndexedEdgeWeights.of(new DefaultDirectedWeightedGraph<>(
+            DefaultWeightedEdge.class)));
+    }
+
+    @Test
+    public void testAlgorithms()
+    {
+        Graph<Integer, DefaultWeightedEdge> indexed = create(DefaultWeightedEdge.class, true);
+        Graph<Integer, DefaultWeightedEdge> plain = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier());
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(50, 400, 7, false, false)
+            .generateGraph(plain);
+
+        Random rng = new Random(7);
+        Graphs.addAllVertices(indexed, plain.vertexSet());
+        for (DefaultWeightedEdge e : plain.edgeSet()) {
+            plain.setEdgeWeight(e, 1 + rng.nextInt(100));
+            DefaultWeightedEdge ie =
+                indexed.addEdge(plain.getEdgeSource(e), plain.getEdgeTarget(e));
+            indexed.setEdgeWeight(ie, plain.getEdgeWeight(e));
+        }
+        // exercise index compaction
+        List<DefaultWeightedEdge> edges = new ArrayList<>(indexed.edgeSet());
+        for (int i = 0; i < edges.size(); i += 7) {
+            DefaultWeightedEdge e = edges.get(i);
+            plain.removeEdge(plain.getEdge(indexed.getEdgeSource(e), indexed.getEdgeTarget(e)));
+            indexed.removeEdge(e);
+        }
+
+        Integer source = 0;
+        for (Integer v : plain.vertexSet()) {
+            assertEquals(
+                new DijkstraShortestPath<>(plain).getPathWeight(source, v),
+                new DijkstraShortestPath<>(indexed).getPathWeight(source, v), 1e-9);
+            assertEquals(
+                new BidirectionalDijkstraShortestPath<>(plain).getPathWeight(source, v),
+                new BidirectionalDijkstraShortestPath<>(indexed).getPathWeight(source, v),
+                1e-9);
+        }
+        assertEquals(
+            new EdmondsKarpMFImpl<>(plain).calculateMaximumFlow(0, 49),
+            new EdmondsKarpMFImpl<>(indexed).calculateMaximumFlow(0, 49), 1e-9);
+
+        Graph<Integer, DefaultWeightedEdge> undirected = new AsUndirectedGraph<>(indexed);
+        double expected = new KruskalMinimumSpanningTree<>(new AsUndirectedGraph<>(plain))
+            .getSpanningTree().getWeight();
+        Graph<Integer, DefaultWeightedEdge> indexedUndirected = GraphTypeBuilder
+            .<Integer, DefaultWeightedEdge> undirected().allowingMultipleEdges(true)
+            .allowingSelfLoops(true).weighted(true).edgeClass(DefaultWeightedEdge.class)
+            .indexedEdges(true).buildGraph();
+        Graphs.addAllVertices(indexedUndirected, undirected.vertexSet());
+        for (DefaultWeightedEdge e : undirected.edgeSet()) {
+            Graphs.addEdge(
+                indexedUndirected, undirected.getEdgeSource(e), undirected.getEdgeTarget(e),
+                undirected.getEdgeWeight(e));
+        }
+        assertEquals(
+            expected, new KruskalMinimumSpanningTree<>(indexedUndirected).getSpanningTree()
+                .getWeight(),
+            1e-9);
+        assertEquals(
+            expected,
+            new PrimMinimumSpanningTree<>(indexedUndirected).getSpanningTree().getWeight(), 1e-9);
+        assertEquals(
+            expected,
+            new BoruvkaMinimumSpanningTree<>(indexedUndirected).getSpanningTree().getWeight(),
+            1e-9);
+    }
+
+}
+
+// End IndexedEdgesGraphSpecificsStrategyTest.java
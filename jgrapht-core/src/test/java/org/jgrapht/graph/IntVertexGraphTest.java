@@ -0,0 +1,229 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntVertexGraph}.
+ * 
+ * @author agent
+ */
+public class IntVertexGraphTest
+{
+
+    @Test
+    public void testDirected()
+    {
+        Graph<Integer, DefaultEdge> g = new IntVertexGraph<>(
+            SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.directedPseudograph());
+
+        assertEquals(Integer.valueOf(0), g.addVertex());
+        assertEquals(Integer.valueOf(1), g.addVertex());
+        assertTrue(g.addVertex(5));
+        assertFalse(g.addVertex(5));
+        assertEquals(Arrays.asList(0, 1, 5), new ArrayList<>(g.vertexSet()));
+
+        DefaultEdge e1 = g.addEdge(0, 1);
+        DefaultEdge e2 = g.addEdge(0, 1);
+        DefaultEdge e3 = g.addEdge(1, 0);
+        DefaultEdge e4 = g.addEdge(5, 5);
+
+        assertEquals(new HashSet<>(Arrays.asList(e1, e2)), g.getAllEdges(0, 1));
+        assertEquals(Collections.singleton(e3), g.getAllEdges(1, 0));
+        assertEquals(Collections.emptySet(), g.getAllEdges(0, 5));
+        assertNull(g.getAllEdges(0, 7));
+        assertEquals(e3, g.getEdge(1, 0));
+        assertEquals(e4, g.getEdge(5, 5));
+        assertNull(g.getEdge(0, 5));
+        assertNull(g.getEdge(null, 5));
+        assertTrue(g.containsEdge(0, 1));
+        assertFalse(g.containsEdge(1, 5));
+        assertEquals(2, g.outDegreeOf(0));
+        assertEquals(1, g.inDegreeOf(0));
+        assertEquals(2, g.degreeOf(5));
+
+        g.removeEdge(e1);
+        assertEquals(e2, g.getEdge(0, 1));
+        g.removeEdge(e2);
+        assertNull(g.getEdge(0, 1));
+        assertEquals(e3, g.getEdge(1, 0));
+
+        assertTrue(g.removeVertex(1));
+        assertFalse(g.containsVertex(1));
+        assertFalse(g.containsEdge(e3));
+        assertEquals(Arrays.asList(0, 5), new ArrayList<>(g.vertexSet()));
+        assertTrue(g.addVertex(1));
+        assertNull(g.getEdge(1, 0));
+    }
+
+    @Test
+    public void testUndirected()
+    {
+        Graph<Integer, DefaultEdge> g = new IntVertexGraph<>(
+            SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.pseudograph());
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+
+        DefaultEdge e1 = g.addEdge(2, 1);
+        DefaultEdge e2 = g.addEdge(1, 1);
+        assertEquals(e1, g.getEdge(1, 2));
+        assertEquals(e1, g.getEdge(2, 1));
+        assertEquals(e2, g.getEdge(1, 1));
+        assertEquals(3, g.degreeOf(1));
+        assertEquals(1, g.degreeOf(2));
+        assertEquals(Collections.singleton(e1), g.getAllEdges(1, 2));
+
+        g.removeEdge(1, 2);
+        assertNull(g.getEdge(2, 1));
+        assertEquals(2, g.degreeOf(1));
+    }
+
+    @Test
+    public void testSimpleGraphRejectsParallelEdges()
+    {
+        Graph<Integer, DefaultEdge> g = new IntVertexGraph<>(
+            SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.simple());
+        Graphs.addAllVertices(g, Arrays.asList(0, 1));
+
+        assertNotNull(g.addEdge(0, 1));
+        assertNull(g.addEdge(1, 0));
+        assertEquals(1, g.edgeSet().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new IntVertexGraph<>(
+            SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.simple());
+        g.addVertex(-1);
+    }
+
+    @Test
+    public void testRandomOperationsDirected()
+    {
+        runRandomOperations(
+            DefaultGraphType.directedPseudograph(), new DirectedPseudograph<>(DefaultEdge.class));
+    }
+
+    @Test
+    public void testRandomOperationsUndirected()
+    {
+        runRandomOperations(DefaultGraphType.pseudograph(), new Pseudograph<>(DefaultEdge.class));
+    }
+
+    @Test
+    public void testCloneAndSerialization()
+        throws Exception
+    {
+        IntVertexGraph<DefaultWeightedEdge> g = new IntVertexGraph<>(
+            SupplierUtil.createDefaultWeightedEdgeSupplier(),
+            DefaultGraphType.directedSimple().asWeighted());
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        Graphs.addEdge(g, 0, 1, 2.0);
+        Graphs.addEdge(g, 1, 2, 3.0);
+
+        @SuppressWarnings("unchecked")
+        Graph<Integer, DefaultWeightedEdge> clone =
+            (Graph<Integer, DefaultWeightedEdge>) g.clone();
+        assertEquals(g, clone);
+        assertNotNull(clone.getEdge(1, 2));
+        clone.removeVertex(2);
+        assertNotNull(g.getEdge(1, 2));
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(g);
+        }
+        @SuppressWarnings("unchecked")
+        Graph<Integer, DefaultWeightedEdge> copy;
+        try (ObjectInputStream in =
+            new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray())))
+        {
+            copy = (Graph<Integer, DefaultWeightedEdge>) in.readObject();
+        }
+        assertEquals(g.toString(), copy.toString());
+        assertEquals(3.0, copy.getEdgeWeight(copy.getEdge(1, 2)), 1e-9);
+        assertNull(copy.getEdge(2, 1));
+    }
+
+    private void runRandomOperations(GraphType type, Graph<Integer, DefaultEdge> expected)
+    {
+        final int n = 50;
+        Graph<Integer, DefaultEdge> g =
+            new IntVertexGraph<>(SupplierUtil.createDefaultEdgeSupplier(), type);
+        Random rng = new Random(17);
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+            expected.addVertex(i);
+        }
+
+        List<DefaultEdge> edges = new ArrayList<>();
+        for (int round = 0; round < 20000; round++) {
+            int op = rng.nextInt(10);
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            if (op < 6) {
+                if (g.containsVertex(u) && g.containsVertex(v)) {
+                    DefaultEdge e = g.addEdge(u, v);
+                    assertTrue(expected.addEdge(u, v, e));
+                    edges.add(e);
+                }
+            } else if (op < 9) {
+                if (!edges.isEmpty()) {
+                    DefaultEdge e = edges.remove(rng.nextInt(edges.size()));
+                    assertEquals(expected.removeEdge(e), g.removeEdge(e));
+                }
+            } else if (rng.nextInt(10) == 0) {
+                assertEquals(expected.removeVertex(u), g.removeVertex(u));
+                assertEquals(expected.addVertex(u), g.addVertex(u));
+            }
+
+            assertEquals(
+                expected.getAllEdges(u, v), g.getAllEdges(u, v) == null ? null
+                    : new HashSet<>(g.getAllEdges(u, v)));
+            assertEquals(expected.containsEdge(u, v), g.containsEdge(u, v));
+        }
+
+        assertEquals(expected.vertexSet(), g.vertexSet());
+        assertEquals(expected.edgeSet(), g.edgeSet());
+        for (int u = 0; u < n; u++) {
+            assertEquals(expected.edgesOf(u), new HashSet<>(g.edgesOf(u)));
+            assertEquals(expected.degreeOf(u), g.degreeOf(u));
+            assertEquals(expected.inDegreeOf(u), g.inDegreeOf(u));
+            assertEquals(expected.outDegreeOf(u), g.outDegreeOf(u));
+            for (int v = 0; v < n; v++) {
+                DefaultEdge e = g.getEdge(u, v);
+                if (e == null) {
+                    assertNull(expected.getEdge(u, v));
+                } else {
+                    assertTrue(expected.getAllEdges(u, v).contains(e));
+                }
+            }
+        }
+    }
+
+}
+
+// End IntVertexGraphTest.java
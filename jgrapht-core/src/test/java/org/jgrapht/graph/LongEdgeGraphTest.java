@@ -0,0 +1,149 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LongEdgeGraph}.
+ * 
+ * @author agent
+ */
+public class LongEdgeGraphTest
+{
+
+    @Test
+    public void testDirected()
+    {
+        Graph<String, Long> g = new LongEdgeGraph<>(null, DefaultGraphType.directedMultigraph());
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+
+        assertEquals(Long.valueOf(0), g.addEdge("a", "b"));
+        assertEquals(Long.valueOf(1), g.addEdge("b", "c"));
+        assertEquals(Long.valueOf(2), g.addEdge("a", "b"));
+
+        assertEquals("a", g.getEdgeSource(0L));
+        assertEquals("b", g.getEdgeTarget(0L));
+        assertEquals("c", g.getEdgeTarget(1L));
+        assertEquals(1.0, g.getEdgeWeight(1L), 1e-9);
+        assertEquals(Arrays.asList(0L, 1L, 2L), new ArrayList<>(g.edgeSet()));
+        assertEquals(2, g.getAllEdges("a", "b").size());
+        assertTrue(g.containsEdge(2L));
+        assertFalse(g.containsEdge(3L));
+        assertFalse(g.containsEdge(-1L));
+
+        assertTrue(g.removeEdge(0L));
+        assertFalse(g.containsEdge(0L));
+        assertEquals(Arrays.asList(1L, 2L), new ArrayList<>(g.edgeSet()));
+        assertEquals(2, g.edgeSet().size());
+        assertEquals(Long.valueOf(3), g.addEdge("c", "a"));
+
+        assertTrue(g.addEdge("b", "a", 10L));
+        assertFalse(g.addEdge("b", "a", 10L));
+        assertEquals("b", g.getEdgeSource(10L));
+        assertEquals(4, g.edgeSet().size());
+
+        g.removeVertex("b");
+        assertEquals(Collections.singleton(3L), g.edgeSet());
+    }
+
+    @Test
+    public void testWeighted()
+    {
+        Graph<Integer, Long> g = new LongEdgeGraph<>(
+            SupplierUtil.createIntegerSupplier(), DefaultGraphType.simple().asWeighted(),
+            new FastLookupIntVertexGraphSpecificsStrategy<>());
+        g.addVertex();
+        g.addVertex();
+        Long e = Graphs.addEdge(g, 0, 1, 3.5);
+        assertEquals(3.5, g.getEdgeWeight(e), 1e-9);
+        g.setEdgeWeight(e, 2.0);
+        assertEquals(2.0, g.getEdgeWeight(g.getEdge(1, 0)), 1e-9);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnweightedSetWeight()
+    {
+        Graph<String, Long> g = new LongEdgeGraph<>(null, DefaultGraphType.simple());
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        g.setEdgeWeight(g.addEdge("a", "b"), 2.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingEdge()
+    {
+        Graph<String, Long> g = new LongEdgeGraph<>(null, DefaultGraphType.simple());
+        g.getEdgeSource(5L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeEdge()
+    {
+        Graph<String, Long> g = new LongEdgeGraph<>(null, DefaultGraphType.simple());
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        g.addEdge("a", "b", -1L);
+    }
+
+    @Test
+    public void testShortestPathsAgainstDefaultGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> expected = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        GnmRandomGraphGenerator<Integer, DefaultWeightedEdge> gen =
+            new GnmRandomGraphGenerator<>(100, 1000, 17, true, true);
+        gen.generateGraph(expected);
+
+        Graph<Integer, Long> g = new LongEdgeGraph<>(
+            null, DefaultGraphType.directedPseudograph().asWeighted(),
+            new FastLookupIntVertexGraphSpecificsStrategy<>());
+        Graphs.addAllVertices(g, expected.vertexSet());
+        Random rng = new Random(17);
+        for (DefaultWeightedEdge e : expected.edgeSet()) {
+            double w = rng.nextDouble();
+            expected.setEdgeWeight(e, w);
+            Graphs.addEdge(g, expected.getEdgeSource(e), expected.getEdgeTarget(e), w);
+        }
+        assertEquals(expected.edgeSet().size(), g.edgeSet().size());
+
+        DijkstraShortestPath<Integer, DefaultWeightedEdge> sp1 =
+            new DijkstraShortestPath<>(expected);
+        DijkstraShortestPath<Integer, Long> sp2 = new DijkstraShortestPath<>(g);
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(sp1.getPathWeight(0, v), sp2.getPathWeight(0, v), 1e-9);
+        }
+
+        @SuppressWarnings("unchecked")
+        Graph<Integer, Long> clone = (Graph<Integer, Long>) ((LongEdgeGraph<Integer>) g).clone();
+        assertEquals(g.edgeSet(), clone.edgeSet());
+        for (Long e : g.edgeSet()) {
+            assertEquals(g.getEdgeSource(e), clone.getEdgeSource(e));
+            assertEquals(g.getEdgeWeight(e), clone.getEdgeWeight(e), 0d);
+        }
+    }
+
+}
+
+// End LongEdgeGraphTest.java
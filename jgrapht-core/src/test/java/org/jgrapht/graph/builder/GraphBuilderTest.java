@@ -145,6 +145,40 @@ public class GraphBuilderTest
         assertTrue(g.vertexSet().containsAll(Collections.singletonList(v1)));
     }
 
+    @Test
+    public void testAddEdges()
+    {
+        Graph<String, DefaultEdge> g =
+            new GraphBuilder<>(new DefaultDirectedGraph<String, DefaultEdge>(DefaultEdge.class))
+                .addEdges(Arrays.asList(v1, v2, v3), Arrays.asList(v2, v3, v1)).build();
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(3, g.edgeSet().size());
+        assertTrue(g.containsEdge(v1, v2));
+        assertTrue(g.containsEdge(v2, v3));
+        assertTrue(g.containsEdge(v3, v1));
+    }
+
+    @Test
+    public void testAddWeightedEdges()
+    {
+        Graph<String, DefaultWeightedEdge> g = new GraphBuilder<>(
+            new SimpleWeightedGraph<String, DefaultWeightedEdge>(DefaultWeightedEdge.class))
+                .addEdges(Arrays.asList(v1, v2), Arrays.asList(v2, v3), new double[] { 1.5, 2.5 })
+                .build();
+
+        assertEquals(2, g.edgeSet().size());
+        assertEquals(1.5, g.getEdgeWeight(g.getEdge(v2, v1)), 1e-9);
+        assertEquals(2.5, g.getEdgeWeight(g.getEdge(v3, v2)), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgesDifferentSizes()
+    {
+        new GraphBuilder<>(new DefaultDirectedGraph<String, DefaultEdge>(DefaultEdge.class))
+            .addEdges(Arrays.asList(v1, v2), Arrays.asList(v2));
+    }
+
 }
 
 // End GraphBuilderTest.java
@@ -22,6 +22,8 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.util.*;
+
 import static org.junit.Assert.*;
 
 /**
@@ -101,4 +103,99 @@ public class GraphTypeBuilderTest
         assertEquals(graph.getEdgeSupplier(), graph1.getEdgeSupplier());
     }
 
+    @Test
+    public void testGraphTypeBuilderWithExpectedSizes()
+    {
+        final int n = 100;
+        Random rng = new Random(7);
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            sources.add(rng.nextInt(n));
+            targets.add(rng.nextInt(n));
+        }
+
+        Graph<Integer, DefaultEdge> graph = GraphTypeBuilder
+            .<Integer, DefaultEdge> directed().allowingMultipleEdges(true).allowingSelfLoops(true)
+            .edgeClass(DefaultEdge.class).expectedVertexCount(n).expectedEdgeCount(1000)
+            .buildGraphBuilder().addEdges(sources, targets).build();
+        Graph<Integer, DefaultEdge> expected = new DirectedPseudograph<>(DefaultEdge.class);
+        for (int i = 0; i < sources.size(); i++) {
+            Graphs.addEdgeWithVertices(expected, sources.get(i), targets.get(i));
+        }
+
+        assertTrue(graph.getType().isDirected());
+        assertTrue(graph.getType().isAllowingMultipleEdges());
+        assertTrue(graph.getType().isAllowingSelfLoops());
+        assertEquals(expected.vertexSet(), graph.vertexSet());
+        assertEquals(1000, graph.edgeSet().size());
+        for (int u = 0; u < n; u++) {
+            assertEquals(expected.outDegreeOf(u), graph.outDegreeOf(u));
+            for (int v = 0; v < n; v++) {
+                assertEquals(
+                    expected.getAllEdges(u, v).size(), graph.getAllEdges(u, v).size());
+            }
+        }
+
+        // index is maintained after being built
+        DefaultEdge e = graph.getEdge(sources.get(0), targets.get(0));
+        int count = graph.getAllEdges(sources.get(0), targets.get(0)).size();
+        graph.removeEdge(e);
+        assertEquals(count - 1, graph.getAllEdges(sources.get(0), targets.get(0)).size());
+        graph.addEdge(sources.get(0), targets.get(0));
+        assertEquals(count, graph.getAllEdges(sources.get(0), targets.get(0)).size());
+    }
+
+    @Test
+    public void testGraphTypeBuilderWithExpectedSizesUndirectedSimple()
+    {
+        Graph<Integer, DefaultEdge> graph = GraphTypeBuilder
+            .<Integer, DefaultEdge> undirected().edgeClass(DefaultEdge.class)
+            .expectedEdgeCount(10).buildGraphBuilder()
+            .addEdges(Arrays.asList(0, 1, 2, 1), Arrays.asList(1, 2, 0, 0)).build();
+
+        assertTrue(graph.getType().isUndirected());
+        assertTrue(graph.getType().isSimple());
+        assertEquals(3, graph.edgeSet().size());
+        assertTrue(graph.containsEdge(1, 0));
+        assertTrue(graph.containsEdge(2, 1));
+    }
+
+    @Test
+    public void testGraphTypeBuilderWithExpectedSizesDeferredIndex()
+    {
+        GraphBuilder<Integer, DefaultWeightedEdge, Graph<Integer, DefaultWeightedEdge>> builder =
+            GraphTypeBuilder
+                .<Integer, DefaultWeightedEdge> directed().weighted(true)
+                .edgeClass(DefaultWeightedEdge.class).expectedEdgeCount(10).buildGraphBuilder();
+        GraphTypeBuilder.StrategyGraph<?, ?> loading =
+            (GraphTypeBuilder.StrategyGraph<?, ?>) builder.graph;
+
+        // the index is not built by the duplicate checks of the insertions
+        int[][] edges = { { 0, 1 }, { 1, 2 }, { 0, 1 }, { 2, 0 }, { 1, 0 }, { 3, 4 }, { 3, 4 } };
+        for (int i = 0; i < edges.length; i++) {
+            builder.addEdge(edges[i][0], edges[i][1], i + 1d);
+            assertTrue(loading.isIndexDeferred());
+        }
+        builder.removeEdge(3, 4);
+        assertTrue(loading.isIndexDeferred());
+
+        Graph<Integer, DefaultWeightedEdge> graph = builder.build();
+        assertFalse(loading.isIndexDeferred());
+        assertTrue(graph.getType().isSimple());
+        assertEquals(4, graph.edgeSet().size());
+        assertEquals(1d, graph.getEdgeWeight(graph.getEdge(0, 1)), 0d);
+        assertEquals(2d, graph.getEdgeWeight(graph.getEdge(1, 2)), 0d);
+        assertEquals(4d, graph.getEdgeWeight(graph.getEdge(2, 0)), 0d);
+        assertEquals(5d, graph.getEdgeWeight(graph.getEdge(1, 0)), 0d);
+        assertEquals(1, graph.getAllEdges(0, 1).size());
+        assertFalse(graph.containsEdge(3, 4));
+
+        // duplicates are rejected once loading has finished
+        assertNull(graph.addEdge(0, 1));
+        assertNotNull(graph.addEdge(3, 4));
+        assertEquals(5, graph.edgeSet().size());
+    }
+
 }
+
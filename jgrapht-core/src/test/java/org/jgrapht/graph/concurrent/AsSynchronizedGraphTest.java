@@ -20,7 +20,9 @@ package org.jgrapht.graph.concurrent;
 import junit.extensions.*;
 import junit.framework.*;
 import junit.textui.*;
+import org.jgrapht.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.Test;
 
 import java.util.*;
@@ -311,6 +313,190 @@ public class AsSynchronizedGraphTest
         TestRunner.run(ts);
     }
 
+    @Test
+    public void testOptimisticReads()
+    {
+        AsSynchronizedGraph.Builder<Integer, DefaultEdge> builder =
+            new AsSynchronizedGraph.Builder<>();
+        assertFalse(builder.isOptimisticReads());
+        assertFalse(builder.build(new SimpleGraph<>(DefaultEdge.class)).isOptimisticReads());
+
+        g = builder
+            .setOptimisticReads().cacheEnable().build(new WeightedPseudograph<>(DefaultEdge.class));
+        assertTrue(g.isOptimisticReads());
+        assertTrue(new AsSynchronizedGraph.Builder<>(g).isOptimisticReads());
+        assertFalse(builder.clearOptimisticReads().isOptimisticReads());
+
+        for (int i = 0; i < 10; i++) {
+            g.addVertex(i);
+        }
+        DefaultEdge e = g.addEdge(0, 1);
+        g.addEdge(0, 1);
+        g.setEdgeWeight(e, 3.0);
+        assertTrue(g.containsVertex(9));
+        assertFalse(g.containsVertex(10));
+        assertTrue(g.containsEdge(e));
+        assertTrue(g.containsEdge(1, 0));
+        assertEquals(e, g.getEdge(0, 1));
+        assertEquals(2, g.getAllEdges(0, 1).size());
+        assertEquals(2, g.degreeOf(0));
+        assertEquals(2, g.inDegreeOf(1));
+        assertEquals(2, g.outDegreeOf(1));
+        assertEquals(Integer.valueOf(0), g.getEdgeSource(e));
+        assertEquals(Integer.valueOf(1), g.getEdgeTarget(e));
+        assertEquals(3.0, g.getEdgeWeight(e), 1e-9);
+        assertEquals(10, g.vertexSet().size());
+        assertFalse(g.vertexSet().isEmpty());
+        assertTrue(g.edgeSet().contains(e));
+
+        g.removeVertex(0);
+        assertFalse(g.containsEdge(e));
+        assertEquals(0, g.degreeOf(1));
+        assertTrue(g.edgeSet().isEmpty());
+        assertEquals(9, g.vertexSet().size());
+    }
+
+    @Test
+    public void testOptimisticReadsWithConcurrentWriter()
+        throws InterruptedException
+    {
+        AsSynchronizedGraph<Integer, DefaultEdge> graph =
+            new AsSynchronizedGraph.Builder<Integer, DefaultEdge>()
+                .setOptimisticReads().build(new SimpleGraph<>(DefaultEdge.class));
+        final int n = 50;
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < n; i++) {
+            graph.addEdge(i, (i + 1) % n);
+        }
+
+        final int rounds = 2000;
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Thread writer = new Thread(() -> {
+            try {
+                for (int r = 0; r < rounds; r++) {
+                    int u = r % n;
+                    // every vertex has degree 2 before and after each round
+                    graph.removeEdge(u, (u + 1) % n);
+                    graph.addEdge(u, (u + 1) % n);
+                }
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            readers.add(new Thread(() -> {
+                try {
+                    Random rng = new Random();
+                    while (writer.isAlive()) {
+                        int u = rng.nextInt(n);
+                        int degree = graph.degreeOf(u);
+                        assertTrue(degree == 1 || degree == 2);
+                        int edges = graph.edgeSet().size();
+                        assertTrue(edges == n || edges == n - 1);
+                        assertEquals(n, graph.vertexSet().size());
+                        DefaultEdge e = graph.getEdge(u, (u + 1) % n);
+                        if (e != null) {
+                            try {
+                                assertEquals(Integer.valueOf(u), graph.getEdgeSource(e));
+                            } catch (IllegalArgumentException removed) {
+                                // the edge has been removed meanwhile
+                            }
+                        }
+                        assertEquals(n, graph.vertexSet().size());
+                    }
+                } catch (Throwable x) {
+                    failures.add(x);
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        writer.start();
+        writer.join();
+        for (Thread t : readers) {
+            t.join();
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(n, graph.edgeSet().size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(2, graph.degreeOf(i));
+        }
+    }
+
+    @Test
+    public void testOptimisticLookupsDuringRehash()
+        throws InterruptedException
+    {
+        assertLookupsDuringRehash(new SimpleWeightedGraph<>(DefaultEdge.class));
+        assertLookupsDuringRehash(
+            new IntVertexGraph<>(
+                SupplierUtil.createDefaultEdgeSupplier(),
+                DefaultGraphType.simple().asWeighted()));
+    }
+
+    private static void assertLookupsDuringRehash(Graph<Integer, DefaultEdge> backing)
+        throws InterruptedException
+    {
+        AsSynchronizedGraph<Integer, DefaultEdge> graph =
+            new AsSynchronizedGraph.Builder<Integer, DefaultEdge>().setOptimisticReads().build(
+                backing);
+        final int n = 20;
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < n; i++) {
+            graph.setEdgeWeight(graph.addEdge(i, (i + 1) % n), 1.0);
+        }
+
+        // the writer grows the graph, which rehashes its tables, while the ring is unchanged
+        final int added = 20000;
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Thread writer = new Thread(() -> {
+            try {
+                for (int v = n; v < n + added; v++) {
+                    graph.addVertex(v);
+                    graph.addEdge(v - 1, v);
+                }
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            readers.add(new Thread(() -> {
+                try {
+                    Random rng = new Random();
+                    while (writer.isAlive()) {
+                        int u = 1 + rng.nextInt(n - 2);
+                        assertTrue(graph.containsVertex(u));
+                        assertTrue(graph.containsEdge(u, u + 1));
+                        DefaultEdge e = graph.getEdge(u, u + 1);
+                        assertNotNull(e);
+                        assertTrue(graph.containsEdge(e));
+                        assertEquals(2, graph.degreeOf(u));
+                        assertEquals(1.0, graph.getEdgeWeight(e), 0d);
+                        assertEquals(Integer.valueOf(u), graph.getEdgeSource(e));
+                        assertTrue(graph.vertexSet().contains(u));
+                    }
+                } catch (Throwable x) {
+                    failures.add(x);
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        writer.start();
+        writer.join();
+        for (Thread t : readers) {
+            t.join();
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(n + added, graph.vertexSet().size());
+    }
+
     private void createOrder(ArrayList<Order> list, int start, int end, boolean add)
     {
         for (int i = start; i < end - 1; i++) {
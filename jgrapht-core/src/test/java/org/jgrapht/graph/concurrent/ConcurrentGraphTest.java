@@ -0,0 +1,290 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConcurrentGraph}.
+ *
+ * @author agent
+ */
+public class ConcurrentGraphTest
+{
+    private static final int THREADS = 8;
+
+    @Test
+    public void testDirected()
+    {
+        Graph<String, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(),
+            DefaultGraphType.directedPseudograph());
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        assertFalse(g.addVertex("a"));
+
+        DefaultEdge e1 = g.addEdge("a", "b");
+        DefaultEdge e2 = g.addEdge("a", "b");
+        DefaultEdge e3 = g.addEdge("c", "c");
+        assertEquals(2, g.getAllEdges("a", "b").size());
+        assertTrue(g.getAllEdges("b", "a").isEmpty());
+        assertNull(g.getAllEdges("a", "d"));
+        assertEquals("a", g.getEdgeSource(e1));
+        assertEquals("b", g.getEdgeTarget(e2));
+        assertEquals(2, g.outDegreeOf("a"));
+        assertEquals(2, g.inDegreeOf("b"));
+        assertEquals(2, g.degreeOf("c"));
+        assertEquals(1, g.edgesOf("c").size());
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e3), 0d);
+
+        assertTrue(g.removeEdge(e1));
+        assertFalse(g.removeEdge(e1));
+        assertEquals(e2, g.removeEdge("a", "b"));
+        assertNull(g.getEdge("a", "b"));
+
+        g.addEdge("a", "b");
+        assertTrue(g.removeVertex("b"));
+        assertFalse(g.containsVertex("b"));
+        assertEquals(Collections.singleton(e3), g.edgeSet());
+        assertEquals(0, g.outDegreeOf("a"));
+    }
+
+    @Test
+    public void testUndirectedSimpleWeighted()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new ConcurrentGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier(),
+            DefaultGraphType.simple().asWeighted());
+        g.addVertex();
+        g.addVertex();
+        g.addVertex();
+
+        DefaultWeightedEdge e = g.addEdge(0, 1);
+        assertNull(g.addEdge(1, 0));
+        assertEquals(e, g.getEdge(1, 0));
+        g.setEdgeWeight(e, 5.0);
+        assertEquals(5.0, g.getEdgeWeight(e), 0d);
+        assertEquals(1, g.degreeOf(1));
+        assertEquals(g.edgesOf(0), g.edgesOf(1));
+        assertEquals("([0, 1, 2], [{0,1}])", g.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoopsNotAllowed()
+    {
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.simple());
+        g.addVertex(0);
+        g.addEdge(0, 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnweighted()
+    {
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.simple());
+        Graphs.addAllVertices(g, Arrays.asList(0, 1));
+        g.setEdgeWeight(g.addEdge(0, 1), 2.0);
+    }
+
+    @Test
+    public void testUndirectedLoopDegree()
+    {
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.pseudograph());
+        Graphs.addAllVertices(g, Arrays.asList(0, 1));
+        g.addEdge(0, 0);
+        g.addEdge(0, 1);
+        assertEquals(3, g.degreeOf(0));
+        assertEquals(2, g.edgesOf(0).size());
+        g.removeVertex(1);
+        assertEquals(2, g.degreeOf(0));
+    }
+
+    /**
+     * Concurrent insertions of vertices and edges, on disjoint and overlapping vertices.
+     */
+    @Test
+    public void testConcurrentInsertions()
+        throws Exception
+    {
+        final int n = 200;
+        final int edgesPerThread = 5000;
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(),
+            DefaultGraphType.directedPseudograph());
+
+        runConcurrently(t -> {
+            Random rng = new Random(t);
+            for (int i = 0; i < n; i++) {
+                g.addVertex(i);
+            }
+            for (int i = 0; i < edgesPerThread; i++) {
+                assertNotNull(g.addEdge(rng.nextInt(n), rng.nextInt(n)));
+            }
+        });
+
+        assertEquals(n, g.vertexSet().size());
+        assertEquals(THREADS * edgesPerThread, g.edgeSet().size());
+        assertConsistent(g);
+    }
+
+    /**
+     * Simple graphs must never contain parallel edges, even under concurrent insertions.
+     */
+    @Test
+    public void testConcurrentSimpleGraph()
+        throws Exception
+    {
+        final int n = 30;
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.simple());
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+        AtomicInteger added = new AtomicInteger();
+
+        runConcurrently(t -> {
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    if (u != v && g.addEdge(u, v) != null) {
+                        added.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        assertEquals(n * (n - 1) / 2, g.edgeSet().size());
+        assertEquals(n * (n - 1) / 2, added.get());
+        assertConsistent(g);
+    }
+
+    /**
+     * Mixed insertions and removals of vertices and edges while other threads iterate.
+     */
+    @Test
+    public void testConcurrentInsertionsAndRemovals()
+        throws Exception
+    {
+        final int n = 100;
+        Graph<Integer, DefaultEdge> g = new ConcurrentGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.pseudograph());
+
+        runConcurrently(t -> {
+            Random rng = new Random(t);
+            for (int round = 0; round < 20000; round++) {
+                int u = rng.nextInt(n);
+                int v = rng.nextInt(n);
+                int op = rng.nextInt(20);
+                if (op == 0) {
+                    g.removeVertex(u);
+                } else if (op < 4) {
+                    g.addVertex(u);
+                } else if (op < 12) {
+                    try {
+                        g.addEdge(u, v);
+                    } catch (IllegalArgumentException e) {
+                        // vertex missing or concurrently removed
+                    }
+                } else if (op < 16) {
+                    g.removeEdge(u, v);
+                } else if (g.containsVertex(u)) {
+                    try {
+                        for (DefaultEdge e : g.edgesOf(u)) {
+                            assertNotNull(e);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // vertex concurrently removed
+                    }
+                }
+            }
+        });
+
+        assertConsistent(g);
+    }
+
+    private static void assertConsistent(Graph<Integer, DefaultEdge> g)
+    {
+        int degreeSum = 0;
+        for (Integer v : g.vertexSet()) {
+            degreeSum += g.degreeOf(v);
+            for (DefaultEdge e : g.outgoingEdgesOf(v)) {
+                assertTrue(g.containsEdge(e));
+                Integer s = g.getEdgeSource(e);
+                Integer t = g.getEdgeTarget(e);
+                assertTrue(s.equals(v) || (!g.getType().isDirected() && t.equals(v)));
+            }
+        }
+        for (DefaultEdge e : g.edgeSet()) {
+            Integer s = g.getEdgeSource(e);
+            Integer t = g.getEdgeTarget(e);
+            assertTrue(g.containsVertex(s));
+            assertTrue(g.containsVertex(t));
+            assertTrue(g.outgoingEdgesOf(s).contains(e));
+            assertTrue(g.incomingEdgesOf(t).contains(e));
+        }
+        assertEquals(2 * g.edgeSet().size(), degreeSum);
+    }
+
+    private interface ThreadBody
+    {
+        void run(int thread);
+    }
+
+    private static void runConcurrently(ThreadBody body)
+        throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    body.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
+
+// End ConcurrentGraphTest.java
@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PersistentHashMap}.
+ *
+ * @author agent
+ */
+public class PersistentHashMapTest
+{
+    /**
+     * A key with a configurable hash code in order to exercise hash collisions.
+     */
+    private static class Key
+    {
+        private final int id;
+        private final int hash;
+
+        Key(int id, int hash)
+        {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return obj instanceof Key && ((Key) obj).id == id;
+        }
+    }
+
+    @Test
+    public void testBasic()
+    {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        PersistentHashMap<String, Integer> m1 = empty.put("a", 1);
+        PersistentHashMap<String, Integer> m2 = m1.put("b", 2).put("a", 3);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, m1.size());
+        assertEquals(Integer.valueOf(1), m1.get("a"));
+        assertNull(m1.get("b"));
+        assertEquals(2, m2.size());
+        assertEquals(Integer.valueOf(3), m2.get("a"));
+        assertSame(m2, m2.put("b", m2.get("b")));
+        assertSame(m2, m2.remove("c"));
+        assertSame(m2, m2.remove(null));
+        assertNull(m2.get(null));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), m2.keySet());
+        assertEquals(Collections.singleton("b"), m2.remove("a").keySet());
+        assertEquals(Integer.valueOf(3), m2.get("a"));
+    }
+
+    @Test
+    public void testRandomAgainstHashMap()
+    {
+        Random rng = new Random(17);
+        for (int hashRange : new int[] { 4, 64, Integer.MAX_VALUE }) {
+            Map<Key, Integer> expected = new HashMap<>();
+            PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+            List<PersistentHashMap<Key, Integer>> versions = new ArrayList<>();
+            List<Map<Key, Integer>> expectedVersions = new ArrayList<>();
+
+            for (int i = 0; i < 5000; i++) {
+                int id = rng.nextInt(500);
+                int hash = hashRange == Integer.MAX_VALUE ? id * 0x9E3779B9 : id % hashRange;
+                Key key = new Key(id, hash);
+                if (rng.nextInt(3) == 0) {
+                    expected.remove(key);
+                    map = map.remove(key);
+                } else {
+                    int value = rng.nextInt(10);
+                    expected.put(key, value);
+                    map = map.put(key, value);
+                }
+                assertEquals(expected.size(), map.size());
+                if (i % 500 == 0) {
+                    versions.add(map);
+                    expectedVersions.add(new HashMap<>(expected));
+                }
+            }
+            versions.add(map);
+            expectedVersions.add(expected);
+
+            // all versions are unaffected by later updates
+            for (int v = 0; v < versions.size(); v++) {
+                PersistentHashMap<Key, Integer> version = versions.get(v);
+                Map<Key, Integer> expectedVersion = expectedVersions.get(v);
+                assertEquals(expectedVersion.size(), version.size());
+                assertEquals(expectedVersion.keySet(), version.keySet());
+                for (Map.Entry<Key, Integer> entry : expectedVersion.entrySet()) {
+                    assertEquals(entry.getValue(), version.get(entry.getKey()));
+                }
+                int count = 0;
+                PersistentHashMap.Cursor<Key, Integer> c = version.cursor();
+                while (c.next()) {
+                    assertEquals(expectedVersion.get(c.key()), c.value());
+                    count++;
+                }
+                assertEquals(expectedVersion.size(), count);
+            }
+
+            // remove everything
+            for (Key key : expected.keySet()) {
+                map = map.remove(key);
+            }
+            assertTrue(map.isEmpty());
+            assertFalse(map.keySet().iterator().hasNext());
+        }
+    }
+}
+
+// End PersistentHashMapTest.java
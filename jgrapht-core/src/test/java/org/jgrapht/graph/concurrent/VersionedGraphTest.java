@@ -0,0 +1,350 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.concurrent;
+
+import org.jgrapht.*;
+import org.jgrapht.event.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link VersionedGraph}.
+ *
+ * @author agent
+ */
+public class VersionedGraphTest
+{
+    @Test
+    public void testDirected()
+    {
+        VersionedGraph<String, DefaultEdge> g = new VersionedGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(),
+            DefaultGraphType.directedPseudograph());
+        assertEquals(0, g.getVersion());
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        assertFalse(g.addVertex("a"));
+        assertEquals(3, g.getVersion());
+
+        DefaultEdge e1 = g.addEdge("a", "b");
+        DefaultEdge e2 = g.addEdge("a", "b");
+        DefaultEdge e3 = g.addEdge("c", "c");
+        assertEquals(2, g.getAllEdges("a", "b").size());
+        assertTrue(g.getAllEdges("b", "a").isEmpty());
+        assertNull(g.getAllEdges("a", "d"));
+        assertEquals("a", g.getEdgeSource(e1));
+        assertEquals("b", g.getEdgeTarget(e2));
+        assertEquals(2, g.outDegreeOf("a"));
+        assertEquals(2, g.inDegreeOf("b"));
+        assertEquals(2, g.degreeOf("c"));
+        assertEquals(1, g.edgesOf("c").size());
+        assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e3), 0d);
+
+        assertTrue(g.removeEdge(e1));
+        assertFalse(g.removeEdge(e1));
+        assertEquals(e2, g.removeEdge("a", "b"));
+        assertNull(g.getEdge("a", "b"));
+
+        g.addEdge("a", "b");
+        long version = g.getVersion();
+        assertTrue(g.removeVertex("b"));
+        assertEquals(version + 1, g.getVersion());
+        assertFalse(g.containsVertex("b"));
+        assertEquals(Collections.singleton(e3), g.edgeSet());
+        assertEquals(0, g.outDegreeOf("a"));
+
+        assertTrue(g.removeVertex("c"));
+        assertTrue(g.edgeSet().isEmpty());
+        assertEquals(Collections.singleton("a"), g.vertexSet());
+    }
+
+    @Test
+    public void testUndirectedWeighted()
+    {
+        VersionedGraph<Integer, DefaultWeightedEdge> g = new VersionedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultWeightedEdgeSupplier(),
+            DefaultGraphType.pseudograph().asWeighted());
+        g.addVertex();
+        g.addVertex();
+        g.addVertex();
+
+        DefaultWeightedEdge e = g.addEdge(0, 1);
+        DefaultWeightedEdge loop = g.addEdge(0, 0);
+        assertEquals(e, g.getEdge(1, 0));
+        g.setEdgeWeight(e, 5.0);
+        g.setEdgeWeight(loop, 2.0);
+        assertEquals(5.0, g.getEdgeWeight(e), 0d);
+        assertEquals(2.0, g.getEdgeWeight(loop), 0d);
+        assertEquals(3, g.degreeOf(0));
+        assertEquals(1, g.degreeOf(1));
+        assertEquals(g.edgesOf(0), g.outgoingEdgesOf(0));
+        assertEquals(Collections.singleton(e), g.incomingEdgesOf(1));
+
+        assertTrue(g.removeEdge(loop));
+        assertEquals(1, g.degreeOf(0));
+        assertEquals(5.0, g.getEdgeWeight(g.getEdge(1, 0)), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoopsNotAllowed()
+    {
+        Graph<Integer, DefaultEdge> g = new VersionedGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.simple());
+        g.addVertex(0);
+        g.addEdge(0, 0);
+    }
+
+    @Test
+    public void testSimple()
+    {
+        Graph<Integer, DefaultEdge> g = new VersionedGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.simple());
+        Graphs.addAllVertices(g, Arrays.asList(0, 1));
+        DefaultEdge e = g.addEdge(0, 1);
+        assertNull(g.addEdge(1, 0));
+        assertFalse(g.addEdge(0, 1, new DefaultEdge()));
+        assertFalse(g.addEdge(0, 1, e));
+        assertEquals(1, g.edgeSet().size());
+    }
+
+    @Test
+    public void testSnapshot()
+    {
+        VersionedGraph<Integer, DefaultEdge> g = new VersionedGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.directedSimple());
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+        DefaultEdge e = g.addEdge(0, 1);
+        Set<Integer> liveVertices = g.vertexSet();
+
+        VersionedGraph.Snapshot<Integer, DefaultEdge> snapshot = g.snapshot();
+        assertEquals(g.getVersion(), snapshot.getVersion());
+        assertFalse(snapshot.getType().isModifiable());
+
+        g.addEdge(1, 2);
+        g.removeEdge(e);
+        g.removeVertex(0);
+        g.addVertex(3);
+
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), snapshot.vertexSet());
+        assertEquals(Collections.singleton(e), snapshot.edgeSet());
+        assertEquals(e, snapshot.getEdge(0, 1));
+        assertNull(snapshot.getEdge(1, 2));
+        assertEquals(1, snapshot.outDegreeOf(0));
+        assertEquals(0, snapshot.outDegreeOf(1));
+        assertEquals(Integer.valueOf(0), snapshot.getEdgeSource(e));
+
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), liveVertices);
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), g.snapshot().vertexSet());
+        assertEquals(g.snapshot(), g.snapshot());
+        assertNotEquals(snapshot, g.snapshot());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotUnmodifiable()
+    {
+        VersionedGraph<Integer, DefaultEdge> g = new VersionedGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.directedSimple());
+        g.snapshot().addVertex(0);
+    }
+
+    @Test
+    public void testRandomAgainstReference()
+    {
+        Random rng = new Random(31);
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultEdge> reference =
+                directed ? new DirectedPseudograph<>(DefaultEdge.class)
+                    : new Pseudograph<>(DefaultEdge.class);
+            VersionedGraph<Integer, DefaultEdge> g = new VersionedGraph<>(
+                null, SupplierUtil.createDefaultEdgeSupplier(),
+                directed ? DefaultGraphType.directedPseudograph()
+                    : DefaultGraphType.pseudograph());
+            List<Graph<Integer, DefaultEdge>> snapshots = new ArrayList<>();
+            List<Graph<Integer, DefaultEdge>> copies = new ArrayList<>();
+
+            for (int i = 0; i < 3000; i++) {
+                int op = rng.nextInt(10);
+                int u = rng.nextInt(30);
+                int v = rng.nextInt(30);
+                if (op < 2) {
+                    assertEquals(reference.addVertex(u), g.addVertex(u));
+                } else if (op < 7) {
+                    if (reference.containsVertex(u) && reference.containsVertex(v)) {
+                        DefaultEdge e = new DefaultEdge();
+                        assertEquals(reference.addEdge(u, v, e), g.addEdge(u, v, e));
+                    }
+                } else if (op < 9) {
+                    List<DefaultEdge> edges = new ArrayList<>(reference.edgeSet());
+                    if (!edges.isEmpty()) {
+                        DefaultEdge e = edges.get(rng.nextInt(edges.size()));
+                        assertEquals(reference.removeEdge(e), g.removeEdge(e));
+                    }
+                } else {
+                    assertEquals(reference.removeVertex(u), g.removeVertex(u));
+                }
+                if (i % 300 == 0) {
+                    snapshots.add(g.snapshot());
+                    Graph<Integer, DefaultEdge> copy =
+                        directed ? new DirectedPseudograph<>(DefaultEdge.class)
+                            : new Pseudograph<>(DefaultEdge.class);
+                    Graphs.addGraph(copy, reference);
+                    copies.add(copy);
+                }
+            }
+            snapshots.add(g.snapshot());
+            copies.add(reference);
+
+            for (int i = 0; i < snapshots.size(); i++) {
+                assertSameGraph(copies.get(i), snapshots.get(i));
+            }
+            assertSameGraph(reference, g);
+        }
+    }
+
+    @Test
+    public void testConcurrentSnapshots()
+        throws Exception
+    {
+        VersionedGraph<Integer, DefaultEdge> g = new VersionedGraph<>(
+            null, SupplierUtil.createDefaultEdgeSupplier(), DefaultGraphType.directedPseudograph());
+        final int n = 50;
+        for (int i = 0; i < n; i++) {
+            g.addVertex(i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                Random rng = new Random(7);
+                for (int i = 0; i < 5000; i++) {
+                    if (rng.nextBoolean() || g.edgeSet().isEmpty()) {
+                        g.addEdge(rng.nextInt(n), rng.nextInt(n));
+                    } else {
+                        g.removeEdge(g.edgeSet().iterator().next());
+                    }
+                }
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        Graph<Integer, DefaultEdge> snapshot = g.snapshot();
+                        int outDegrees = 0;
+                        int inDegrees = 0;
+                        for (Integer v : snapshot.vertexSet()) {
+                            outDegrees += snapshot.outDegreeOf(v);
+                            inDegrees += snapshot.inDegreeOf(v);
+                        }
+                        int edges = snapshot.edgeSet().size();
+                        assertEquals(edges, outDegrees);
+                        assertEquals(edges, inDegrees);
+                    }
+                }));
+            }
+            writer.get();
+            for (Future<?> f : readers) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(5000 + n, g.getVersion());
+    }
+
+    @Test
+    public void testListenableVersions()
+    {
+        VersionedGraph<Integer, DefaultEdge> g = new VersionedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultEdgeSupplier(),
+            DefaultGraphType.directedPseudograph());
+        VersionedListenableGraph<Integer, DefaultEdge> lg = new VersionedListenableGraph<>(g);
+        List<Long> versions = new ArrayList<>();
+        List<Integer> vertexCounts = new ArrayList<>();
+        lg.addGraphListener(new GraphListener<Integer, DefaultEdge>()
+        {
+            @Override
+            public void vertexAdded(GraphVertexChangeEvent<Integer> e)
+            {
+                record(((VersionedGraphVertexChangeEvent<Integer>) e).getVersion());
+            }
+
+            @Override
+            public void vertexRemoved(GraphVertexChangeEvent<Integer> e)
+            {
+                record(((VersionedGraphVertexChangeEvent<Integer>) e).getVersion());
+            }
+
+            @Override
+            public void edgeAdded(GraphEdgeChangeEvent<Integer, DefaultEdge> e)
+            {
+                record(((VersionedGraphEdgeChangeEvent<Integer, DefaultEdge>) e).getVersion());
+            }
+
+            @Override
+            public void edgeRemoved(GraphEdgeChangeEvent<Integer, DefaultEdge> e)
+            {
+                record(((VersionedGraphEdgeChangeEvent<Integer, DefaultEdge>) e).getVersion());
+            }
+
+            private void record(long version)
+            {
+                versions.add(version);
+                vertexCounts.add(lg.snapshot().vertexSet().size());
+            }
+        });
+
+        lg.addVertex();
+        lg.addVertex();
+        lg.addEdge(0, 1);
+        lg.addEdge(1, 0);
+        lg.removeVertex(0);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L), versions);
+        assertEquals(Arrays.asList(1, 2, 2, 2, 2, 2, 1), vertexCounts);
+        assertEquals(7, lg.getVersion());
+        assertEquals(Collections.singleton(1), g.vertexSet());
+    }
+
+    private static <V, E> void assertSameGraph(Graph<V, E> expected, Graph<V, E> actual)
+    {
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet(), actual.edgeSet());
+        for (V v : expected.vertexSet()) {
+            assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+            assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+            assertEquals(expected.incomingEdgesOf(v), actual.incomingEdgesOf(v));
+            assertEquals(expected.outgoingEdgesOf(v), actual.outgoingEdgesOf(v));
+        }
+        for (E e : expected.edgeSet()) {
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            V u = expected.getEdgeSource(e);
+            V v = expected.getEdgeTarget(e);
+            assertEquals(expected.getAllEdges(u, v), actual.getAllEdges(u, v));
+        }
+    }
+}
+
+// End VersionedGraphTest.java
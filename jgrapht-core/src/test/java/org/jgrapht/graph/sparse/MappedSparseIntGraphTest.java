@@ -0,0 +1,186 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MappedSparseIntGraph} and {@link MappedSparseIntGraphWriter}.
+ * 
+ * @author agent
+ */
+public class MappedSparseIntGraphTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDirected()
+        throws IOException
+    {
+        for (long seed = 0; seed < 5; seed++) {
+            Random rng = new Random(seed);
+            int n = 50;
+            int m = 400;
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+
+            File file = folder.newFile();
+            try (MappedSparseIntGraphWriter writer =
+                new MappedSparseIntGraphWriter(file, n, true, true))
+            {
+                for (int e = 0; e < m; e++) {
+                    sources[e] = rng.nextInt(n);
+                    targets[e] = rng.nextInt(n);
+                    weights[e] = rng.nextDouble();
+                    assertEquals(e, writer.addEdge(sources[e], targets[e], weights[e]));
+                }
+                assertEquals(m, writer.getEdgeCount());
+            }
+
+            Graph<Integer, Integer> expected =
+                new SparseIntDirectedWeightedGraph(n, sources, targets, weights);
+            Graph<Integer, Integer> actual = new MappedSparseIntGraph(file);
+
+            assertTrue(actual.getType().isDirected());
+            assertTrue(actual.getType().isWeighted());
+            assertSameGraph(expected, actual);
+
+            for (int v = 0; v < n; v += 7) {
+                SingleSourcePaths<Integer, Integer> p1 =
+                    new DijkstraShortestPath<>(expected).getPaths(v);
+                SingleSourcePaths<Integer, Integer> p2 =
+                    new DijkstraShortestPath<>(actual).getPaths(v);
+                for (int u = 0; u < n; u++) {
+                    assertEquals(p1.getWeight(u), p2.getWeight(u), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUndirected()
+        throws IOException
+    {
+        for (long seed = 0; seed < 5; seed++) {
+            Random rng = new Random(seed);
+            int n = 50;
+            int m = 400;
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+
+            File file = folder.newFile();
+            try (MappedSparseIntGraphWriter writer =
+                new MappedSparseIntGraphWriter(file, n, false, false))
+            {
+                for (int e = 0; e < m; e++) {
+                    sources[e] = rng.nextInt(n);
+                    targets[e] = rng.nextInt(n);
+                    writer.addEdge(sources[e], targets[e]);
+                }
+            }
+
+            Graph<Integer, Integer> expected = new SparseIntUndirectedGraph(n, sources, targets);
+            Graph<Integer, Integer> actual = new MappedSparseIntGraph(file);
+
+            assertTrue(actual.getType().isUndirected());
+            assertFalse(actual.getType().isWeighted());
+            assertSameGraph(expected, actual);
+        }
+    }
+
+    @Test
+    public void testEmpty()
+        throws IOException
+    {
+        File file = folder.newFile();
+        new MappedSparseIntGraphWriter(file, 0, true, false).close();
+        Graph<Integer, Integer> g = new MappedSparseIntGraph(file);
+        assertTrue(g.vertexSet().isEmpty());
+        assertTrue(g.edgeSet().isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidFile()
+        throws IOException
+    {
+        File file = folder.newFile();
+        try (Writer w = new FileWriter(file)) {
+            w.write("not a graph");
+        }
+        new MappedSparseIntGraph(file);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnweightedWriter()
+        throws IOException
+    {
+        try (MappedSparseIntGraphWriter writer =
+            new MappedSparseIntGraphWriter(folder.newFile(), 2, true, false))
+        {
+            writer.addEdge(0, 1, 2d);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVertex()
+        throws IOException
+    {
+        try (MappedSparseIntGraphWriter writer =
+            new MappedSparseIntGraphWriter(folder.newFile(), 2, true, false))
+        {
+            writer.addEdge(0, 2);
+        }
+    }
+
+    private static void assertSameGraph(
+        Graph<Integer, Integer> expected, Graph<Integer, Integer> actual)
+    {
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet(), actual.edgeSet());
+        for (Integer e : expected.edgeSet()) {
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e), 0d);
+        }
+        for (Integer v : expected.vertexSet()) {
+            assertEquals(expected.degreeOf(v), actual.degreeOf(v));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+            assertEquals(new ArrayList<>(expected.outgoingEdgesOf(v)),
+                new ArrayList<>(actual.outgoingEdgesOf(v)));
+            assertEquals(new ArrayList<>(expected.incomingEdgesOf(v)),
+                new ArrayList<>(actual.incomingEdgesOf(v)));
+            assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+            for (Integer u : expected.vertexSet()) {
+                assertEquals(expected.getAllEdges(v, u), actual.getAllEdges(v, u));
+                assertEquals(expected.getEdge(v, u), actual.getEdge(v, u));
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SparseIntDirectedGraph} and {@link SparseIntDirectedWeightedGraph}.
+ * 
+ * @author agent
+ */
+public class SparseIntDirectedGraphTest
+{
+
+    @Test
+    public void testSmallGraph()
+    {
+        List<Pair<Integer, Integer>> edges = Arrays.asList(
+            Pair.of(0, 1), Pair.of(1, 2), Pair.of(2, 3), Pair.of(1, 0), Pair.of(3, 3),
+            Pair.of(0, 1), Pair.of(4, 0));
+        Graph<Integer, Integer> g = new SparseIntDirectedGraph(5, edges);
+
+        assertTrue(g.getType().isDirected());
+        assertFalse(g.getType().isWeighted());
+        assertFalse(g.getType().isModifiable());
+
+        assertEquals(5, g.vertexSet().size());
+        assertEquals(7, g.edgeSet().size());
+        assertTrue(g.containsVertex(4));
+        assertFalse(g.containsVertex(5));
+        assertFalse(g.containsVertex(-1));
+        assertTrue(g.containsEdge(6));
+        assertFalse(g.containsEdge(7));
+
+        for (int e = 0; e < edges.size(); e++) {
+            assertEquals(edges.get(e).getFirst(), g.getEdgeSource(e));
+            assertEquals(edges.get(e).getSecond(), g.getEdgeTarget(e));
+            assertEquals(Graph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e), 1e-9);
+        }
+
+        assertEquals(new HashSet<>(Arrays.asList(0, 5)), g.outgoingEdgesOf(0));
+        assertEquals(new HashSet<>(Arrays.asList(3, 6)), g.incomingEdgesOf(0));
+        assertEquals(new HashSet<>(Arrays.asList(0, 3, 5, 6)), g.edgesOf(0));
+        assertEquals(2, g.outDegreeOf(0));
+        assertEquals(2, g.inDegreeOf(0));
+        assertEquals(4, g.degreeOf(0));
+
+        assertEquals(new HashSet<>(Arrays.asList(2, 4)), g.edgesOf(3));
+        assertEquals(3, g.degreeOf(3));
+        assertEquals(Collections.singleton(4), g.outgoingEdgesOf(3));
+
+        assertEquals(new HashSet<>(Arrays.asList(0, 5)), g.getAllEdges(0, 1));
+        assertTrue(g.getAllEdges(1, 3).isEmpty());
+        assertNull(g.getAllEdges(1, 5));
+        assertEquals(Integer.valueOf(1), g.getEdge(1, 2));
+        assertEquals(Integer.valueOf(4), g.getEdge(3, 3));
+        assertNull(g.getEdge(2, 1));
+        assertNull(g.getEdge(2, 7));
+        assertTrue(g.containsEdge(4, 0));
+        assertFalse(g.containsEdge(0, 4));
+    }
+
+    @Test
+    public void testCompareWithDefaultGraph()
+    {
+        Graph<Integer, DefaultEdge> source = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(100, 1000, 17, true, true)
+            .generateGraph(source);
+
+        List<Pair<Integer, Integer>> edges = new ArrayList<>();
+        for (DefaultEdge e : source.edgeSet()) {
+            edges.add(Pair.of(source.getEdgeSource(e), source.getEdgeTarget(e)));
+        }
+        Graph<Integer, Integer> g = new SparseIntDirectedGraph(100, edges);
+
+        for (Integer v : source.vertexSet()) {
+            assertEquals(source.outDegreeOf(v), g.outDegreeOf(v));
+            assertEquals(source.inDegreeOf(v), g.inDegreeOf(v));
+            assertEquals(source.degreeOf(v), g.degreeOf(v));
+            assertEquals(source.edgesOf(v).size(), g.edgesOf(v).size());
+            for (Integer u : source.vertexSet()) {
+                assertEquals(source.getAllEdges(v, u).size(), g.getAllEdges(v, u).size());
+                assertEquals(source.containsEdge(v, u), g.containsEdge(v, u));
+            }
+        }
+        for (Integer e : g.edgeSet()) {
+            Integer other = g.getEdge(g.getEdgeSource(e), g.getEdgeTarget(e));
+            assertEquals(g.getEdgeSource(e), g.getEdgeSource(other));
+            assertEquals(g.getEdgeTarget(e), g.getEdgeTarget(other));
+        }
+    }
+
+    @Test
+    public void testWeightedShortestPaths()
+    {
+        List<Triple<Integer, Integer, Double>> edges = Arrays.asList(
+            Triple.of(0, 1, 5.0), Triple.of(0, 2, 1.0), Triple.of(2, 1, 1.0),
+            Triple.of(1, 3, 2.0), Triple.of(2, 3, 7.0));
+        Graph<Integer, Integer> g = new SparseIntDirectedWeightedGraph(4, edges);
+
+        assertTrue(g.getType().isWeighted());
+        assertEquals(5.0, g.getEdgeWeight(0), 1e-9);
+        assertEquals(7.0, g.getEdgeWeight(4), 1e-9);
+
+        GraphPath<Integer, Integer> path = new DijkstraShortestPath<>(g).getPath(0, 3);
+        assertEquals(4.0, path.getWeight(), 1e-9);
+        assertEquals(Arrays.asList(1, 2, 3), path.getEdgeList());
+        assertEquals(Arrays.asList(0, 2, 1, 3), path.getVertexList());
+    }
+
+    @Test
+    public void testArrayConstructor()
+    {
+        int[] sources = new int[] { 0, 1, 2 };
+        int[] targets = new int[] { 1, 2, 0 };
+        double[] weights = new double[] { 1.5, 2.5, 3.5 };
+        Graph<Integer, Integer> g =
+            new SparseIntDirectedWeightedGraph(3, sources, targets, weights);
+        weights[0] = 100d;
+        targets[0] = 2;
+
+        assertEquals(1.5, g.getEdgeWeight(0), 1e-9);
+        assertEquals(Integer.valueOf(1), g.getEdgeTarget(0));
+        assertEquals(Integer.valueOf(1), g.getEdge(1, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVertex()
+    {
+        new SparseIntDirectedGraph(2, Arrays.asList(Pair.of(0, 1), Pair.of(1, 2)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEdge()
+    {
+        new SparseIntDirectedGraph(2, Arrays.asList(Pair.of(0, 1))).getEdgeSource(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable()
+    {
+        new SparseIntDirectedGraph(2, Arrays.asList(Pair.of(0, 1))).addEdge(1, 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiableWeight()
+    {
+        new SparseIntDirectedWeightedGraph(2, Arrays.asList(Triple.of(0, 1, 1d)))
+            .setEdgeWeight(0, 2d);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.graph.sparse;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.connectivity.*;
+import org.jgrapht.alg.spanning.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SparseIntUndirectedGraph} and {@link SparseIntUndirectedWeightedGraph}.
+ * 
+ * @author agent
+ */
+public class SparseIntUndirectedGraphTest
+{
+
+    @Test
+    public void testSmallGraph()
+    {
+        List<Pair<Integer, Integer>> edges = Arrays.asList(
+            Pair.of(0, 1), Pair.of(1, 2), Pair.of(2, 3), Pair.of(1, 0), Pair.of(3, 3),
+            Pair.of(0, 1), Pair.of(4, 0));
+        Graph<Integer, Integer> g = new SparseIntUndirectedGraph(6, edges);
+
+        assertTrue(g.getType().isUndirected());
+        assertFalse(g.getType().isWeighted());
+        assertFalse(g.getType().isModifiable());
+
+        assertEquals(6, g.vertexSet().size());
+        assertEquals(7, g.edgeSet().size());
+
+        assertEquals(new HashSet<>(Arrays.asList(0, 3, 5, 6)), g.edgesOf(0));
+        assertEquals(g.edgesOf(0), g.outgoingEdgesOf(0));
+        assertEquals(g.edgesOf(0), g.incomingEdgesOf(0));
+        assertEquals(4, g.degreeOf(0));
+        assertEquals(new HashSet<>(Arrays.asList(2, 4)), g.edgesOf(3));
+        assertEquals(3, g.degreeOf(3));
+        assertEquals(3, g.inDegreeOf(3));
+        assertTrue(g.edgesOf(5).isEmpty());
+        assertEquals(0, g.degreeOf(5));
+
+        assertEquals(new HashSet<>(Arrays.asList(0, 3, 5)), g.getAllEdges(0, 1));
+        assertEquals(new HashSet<>(Arrays.asList(0, 3, 5)), g.getAllEdges(1, 0));
+        assertEquals(Integer.valueOf(2), g.getEdge(3, 2));
+        assertEquals(Integer.valueOf(4), g.getEdge(3, 3));
+        assertEquals(Integer.valueOf(6), g.getEdge(0, 4));
+        assertNull(g.getEdge(0, 2));
+        assertNull(g.getEdge(0, 6));
+        assertNull(g.getAllEdges(7, 0));
+    }
+
+    @Test
+    public void testCompareWithDefaultGraph()
+    {
+        Graph<Integer, DefaultEdge> source = new Pseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(100, 1000, 17, true, true)
+            .generateGraph(source);
+
+        List<Pair<Integer, Integer>> edges = new ArrayList<>();
+        for (DefaultEdge e : source.edgeSet()) {
+            edges.add(Pair.of(source.getEdgeSource(e), source.getEdgeTarget(e)));
+        }
+        Graph<Integer, Integer> g = new SparseIntUndirectedGraph(100, edges);
+
+        for (Integer v : source.vertexSet()) {
+            assertEquals(source.degreeOf(v), g.degreeOf(v));
+            assertEquals(source.edgesOf(v).size(), g.edgesOf(v).size());
+            for (Integer u : source.vertexSet()) {
+                assertEquals(source.getAllEdges(v, u).size(), g.getAllEdges(v, u).size());
+                assertEquals(source.containsEdge(v, u), g.containsEdge(v, u));
+            }
+        }
+        assertEquals(
+            new ConnectivityInspector<>(source).connectedSets().size(),
+            new ConnectivityInspector<>(g).connectedSets().size());
+    }
+
+    @Test
+    public void testWeightedSpanningTree()
+    {
+        List<Triple<Integer, Integer, Double>> edges = Arrays.asList(
+            Triple.of(0, 1, 5.0), Triple.of(0, 2, 1.0), Triple.of(2, 1, 1.0),
+            Triple.of(1, 3, 2.0), Triple.of(2, 3, 7.0));
+        Graph<Integer, Integer> g = new SparseIntUndirectedWeightedGraph(4, edges);
+
+        assertTrue(g.getType().isWeighted());
+        assertEquals(2.0, g.getEdgeWeight(3), 1e-9);
+
+        assertEquals(4.0, new KruskalMinimumSpanningTree<>(g).getSpanningTree().getWeight(), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVertex()
+    {
+        new SparseIntUndirectedGraph(2, new int[] { 0, -1 }, new int[] { 1, 0 });
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable()
+    {
+        new SparseIntUndirectedGraph(2, Arrays.asList(Pair.of(0, 1))).removeVertex(0);
+    }
+}
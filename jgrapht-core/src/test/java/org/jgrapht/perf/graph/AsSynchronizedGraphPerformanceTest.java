@@ -0,0 +1,169 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.concurrent.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark comparing the read throughput of {@link AsSynchronizedGraph} when readers acquire the
+ * read lock and when readers use optimistic reads. The benchmarks call the lookups which execute
+ * optimistically, <code>getEdge</code>, <code>containsEdge</code>, <code>degreeOf</code> and
+ * <code>getEdgeWeight</code>, and are repeated for each number of threads. The numbers of threads
+ * are the powers of two up to the number of available processors, unless they are given as a comma
+ * separated list by the system property {@value #THREADS_PROPERTY}.
+ *
+ * @author agent
+ */
+public class AsSynchronizedGraphPerformanceTest
+{
+    public static final int PERF_BENCHMARK_VERTICES_COUNT = 10000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT = 100000;
+    public static final String THREADS_PROPERTY = "jgrapht.perf.threads";
+
+    @State(Scope.Benchmark)
+    public static abstract class BenchmarkBase
+    {
+        protected AsSynchronizedGraph<Integer, DefaultWeightedEdge> graph;
+
+        abstract AsSynchronizedGraph.Builder<Integer, DefaultWeightedEdge> createBuilder();
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, 17, true, true)
+                    .generateGraph(g);
+            graph = createBuilder().build(g);
+        }
+
+        /**
+         * Threads only perform lookups.
+         */
+        @Benchmark
+        public void readBenchmark(Blackhole blackhole)
+        {
+            lookup(ThreadLocalRandom.current(), blackhole);
+        }
+
+        /**
+         * Threads insert and remove an edge 1% of the time and perform lookups otherwise.
+         */
+        @Benchmark
+        public void readMostlyBenchmark(Blackhole blackhole)
+        {
+            ThreadLocalRandom rng = ThreadLocalRandom.current();
+            if (rng.nextInt(100) == 0) {
+                int u = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+                int v = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+                DefaultWeightedEdge e = graph.addEdge(u, v);
+                graph.removeEdge(e);
+            } else {
+                lookup(rng, blackhole);
+            }
+        }
+
+        private void lookup(ThreadLocalRandom rng, Blackhole blackhole)
+        {
+            int u = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+            int v = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+            DefaultWeightedEdge e = graph.getEdge(u, v);
+            if (e != null) {
+                blackhole.consume(graph.getEdgeWeight(e));
+            }
+            blackhole.consume(graph.containsEdge(v, u));
+            blackhole.consume(graph.degreeOf(u));
+        }
+    }
+
+    public static class ReadLockBenchmark
+        extends
+        BenchmarkBase
+    {
+        @Override
+        AsSynchronizedGraph.Builder<Integer, DefaultWeightedEdge> createBuilder()
+        {
+            return new AsSynchronizedGraph.Builder<>();
+        }
+    }
+
+    public static class OptimisticReadBenchmark
+        extends
+        BenchmarkBase
+    {
+        @Override
+        AsSynchronizedGraph.Builder<Integer, DefaultWeightedEdge> createBuilder()
+        {
+            return new AsSynchronizedGraph.Builder<Integer, DefaultWeightedEdge>()
+                .setOptimisticReads();
+        }
+    }
+
+    /**
+     * Get the numbers of threads to run the benchmarks with.
+     * 
+     * @return the numbers of threads
+     */
+    static int[] threadCounts()
+    {
+        String property = System.getProperty(THREADS_PROPERTY);
+        if (property != null && !property.trim().isEmpty()) {
+            return Arrays
+                .stream(property.split(",")).map(String::trim).mapToInt(Integer::parseInt)
+                .toArray();
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(processors);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void testAsSynchronizedGraphBenchmark()
+        throws RunnerException
+    {
+        for (int threads : threadCounts()) {
+            Options opt = new OptionsBuilder()
+                .include(".*" + ReadLockBenchmark.class.getSimpleName() + ".*")
+                .include(".*" + OptimisticReadBenchmark.class.getSimpleName() + ".*")
+                .mode(Mode.Throughput).timeUnit(TimeUnit.MILLISECONDS).threads(threads)
+                .warmupIterations(3).warmupTime(TimeValue.seconds(1)).measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1)).forks(1).shouldFailOnError(true)
+                .shouldDoGC(true).build();
+
+            new Runner(opt).run();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.perf.graph;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.concurrent.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Benchmark comparing the throughput of {@link ConcurrentGraph} and {@link AsSynchronizedGraph}
+ * when multiple threads concurrently insert edges and query the graph.
+ *
+ * @author agent
+ */
+public class ConcurrentGraphPerformanceTest
+{
+    public static final int PERF_BENCHMARK_VERTICES_COUNT = 10000;
+
+    @State(Scope.Benchmark)
+    public static abstract class BenchmarkBase
+    {
+        protected Graph<Integer, DefaultEdge> graph;
+
+        abstract Graph<Integer, DefaultEdge> createGraph();
+
+        @Setup(Level.Iteration)
+        public void setup()
+        {
+            graph = createGraph();
+            for (int i = 0; i < PERF_BENCHMARK_VERTICES_COUNT; i++) {
+                graph.addVertex(i);
+            }
+        }
+
+        /**
+         * Threads insert edges between random vertices.
+         */
+        @Benchmark
+        public DefaultEdge addEdgeBenchmark()
+        {
+            ThreadLocalRandom rng = ThreadLocalRandom.current();
+            return graph.addEdge(
+                rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT),
+                rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+        }
+
+        /**
+         * Threads insert edges 10% of the time and perform edge lookups and degree queries
+         * otherwise.
+         */
+        @Benchmark
+        public void mixedBenchmark(Blackhole blackhole)
+        {
+            ThreadLocalRandom rng = ThreadLocalRandom.current();
+            int u = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+            int v = rng.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+            if (rng.nextInt(10) == 0) {
+                blackhole.consume(graph.addEdge(u, v));
+            } else {
+                blackhole.consume(graph.containsEdge(u, v));
+                blackhole.consume(graph.outDegreeOf(u));
+            }
+        }
+    }
+
+    public static class ConcurrentGraphBenchmark
+        extends
+        BenchmarkBase
+    {
+        @Override
+        Graph<Integer, DefaultEdge> createGraph()
+        {
+            return new ConcurrentGraph<>(
+                null, SupplierUtil.createDefaultEdgeSupplier(),
+                DefaultGraphType.directedPseudograph());
+        }
+    }
+
+    public static class AsSynchronizedGraphBenchmark
+        extends
+        BenchmarkBase
+    {
+        @Override
+        Graph<Integer, DefaultEdge> createGraph()
+        {
+            return new AsSynchronizedGraph<>(new DirectedPseudograph<>(DefaultEdge.class));
+        }
+    }
+
+    @Test
+    public void testConcurrentGraphBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(".*" + ConcurrentGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + AsSynchronizedGraphBenchmark.class.getSimpleName() + ".*")
+            .mode(Mode.Throughput).timeUnit(TimeUnit.MILLISECONDS).threads(8)
+            .warmupIterations(3).warmupTime(TimeValue.seconds(1)).measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1)).forks(1).shouldFailOnError(true)
+            .shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
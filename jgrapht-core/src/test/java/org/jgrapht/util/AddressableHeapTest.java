@@ -0,0 +1,231 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import java.util.*;
+import java.util.function.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link AddressableHeap} implementations.
+ * 
+ * @author agent
+ */
+public class AddressableHeapTest
+{
+    private static final List<Supplier<AddressableHeap<Integer>>> HEAPS = Arrays.asList(
+        DaryHeap::new, () -> new DaryHeap<>(2), () -> new DaryHeap<>(8), PairingHeap::new,
+        RadixHeap::new);
+
+    @Test
+    public void testInsertDeleteMin()
+    {
+        for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+            AddressableHeap<Integer> h = supplier.get();
+            assertTrue(h.isEmpty());
+            Random rng = new Random(17);
+            double[] keys = new double[1000];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = rng.nextInt(100);
+                h.insert(keys[i], i);
+            }
+            assertEquals(keys.length, h.size());
+            Arrays.sort(keys);
+            for (double key : keys) {
+                assertEquals(key, h.findMin().getKey(), 0d);
+                AddressableHeap.Handle<Integer> min = h.deleteMin();
+                assertEquals(key, min.getKey(), 0d);
+            }
+            assertTrue(h.isEmpty());
+        }
+    }
+
+    @Test
+    public void testMonotoneDecreaseKey()
+    {
+        // simulate a Dijkstra-like monotone workload
+        for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+            AddressableHeap<Integer> h = supplier.get();
+            Random rng = new Random(7);
+            List<AddressableHeap.Handle<Integer>> handles = new ArrayList<>();
+            List<AddressableHeap.Handle<Integer>> live = new ArrayList<>();
+            double last = 0d;
+            for (int i = 0; i < 100; i++) {
+                AddressableHeap.Handle<Integer> handle = h.insert(rng.nextDouble() * 100, i);
+                handles.add(handle);
+                live.add(handle);
+            }
+            while (!h.isEmpty()) {
+                for (int j = 0; j < 3 && !live.isEmpty(); j++) {
+                    AddressableHeap.Handle<Integer> handle = live.get(rng.nextInt(live.size()));
+                    double key = last + (handle.getKey() - last) * rng.nextDouble();
+                    handle.decreaseKey(key);
+                    assertEquals(key, handle.getKey(), 0d);
+                }
+                if (rng.nextInt(3) == 0) {
+                    AddressableHeap.Handle<Integer> handle =
+                        h.insert(last + rng.nextDouble() * 100, handles.size());
+                    handles.add(handle);
+                    live.add(handle);
+                }
+
+                double min = Double.POSITIVE_INFINITY;
+                for (AddressableHeap.Handle<Integer> handle : live) {
+                    min = Math.min(min, handle.getKey());
+                }
+                AddressableHeap.Handle<Integer> removed = h.deleteMin();
+                assertEquals(min, removed.getKey(), 0d);
+                assertTrue(removed.getKey() >= last);
+                last = removed.getKey();
+                assertTrue(live.remove(removed));
+                assertEquals(live.size(), h.size());
+            }
+
+            // handles remain readable after removal
+            for (int i = 0; i < handles.size(); i++) {
+                assertEquals(Integer.valueOf(i), handles.get(i).getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testNonMonotoneDecreaseKey()
+    {
+        for (Supplier<AddressableHeap<Integer>> supplier : HEAPS.subList(0, 4)) {
+            AddressableHeap<Integer> h = supplier.get();
+            Random rng = new Random(11);
+            List<AddressableHeap.Handle<Integer>> live = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                live.add(h.insert(rng.nextDouble(), i));
+                if (rng.nextInt(4) == 0) {
+                    AddressableHeap.Handle<Integer> handle = live.get(rng.nextInt(live.size()));
+                    handle.decreaseKey(handle.getKey() - rng.nextDouble());
+                }
+                if (rng.nextInt(3) == 0) {
+                    double min = Double.POSITIVE_INFINITY;
+                    for (AddressableHeap.Handle<Integer> handle : live) {
+                        min = Math.min(min, handle.getKey());
+                    }
+                    AddressableHeap.Handle<Integer> removed = h.deleteMin();
+                    assertEquals(min, removed.getKey(), 0d);
+                    assertTrue(live.remove(removed));
+                }
+            }
+            assertEquals(live.size(), h.size());
+        }
+    }
+
+    @Test
+    public void testSetValue()
+    {
+        for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+            AddressableHeap<Integer> h = supplier.get();
+            AddressableHeap.Handle<Integer> handle = h.insert(1d, 1);
+            handle.setValue(2);
+            assertEquals(Integer.valueOf(2), h.findMin().getValue());
+        }
+    }
+
+    @Test
+    public void testClear()
+    {
+        for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+            AddressableHeap<Integer> h = supplier.get();
+            AddressableHeap.Handle<Integer> handle = h.insert(5d, 1);
+            h.insert(3d, 2);
+            h.clear();
+            assertTrue(h.isEmpty());
+            assertEquals(0, h.size());
+            try {
+                handle.decreaseKey(1d);
+                fail("No!");
+            } catch (IllegalArgumentException e) {
+            }
+            h.insert(-1d, 3);
+            assertEquals(Integer.valueOf(3), h.deleteMin().getValue());
+        }
+    }
+
+    @Test
+    public void testInvalidOperations()
+    {
+        for (Supplier<AddressableHeap<Integer>> supplier : HEAPS) {
+            AddressableHeap<Integer> h = supplier.get();
+            try {
+                h.findMin();
+                fail("No!");
+            } catch (NoSuchElementException e) {
+            }
+            try {
+                h.deleteMin();
+                fail("No!");
+            } catch (NoSuchElementException e) {
+            }
+            try {
+                h.insert(Double.NaN, 1);
+                fail("No!");
+            } catch (IllegalArgumentException e) {
+            }
+
+            AddressableHeap.Handle<Integer> handle = h.insert(2d, 1);
+            try {
+                handle.decreaseKey(3d);
+                fail("No!");
+            } catch (IllegalArgumentException e) {
+            }
+            h.deleteMin();
+            try {
+                handle.decreaseKey(1d);
+                fail("No!");
+            } catch (IllegalArgumentException e) {
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRadixHeapNotMonotone()
+    {
+        RadixHeap<Integer> h = new RadixHeap<>();
+        h.insert(2d, 1);
+        h.insert(3d, 2);
+        h.deleteMin();
+        h.insert(1d, 3);
+    }
+
+    @Test
+    public void testRadixHeapSignedKeys()
+    {
+        RadixHeap<Integer> h = new RadixHeap<>();
+        double[] keys = { 3d, -2.5d, 0d, -0d, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+            1e-300, -1e300 };
+        for (int i = 0; i < keys.length; i++) {
+            h.insert(keys[i], i);
+        }
+        double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        for (double key : sorted) {
+            assertEquals(key, h.deleteMin().getKey(), 0d);
+        }
+    }
+
+}
+
+// End AddressableHeapTest.java
@@ -0,0 +1,95 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntHeap}.
+ * 
+ * @author agent
+ */
+public class IntHeapTest
+{
+    @Test
+    public void testInsertRemoveMin()
+    {
+        Random rng = new Random(17);
+        double[] keys = new double[1000];
+        IntHeap h = new IntHeap(keys);
+        assertTrue(h.isEmpty());
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = rng.nextInt(100);
+            h.insertOrDecrease(i);
+        }
+        double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        for (double key : sorted) {
+            assertEquals(key, h.minKey(), 0d);
+            int min = h.removeMin();
+            assertEquals(key, keys[min], 0d);
+        }
+        assertTrue(h.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey()
+    {
+        double[] keys = new double[100];
+        IntHeap h = new IntHeap(keys);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 1000 + i;
+            h.insertOrDecrease(i);
+        }
+        for (int i = keys.length - 1; i >= 0; i -= 2) {
+            keys[i] = keys.length - i;
+            h.insertOrDecrease(i);
+        }
+        for (int i = keys.length - 1; i >= 0; i -= 2) {
+            assertEquals(i, h.removeMin());
+        }
+        for (int i = 0; i < keys.length; i += 2) {
+            assertEquals(i, h.removeMin());
+        }
+        assertTrue(h.isEmpty());
+    }
+
+    @Test
+    public void testClear()
+    {
+        double[] keys = { 3d, 1d, 2d };
+        IntHeap h = new IntHeap(keys);
+        h.insertOrDecrease(0);
+        h.insertOrDecrease(1);
+        h.clear();
+        assertTrue(h.isEmpty());
+
+        // cleared integers are inserted again
+        h.insertOrDecrease(2);
+        h.insertOrDecrease(1);
+        assertEquals(1, h.removeMin());
+        assertEquals(2, h.removeMin());
+        assertTrue(h.isEmpty());
+    }
+}
+
+// End IntHeapTest.java
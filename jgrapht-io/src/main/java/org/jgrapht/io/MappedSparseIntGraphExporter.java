@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.sparse.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Exporter which produces the binary file format of {@link MappedSparseIntGraph}.
+ * 
+ * <p>
+ * Any graph, for example one read by any of the importers of this package, can be converted with
+ * this exporter into a file which can later be opened almost instantly as a memory-mapped graph.
+ * Vertices are numbered from $0$ to $n-1$ following the iteration order of
+ * {@link Graph#vertexSet()} and edges are numbered from $0$ to $m-1$ following the iteration order
+ * of {@link Graph#edgeSet()}. Directed and undirected graphs are supported. Edge weights are
+ * exported if the graph is weighted.
+ * 
+ * <p>
+ * The format is binary and therefore the graph can only be exported to a file or to an output
+ * stream. Exporting to a file is preferred since exporting to an output stream requires a
+ * temporary file.
+ * 
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * 
+ * @author agent
+ * @see MappedSparseIntGraphWriter
+ */
+public class MappedSparseIntGraphExporter<V, E>
+    implements
+    GraphExporter<V, E>
+{
+    /**
+     * Constructs a new exporter.
+     */
+    public MappedSparseIntGraphExporter()
+    {
+    }
+
+    @Override
+    public void exportGraph(Graph<V, E> g, File file)
+        throws ExportException
+    {
+        GraphType type = g.getType();
+        if (type.isMixed()) {
+            throw new ExportException("Mixed graphs are not supported");
+        }
+
+        Map<V, Integer> vertexIds = new HashMap<>();
+        for (V v : g.vertexSet()) {
+            vertexIds.put(v, vertexIds.size());
+        }
+
+        try (MappedSparseIntGraphWriter writer = new MappedSparseIntGraphWriter(
+            file, vertexIds.size(), type.isDirected(), type.isWeighted()))
+        {
+            for (E e : g.edgeSet()) {
+                int source = vertexIds.get(g.getEdgeSource(e));
+                int target = vertexIds.get(g.getEdgeTarget(e));
+                if (type.isWeighted()) {
+                    writer.addEdge(source, target, g.getEdgeWeight(e));
+                } else {
+                    writer.addEdge(source, target);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new ExportException("Failed to export graph: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void exportGraph(Graph<V, E> g, OutputStream out)
+        throws ExportException
+    {
+        File tmpFile = null;
+        try {
+            tmpFile = File.createTempFile("jgrapht", ".tmp");
+            exportGraph(g, tmpFile);
+            Files.copy(tmpFile.toPath(), out);
+            out.flush();
+        } catch (IOException e) {
+            throw new ExportException(e);
+        } finally {
+            if (tmpFile != null) {
+                tmpFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Unsupported since the format is binary.
+     * 
+     * @throws ExportException always
+     */
+    @Override
+    public void exportGraph(Graph<V, E> g, Writer writer)
+        throws ExportException
+    {
+        throw new ExportException("Binary format cannot be exported to a character stream");
+    }
+}
+
+// End MappedSparseIntGraphExporter.java
@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2018-2018, by agent and Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+package org.jgrapht.io;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.sparse.*;
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MappedSparseIntGraphExporter}.
+ * 
+ * @author agent
+ */
+public class MappedSparseIntGraphExporterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testImportAndExportDirected()
+        throws ImportException, ExportException, IOException
+    {
+        // @formatter:off
+        String input = "1,2\n"
+                     + "2,3\n"
+                     + "3,4\n"
+                     + "4,1\n"
+                     + "4,4\n";
+        // @formatter:on
+
+        Graph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        CSVImporter<String, DefaultEdge> importer = new CSVImporter<>(
+            (l, a) -> l, (f, t, l, a) -> g.getEdgeSupplier().get(), CSVFormat.EDGE_LIST, ',');
+        importer.importGraph(g, new StringReader(input));
+
+        File file = folder.newFile();
+        new MappedSparseIntGraphExporter<String, DefaultEdge>().exportGraph(g, file);
+        Graph<Integer, Integer> mapped = new MappedSparseIntGraph(file);
+
+        assertTrue(mapped.getType().isDirected());
+        assertFalse(mapped.getType().isWeighted());
+        assertEquals(4, mapped.vertexSet().size());
+        assertEquals(5, mapped.edgeSet().size());
+
+        List<String> vertices = new ArrayList<>(g.vertexSet());
+        int e = 0;
+        for (DefaultEdge edge : g.edgeSet()) {
+            assertEquals(g.getEdgeSource(edge), vertices.get(mapped.getEdgeSource(e)));
+            assertEquals(g.getEdgeTarget(edge), vertices.get(mapped.getEdgeTarget(e)));
+            e++;
+        }
+        assertEquals(Integer.valueOf(4), mapped.getEdge(3, 3));
+        assertEquals(4, mapped.degreeOf(3));
+    }
+
+    @Test
+    public void testExportWeighted()
+        throws ExportException, IOException
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        Graphs.addEdge(g, "a", "b", 2.5);
+        Graphs.addEdge(g, "b", "c", 3.5);
+
+        File file = folder.newFile();
+        new MappedSparseIntGraphExporter<String, DefaultWeightedEdge>().exportGraph(g, file);
+        Graph<Integer, Integer> mapped = new MappedSparseIntGraph(file);
+
+        assertTrue(mapped.getType().isWeighted());
+        assertEquals(2.5, mapped.getEdgeWeight(0), 1e-9);
+        assertEquals(3.5, mapped.getEdgeWeight(1), 1e-9);
+    }
+
+    @Test
+    public void testExportUndirectedToStream()
+        throws ExportException, IOException
+    {
+        Graph<String, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+
+        File file = folder.newFile();
+        try (OutputStream out = new FileOutputStream(file)) {
+            new MappedSparseIntGraphExporter<String, DefaultEdge>().exportGraph(g, out);
+        }
+        Graph<Integer, Integer> mapped = new MappedSparseIntGraph(file);
+
+        assertTrue(mapped.getType().isUndirected());
+        assertFalse(mapped.getType().isWeighted());
+        assertEquals(3, mapped.edgeSet().size());
+        assertEquals(Integer.valueOf(2), mapped.getEdge(0, 2));
+        assertEquals(2, mapped.degreeOf(1));
+    }
+
+    @Test(expected = ExportException.class)
+    public void testWriterUnsupported()
+        throws ExportException
+    {
+        Graph<String, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        new MappedSparseIntGraphExporter<String, DefaultEdge>()
+            .exportGraph(g, new StringWriter());
+    }
+}